@@ -0,0 +1,23 @@
+package com.folderai.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Entry point of benchmarks.jar: runs JMH with the GC profiler unless another profiler is given,
+ * so that every run reports the allocation rate ({@code gc.alloc.rate.norm}, in bytes per
+ * operation) next to the time of each benchmark.
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    var profiled = Arrays.asList(args).contains("-prof");
+    Main.main(profiled ? args : Stream.concat(Stream.of("-prof", "gc"), Arrays.stream(args))
+        .toArray(String[]::new));
+  }
+}
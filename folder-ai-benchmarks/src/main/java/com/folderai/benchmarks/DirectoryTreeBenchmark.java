@@ -0,0 +1,103 @@
+package com.folderai.benchmarks;
+
+import com.folderai.services.dto.response.DirectoryTree;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of parsing a generated tree into folders: the single-pass {@link DirectoryTreeParser}
+ * against a parser splitting the text into lines, matching each with a regular expression and
+ * allocating an object and a child list per folder. The tree sizes show that the parse time grows
+ * linearly, and the GC profiler the allocation per parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectoryTreeBenchmark {
+
+  private static final Pattern ENTRY = Pattern.compile("^((?:│   |    )*)(?:├── |└── )(\\S.*)$");
+
+  @Param({"1000", "10000", "100000"})
+  public int nodes;
+
+  private String tree;
+
+  @Setup
+  public void setUp() {
+    tree = generate(nodes);
+  }
+
+  /**
+   * A tree of modules holding three levels of topics, drawn like the model draws it.
+   */
+  static String generate(int nodes) {
+    var text = new StringBuilder("learning-path/");
+    var count = 1;
+    for (int module = 0; count < nodes; module++) {
+      text.append("\n├── module-").append(module).append('/');
+      count++;
+      for (int topic = 0; topic < 3 && count < nodes; topic++) {
+        text.append("\n│   ├── topic-").append(topic).append('/');
+        count++;
+        for (int lesson = 0; lesson < 8 && count < nodes; lesson++) {
+          text.append("\n│   │   ├── lesson-").append(lesson).append('/');
+          count++;
+        }
+      }
+    }
+    return text.toString();
+  }
+
+  @Benchmark
+  public DirectoryTree compactParse() {
+    return DirectoryTreeParser.parse(tree);
+  }
+
+  @Benchmark
+  public Node objectPerNode() {
+    var lines = tree.split("\n");
+    var root = new Node(lines[0].replaceAll("\\p{Z}", " ").strip());
+    var path = new ArrayList<Node>();
+    path.add(root);
+    for (int i = 1; i < lines.length; i++) {
+      var matcher = ENTRY.matcher(lines[i].replaceAll("\\p{Z}", " ").stripTrailing());
+      if (!matcher.matches()) {
+        continue;
+      }
+      var depth = Math.min(matcher.group(1).length() / 4 + 1, path.size());
+      var node = new Node(matcher.group(2));
+      path.get(depth - 1).children.add(node);
+      path.subList(depth, path.size()).clear();
+      path.add(node);
+    }
+    return root;
+  }
+
+  public static final class Node {
+
+    final String name;
+    final List<Node> children = new ArrayList<>();
+
+    Node(String name) {
+      this.name = name;
+    }
+  }
+}
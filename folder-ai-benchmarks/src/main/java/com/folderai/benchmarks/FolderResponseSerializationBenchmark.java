@@ -0,0 +1,58 @@
+package com.folderai.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderMetaData;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.FolderUsage;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the HTTP response of one generation: Jackson serialization of a
+ * {@link FolderResponse}, whose tree is written both as text and as nested folder objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FolderResponseSerializationBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int nodes;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private FolderResponse response;
+
+  @Setup
+  public void setUp() {
+    var tree = DirectoryTreeBenchmark.generate(nodes);
+    response = new FolderResponse(
+        new DirectoryStructure("learning-path", tree),
+        DirectoryTreeParser.parse(tree),
+        UUID.randomUUID(),
+        new FolderMetaData("gpt-4o-mini", new FolderUsage(420, 1800, 2220), 1, 1),
+        null);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+}
@@ -0,0 +1,135 @@
+package com.folderai.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folderai.services.aop.LoggingAspect;
+import com.folderai.services.config.properties.LoggingProperties;
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.DirectoryStreamEvent;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderMetaData;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.FolderUsage;
+import com.folderai.services.service.FolderService;
+import com.folderai.services.util.DirectoryTreeParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link LoggingAspect} around a service call that returns at once, with the aspect
+ * logger at INFO, where it logs the entry and exit, and at DEBUG, where it also serializes the
+ * arguments and the result to JSON, for every request or for a sample of them. As in
+ * logback-spring.xml, events go through an asynchronous appender, formatted by a pattern encoder
+ * and written to a discarding stream, so the cost of the console is left out; what is measured is
+ * the cost on the calling thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+  @Param({"INFO", "DEBUG"})
+  public String level;
+
+  @Param({"1.0", "0.01"})
+  public double sampleRate;
+
+  private final FolderRequest request = new FolderRequest("A project plan to learn Java", null,
+      null);
+  private FolderService target;
+  private FolderService advised;
+  private LoggingAspect aspect;
+  private AsyncAppender asyncAppender;
+
+  @Setup
+  public void setUp() {
+    var context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    context.reset();
+    var encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%d %5p [%t] %logger{39} : %m %kvp%n");
+    encoder.start();
+    var appender = new OutputStreamAppender<ILoggingEvent>();
+    appender.setContext(context);
+    appender.setEncoder(encoder);
+    appender.setOutputStream(OutputStream.nullOutputStream());
+    appender.start();
+    asyncAppender = new AsyncAppender();
+    asyncAppender.setContext(context);
+    asyncAppender.setNeverBlock(true);
+    asyncAppender.setQueueSize(8192);
+    asyncAppender.addAppender(appender);
+    asyncAppender.start();
+    var root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    root.addAppender(asyncAppender);
+    root.setLevel(Level.WARN);
+    context.getLogger(LoggingAspect.class).setLevel(Level.toLevel(level));
+
+    var tree = DirectoryTreeBenchmark.generate(100);
+    var response = new FolderResponse(new DirectoryStructure("learning-path", tree),
+        DirectoryTreeParser.parse(tree), UUID.randomUUID(),
+        new FolderMetaData("gpt-4o-mini", new FolderUsage(420, 1800, 2220)), null);
+    target = new FolderService() {
+      @Override
+      public FolderResponse generateProjectDirectory(FolderRequest folderRequest) {
+        return response;
+      }
+
+      @Override
+      public Flux<DirectoryStreamEvent> streamProjectDirectory(FolderRequest folderRequest) {
+        return Flux.empty();
+      }
+    };
+    var proxyFactory = new AspectJProxyFactory(target);
+    proxyFactory.addInterface(FolderService.class);
+    aspect = new LoggingAspect(new ObjectMapper(), new LoggingProperties(
+        List.of("com.folderai.services.service"), sampleRate, Duration.ofSeconds(1), 2048, 1000, 8192),
+        new SimpleMeterRegistry());
+    proxyFactory.addAspect(aspect);
+    advised = proxyFactory.getProxy();
+  }
+
+  @TearDown
+  public void tearDown() {
+    aspect.shutdown();
+    asyncAppender.stop();
+  }
+
+  @Benchmark
+  public FolderResponse direct() {
+    return target.generateProjectDirectory(request);
+  }
+
+  @Benchmark
+  public FolderResponse advised() {
+    return advised.generateProjectDirectory(request);
+  }
+}
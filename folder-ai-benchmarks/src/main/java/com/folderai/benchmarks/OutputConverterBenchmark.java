@@ -0,0 +1,62 @@
+package com.folderai.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folderai.services.ai.prompt.OutputConverters;
+import com.folderai.services.dto.response.DirectoryStructure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.converter.BeanOutputConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the structured output handling of one request: generating the JSON schema of
+ * {@link DirectoryStructure} with a new {@link BeanOutputConverter}, reading the format of the
+ * shared converter, and converting a realistic model answer, a fenced JSON object holding a tree
+ * of the given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutputConverterBenchmark {
+
+  @Param({"100", "1000"})
+  public int nodes;
+
+  private String answer;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    var json = new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(
+        new DirectoryStructure("learning-path", DirectoryTreeBenchmark.generate(nodes)));
+    answer = "```json\n" + json + "\n```";
+  }
+
+  @Benchmark
+  public String schemaGeneration() {
+    return new BeanOutputConverter<>(DirectoryStructure.class).getFormat();
+  }
+
+  @Benchmark
+  public String sharedFormat() {
+    return OutputConverters.DIRECTORY_STRUCTURE.getFormat();
+  }
+
+  @Benchmark
+  public DirectoryStructure convert() {
+    return OutputConverters.DIRECTORY_STRUCTURE.convert(answer);
+  }
+}
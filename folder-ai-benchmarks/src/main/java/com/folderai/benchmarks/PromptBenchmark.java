@@ -0,0 +1,82 @@
+package com.folderai.benchmarks;
+
+import com.folderai.services.ai.prompt.OutputConverters;
+import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.config.properties.PromptProperties;
+import com.folderai.services.dto.response.DirectoryStructure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the directory prompt of one request: loading the templates and generating the
+ * output schema on every request, as the service used to, against the precompiled templates of
+ * {@link PromptFactory}, with the allocation per request reported by the GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBenchmark {
+
+  private static final String SYSTEM_PROMPT_PATH = "classpath:prompts/directory/directory-system.st";
+  private static final String USER_PROMPT_PATH = "classpath:prompts/directory/directory-user.st";
+  private static final String REFINE_PROMPT_PATH =
+      "classpath:prompts/directory/directory-refine.st";
+  private static final String SUMMARY_PROMPT_PATH =
+      "classpath:prompts/memory/conversation-summary.st";
+  private static final String USER_PROMPT = "A project plan to learn Java";
+
+  private ResourceLoader resourceLoader;
+  private PromptFactory promptFactory;
+
+  @Setup
+  public void setUp() {
+    resourceLoader = new DefaultResourceLoader();
+    promptFactory = new PromptFactory(new PromptProperties(
+        new PromptProperties.Directory(SYSTEM_PROMPT_PATH, USER_PROMPT_PATH, REFINE_PROMPT_PATH),
+        new PromptProperties.Memory(SUMMARY_PROMPT_PATH), false),
+        resourceLoader);
+    promptFactory.compile();
+  }
+
+  /**
+   * A new converter and both templates read and rendered for every request.
+   */
+  @Benchmark
+  public Prompt perRequestLoading() {
+    var converter = new BeanOutputConverter<>(DirectoryStructure.class);
+    var userTemplate = new PromptTemplate(resourceLoader.getResource(USER_PROMPT_PATH));
+    var systemTemplate = new PromptTemplate(resourceLoader.getResource(SYSTEM_PROMPT_PATH));
+    return new Prompt(List.of(
+        systemTemplate.createMessage(Map.of("format", converter.getFormat())),
+        userTemplate.createMessage(Map.of("prompt", USER_PROMPT))));
+  }
+
+  /**
+   * The shared converter and precompiled templates: only the user message is rendered.
+   */
+  @Benchmark
+  public Prompt precompiled() {
+    return promptFactory.createStructurePrompt(USER_PROMPT,
+        OutputConverters.DIRECTORY_STRUCTURE_FORMAT);
+  }
+}
@@ -0,0 +1,77 @@
+package com.folderai.benchmarks;
+
+import com.folderai.services.util.TreeFormatter;
+import com.folderai.services.util.TreeFormatter.Format;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cost of formatting a generated tree: the single-pass {@link TreeFormatter}, writing each format
+ * into a reused buffer, against the former implementation splitting the text into lines and
+ * cleaning each with a regular expression, with the allocation per formatted tree reported by the
+ * GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeFormatterBenchmark {
+
+  @Param({"10000", "100000"})
+  public int nodes;
+
+  @Param({"BOX_DRAWING", "ASCII", "PATHS", "YAML"})
+  public Format format;
+
+  private String tree;
+  private StringBuilder out;
+
+  @Setup
+  public void setUp() {
+    tree = DirectoryTreeBenchmark.generate(nodes);
+    out = new StringBuilder(tree.length() * 4);
+  }
+
+  @Benchmark
+  public StringBuilder scanner() throws IOException {
+    out.setLength(0);
+    TreeFormatter.format(tree, format, out);
+    return out;
+  }
+
+  /**
+   * {@link TreeFormatter#cleanAndFormatTree(String)}: the same cleaning as the former one in a
+   * single pass, whatever the format parameter.
+   */
+  @Benchmark
+  public String cleanAndFormatTree() {
+    return TreeFormatter.cleanAndFormatTree(tree);
+  }
+
+  /**
+   * The former {@code cleanAndFormatTree}; it only has the box-drawing output, whatever the
+   * format parameter.
+   */
+  @Benchmark
+  public String splitAndRegex() {
+    return Stream.of(tree.split("\n"))
+        .map(line -> line.replaceAll("\\p{Z}", " "))
+        .collect(Collectors.joining(System.lineSeparator()));
+  }
+}
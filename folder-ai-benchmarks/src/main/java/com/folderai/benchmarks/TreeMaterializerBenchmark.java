@@ -0,0 +1,90 @@
+package com.folderai.benchmarks;
+
+import com.folderai.services.dto.response.DirectoryTree;
+import com.folderai.services.fs.MaterializationReport;
+import com.folderai.services.fs.TreeMaterializer;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of materializing a generated tree of folders on disk, one folder at a time against the
+ * fork-join pool, both into an empty workspace and re-run over an already materialized one. Each
+ * invocation gets a fresh workspace, created and deleted outside of the measurement, so the
+ * re-run benchmark measures a first run followed by a re-run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeMaterializerBenchmark {
+
+  @Param({"1000", "10000"})
+  public int nodes;
+
+  @Param({"1", "8"})
+  public int parallelism;
+
+  private DirectoryTree tree;
+  private ForkJoinPool pool;
+  private TreeMaterializer materializer;
+  private Path workspace;
+
+  @Setup
+  public void setUp() {
+    tree = DirectoryTreeParser.parse(DirectoryTreeBenchmark.generate(nodes));
+    pool = new ForkJoinPool(parallelism);
+    materializer = new TreeMaterializer(pool);
+  }
+
+  @Setup(Level.Invocation)
+  public void createWorkspace() throws IOException {
+    workspace = Files.createTempDirectory("materializer-benchmark");
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteWorkspace() throws IOException {
+    try (Stream<Path> paths = Files.walk(workspace)) {
+      for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public MaterializationReport create() {
+    return materializer.materialize(tree, workspace, false);
+  }
+
+  @Benchmark
+  public MaterializationReport rerun() {
+    materializer.materialize(tree, workspace, false);
+    return materializer.materialize(tree, workspace, false);
+  }
+}
@@ -0,0 +1,89 @@
+package com.folderai.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latency and outcome of each measured request, per request kind, in microseconds.
+ *
+ * <p>Two latencies are kept. The service time runs from the moment the request was sent. The
+ * response time runs from the moment it was due to be sent by the schedule: when the service
+ * falls behind, requests leave late, and that wait is counted too. This corrects the coordinated
+ * omission of a load generator that, by waiting for a slow response, stops sending the requests
+ * that would have seen the slowdown.
+ */
+final class LatencyRecorder {
+
+  private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+  private final Map<RequestKind, Histogram> responseTimes = new EnumMap<>(RequestKind.class);
+  private final Map<RequestKind, Histogram> serviceTimes = new EnumMap<>(RequestKind.class);
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  LatencyRecorder() {
+    for (var kind : RequestKind.values()) {
+      responseTimes.put(kind, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+      serviceTimes.put(kind, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+    }
+  }
+
+  /**
+   * @param kind         The kind of request.
+   * @param outcome      The HTTP status code, or the failure, e.g. {@code timeout}.
+   * @param intendedNanos When the request was due, from {@link System#nanoTime()}.
+   * @param sentNanos    When it was sent.
+   * @param doneNanos    When its response was received or it failed.
+   */
+  void record(RequestKind kind, String outcome, long intendedNanos, long sentNanos,
+      long doneNanos) {
+    responseTimes.get(kind).recordValue(micros(doneNanos - intendedNanos));
+    serviceTimes.get(kind).recordValue(micros(doneNanos - sentNanos));
+    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+  }
+
+  private static long micros(long nanos) {
+    return Math.min(HIGHEST_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+  }
+
+  Histogram responseTimes(RequestKind kind) {
+    return responseTimes.get(kind);
+  }
+
+  Histogram serviceTimes(RequestKind kind) {
+    return serviceTimes.get(kind);
+  }
+
+  /**
+   * @return The response times of all kinds together.
+   */
+  Histogram responseTimes() {
+    var all = new Histogram(HIGHEST_MICROS, 3);
+    responseTimes.values().forEach(all::add);
+    return all;
+  }
+
+  /**
+   * @return The service times of all kinds together.
+   */
+  Histogram serviceTimes() {
+    var all = new Histogram(HIGHEST_MICROS, 3);
+    serviceTimes.values().forEach(all::add);
+    return all;
+  }
+
+  /**
+   * @return The number of requests by outcome, sorted by outcome.
+   */
+  Map<String, Long> outcomes() {
+    var counts = new TreeMap<String, Long>();
+    outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+    return counts;
+  }
+}
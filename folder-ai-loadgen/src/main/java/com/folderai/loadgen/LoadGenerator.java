@@ -0,0 +1,168 @@
+package com.folderai.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code POST /api/v1/folders/project-directory} of a running service, through its whole
+ * filter, security, aspect and controller stack, and reports the latency distribution.
+ *
+ * <p>In open mode, requests are sent at a fixed arrival rate, each on its own virtual thread,
+ * whatever the number still in flight. In closed mode, a fixed number of clients each send their
+ * next request once the previous one completed, optionally paced to a total rate. Either way,
+ * each request has a due time on a schedule, and its response time is measured from that due time
+ * (see {@link LatencyRecorder}). Requests of the warmup period are sent but not measured.
+ *
+ * <p>Run against the service started with the 'fake' profile to load-test it offline:
+ * <pre>
+ * java -jar folder-ai-loadgen/target/loadgen.jar --mode open --rate 50 --duration 2m \
+ *     --label main --baseline previous/report.json
+ * </pre>
+ */
+public final class LoadGenerator {
+
+  private static final String ENDPOINT = "/api/v1/folders/project-directory";
+
+  private final LoadOptions options;
+  private final URI endpoint;
+  private final HttpClient client;
+  private final RequestMix mix;
+  private final LatencyRecorder recorder = new LatencyRecorder();
+
+  LoadGenerator(LoadOptions options) {
+    this.options = options;
+    this.endpoint = options.target().resolve(ENDPOINT);
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    this.mix = new RequestMix(new ObjectMapper(), options.conversationalShare(),
+        options.skipCache());
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadOptions options;
+    try {
+      options = LoadOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(LoadOptions.USAGE.equals(e.getMessage()) ? e.getMessage()
+          : e.getMessage() + System.lineSeparator() + LoadOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    System.out.printf("Load testing %s: %s%n", options.target(), options.describe());
+    var report = new LoadGenerator(options).run();
+    report.write(options.output(),
+        options.baseline() == null ? null : LoadReport.read(options.baseline()));
+    System.out.println(report.summary());
+    System.out.println("Reports written to " + options.output().toAbsolutePath());
+  }
+
+  /**
+   * Runs the warmup and the measured period, then waits for the requests still in flight.
+   *
+   * @return The report of the measured requests.
+   */
+  LoadReport run() {
+    var startedAt = Instant.now();
+    var start = System.nanoTime();
+    var measuredFrom = start + options.warmup().toNanos();
+    var end = measuredFrom + options.duration().toNanos();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      if (options.mode() == LoadOptions.Mode.OPEN) {
+        runOpen(executor, start, measuredFrom, end);
+      } else {
+        runClosed(executor, start, measuredFrom, end);
+      }
+    }
+    return LoadReport.of(options, startedAt, recorder);
+  }
+
+  private void runOpen(ExecutorService executor, long start, long measuredFrom, long end) {
+    var interval = 1e9 / options.rate();
+    for (long i = 0; ; i++) {
+      var due = start + (long) (i * interval);
+      if (due >= end) {
+        return;
+      }
+      parkUntil(due);
+      executor.execute(() -> send(due, due >= measuredFrom));
+    }
+  }
+
+  private void runClosed(ExecutorService executor, long start, long measuredFrom, long end) {
+    var clients = options.concurrency();
+    // Each client is paced to its share of the rate, the clients being evenly staggered
+    var interval = options.rate() > 0 ? (long) (1e9 * clients / options.rate()) : 0;
+    for (int client = 0; client < clients; client++) {
+      var first = start + interval * client / clients;
+      executor.execute(() -> {
+        for (var due = first; ; due += interval) {
+          if (interval == 0) {
+            due = System.nanoTime();
+          }
+          if (due >= end) {
+            return;
+          }
+          parkUntil(due);
+          send(due, due >= measuredFrom);
+        }
+      });
+    }
+  }
+
+  /**
+   * Sends one request and records it when measured.
+   *
+   * @param due      When the request was due by the schedule.
+   * @param measured Whether it is past the warmup.
+   */
+  private void send(long due, boolean measured) {
+    var request = mix.next();
+    var http = HttpRequest.newBuilder(endpoint)
+        .timeout(options.timeout())
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(request.body()))
+        .build();
+    var sent = System.nanoTime();
+    String outcome;
+    try {
+      var response = client.send(http, HttpResponse.BodyHandlers.ofString());
+      outcome = String.valueOf(response.statusCode());
+      if (response.statusCode() / 100 == 2) {
+        mix.completed(response.body());
+      } else {
+        mix.failed(request);
+      }
+    } catch (HttpTimeoutException e) {
+      outcome = "timeout";
+      mix.failed(request);
+    } catch (IOException e) {
+      outcome = "io-error";
+      mix.failed(request);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    if (measured) {
+      recorder.record(request.kind(), outcome, due, sent, System.nanoTime());
+    }
+  }
+
+  private static void parkUntil(long deadline) {
+    for (var wait = deadline - System.nanoTime(); wait > 0; wait = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(wait);
+    }
+  }
+}
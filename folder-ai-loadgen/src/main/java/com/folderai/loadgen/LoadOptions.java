@@ -0,0 +1,150 @@
+package com.folderai.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The settings of a load test, read from the command line.
+ *
+ * @param target              The base URL of the service.
+ * @param mode                Whether requests arrive at a fixed rate or from a fixed number of
+ *                            clients.
+ * @param rate                The arrival rate in requests per second; in closed mode, 0 lets each
+ *                            client send its next request as soon as the previous one completes.
+ * @param concurrency         The number of clients in closed mode.
+ * @param duration            How long requests are measured.
+ * @param warmup              How long requests are sent, but not measured, beforehand.
+ * @param conversationalShare The share of requests following up on an earlier conversation.
+ * @param timeout             How long a request may take before it counts as timed out.
+ * @param skipCache           Whether requests bypass the cached structures of the service.
+ * @param output              The folder the reports are written to.
+ * @param baseline            An earlier JSON report to compare with, or null.
+ * @param label               The name of the run in the reports.
+ */
+public record LoadOptions(URI target, Mode mode, double rate, int concurrency, Duration duration,
+                          Duration warmup, double conversationalShare, Duration timeout,
+                          boolean skipCache, Path output, Path baseline, String label) {
+
+  static final String USAGE = """
+      Usage: loadgen [options]
+        --target <url>          service base URL (http://localhost:8080)
+        --mode open|closed      fixed arrival rate or fixed concurrency (open)
+        --rate <n>              requests per second; in closed mode, 0 for no pacing (10 / 0)
+        --concurrency <n>       clients in closed mode (16)
+        --duration <d>          measured time, e.g. 60s, 5m (60s)
+        --warmup <d>            unmeasured time before (10s)
+        --conversational <f>    share of follow-up requests, 0 to 1 (0.3)
+        --timeout <d>           request timeout (120s)
+        --skip-cache            bypass the service's cached structures
+        --output <dir>          report folder (target/loadgen)
+        --baseline <json>       earlier report.json to compare with
+        --label <name>          run name (run)""";
+
+  /**
+   * How requests are issued.
+   */
+  public enum Mode {
+    /**
+     * Requests arrive at a fixed rate, whether or not earlier ones completed.
+     */
+    OPEN,
+    /**
+     * A fixed number of clients each send a request after the previous one completed.
+     */
+    CLOSED
+  }
+
+  public LoadOptions {
+    if (mode == Mode.OPEN && rate <= 0) {
+      throw new IllegalArgumentException("Open mode needs a positive --rate");
+    }
+    if (rate < 0 || concurrency < 1 || duration.isNegative() || duration.isZero()
+        || warmup.isNegative() || conversationalShare < 0 || conversationalShare > 1) {
+      throw new IllegalArgumentException(USAGE);
+    }
+  }
+
+  /**
+   * @param args The command line arguments.
+   * @return The options, with defaults for those not given.
+   * @throws IllegalArgumentException when an argument is unknown or invalid.
+   */
+  public static LoadOptions parse(String... args) {
+    var target = URI.create("http://localhost:8080");
+    var mode = Mode.OPEN;
+    Double rate = null;
+    var concurrency = 16;
+    var duration = Duration.ofSeconds(60);
+    var warmup = Duration.ofSeconds(10);
+    var conversationalShare = 0.3;
+    var timeout = Duration.ofSeconds(120);
+    var skipCache = false;
+    var output = Path.of("target", "loadgen");
+    Path baseline = null;
+    var label = "run";
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--target" -> target = URI.create(args[++i]);
+          case "--mode" -> mode = Mode.valueOf(args[++i].toUpperCase(Locale.ROOT));
+          case "--rate" -> rate = Double.parseDouble(args[++i]);
+          case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+          case "--duration" -> duration = duration(args[++i]);
+          case "--warmup" -> warmup = duration(args[++i]);
+          case "--conversational" -> conversationalShare = Double.parseDouble(args[++i]);
+          case "--timeout" -> timeout = duration(args[++i]);
+          case "--skip-cache" -> skipCache = true;
+          case "--output" -> output = Path.of(args[++i]);
+          case "--baseline" -> baseline = Path.of(args[++i]);
+          case "--label" -> label = args[++i];
+          default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+        }
+      }
+    } catch (IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException(USAGE, e);
+    }
+    var effectiveRate = rate != null ? rate : mode == Mode.OPEN ? 10 : 0;
+    return new LoadOptions(target, mode, effectiveRate, concurrency, duration, warmup,
+        conversationalShare, timeout, skipCache, output, baseline, label);
+  }
+
+  /**
+   * Parses a duration such as {@code 500ms}, {@code 30s} or {@code 5m}.
+   */
+  static Duration duration(String text) {
+    var value = text.trim().toLowerCase(Locale.ROOT);
+    if (value.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+    }
+    var amount = Long.parseLong(value.substring(0, value.length() - 1));
+    return switch (value.charAt(value.length() - 1)) {
+      case 's' -> Duration.ofSeconds(amount);
+      case 'm' -> Duration.ofMinutes(amount);
+      case 'h' -> Duration.ofHours(amount);
+      default -> throw new IllegalArgumentException("Invalid duration: " + text);
+    };
+  }
+
+  /**
+   * @return The settings as text, for the reports.
+   */
+  Map<String, String> describe() {
+    var settings = new LinkedHashMap<String, String>();
+    settings.put("target", target.toString());
+    settings.put("mode", mode.name().toLowerCase(Locale.ROOT));
+    settings.put("rate", mode == Mode.CLOSED && rate == 0 ? "unpaced" : rate + "/s");
+    if (mode == Mode.CLOSED) {
+      settings.put("concurrency", String.valueOf(concurrency));
+    }
+    settings.put("duration", duration.toString());
+    settings.put("warmup", warmup.toString());
+    settings.put("conversational", String.valueOf(conversationalShare));
+    settings.put("timeout", timeout.toString());
+    settings.put("skipCache", String.valueOf(skipCache));
+    return settings;
+  }
+}
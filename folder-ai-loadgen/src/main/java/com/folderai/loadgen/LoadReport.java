@@ -0,0 +1,213 @@
+package com.folderai.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * The outcome of a load test, written as {@code report.json}, to be diffed or passed back as the
+ * baseline of a later run, and as {@code report.html}, comparing each percentile with the
+ * baseline. Latencies are in milliseconds.
+ *
+ * @param label           The name of the run.
+ * @param startedAt       When the run started.
+ * @param settings        The load test settings.
+ * @param measuredSeconds The length of the measured period.
+ * @param requests        The number of measured requests.
+ * @param throughput      The measured requests per second.
+ * @param outcomes        The number of measured requests by HTTP status or failure.
+ * @param latency         The latency summaries of all requests ("all") and of each kind.
+ * @param histograms      The response time histograms by the same keys, in microseconds,
+ *                        compressed and Base64 encoded for HdrHistogram tools.
+ */
+public record LoadReport(String label, String startedAt, Map<String, String> settings,
+                         double measuredSeconds, long requests, double throughput,
+                         Map<String, Long> outcomes, Map<String, Latency> latency,
+                         Map<String, String> histograms) {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .enable(SerializationFeature.INDENT_OUTPUT);
+  private static final String[] PERCENTILES = {"p50", "p90", "p99", "p99.9", "max"};
+
+  /**
+   * The latency of a group of requests.
+   *
+   * @param responseTime From when each request was due, corrected for coordinated omission.
+   * @param serviceTime  From when each request was actually sent.
+   */
+  public record Latency(Summary responseTime, Summary serviceTime) {
+
+  }
+
+  /**
+   * @param count The number of requests.
+   * @param mean  The mean latency.
+   */
+  public record Summary(long count, double mean, double p50, double p90, double p99,
+                        double p999, double max) {
+
+    static Summary of(Histogram histogram) {
+      return new Summary(histogram.getTotalCount(), histogram.getMean() / 1000.0,
+          histogram.getValueAtPercentile(50) / 1000.0,
+          histogram.getValueAtPercentile(90) / 1000.0,
+          histogram.getValueAtPercentile(99) / 1000.0,
+          histogram.getValueAtPercentile(99.9) / 1000.0,
+          histogram.getMaxValue() / 1000.0);
+    }
+
+    double percentile(String name) {
+      return switch (name) {
+        case "p50" -> p50;
+        case "p90" -> p90;
+        case "p99" -> p99;
+        case "p99.9" -> p999;
+        default -> max;
+      };
+    }
+  }
+
+  static LoadReport of(LoadOptions options, Instant startedAt, LatencyRecorder recorder) {
+    var latency = new LinkedHashMap<String, Latency>();
+    var histograms = new LinkedHashMap<String, String>();
+    var all = recorder.responseTimes();
+    latency.put("all", new Latency(Summary.of(all), Summary.of(recorder.serviceTimes())));
+    histograms.put("all", encode(all));
+    for (var kind : RequestKind.values()) {
+      latency.put(kind.label(), new Latency(Summary.of(recorder.responseTimes(kind)),
+          Summary.of(recorder.serviceTimes(kind))));
+      histograms.put(kind.label(), encode(recorder.responseTimes(kind)));
+    }
+    var seconds = options.duration().toMillis() / 1000.0;
+    return new LoadReport(options.label(), startedAt.toString(), options.describe(), seconds,
+        all.getTotalCount(), all.getTotalCount() / seconds, recorder.outcomes(), latency,
+        histograms);
+  }
+
+  static LoadReport read(Path json) throws IOException {
+    return OBJECT_MAPPER.readValue(json.toFile(), LoadReport.class);
+  }
+
+  /**
+   * Writes {@code report.json} and {@code report.html} into the folder, creating it if needed.
+   *
+   * @param folder   The output folder.
+   * @param baseline An earlier report to compare with, or null.
+   */
+  void write(Path folder, LoadReport baseline) throws IOException {
+    Files.createDirectories(folder);
+    OBJECT_MAPPER.writeValue(folder.resolve("report.json").toFile(), this);
+    Files.writeString(folder.resolve("report.html"), html(baseline));
+  }
+
+  /**
+   * @return A few lines summing up the run, for the console.
+   */
+  String summary() {
+    var all = latency.get("all").responseTime();
+    return "%s: %d requests, %.1f/s, outcomes %s%nresponse time ms: p50 %.1f, p99 %.1f, p99.9 %.1f, max %.1f"
+        .formatted(label, requests, throughput, outcomes, all.p50(), all.p99(), all.p999(),
+            all.max());
+  }
+
+  String html(LoadReport baseline) {
+    var html = new StringBuilder("""
+        <!DOCTYPE html>
+        <html><head><meta charset="utf-8"><title>Load test %s</title>
+        <style>body{font-family:sans-serif}table{border-collapse:collapse}\
+        td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}\
+        .worse{color:#b00}.better{color:#070}</style></head><body>
+        <h1>Load test %s</h1>
+        <p>Started %s%s</p>
+        """.formatted(escape(label), escape(label), escape(startedAt),
+        baseline == null ? "" : ", compared with " + escape(baseline.label())));
+    html.append("<h2>Settings</h2><table>");
+    settings.forEach((name, value) -> html.append("<tr><th>").append(escape(name))
+        .append("</th><td>").append(escape(value)).append("</td></tr>"));
+    html.append("</table>\n<h2>Throughput</h2><table><tr><th>requests</th><td>")
+        .append(requests).append("</td></tr><tr><th>per second</th><td>")
+        .append(cell(throughput, baseline == null ? null : baseline.throughput(), false))
+        .append("</td></tr>");
+    outcomes.forEach((outcome, count) -> html.append("<tr><th>").append(escape(outcome))
+        .append("</th><td>").append(count).append("</td></tr>"));
+    html.append("</table>\n<h2>Latency (ms)</h2><table><tr><th>requests</th><th>time</th>");
+    for (var percentile : PERCENTILES) {
+      html.append("<th>").append(percentile).append("</th>");
+    }
+    html.append("</tr>");
+    latency.forEach((group, value) -> {
+      var previous = baseline == null ? null : baseline.latency().get(group);
+      row(html, group, "response", value.responseTime(),
+          previous == null ? null : previous.responseTime());
+      row(html, group, "service", value.serviceTime(),
+          previous == null ? null : previous.serviceTime());
+    });
+    html.append("</table>\n<h2>Response time distribution (ms)</h2><pre>")
+        .append(escape(distribution(histograms.get("all"))))
+        .append("</pre>\n</body></html>\n");
+    return html.toString();
+  }
+
+  private static void row(StringBuilder html, String group, String time, Summary summary,
+      Summary baseline) {
+    html.append("<tr><th>").append(escape(group)).append("</th><th>").append(time)
+        .append("</th>");
+    for (var percentile : PERCENTILES) {
+      html.append("<td>").append(cell(summary.percentile(percentile),
+          baseline == null || baseline.count() == 0 ? null : baseline.percentile(percentile),
+          true)).append("</td>");
+    }
+    html.append("</tr>");
+  }
+
+  /**
+   * @return The value, followed by its change from the baseline when there is one.
+   */
+  private static String cell(double value, Double baseline, boolean lowerIsBetter) {
+    var text = "%.1f".formatted(value);
+    if (baseline == null || baseline == 0) {
+      return text;
+    }
+    var change = (value - baseline) / baseline * 100;
+    var better = lowerIsBetter ? change < 0 : change > 0;
+    return "%s <span class=\"%s\">(%+.1f%%)</span>".formatted(text, better ? "better" : "worse",
+        change);
+  }
+
+  private static String encode(Histogram histogram) {
+    var buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    var length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+  }
+
+  private static String distribution(String encoded) {
+    try {
+      var histogram = Histogram.decodeFromCompressedByteBuffer(
+          ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+      var text = new ByteArrayOutputStream();
+      histogram.outputPercentileDistribution(new PrintStream(text, true, StandardCharsets.UTF_8),
+          5, 1000.0);
+      return text.toString(StandardCharsets.UTF_8);
+    } catch (DataFormatException | RuntimeException e) {
+      return "No distribution: " + e.getMessage();
+    }
+  }
+
+  private static String escape(String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+        .replace("\"", "&quot;");
+  }
+}
@@ -0,0 +1,25 @@
+package com.folderai.loadgen;
+
+/**
+ * The kinds of generation requests in the mix.
+ */
+enum RequestKind {
+  /**
+   * A first request, starting a new conversation.
+   */
+  NEW("new"),
+  /**
+   * A follow-up on a conversation started by an earlier request.
+   */
+  FOLLOW_UP("follow-up");
+
+  private final String label;
+
+  RequestKind(String label) {
+    this.label = label;
+  }
+
+  String label() {
+    return label;
+  }
+}
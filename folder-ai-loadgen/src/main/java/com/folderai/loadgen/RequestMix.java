@@ -0,0 +1,94 @@
+package com.folderai.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the body of each request: a new learning path, or a follow-up on a conversation
+ * returned by an earlier response. Conversations are taken from a pool and put back once their
+ * follow-up completed, so that no two requests extend the same conversation at once.
+ */
+final class RequestMix {
+
+  private static final String[] SUBJECTS = {"Java", "Spring Boot", "Rust", "Kubernetes",
+      "machine learning", "React", "PostgreSQL", "Go", "system design", "Kotlin"};
+  private static final String[] FOLLOW_UPS = {"Add a section about testing",
+      "Remove the advanced topics", "Add hands-on projects to each section",
+      "Split the fundamentals into smaller lessons", "Add a folder for interview preparation"};
+  private static final int MAX_CONVERSATIONS = 1_000;
+
+  private final ObjectMapper objectMapper;
+  private final double conversationalShare;
+  private final boolean skipCache;
+  private final ConcurrentLinkedDeque<String> conversations = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger pooled = new AtomicInteger();
+
+  RequestMix(ObjectMapper objectMapper, double conversationalShare, boolean skipCache) {
+    this.objectMapper = objectMapper;
+    this.conversationalShare = conversationalShare;
+    this.skipCache = skipCache;
+  }
+
+  /**
+   * A request body, with the conversation it follows up on, if any.
+   */
+  record Request(RequestKind kind, String conversationId, String body) {
+
+  }
+
+  Request next() {
+    var random = ThreadLocalRandom.current();
+    var conversationId = random.nextDouble() < conversationalShare ? conversations.pollFirst()
+        : null;
+    var body = objectMapper.createObjectNode();
+    if (conversationId == null) {
+      body.put("prompt", "A learning path for " + SUBJECTS[random.nextInt(SUBJECTS.length)]);
+    } else {
+      pooled.decrementAndGet();
+      body.put("prompt", FOLLOW_UPS[random.nextInt(FOLLOW_UPS.length)]);
+      body.put("conversationId", conversationId);
+    }
+    if (skipCache) {
+      body.put("skipCache", true);
+    }
+    return new Request(conversationId == null ? RequestKind.NEW : RequestKind.FOLLOW_UP,
+        conversationId, body.toString());
+  }
+
+  /**
+   * Makes the conversation of a successful response available for follow-ups.
+   *
+   * @param responseBody The JSON body of the response.
+   */
+  void completed(String responseBody) {
+    try {
+      var conversationId = objectMapper.readTree(responseBody).path("conversationId");
+      if (conversationId.isTextual()) {
+        offer(conversationId.asText());
+      }
+    } catch (JsonProcessingException e) {
+      // A response without a conversation simply cannot be followed up on
+    }
+  }
+
+  /**
+   * Puts back the conversation of a follow-up that failed, so it can be tried again.
+   */
+  void failed(Request request) {
+    if (request.conversationId() != null) {
+      offer(request.conversationId());
+    }
+  }
+
+  private void offer(String conversationId) {
+    if (pooled.incrementAndGet() <= MAX_CONVERSATIONS) {
+      conversations.offerLast(conversationId);
+    } else {
+      pooled.decrementAndGet();
+    }
+  }
+}
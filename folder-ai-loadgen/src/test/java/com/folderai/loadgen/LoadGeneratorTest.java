@@ -0,0 +1,101 @@
+package com.folderai.loadgen;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LoadGenerator Tests")
+class LoadGeneratorTest {
+
+  private final AtomicInteger followUps = new AtomicInteger();
+  private HttpServer server;
+
+  @TempDir
+  private Path output;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.createContext("/api/v1/folders/project-directory", exchange -> {
+      var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+      if (body.contains("conversationId")) {
+        followUps.incrementAndGet();
+      }
+      var response = ("{\"conversationId\":\"" + UUID.randomUUID() + "\"}")
+          .getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, response.length);
+      exchange.getResponseBody().write(response);
+      exchange.close();
+    });
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  private LoadOptions options(String... args) {
+    var base = new String[]{"--target", "http://localhost:" + server.getAddress().getPort(),
+        "--warmup", "200ms", "--conversational", "0.5", "--output", output.toString()};
+    var all = new String[base.length + args.length];
+    System.arraycopy(base, 0, all, 0, base.length);
+    System.arraycopy(args, 0, all, base.length, args.length);
+    return LoadOptions.parse(all);
+  }
+
+  @Test
+  @DisplayName("should send requests at the fixed rate and follow up on conversations")
+  void run_whenOpenLoop_shouldMeasureScheduledRequests() throws IOException {
+    var report = new LoadGenerator(options("--rate", "50", "--duration", "1s")).run();
+
+    // 50 requests are due in the measured second, the warmup ones being left out
+    assertThat(report.requests()).isBetween(49L, 51L);
+    assertThat(report.outcomes()).containsOnlyKeys("200");
+    assertThat(report.latency().get("follow-up").responseTime().count()).isPositive();
+    assertThat(followUps).hasPositiveValue();
+
+    report.write(output, null);
+    assertThat(LoadReport.read(output.resolve("report.json"))).isEqualTo(report);
+    assertThat(Files.readString(output.resolve("report.html"))).contains("<h1>Load test run</h1>");
+  }
+
+  @Test
+  @DisplayName("should keep the clients busy in a closed loop")
+  void run_whenClosedLoop_shouldMeasureEveryClient() {
+    var report = new LoadGenerator(options("--mode", "closed", "--concurrency", "2",
+        "--rate", "20", "--duration", "1s")).run();
+
+    assertThat(report.requests()).isBetween(19L, 21L);
+    assertThat(report.latency().get("all").serviceTime().max())
+        .isLessThanOrEqualTo(report.latency().get("all").responseTime().max());
+  }
+
+  @Test
+  @DisplayName("should record refused connections as failures")
+  void run_whenServiceDown_shouldRecordErrors() {
+    var options = options("--rate", "20", "--duration", "500ms");
+    server.stop(0);
+
+    var report = new LoadGenerator(options).run();
+
+    assertThat(report.outcomes()).containsOnlyKeys("io-error");
+    assertThat(report.latency().get("follow-up").responseTime().count()).isZero();
+  }
+}
@@ -0,0 +1,58 @@
+package com.folderai.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoadOptions Tests")
+class LoadOptionsTest {
+
+  @Test
+  @DisplayName("should default to an open loop at 10 requests per second")
+  void parse_whenNoArguments_shouldUseDefaults() {
+    var options = LoadOptions.parse();
+
+    assertThat(options.target()).isEqualTo(URI.create("http://localhost:8080"));
+    assertThat(options.mode()).isEqualTo(LoadOptions.Mode.OPEN);
+    assertThat(options.rate()).isEqualTo(10);
+    assertThat(options.duration()).isEqualTo(Duration.ofSeconds(60));
+    assertThat(options.baseline()).isNull();
+  }
+
+  @Test
+  @DisplayName("should parse every option, closed loops being unpaced by default")
+  void parse_whenClosedMode_shouldParseOptions() {
+    var options = LoadOptions.parse("--mode", "closed", "--concurrency", "4", "--duration",
+        "2m", "--warmup", "500ms", "--conversational", "0.5", "--skip-cache", "--baseline",
+        "old/report.json", "--label", "main");
+
+    assertThat(options.mode()).isEqualTo(LoadOptions.Mode.CLOSED);
+    assertThat(options.rate()).isZero();
+    assertThat(options.concurrency()).isEqualTo(4);
+    assertThat(options.duration()).isEqualTo(Duration.ofMinutes(2));
+    assertThat(options.warmup()).isEqualTo(Duration.ofMillis(500));
+    assertThat(options.conversationalShare()).isEqualTo(0.5);
+    assertThat(options.skipCache()).isTrue();
+    assertThat(options.baseline()).isEqualTo(Path.of("old/report.json"));
+    assertThat(options.describe()).containsEntry("mode", "closed").containsEntry("rate", "unpaced");
+  }
+
+  @Test
+  @DisplayName("should reject unknown, missing and invalid arguments")
+  void parse_whenInvalid_shouldThrow() {
+    assertThatThrownBy(() -> LoadOptions.parse("--rps", "5"))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("--rps");
+    assertThatThrownBy(() -> LoadOptions.parse("--rate"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> LoadOptions.parse("--rate", "0"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> LoadOptions.parse("--duration", "5d"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
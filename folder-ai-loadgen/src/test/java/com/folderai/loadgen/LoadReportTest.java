@@ -0,0 +1,57 @@
+package com.folderai.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+@DisplayName("LoadReport Tests")
+class LoadReportTest {
+
+  private static final long MS = 1_000_000;
+
+  private static LoadReport report(String label, long serviceMillis, long queueMillis) {
+    var recorder = new LatencyRecorder();
+    for (int i = 0; i < 100; i++) {
+      var kind = i % 4 == 0 ? RequestKind.FOLLOW_UP : RequestKind.NEW;
+      recorder.record(kind, "200", 0, queueMillis * MS, (queueMillis + serviceMillis) * MS);
+    }
+    recorder.record(RequestKind.NEW, "timeout", 0, 0, 2_000 * MS);
+    var options = LoadOptions.parse("--duration", "10s", "--label", label);
+    return LoadReport.of(options, Instant.EPOCH, recorder);
+  }
+
+  @Test
+  @DisplayName("should sum up the latency from the due time and from the send time")
+  void of_shouldSummarizeLatency() {
+    var report = report("main", 100, 50);
+
+    assertThat(report.requests()).isEqualTo(101);
+    assertThat(report.throughput()).isEqualTo(10.1);
+    assertThat(report.outcomes()).containsEntry("200", 100L).containsEntry("timeout", 1L);
+    var all = report.latency().get("all");
+    assertThat(all.responseTime().p50()).isCloseTo(150, offset(1.0));
+    assertThat(all.serviceTime().p50()).isCloseTo(100, offset(1.0));
+    assertThat(all.responseTime().max()).isCloseTo(2_000, offset(2.0));
+    assertThat(report.latency().get("follow-up").responseTime().count()).isEqualTo(25);
+    assertThat(report.histograms()).containsOnlyKeys("all", "new", "follow-up");
+  }
+
+  @Test
+  @DisplayName("should compare each percentile with the baseline in the HTML report")
+  void html_whenBaseline_shouldShowChanges() {
+    var baseline = report("main", 100, 0);
+    var report = report("feature <b>", 50, 0);
+
+    var html = report.html(baseline);
+
+    assertThat(html).contains("feature &lt;b&gt;").doesNotContain("<b>")
+        .contains("compared with main")
+        .contains("50.0 <span class=\"better\">(-50.0%)</span>")
+        .contains("Percentile");
+    assertThat(baseline.html(null)).doesNotContain("class=\"better\"", "class=\"worse\"");
+  }
+}
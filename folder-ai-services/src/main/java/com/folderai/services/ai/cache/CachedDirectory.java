@@ -0,0 +1,16 @@
+package com.folderai.services.ai.cache;
+
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.DirectoryTree;
+
+/**
+ * A directory structure previously produced by the AI model, kept in the {@link DirectoryCache}.
+ *
+ * @param directoryStructure The parsed structure returned to the client.
+ * @param directoryTree      The tree of the structure, parsed once when it was generated.
+ * @param model              The model that originally generated the structure.
+ */
+public record CachedDirectory(DirectoryStructure directoryStructure, DirectoryTree directoryTree,
+                              String model) {
+
+}
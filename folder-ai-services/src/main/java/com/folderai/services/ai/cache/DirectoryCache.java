@@ -0,0 +1,72 @@
+package com.folderai.services.ai.cache;
+
+import com.folderai.services.config.properties.DirectoryCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * A bounded, in-memory cache of directory structures generated by the AI model. Entries expire
+ * after the configured TTL and the least useful entries are evicted once the maximum size is
+ * reached. Hit, miss and eviction counts are published under the {@code folder.directory.cache}
+ * meter names.
+ */
+@Component
+@Slf4j
+public class DirectoryCache {
+
+  static final String CACHE_NAME = "folder.directory.cache";
+
+  private final boolean enabled;
+  private final Cache<DirectoryCacheKey, CachedDirectory> cache;
+
+  public DirectoryCache(DirectoryCacheProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.enabled();
+    this.cache = Caffeine.newBuilder()
+        .expireAfterWrite(properties.ttl())
+        .maximumSize(properties.maximumSize())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * @return true when the cache is switched on by configuration.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Looks up a previously generated structure.
+   *
+   * @param key The canonical request key.
+   * @return The cached structure, or empty on a miss or when the cache is disabled.
+   */
+  public Optional<CachedDirectory> get(DirectoryCacheKey key) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    var cached = Optional.ofNullable(cache.getIfPresent(key));
+    log.debug("Directory cache {} for key: {}", cached.isPresent() ? "hit" : "miss", key);
+    return cached;
+  }
+
+  /**
+   * Stores a freshly generated structure.
+   *
+   * @param key   The canonical request key.
+   * @param value The structure and the model that produced it.
+   */
+  public void put(DirectoryCacheKey key, CachedDirectory value) {
+    if (enabled) {
+      cache.put(key, value);
+    }
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.folderai.services.ai.cache;
+
+import com.folderai.services.dto.request.FolderModelOptions;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Cache key for a generated directory structure. Two requests share a key when their prompts are
+ * equal after canonicalization and they target the same model with the same temperature.
+ *
+ * @param prompt      The canonicalized user prompt.
+ * @param model       The requested model, or {@link #DEFAULT_MODEL} when none was given.
+ * @param temperature The requested temperature, or {@code null} for the configured default.
+ */
+public record DirectoryCacheKey(String prompt, String model, Double temperature) {
+
+  public static final String DEFAULT_MODEL = "default";
+
+  // Sentence punctuation ending a word; symbols within words, as in "c++" or "node.js", are kept
+  private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[.,;:!?]+(?=\\s|$)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /**
+   * Builds the key for a prompt and its optional model options.
+   *
+   * @param prompt  The raw user prompt.
+   * @param options The model options from the request, may be null.
+   * @return The canonical key.
+   */
+  public static DirectoryCacheKey of(String prompt, FolderModelOptions options) {
+    String model = DEFAULT_MODEL;
+    Double temperature = null;
+    if (options != null) {
+      if (options.model() != null && !options.model().isBlank()) {
+        model = options.model().strip();
+      }
+      temperature = options.temperature();
+    }
+    return new DirectoryCacheKey(normalize(prompt), model, temperature);
+  }
+
+  /**
+   * Canonicalizes a prompt so that case, whitespace and sentence punctuation differences do not
+   * produce distinct keys, e.g. "Learn  advanced Java!" and "learn advanced java" are equal.
+   * Punctuation and symbols within a word are significant: "Learn C++", "Learn C#" and "Learn C"
+   * stay distinct.
+   *
+   * @param prompt The raw prompt.
+   * @return The canonical prompt, never null.
+   */
+  static String normalize(String prompt) {
+    if (prompt == null) {
+      return "";
+    }
+    var text = Normalizer.normalize(prompt, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    text = TRAILING_PUNCTUATION.matcher(text).replaceAll("");
+    return WHITESPACE.matcher(text).replaceAll(" ").strip();
+  }
+
+}
@@ -0,0 +1,72 @@
+package com.folderai.services.ai.cascade;
+
+import com.folderai.services.config.properties.CascadeProperties;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.util.TreeValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The ordered model tiers tried for requests that do not choose a model, fastest and cheapest
+ * first, and the validation a structure must pass for a tier to serve the request. Escalations to
+ * the next tier are counted under {@code folder.cascade.escalations}, tagged with the model that
+ * failed.
+ */
+@Component
+@Slf4j
+public class ModelCascade {
+
+  private final CascadeProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  public ModelCascade(CascadeProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * @return true when requests without a model go through the cascade.
+   */
+  public boolean isActive() {
+    return properties.isActive();
+  }
+
+  /**
+   * @return The models of the cascade, in the order they are tried.
+   */
+  public List<String> models() {
+    return properties.models();
+  }
+
+  /**
+   * Checks that a structure is good enough to be served without escalating.
+   *
+   * @param structure The parsed structure.
+   * @return The problem that calls for escalation, or empty when the structure is valid.
+   */
+  public Optional<String> validate(DirectoryStructure structure) {
+    return TreeValidator.validate(structure.tree(), properties.minEntries(),
+        properties.maxEntries(), properties.maxDepth());
+  }
+
+  /**
+   * Records that a tier failed and the request moves on to the next one.
+   *
+   * @param model  The model of the failed tier.
+   * @param reason Why its answer was rejected.
+   */
+  public void escalated(String model, String reason) {
+    log.info("Model cascade: {} answer rejected ({}), escalating", model, reason);
+    Counter.builder("folder.cascade.escalations")
+        .description("Requests escalated to the next model tier after an invalid structure")
+        .tag("model", model)
+        .register(meterRegistry)
+        .increment();
+  }
+
+}
@@ -0,0 +1,93 @@
+package com.folderai.services.ai.client;
+
+import com.folderai.services.ai.cache.DirectoryCacheKey;
+import com.folderai.services.ai.concurrency.AdaptiveConcurrencyLimiter;
+import com.folderai.services.ai.concurrency.ModelBulkhead;
+import com.folderai.services.ai.metrics.GenerationMetrics;
+import com.folderai.services.dto.response.FolderUsage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Makes the blocking AI model calls: each call waits for its model's
+ * {@link AdaptiveConcurrencyLimiter}, then for a {@link ModelBulkhead} permit, and is timed and its
+ * tokens counted by {@link GenerationMetrics}. Background calls, such as conversation summaries,
+ * go through here too, so they count against the same limits as the requests they run beside.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelCaller {
+
+  private final ChatClient chatClient;
+  private final AdaptiveConcurrencyLimiter adaptiveLimiter;
+  private final ModelBulkhead modelBulkhead;
+  private final GenerationMetrics generationMetrics;
+
+  /**
+   * Calls the AI model once, within the concurrency limits of its model, and counts the tokens the
+   * call consumed.
+   *
+   * @param prompt         The prompt to send.
+   * @param chatOptions    The options of the call, the model included.
+   * @param conversationId The conversation the call is made for, recorded with its metrics.
+   * @return The answer of the model.
+   */
+  public ChatResponse call(Prompt prompt, ChatOptions chatOptions, String conversationId) {
+    var model = modelOf(chatOptions);
+    return Objects.requireNonNull(adaptiveLimiter.execute(model, token -> modelBulkhead.execute(
+        model, () -> {
+          token.onStart();
+          return timedCall(prompt, chatOptions, model, conversationId);
+        })));
+  }
+
+  /**
+   * @param chatOptions The options of a call.
+   * @return The model the call targets, the default one when none is set.
+   */
+  public static String modelOf(ChatOptions chatOptions) {
+    return chatOptions.getModel() == null
+        ? DirectoryCacheKey.DEFAULT_MODEL
+        : chatOptions.getModel();
+  }
+
+  /**
+   * @param usage The usage reported by the provider, or null.
+   * @return The tokens it counts, zero when the provider reported none.
+   */
+  public static FolderUsage usageOf(Usage usage) {
+    return usage == null
+        ? new FolderUsage(0, 0, 0)
+        : new FolderUsage(
+            usage.getPromptTokens(),
+            usage.getCompletionTokens(),
+            usage.getTotalTokens()
+        );
+  }
+
+  private ChatResponse timedCall(Prompt prompt, ChatOptions chatOptions, String model,
+      String conversationId) {
+    var call = generationMetrics.startCall(model, conversationId);
+    ChatResponse response;
+    try {
+      response = chatClient.prompt(prompt)
+          .options(chatOptions)
+          .call()
+          .chatResponse();
+    } catch (RuntimeException e) {
+      call.failed(e);
+      throw e;
+    }
+    var metadata = response == null ? null : response.getMetadata();
+    call.succeeded(metadata == null ? null : metadata.getModel(),
+        usageOf(metadata == null ? null : metadata.getUsage()));
+    return response;
+  }
+}
@@ -0,0 +1,335 @@
+package com.folderai.services.ai.concurrency;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.AdaptiveLimitProperties;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An AIMD concurrency limit around AI model calls, kept separately for each model. The limit grows
+ * by about one call per round of successful, timely calls and shrinks by
+ * {@code folder.adaptive-limit.backoff-ratio} when the provider rate limits a call, times out, or
+ * answers slower than the configured threshold. Requests above the limit wait up to the queue
+ * timeout, then are rejected with a {@link ProviderCapacityExceededException}. This keeps bursts
+ * below the provider's rate limit instead of letting them fail all at once.
+ * <p>
+ * Limits are kept per model of the {@link ModelAllowlist}: models outside of it share one. The
+ * current limit, in-flight calls and waiting requests are published per model under the
+ * {@code folder.adaptive} meter names.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+  private final AdaptiveLimitProperties properties;
+  private final ModelAllowlist modelAllowlist;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, ModelLimit> limits = new ConcurrentHashMap<>();
+
+  public AdaptiveConcurrencyLimiter(AdaptiveLimitProperties properties,
+      ModelAllowlist modelAllowlist, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.modelAllowlist = modelAllowlist;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Runs the call once the model's limit allows it, and adjusts the limit from its outcome.
+   *
+   * @param model The model the call targets.
+   * @param call  The blocking AI model call.
+   * @return The result of the call.
+   * @throws ProviderCapacityExceededException when the limit stayed reached for the queue timeout.
+   */
+  public <T> T execute(String model, Supplier<T> call) {
+    return execute(model, token -> call.get());
+  }
+
+  /**
+   * Runs the call once the model's limit allows it, and adjusts the limit from its outcome. The
+   * call is given its token so that it can report, through {@link Token#onStart()}, when it gets
+   * past any other local queue such as the bulkhead: only the time from there counts as latency.
+   *
+   * @param model The model the call targets.
+   * @param call  The blocking AI model call.
+   * @return The result of the call.
+   * @throws ProviderCapacityExceededException when the limit stayed reached for the queue timeout.
+   */
+  public <T> T execute(String model, Function<Token, T> call) {
+    var token = acquire(model);
+    try {
+      var result = call.apply(token);
+      token.onSuccess();
+      return result;
+    } catch (RuntimeException e) {
+      token.onError(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Acquires a slot under the model's limit, for calls whose lifetime is not bound to a single
+   * method such as streams. The caller must report the outcome through the returned token; only
+   * the first report counts.
+   *
+   * @param model The model the call targets.
+   * @return The acquired slot.
+   * @throws ProviderCapacityExceededException when the limit stayed reached for the queue timeout.
+   */
+  public Token acquire(String model) {
+    if (!properties.enabled()) {
+      return Token.NOOP;
+    }
+    var key = modelAllowlist.resolve(model);
+    var limit = limits.computeIfAbsent(key, this::newModelLimit);
+    limit.acquire(key);
+    return new ModelToken(limit, System.nanoTime());
+  }
+
+  /**
+   * @param model The model name.
+   * @return The current concurrency limit of the model.
+   */
+  public int currentLimit(String model) {
+    var limit = limits.get(modelAllowlist.resolve(model));
+    return limit == null ? properties.initialLimit() : limit.currentLimit();
+  }
+
+  private ModelLimit newModelLimit(String model) {
+    var limit = new ModelLimit(Math.min(Math.max(properties.initialLimit(),
+        properties.minLimit()), properties.maxLimit()));
+    Gauge.builder("folder.adaptive.limit", limit, ModelLimit::currentLimit)
+        .description("Current adaptive concurrency limit of AI model calls")
+        .tag("model", model)
+        .register(meterRegistry);
+    Gauge.builder("folder.adaptive.inflight", limit, ModelLimit::inFlight)
+        .description("AI model calls currently running under the adaptive limit")
+        .tag("model", model)
+        .register(meterRegistry);
+    Gauge.builder("folder.adaptive.queued", limit, ModelLimit::waiting)
+        .description("Requests waiting for the adaptive limit")
+        .tag("model", model)
+        .register(meterRegistry);
+    limit.rejected = Counter.builder("folder.adaptive.rejected")
+        .description("Requests rejected because the adaptive limit stayed reached")
+        .tag("model", model)
+        .register(meterRegistry);
+    limit.congested = Counter.builder("folder.adaptive.congestion")
+        .description("Calls that were rate limited, timed out or slow")
+        .tag("model", model)
+        .register(meterRegistry);
+    return limit;
+  }
+
+  /**
+   * A slot held under a model's limit, used to report how the call went.
+   */
+  public interface Token {
+
+    Token NOOP = new Token() {
+      @Override
+      public void onStart() {
+      }
+
+      @Override
+      public void onSuccess() {
+      }
+
+      @Override
+      public void onError(Throwable error) {
+      }
+
+      @Override
+      public void onIgnore() {
+      }
+    };
+
+    /**
+     * The call is sent to the provider, after waiting for any other local limit. Its latency is
+     * measured from here, or from the acquisition of the slot when this is not reported.
+     */
+    void onStart();
+
+    /**
+     * The call completed; its latency decides whether the limit may grow.
+     */
+    void onSuccess();
+
+    /**
+     * The call failed; congestion failures shrink the limit.
+     *
+     * @param error The failure.
+     */
+    void onError(Throwable error);
+
+    /**
+     * The call ended without telling anything about the provider, such as a cancellation.
+     */
+    void onIgnore();
+  }
+
+  private final class ModelToken implements Token {
+
+    private final ModelLimit limit;
+    private final long admittedAt;
+    private volatile long startedAt;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private ModelToken(ModelLimit limit, long admittedAt) {
+      this.limit = limit;
+      this.admittedAt = admittedAt;
+      this.startedAt = admittedAt;
+    }
+
+    @Override
+    public void onStart() {
+      startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void onSuccess() {
+      if (released.compareAndSet(false, true)) {
+        var latency = System.nanoTime() - startedAt;
+        limit.release(admittedAt, latency > properties.slowCallThreshold().toNanos());
+      }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      if (released.compareAndSet(false, true)) {
+        var failure = ProviderFailure.of(error);
+        if (failure.isCongestion()) {
+          limit.release(admittedAt, true);
+        } else {
+          limit.release();
+        }
+      }
+    }
+
+    @Override
+    public void onIgnore() {
+      if (released.compareAndSet(false, true)) {
+        limit.release();
+      }
+    }
+  }
+
+  private final class ModelLimit {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long lastDecreaseAt = System.nanoTime();
+    private Counter rejected;
+    private Counter congested;
+
+    private ModelLimit(int initialLimit) {
+      this.limit = initialLimit;
+    }
+
+    private void acquire(String model) {
+      lock.lock();
+      try {
+        var remaining = properties.queueTimeout().toNanos();
+        waiting++;
+        try {
+          while (inFlight >= (int) limit) {
+            if (remaining <= 0) {
+              rejected.increment();
+              log.warn("Adaptive limit of {} reached for model: {}, request rejected after {}",
+                  (int) limit, model, properties.queueTimeout());
+              throw new ProviderCapacityExceededException(
+                  "Too many concurrent generations, please retry shortly.");
+            }
+            remaining = available.awaitNanos(remaining);
+          }
+        } finally {
+          waiting--;
+        }
+        inFlight++;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProviderCapacityExceededException("Interrupted while waiting for the AI model.");
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases the slot of a call that completed or failed with a congestion signal. Only calls
+     * admitted after the last decrease may shrink the limit again, so a burst of failures from one
+     * round of calls backs off once rather than once per call.
+     */
+    private void release(long startedAt, boolean congestion) {
+      lock.lock();
+      try {
+        inFlight--;
+        if (congestion) {
+          congested.increment();
+          if (startedAt - lastDecreaseAt > 0) {
+            limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+            lastDecreaseAt = System.nanoTime();
+          }
+        } else if (inFlight + 1 >= (int) limit / 2) {
+          // Only grow while the limit is actually being used.
+          limit = Math.min(properties.maxLimit(), limit + 1.0 / limit);
+        }
+        available.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void release() {
+      lock.lock();
+      try {
+        inFlight--;
+        available.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private int currentLimit() {
+      lock.lock();
+      try {
+        return (int) limit;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private int inFlight() {
+      lock.lock();
+      try {
+        return inFlight;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private int waiting() {
+      lock.lock();
+      try {
+        return waiting;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+}
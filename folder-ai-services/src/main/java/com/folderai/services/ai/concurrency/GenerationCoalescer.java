@@ -0,0 +1,112 @@
+package com.folderai.services.ai.concurrency;
+
+import com.folderai.services.ai.cache.DirectoryCacheKey;
+import com.folderai.services.config.properties.CoalescingProperties;
+import com.folderai.services.dto.response.FolderResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent generation requests into a single AI model call (single-flight).
+ * The first request for a key becomes the leader and performs the call; requests arriving while it
+ * is in flight wait for and share its result. Each key accepts a bounded number of waiters, beyond
+ * which requests fall back to their own call.
+ */
+@Component
+@Slf4j
+public class GenerationCoalescer {
+
+  private final boolean enabled;
+  private final int maxWaitersPerKey;
+  private final Map<DirectoryCacheKey, Flight> flights = new ConcurrentHashMap<>();
+  private final Counter collapsedCounter;
+  private final Counter overflowCounter;
+
+  public GenerationCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.enabled();
+    this.maxWaitersPerKey = properties.maxWaitersPerKey();
+    this.collapsedCounter = Counter.builder("folder.generation.coalesced")
+        .description("Generation requests served by another request's in-flight AI call")
+        .register(meterRegistry);
+    this.overflowCounter = Counter.builder("folder.generation.coalescing.overflow")
+        .description("Generation requests that exceeded the per-key waiter cap")
+        .register(meterRegistry);
+    meterRegistry.gauge("folder.generation.inflight.keys", flights, Map::size);
+  }
+
+  /**
+   * @return true when coalescing is switched on by configuration.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Runs the call for the given key, or joins the identical call already in flight.
+   *
+   * @param key  The canonical request key.
+   * @param call The AI model call, only invoked by the leader or by requests above the cap.
+   * @return The response together with whether it was produced by another request.
+   */
+  public Coalesced execute(DirectoryCacheKey key, Supplier<FolderResponse> call) {
+    var flight = new Flight();
+    var inFlight = flights.putIfAbsent(key, flight);
+    if (inFlight == null) {
+      return lead(key, flight, call);
+    }
+    if (inFlight.waiters.incrementAndGet() > maxWaitersPerKey) {
+      inFlight.waiters.decrementAndGet();
+      overflowCounter.increment();
+      log.debug("Waiter cap reached for key: {}, calling the AI model directly", key);
+      return new Coalesced(call.get(), false);
+    }
+    collapsedCounter.increment();
+    try {
+      return new Coalesced(inFlight.result.join(), true);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private Coalesced lead(DirectoryCacheKey key, Flight flight, Supplier<FolderResponse> call) {
+    try {
+      var response = call.get();
+      flight.result.complete(response);
+      return new Coalesced(response, false);
+    } catch (RuntimeException e) {
+      flight.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  /**
+   * The outcome of a coalesced call.
+   *
+   * @param response The response produced by the AI model call.
+   * @param shared   True when the call was made on behalf of another request.
+   */
+  public record Coalesced(FolderResponse response, boolean shared) {
+
+  }
+
+  private static final class Flight {
+
+    private final CompletableFuture<FolderResponse> result = new CompletableFuture<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+  }
+
+}
@@ -0,0 +1,120 @@
+package com.folderai.services.ai.concurrency;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.BulkheadProperties;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A semaphore bulkhead around AI model calls. Each model gets its own pool of permits so a slow or
+ * saturated model cannot starve the others, and requests that wait longer than the configured
+ * queue timeout are rejected with a {@link ProviderCapacityExceededException}. With virtual threads
+ * enabled, waiting requests are parked cheaply instead of holding a platform thread.
+ * <p>
+ * Compartments are kept per model of the {@link ModelAllowlist}: models outside of it share one.
+ */
+@Component
+@Slf4j
+public class ModelBulkhead {
+
+  private final BulkheadProperties properties;
+  private final ModelAllowlist modelAllowlist;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+  public ModelBulkhead(BulkheadProperties properties, ModelAllowlist modelAllowlist,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.modelAllowlist = modelAllowlist;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Runs the call once a permit for the model is available.
+   *
+   * @param model The model the call targets.
+   * @param call  The blocking AI model call.
+   * @return The result of the call.
+   * @throws ProviderCapacityExceededException when no permit became free within the timeout.
+   */
+  public <T> T execute(String model, Supplier<T> call) {
+    var permit = acquire(model);
+    try {
+      return call.get();
+    } finally {
+      permit.release();
+    }
+  }
+
+  /**
+   * Acquires a permit for the model, for calls whose lifetime is not bound to a single method such
+   * as streams. The caller must release the permit exactly once.
+   *
+   * @param model The model the call targets.
+   * @return The acquired permit.
+   * @throws ProviderCapacityExceededException when no permit became free within the timeout.
+   */
+  public Permit acquire(String model) {
+    if (!properties.enabled()) {
+      return () -> { };
+    }
+    var key = modelAllowlist.resolve(model);
+    var compartment = compartments.computeIfAbsent(key, this::newCompartment);
+    try {
+      if (!compartment.semaphore.tryAcquire(properties.queueTimeout().toMillis(),
+          TimeUnit.MILLISECONDS)) {
+        compartment.rejected.increment();
+        log.warn("Bulkhead full for model: {}, request rejected after {}", key,
+            properties.queueTimeout());
+        throw new ProviderCapacityExceededException(
+            "Too many concurrent generations, please retry shortly.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProviderCapacityExceededException("Interrupted while waiting for the AI model.");
+    }
+    return compartment.semaphore::release;
+  }
+
+  private Compartment newCompartment(String model) {
+    var limit = properties.maxConcurrentCalls(model);
+    var semaphore = new Semaphore(limit, true);
+    Gauge.builder("folder.bulkhead.active", semaphore, s -> limit - s.availablePermits())
+        .description("AI model calls currently holding a bulkhead permit")
+        .tag("model", model)
+        .register(meterRegistry);
+    Gauge.builder("folder.bulkhead.queued", semaphore, Semaphore::getQueueLength)
+        .description("Requests waiting for a bulkhead permit")
+        .tag("model", model)
+        .register(meterRegistry);
+    var rejected = Counter.builder("folder.bulkhead.rejected")
+        .description("Requests rejected because the bulkhead stayed full")
+        .tag("model", model)
+        .register(meterRegistry);
+    return new Compartment(semaphore, rejected);
+  }
+
+  /**
+   * A held bulkhead permit.
+   */
+  @FunctionalInterface
+  public interface Permit {
+
+    void release();
+  }
+
+  private record Compartment(Semaphore semaphore, Counter rejected) {
+
+  }
+
+}
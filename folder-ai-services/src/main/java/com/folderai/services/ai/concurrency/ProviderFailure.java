@@ -0,0 +1,64 @@
+package com.folderai.services.ai.concurrency;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Classifies a failed AI model call by what it says about the provider. Spring AI reports HTTP
+ * errors as {@code "<status> - <body>"} messages, so rate limiting and exhausted quotas are told
+ * apart by the status code and the provider's error code in the body.
+ */
+public enum ProviderFailure {
+
+  /**
+   * The provider throttled the call (HTTP 429 without a quota error): it is overloaded.
+   */
+  RATE_LIMITED,
+
+  /**
+   * The account quota is exhausted: retrying or slowing down does not help.
+   */
+  QUOTA_EXCEEDED,
+
+  /**
+   * The call did not complete in time: the provider is likely overloaded.
+   */
+  TIMEOUT,
+
+  /**
+   * Any other failure, which says nothing about provider load.
+   */
+  OTHER;
+
+  /**
+   * @param error The failure of an AI model call.
+   * @return The category of the failure.
+   */
+  public static ProviderFailure of(Throwable error) {
+    for (var cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException
+          || cause instanceof TimeoutException) {
+        return TIMEOUT;
+      }
+      var message = cause.getMessage() == null ? "" : cause.getMessage().toLowerCase(Locale.ROOT);
+      if (message.contains("quota")) {
+        return QUOTA_EXCEEDED;
+      }
+      if (message.startsWith("429") || message.contains("rate limit")
+          || message.contains("rate_limit") || message.contains("too many requests")) {
+        return RATE_LIMITED;
+      }
+    }
+    return OTHER;
+  }
+
+  /**
+   * @return true when the failure signals that the provider is congested.
+   */
+  public boolean isCongestion() {
+    return this == RATE_LIMITED || this == TIMEOUT;
+  }
+
+}
@@ -0,0 +1,206 @@
+package com.folderai.services.ai.fake;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folderai.services.ai.prompt.OutputConverters;
+import com.folderai.services.config.properties.FakeModelProperties;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.TreeEdit;
+import com.folderai.services.dto.response.TreeEditScript;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An offline {@link ChatModel} answering like the provider would, for load tests and local runs
+ * that must not spend tokens. Directory prompts get a generated {@link DirectoryStructure} and
+ * refinement prompts a one-edit {@link TreeEditScript}, as JSON, after a simulated time to first
+ * token and at a simulated token rate; streamed answers are emitted a token at a time, the usage
+ * coming last as with {@code stream-usage}.
+ *
+ * <p>Failures are injected at the configured rates and shaped like the real ones, so that the
+ * concurrency controls classify them the same way: HTTP 429 errors as Spring AI reports them, read
+ * timeouts after a hang, and answers cut in the middle of their JSON.
+ */
+public class FakeChatModel implements ChatModel {
+
+  private static final int CHARS_PER_TOKEN = 4;
+  private static final String[] SECTIONS = {"fundamentals", "core-concepts", "tooling",
+      "testing", "projects", "advanced-topics", "resources"};
+  private static final String[] TOPICS = {"introduction", "setup", "key-concepts", "exercises",
+      "mini-project", "review"};
+
+  private final FakeModelProperties properties;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicLong edits = new AtomicLong();
+
+  public FakeChatModel(FakeModelProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public ChatResponse call(Prompt prompt) {
+    var fault = Fault.draw(properties);
+    if (fault == Fault.RATE_LIMITED) {
+      throw rateLimited();
+    }
+    if (fault == Fault.TIMEOUT) {
+      sleep(properties.timeout());
+      throw timedOut();
+    }
+    var answer = answer(prompt, fault == Fault.MALFORMED);
+    sleep(properties.timeToFirstToken().plus(tokenTime(tokens(answer))));
+    return response(answer, modelOf(prompt), usage(prompt, answer));
+  }
+
+  @Override
+  public Flux<ChatResponse> stream(Prompt prompt) {
+    return Flux.defer(() -> {
+      var fault = Fault.draw(properties);
+      if (fault == Fault.RATE_LIMITED) {
+        return Flux.error(rateLimited());
+      }
+      if (fault == Fault.TIMEOUT) {
+        return Mono.delay(properties.timeout()).then(Mono.<ChatResponse>error(timedOut())).flux();
+      }
+      var answer = answer(prompt, fault == Fault.MALFORMED);
+      var model = modelOf(prompt);
+      var chunks = (answer.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+      return Flux.interval(properties.timeToFirstToken(), tokenTime(1))
+          .take(chunks)
+          .map(i -> {
+            var start = (int) (i * CHARS_PER_TOKEN);
+            return response(answer.substring(start,
+                Math.min(answer.length(), start + CHARS_PER_TOKEN)), model, new DefaultUsage(0, 0));
+          })
+          .concatWith(Mono.fromSupplier(() -> response("", model, usage(prompt, answer))));
+    });
+  }
+
+  /**
+   * @return The JSON answer to the prompt, cut in half when malformed.
+   */
+  private String answer(Prompt prompt, boolean malformed) {
+    Object answer = prompt.getContents().contains(OutputConverters.TREE_EDIT_SCRIPT_FORMAT)
+        ? new TreeEditScript(List.of(new TreeEdit(TreeEdit.Operation.ADD,
+        "extra-practice-" + edits.incrementAndGet() + "/", null)))
+        : structure(prompt);
+    try {
+      var json = objectMapper.writeValueAsString(answer);
+      return malformed ? json.substring(0, json.length() / 2) : json;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot write the fake answer", e);
+    }
+  }
+
+  /**
+   * A learning path named after the user prompt, of sections holding up to six topics each.
+   */
+  private DirectoryStructure structure(Prompt prompt) {
+    var text = prompt.getUserMessage() == null ? "" : prompt.getUserMessage().getText();
+    // The user template labels the request, as in "User Request:: <prompt>"
+    var name = slug(text.substring(text.indexOf("::") + 1));
+    var topicsPerSection = new ArrayList<Integer>();
+    for (var remaining = properties.treeNodes() - 1; remaining > 0; ) {
+      var topics = Math.min(TOPICS.length, remaining - 1);
+      topicsPerSection.add(topics);
+      remaining -= topics + 1;
+    }
+    var tree = new StringBuilder(name).append('/');
+    for (int section = 0; section < topicsPerSection.size(); section++) {
+      var lastSection = section == topicsPerSection.size() - 1;
+      tree.append('\n').append(lastSection ? "└── " : "├── ")
+          .append("%02d-%s/".formatted(section + 1, SECTIONS[section % SECTIONS.length]));
+      for (int topic = 0; topic < topicsPerSection.get(section); topic++) {
+        var lastTopic = topic == topicsPerSection.get(section) - 1;
+        tree.append('\n').append(lastSection ? "    " : "│   ")
+            .append(lastTopic ? "└── " : "├── ")
+            .append("%02d-%s/".formatted(topic + 1, TOPICS[topic]));
+      }
+    }
+    return new DirectoryStructure(name, tree.toString());
+  }
+
+  private static String slug(String text) {
+    var slug = text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-")
+        .replaceAll("^-+|-+$", "");
+    if (slug.length() > 32) {
+      slug = slug.substring(0, 32).replaceAll("-[^-]*$", "");
+    }
+    return slug.isEmpty() ? "learning-path" : slug;
+  }
+
+  private String modelOf(Prompt prompt) {
+    var options = prompt.getOptions();
+    return options != null && options.getModel() != null ? options.getModel() : properties.model();
+  }
+
+  private static DefaultUsage usage(Prompt prompt, String answer) {
+    return new DefaultUsage(tokens(prompt.getContents()), tokens(answer));
+  }
+
+  private static ChatResponse response(String text, String model, DefaultUsage usage) {
+    return new ChatResponse(List.of(new Generation(new AssistantMessage(text))),
+        ChatResponseMetadata.builder().model(model).usage(usage).build());
+  }
+
+  private static int tokens(String text) {
+    return Math.max(1, (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN);
+  }
+
+  private Duration tokenTime(int tokens) {
+    return Duration.ofNanos(Math.max(1, (long) (tokens * 1e9 / properties.tokensPerSecond())));
+  }
+
+  private static TransientAiException rateLimited() {
+    return new TransientAiException("429 - {\"error\": {\"message\": \"Rate limit reached for "
+        + "requests (fake model).\", \"type\": \"requests\", \"code\": \"rate_limit_exceeded\"}}");
+  }
+
+  private static ResourceAccessException timedOut() {
+    return new ResourceAccessException("I/O error on POST request for the fake model: "
+        + "Read timed out", new SocketTimeoutException("Read timed out"));
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while simulating the model latency", e);
+    }
+  }
+
+  private enum Fault {
+    NONE, RATE_LIMITED, TIMEOUT, MALFORMED;
+
+    private static Fault draw(FakeModelProperties properties) {
+      var draw = ThreadLocalRandom.current().nextDouble();
+      if (draw < properties.rateLimitRate()) {
+        return RATE_LIMITED;
+      }
+      draw -= properties.rateLimitRate();
+      if (draw < properties.timeoutRate()) {
+        return TIMEOUT;
+      }
+      draw -= properties.timeoutRate();
+      return draw < properties.malformedRate() ? MALFORMED : NONE;
+    }
+  }
+}
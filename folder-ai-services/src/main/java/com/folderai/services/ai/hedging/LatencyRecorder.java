@@ -0,0 +1,58 @@
+package com.folderai.services.ai.hedging;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent calls in a fixed-size ring buffer and answers percentile
+ * queries over them, so the hedging delay follows the provider's current behaviour rather than
+ * its whole history. Thread-safe.
+ */
+public class LatencyRecorder {
+
+  private final long[] samples;
+  private int next;
+  private int size;
+
+  /**
+   * @param capacity The number of most recent latencies kept.
+   */
+  public LatencyRecorder(int capacity) {
+    this.samples = new long[capacity];
+  }
+
+  /**
+   * @param latency The latency of a completed call.
+   */
+  public synchronized void record(Duration latency) {
+    samples[next] = latency.toNanos();
+    next = (next + 1) % samples.length;
+    size = Math.min(size + 1, samples.length);
+  }
+
+  /**
+   * @return The number of latencies currently kept.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @param percentile The percentile, between 0 and 1.
+   * @return The latency below which the given share of the kept calls completed, or zero when no
+   *     call has been recorded.
+   */
+  public Duration percentile(double percentile) {
+    long[] sorted;
+    synchronized (this) {
+      if (size == 0) {
+        return Duration.ZERO;
+      }
+      sorted = Arrays.copyOf(samples, size);
+    }
+    Arrays.sort(sorted);
+    var index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+  }
+
+}
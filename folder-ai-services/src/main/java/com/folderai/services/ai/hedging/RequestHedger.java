@@ -0,0 +1,266 @@
+package com.folderai.services.ai.hedging;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Hedges AI model calls to cut tail latency. When the primary call has not completed after a delay
+ * derived from the recent latency percentile of its model, an identical call is issued, optionally
+ * to an alternate model; the first call to return a valid result wins and the other one is
+ * cancelled. Hedges are capped by a per-minute budget so that provider stalls cannot double the
+ * token spend. Latencies are sampled per model of the {@link ModelAllowlist}: models outside of it
+ * share one sample.
+ * <p>
+ * Eligible calls, issued hedges, hedge wins and hedges skipped for lack of budget are counted under
+ * the {@code folder.hedging} meter names.
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+
+  private static final int LATENCY_SAMPLES = 256;
+
+  private final HedgingProperties properties;
+  private final ModelAllowlist modelAllowlist;
+  private final Map<String, LatencyRecorder> latencies = new ConcurrentHashMap<>();
+  private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("generation-hedge-", 0).factory());
+  private final Budget budget;
+  private final Counter calls;
+  private final Counter hedges;
+  private final Counter wins;
+  private final Counter budgetExhausted;
+
+  public RequestHedger(HedgingProperties properties, ModelAllowlist modelAllowlist,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.modelAllowlist = modelAllowlist;
+    this.budget = new Budget(properties.budgetPerMinute());
+    this.calls = Counter.builder("folder.hedging.calls")
+        .description("AI model calls eligible for hedging")
+        .register(meterRegistry);
+    this.hedges = Counter.builder("folder.hedging.hedges")
+        .description("Hedged calls issued because the primary call was slow")
+        .register(meterRegistry);
+    this.wins = Counter.builder("folder.hedging.wins")
+        .description("Hedged calls that returned before the primary call")
+        .register(meterRegistry);
+    this.budgetExhausted = Counter.builder("folder.hedging.budget.exhausted")
+        .description("Hedges skipped because the per-minute budget was spent")
+        .register(meterRegistry);
+  }
+
+  /**
+   * @return true when slow calls are hedged.
+   */
+  public boolean isEnabled() {
+    return properties.enabled();
+  }
+
+  /**
+   * Runs the call against the model, hedging it if it is slow.
+   *
+   * @param model The model of the primary call.
+   * @param call  The blocking call, given the model to target. It must throw when its result is
+   *              not valid, so that the other call gets a chance to win.
+   * @return The first valid result.
+   */
+  public <T> T execute(String model, Function<String, T> call) {
+    if (!properties.enabled()) {
+      return call.apply(model);
+    }
+    calls.increment();
+    var delay = hedgeDelay(model);
+    var primary = submit(model, call);
+    try {
+      return primary.result.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      if (!budget.tryAcquire()) {
+        budgetExhausted.increment();
+        return await(primary.result, primary);
+      }
+      return race(model, primary, call, delay);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      primary.cancel();
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for the AI model.");
+    }
+  }
+
+  /**
+   * @param model The model name.
+   * @return How long a call to the model may run before it is hedged.
+   */
+  public Duration hedgeDelay(String model) {
+    var recorder = latencies.get(modelAllowlist.resolve(model));
+    if (recorder == null || recorder.size() < properties.minSamples()) {
+      return properties.maxDelay();
+    }
+    var delay = recorder.percentile(properties.percentile());
+    if (delay.compareTo(properties.minDelay()) < 0) {
+      return properties.minDelay();
+    }
+    return delay.compareTo(properties.maxDelay()) > 0 ? properties.maxDelay() : delay;
+  }
+
+  /**
+   * Issues the hedge and returns the first valid result. The race only fails once both calls
+   * failed, with the error of the primary call.
+   */
+  private <T> T race(String model, Attempt<T> primary, Function<String, T> call, Duration delay) {
+    var hedgeModel = properties.alternateModel() == null || properties.alternateModel().isBlank()
+        ? model
+        : properties.alternateModel();
+    log.info("AI call to {} still running after {}, hedging to {}", model, delay, hedgeModel);
+    hedges.increment();
+    var hedge = submit(hedgeModel, call);
+    var winner = new CompletableFuture<T>();
+    primary.result.thenAccept(winner::complete);
+    hedge.result.thenAccept(result -> {
+      if (winner.complete(result)) {
+        wins.increment();
+      }
+    });
+    // Dependents may run in any order: once both calls are done, settle from their outcomes.
+    CompletableFuture.allOf(primary.result, hedge.result).whenComplete((ignored, error) -> {
+      if (!primary.result.isCompletedExceptionally()) {
+        winner.complete(primary.result.join());
+      } else if (!hedge.result.isCompletedExceptionally()) {
+        if (winner.complete(hedge.result.join())) {
+          wins.increment();
+        }
+      } else {
+        winner.completeExceptionally(primary.result.exceptionNow());
+      }
+    });
+    return await(winner, primary, hedge);
+  }
+
+  private <T> Attempt<T> submit(String model, Function<String, T> call) {
+    var context = MDC.getCopyOfContextMap();
+    var result = new CompletableFuture<T>();
+    var task = executor.submit(() -> {
+      if (context != null) {
+        MDC.setContextMap(context);
+      }
+      var startedAt = System.nanoTime();
+      try {
+        var value = call.apply(model);
+        recordLatency(model, startedAt);
+        result.complete(value);
+      } catch (Throwable e) {
+        // A failed or cancelled call ran at least this long: leaving it out would bias the
+        // percentile, and so the hedge delay, low
+        recordLatency(model, startedAt);
+        result.completeExceptionally(e);
+      } finally {
+        MDC.clear();
+      }
+    });
+    return new Attempt<>(result, task);
+  }
+
+  /**
+   * Samples the latency of a call, capped at the longest hedge delay: a stalled call only needs
+   * to count as slow.
+   */
+  private void recordLatency(String model, long startedAt) {
+    var latency = Duration.ofNanos(System.nanoTime() - startedAt);
+    latencies.computeIfAbsent(modelAllowlist.resolve(model),
+            m -> new LatencyRecorder(LATENCY_SAMPLES))
+        .record(latency.compareTo(properties.maxDelay()) > 0 ? properties.maxDelay() : latency);
+  }
+
+  /**
+   * Waits for the result, then cancels every attempt still running.
+   */
+  @SafeVarargs
+  private static <T> T await(CompletableFuture<T> result, Attempt<T>... attempts) {
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for the AI model.");
+    } finally {
+      for (var attempt : attempts) {
+        attempt.cancel();
+      }
+    }
+  }
+
+  private static RuntimeException unwrap(ExecutionException e) {
+    return e.getCause() instanceof RuntimeException runtime
+        ? runtime
+        : new CompletionException(e.getCause());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * A call running on the hedging executor; cancelling it interrupts the thread blocked on the
+   * provider.
+   */
+  private record Attempt<T>(CompletableFuture<T> result, Future<?> task) {
+
+    private void cancel() {
+      task.cancel(true);
+    }
+  }
+
+  /**
+   * A fixed-window budget of hedges per minute.
+   */
+  private static final class Budget {
+
+    private static final long WINDOW = TimeUnit.MINUTES.toNanos(1);
+
+    private final int perMinute;
+    private long windowStart = System.nanoTime();
+    private int used;
+
+    private Budget(int perMinute) {
+      this.perMinute = perMinute;
+    }
+
+    private synchronized boolean tryAcquire() {
+      var now = System.nanoTime();
+      if (now - windowStart >= WINDOW) {
+        windowStart = now;
+        used = 0;
+      }
+      if (used >= perMinute) {
+        return false;
+      }
+      used++;
+      return true;
+    }
+  }
+
+}
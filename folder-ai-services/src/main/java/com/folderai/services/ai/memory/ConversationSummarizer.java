@@ -0,0 +1,57 @@
+package com.folderai.services.ai.memory;
+
+import com.folderai.services.ai.client.ModelCaller;
+import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.config.properties.ChatMemoryProperties;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Condenses the oldest turns of a conversation, together with the summary of the turns before
+ * them, into a single summary written by a small model. The call goes through the
+ * {@link ModelCaller}, within the concurrency limits and metrics of the summary model.
+ */
+@Component
+public class ConversationSummarizer {
+
+  private final ModelCaller modelCaller;
+  private final ChatMemoryProperties properties;
+  private final PromptFactory promptFactory;
+
+  public ConversationSummarizer(ModelCaller modelCaller, ChatMemoryProperties properties,
+      PromptFactory promptFactory) {
+    this.modelCaller = modelCaller;
+    this.properties = properties;
+    this.promptFactory = promptFactory;
+  }
+
+  /**
+   * @param conversationId  The conversation the turns belong to.
+   * @param previousSummary The summary of the turns before {@code messages}, or null.
+   * @param messages        The turns to condense, oldest first.
+   * @return The new summary, or null when the model answered nothing.
+   */
+  public String summarize(String conversationId, String previousSummary, List<Message> messages) {
+    var conversation = messages.stream()
+        .map(message -> (message.getMessageType() == MessageType.ASSISTANT ? "assistant: "
+            : "user: ") + message.getText())
+        .collect(Collectors.joining("\n"));
+    var prompt = promptFactory.createSummaryPrompt(previousSummary, conversation);
+    var response = modelCaller.call(prompt,
+        ChatOptions.builder().model(properties.summaryModel()).temperature(0.0).build(),
+        conversationId);
+    return textOf(response);
+  }
+
+  private static String textOf(ChatResponse response) {
+    return response.getResult() == null || response.getResult().getOutput() == null
+        ? null
+        : response.getResult().getOutput().getText();
+  }
+}
@@ -0,0 +1,33 @@
+package com.folderai.services.ai.memory;
+
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+
+/**
+ * The part of a conversation sent with the next request.
+ *
+ * @param messages    The messages within the token budget, oldest first.
+ * @param savedTokens The estimated prompt tokens of the stored messages left out of the window.
+ * @param currentTree The latest tree of the conversation, or null before the first one.
+ */
+public record HistoryWindow(List<Message> messages, int savedTokens, String currentTree) {
+
+  public static final HistoryWindow EMPTY = new HistoryWindow(List.of(), 0);
+
+  public HistoryWindow {
+    messages = List.copyOf(messages);
+  }
+
+  public HistoryWindow(List<Message> messages, int savedTokens) {
+    this(messages, savedTokens, null);
+  }
+
+  /**
+   * @return true when nothing is stored for the conversation yet. The window is never empty once
+   *     a turn is stored, even when the latest tree alone exceeds the token budget.
+   */
+  public boolean isFirstTurn() {
+    return currentTree == null && messages.isEmpty();
+  }
+}
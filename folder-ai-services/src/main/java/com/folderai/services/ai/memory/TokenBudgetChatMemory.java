@@ -0,0 +1,384 @@
+package com.folderai.services.ai.memory;
+
+import com.folderai.services.config.properties.ChatMemoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ChatMemory} that bounds the history sent to the model by an estimated token count
+ * instead of a number of messages. Only the most recent turns fitting in the budget are returned;
+ * when older turns fall out of it they are condensed into a summary message on a background
+ * thread, so the request that triggered it never waits for the summarization call.
+ *
+ * <p>Each generated tree is stored as a {@link TreeDelta} against the previous one. The prompt
+ * carries the changes of the earlier turns and the current tree, reconstructed from the deltas,
+ * in full only once.
+ */
+@Slf4j
+public class TokenBudgetChatMemory implements ChatMemory, AutoCloseable {
+
+  /**
+   * Metadata flag of the system message holding the summary of the compacted turns.
+   */
+  static final String SUMMARY_METADATA = "conversationSummary";
+
+  /**
+   * Metadata of the answers recorded by {@link #addTurn}: {@value #FULL_TREE} when the answer
+   * holds the whole tree, {@value #TREE_DELTA} when it holds a {@link TreeDelta} against the
+   * previous tree.
+   */
+  static final String TREE_METADATA = "tree";
+
+  static final String FULL_TREE = "full";
+
+  static final String TREE_DELTA = "delta";
+
+  /**
+   * Sent in place of a tree that a later turn replaced, when it was stored in full.
+   */
+  static final String SUPERSEDED_TREE = "Generated a tree, superseded by the later versions.";
+
+  /**
+   * Tokens the chat format adds around every message, on top of its text.
+   */
+  private static final int TOKENS_PER_MESSAGE = 4;
+
+  private static final int LOCK_STRIPES = 64;
+
+  private final ChatMemoryRepository repository;
+  private final TokenCountEstimator tokenCountEstimator;
+  private final ConversationSummarizer summarizer;
+  private final ChatMemoryProperties properties;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Set<String> compacting = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+  private final Counter compactions;
+  private final Counter compactionFailures;
+  private final Counter savedTokens;
+
+  public TokenBudgetChatMemory(ChatMemoryRepository repository,
+      TokenCountEstimator tokenCountEstimator, ConversationSummarizer summarizer,
+      ChatMemoryProperties properties, MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.tokenCountEstimator = tokenCountEstimator;
+    this.summarizer = summarizer;
+    this.properties = properties;
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    this.compactions = Counter.builder("folder.chat-memory.compactions")
+        .description("Conversation prefixes condensed into a summary")
+        .register(meterRegistry);
+    this.compactionFailures = Counter.builder("folder.chat-memory.compactions.failed")
+        .description("Summarizations that failed and left the history truncated")
+        .register(meterRegistry);
+    this.savedTokens = Counter.builder("folder.chat-memory.tokens.saved")
+        .description("Estimated prompt tokens of stored history left out of the requests")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void add(String conversationId, List<Message> messages) {
+    var lock = lockFor(conversationId);
+    lock.lock();
+    try {
+      var stored = new ArrayList<>(repository.findByConversationId(conversationId));
+      stored.addAll(messages);
+      save(conversationId, stored);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Records a question and the tree generated for it with a single write. The tree is stored as a
+   * delta against the current tree of the conversation, unless that would not be smaller.
+   *
+   * @param conversationId The conversation the turn belongs to.
+   * @param question       The user message of the turn.
+   * @param tree           The tree generated for it.
+   */
+  public void addTurn(String conversationId, Message question, String tree) {
+    var lock = lockFor(conversationId);
+    lock.lock();
+    try {
+      var stored = new ArrayList<>(repository.findByConversationId(conversationId));
+      var previous = treeAt(stored, stored.size());
+      Message answer = fullTree(tree);
+      if (previous != null) {
+        var delta = TreeDelta.diff(previous, tree);
+        if (delta.length() < tree.length()) {
+          answer = new AssistantMessage(delta, Map.of(TREE_METADATA, TREE_DELTA));
+        }
+      }
+      stored.add(question);
+      stored.add(answer);
+      save(conversationId, stored);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Trims the conversation to the maximum number of messages, then saves it and schedules its
+   * compaction when turns fell out of the token budget. Must be called under the conversation
+   * lock.
+   */
+  private void save(String conversationId, List<Message> stored) {
+    var summaryOffset = hasSummary(stored) ? 1 : 0;
+    var excess = stored.size() - Math.max(properties.maxMessages(), summaryOffset);
+    if (excess > 0) {
+      var kept = new ArrayList<Message>(stored.subList(0, summaryOffset));
+      kept.addAll(rebase(stored, summaryOffset + excess));
+      stored = kept;
+    }
+    repository.saveAll(conversationId, stored);
+    if (windowStart(render(stored)) > summaryOffset) {
+      scheduleCompaction(conversationId);
+    }
+  }
+
+  @Override
+  public List<Message> get(String conversationId) {
+    return window(conversationId).messages();
+  }
+
+  /**
+   * Returns the summary of the compacted turns, if any, followed by the most recent messages
+   * fitting in the token budget. The window never starts with an answer whose question was left
+   * out, and always holds the latest question and answer, even past the budget. The latest answer
+   * carries the current tree in full, earlier ones only their changes.
+   *
+   * @param conversationId The conversation to read.
+   * @return The messages to send with the next request, the tokens left out and the current tree.
+   */
+  public HistoryWindow window(String conversationId) {
+    var stored = repository.findByConversationId(conversationId);
+    if (stored.isEmpty()) {
+      return HistoryWindow.EMPTY;
+    }
+    var rendered = render(stored);
+    var start = windowStart(rendered);
+    var window = new ArrayList<Message>(rendered.size() - start + 1);
+    if (hasSummary(rendered)) {
+      window.add(rendered.getFirst());
+    }
+    window.addAll(rendered.subList(start, rendered.size()));
+    var saved = 0;
+    for (int i = hasSummary(rendered) ? 1 : 0; i < start; i++) {
+      saved += tokens(rendered.get(i));
+    }
+    savedTokens.increment(saved);
+    return new HistoryWindow(window, saved, treeAt(stored, stored.size()));
+  }
+
+  @Override
+  public void clear(String conversationId) {
+    var lock = lockFor(conversationId);
+    lock.lock();
+    try {
+      repository.deleteByConversationId(conversationId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * @return The index of the oldest stored message, past the summary, sent with the next request;
+   *     never past the latest question, so that a follow-up always sees the turn it follows.
+   */
+  private int windowStart(List<Message> stored) {
+    var first = hasSummary(stored) ? 1 : 0;
+    var budget = properties.maxTokens() - (first == 1 ? tokens(stored.getFirst()) : 0);
+    var start = stored.size();
+    while (start > first && budget - tokens(stored.get(start - 1)) >= 0) {
+      budget -= tokens(stored.get(start - 1));
+      start--;
+    }
+    while (start < stored.size()
+        && stored.get(start).getMessageType() == MessageType.ASSISTANT) {
+      start++;
+    }
+    var latestQuestion = stored.size() - 1;
+    while (latestQuestion >= first
+        && stored.get(latestQuestion).getMessageType() != MessageType.USER) {
+      latestQuestion--;
+    }
+    return latestQuestion >= first ? Math.min(start, latestQuestion) : start;
+  }
+
+  /**
+   * Replays the stored answers up to, excluding, the given index.
+   *
+   * @return The tree they add up to, or null when none of them is a tree.
+   */
+  private static String treeAt(List<Message> stored, int end) {
+    String tree = null;
+    for (var message : stored.subList(0, end)) {
+      var encoding = message.getMetadata().get(TREE_METADATA);
+      if (FULL_TREE.equals(encoding)) {
+        tree = message.getText();
+      } else if (TREE_DELTA.equals(encoding)) {
+        tree = TreeDelta.apply(tree == null ? "" : tree, message.getText());
+      }
+    }
+    return tree;
+  }
+
+  /**
+   * Returns the messages from the given index on, with the first delta among them replaced by the
+   * tree it produced, so they no longer depend on the messages before.
+   */
+  private static List<Message> rebase(List<Message> stored, int from) {
+    var rebased = new ArrayList<>(stored.subList(from, stored.size()));
+    for (int i = 0; i < rebased.size(); i++) {
+      if (rebased.get(i).getMetadata().containsKey(TREE_METADATA)) {
+        if (isTreeDelta(rebased.get(i))) {
+          rebased.set(i, fullTree(treeAt(stored, from + i + 1)));
+        }
+        break;
+      }
+    }
+    return rebased;
+  }
+
+  /**
+   * Returns the stored messages as they are sent to the model: the latest tree in full, earlier
+   * deltas as the lines they changed and earlier full trees as a short note.
+   */
+  private static List<Message> render(List<Message> stored) {
+    var latest = stored.size() - 1;
+    while (latest >= 0 && !stored.get(latest).getMetadata().containsKey(TREE_METADATA)) {
+      latest--;
+    }
+    if (latest < 0) {
+      return stored;
+    }
+    var rendered = new ArrayList<Message>(stored.size());
+    for (int i = 0; i < stored.size(); i++) {
+      var message = stored.get(i);
+      if (i == latest) {
+        rendered.add(isTreeDelta(message) ? fullTree(treeAt(stored, latest + 1)) : message);
+      } else if (!message.getMetadata().containsKey(TREE_METADATA)) {
+        rendered.add(message);
+      } else if (isTreeDelta(message)) {
+        rendered.add(new AssistantMessage(TreeDelta.describe(message.getText())));
+      } else {
+        rendered.add(new AssistantMessage(SUPERSEDED_TREE));
+      }
+    }
+    return rendered;
+  }
+
+  private static boolean isTreeDelta(Message message) {
+    return TREE_DELTA.equals(message.getMetadata().get(TREE_METADATA));
+  }
+
+  private static Message fullTree(String tree) {
+    return new AssistantMessage(tree, Map.of(TREE_METADATA, FULL_TREE));
+  }
+
+  private int tokens(Message message) {
+    var text = message.getText();
+    return TOKENS_PER_MESSAGE + (text == null ? 0 : tokenCountEstimator.estimate(text));
+  }
+
+  private static boolean hasSummary(List<Message> stored) {
+    return !stored.isEmpty()
+        && stored.getFirst().getMessageType() == MessageType.SYSTEM
+        && Boolean.TRUE.equals(stored.getFirst().getMetadata().get(SUMMARY_METADATA));
+  }
+
+  private void scheduleCompaction(String conversationId) {
+    if (!properties.summarize() || !compacting.add(conversationId)) {
+      return;
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          compact(conversationId);
+        } finally {
+          compacting.remove(conversationId);
+        }
+      });
+    } catch (RuntimeException e) {
+      compacting.remove(conversationId);
+      log.warn("Could not schedule the compaction of conversation {}", conversationId, e);
+    }
+  }
+
+  /**
+   * Condenses the turns that fell out of the window, and the previous summary, into a new summary.
+   * The summary only replaces them if the conversation still starts with the same messages once
+   * it is written; turns added in the meantime are kept.
+   */
+  void compact(String conversationId) {
+    try {
+      var snapshot = List.copyOf(repository.findByConversationId(conversationId));
+      var rendered = render(snapshot);
+      var first = hasSummary(snapshot) ? 1 : 0;
+      var end = windowStart(rendered);
+      if (end <= first) {
+        return;
+      }
+      var summary = summarizer.summarize(conversationId,
+          first == 1 ? snapshot.getFirst().getText() : null, rendered.subList(first, end));
+      if (summary == null || summary.isBlank()) {
+        compactionFailures.increment();
+        return;
+      }
+      var lock = lockFor(conversationId);
+      lock.lock();
+      try {
+        var current = repository.findByConversationId(conversationId);
+        if (current.size() < end || !current.subList(0, end).equals(snapshot.subList(0, end))) {
+          log.debug("Conversation {} changed during compaction, keeping it as is",
+              conversationId);
+          return;
+        }
+        var compacted = new ArrayList<Message>(current.size() - end + 1);
+        compacted.add(SystemMessage.builder()
+            .text(summary)
+            .metadata(Map.of(SUMMARY_METADATA, true))
+            .build());
+        compacted.addAll(rebase(current, end));
+        repository.saveAll(conversationId, compacted);
+        compactions.increment();
+        log.info("Compacted {} messages of conversation {} into a summary", end - first,
+            conversationId);
+      } finally {
+        lock.unlock();
+      }
+    } catch (RuntimeException e) {
+      compactionFailures.increment();
+      log.warn("Failed to compact conversation {}, its history stays truncated", conversationId,
+          e);
+    }
+  }
+
+  private ReentrantLock lockFor(String conversationId) {
+    return locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+  }
+}
@@ -0,0 +1,181 @@
+package com.folderai.services.ai.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Line-based edit scripts between two versions of a directory tree. A follow-up usually changes a
+ * few lines of a tree, so storing the script instead of the whole new tree keeps the conversation
+ * history, and the prompts built from it, proportional to the changes rather than to the tree.
+ *
+ * <p>A script has one operation per line: {@code =n} keeps the next {@code n} lines,
+ * {@code -line} removes the next line, which must read {@code line}, and {@code +line} inserts a
+ * line.
+ */
+final class TreeDelta {
+
+  /**
+   * Largest number of line pairs compared when looking for the lines both versions share; beyond
+   * it the changed region is replaced as a whole.
+   */
+  private static final long MAX_COMPARISONS = 4_000_000;
+
+  private TreeDelta() {
+  }
+
+  /**
+   * @return The script turning {@code previous} into {@code current}.
+   */
+  static String diff(String previous, String current) {
+    var from = previous.split("\n", -1);
+    var to = current.split("\n", -1);
+    var prefix = 0;
+    while (prefix < from.length && prefix < to.length && from[prefix].equals(to[prefix])) {
+      prefix++;
+    }
+    var suffix = 0;
+    while (suffix < from.length - prefix && suffix < to.length - prefix
+        && from[from.length - 1 - suffix].equals(to[to.length - 1 - suffix])) {
+      suffix++;
+    }
+    var script = new Script();
+    script.keep(prefix);
+    var fromEnd = from.length - suffix;
+    var toEnd = to.length - suffix;
+    if ((long) (fromEnd - prefix) * (toEnd - prefix) > MAX_COMPARISONS) {
+      for (int i = prefix; i < fromEnd; i++) {
+        script.remove(from[i]);
+      }
+      for (int j = prefix; j < toEnd; j++) {
+        script.insert(to[j]);
+      }
+    } else {
+      diffMiddle(from, prefix, fromEnd, to, prefix, toEnd, script);
+    }
+    script.keep(suffix);
+    return script.toString();
+  }
+
+  /**
+   * Emits the changed region from the longest common subsequence of its lines.
+   */
+  private static void diffMiddle(String[] from, int fromStart, int fromEnd, String[] to,
+      int toStart, int toEnd, Script script) {
+    var rows = fromEnd - fromStart;
+    var columns = toEnd - toStart;
+    var common = new int[rows + 1][columns + 1];
+    for (int i = rows - 1; i >= 0; i--) {
+      for (int j = columns - 1; j >= 0; j--) {
+        common[i][j] = from[fromStart + i].equals(to[toStart + j])
+            ? common[i + 1][j + 1] + 1
+            : Math.max(common[i + 1][j], common[i][j + 1]);
+      }
+    }
+    int i = 0;
+    int j = 0;
+    while (i < rows || j < columns) {
+      if (i < rows && j < columns && from[fromStart + i].equals(to[toStart + j])) {
+        script.keep(1);
+        i++;
+        j++;
+      } else if (i < rows && (j == columns || common[i + 1][j] >= common[i][j + 1])) {
+        script.remove(from[fromStart + i++]);
+      } else {
+        script.insert(to[toStart + j++]);
+      }
+    }
+  }
+
+  /**
+   * Replays a script produced by {@link #diff} on the tree it was computed against.
+   *
+   * @throws IllegalArgumentException when the script does not match the tree.
+   */
+  static String apply(String previous, String delta) {
+    var from = previous.split("\n", -1);
+    var result = new StringJoiner("\n");
+    var position = 0;
+    for (var operation : delta.split("\n", -1)) {
+      if (operation.isEmpty()) {
+        throw new IllegalArgumentException("Empty tree delta operation");
+      }
+      var argument = operation.substring(1);
+      switch (operation.charAt(0)) {
+        case '=' -> {
+          var count = Integer.parseInt(argument);
+          if (count < 0 || position + count > from.length) {
+            throw new IllegalArgumentException("Tree delta keeps lines past the end of the tree");
+          }
+          for (int i = 0; i < count; i++) {
+            result.add(from[position++]);
+          }
+        }
+        case '-' -> {
+          if (position >= from.length || !from[position].equals(argument)) {
+            throw new IllegalArgumentException("Tree delta removes a line the tree does not have");
+          }
+          position++;
+        }
+        case '+' -> result.add(argument);
+        default -> throw new IllegalArgumentException(
+            "Unknown tree delta operation: " + operation.charAt(0));
+      }
+    }
+    if (position != from.length) {
+      throw new IllegalArgumentException("Tree delta does not cover the whole tree");
+    }
+    return result.toString();
+  }
+
+  /**
+   * @return The inserted and removed lines of a script, as sent to the model in place of the tree
+   *     they produced.
+   */
+  static String describe(String delta) {
+    var changes = new StringJoiner("\n", "Edited the tree:\n", "");
+    changes.setEmptyValue("Kept the tree unchanged.");
+    for (var operation : delta.split("\n", -1)) {
+      if (operation.startsWith("+") || operation.startsWith("-")) {
+        changes.add(operation);
+      }
+    }
+    return changes.toString();
+  }
+
+  /**
+   * Accumulates operations, merging consecutive kept lines into one operation.
+   */
+  private static final class Script {
+
+    private final List<String> operations = new ArrayList<>();
+    private int kept;
+
+    void keep(int count) {
+      kept += count;
+    }
+
+    void remove(String line) {
+      flush();
+      operations.add("-" + line);
+    }
+
+    void insert(String line) {
+      flush();
+      operations.add("+" + line);
+    }
+
+    private void flush() {
+      if (kept > 0) {
+        operations.add("=" + kept);
+        kept = 0;
+      }
+    }
+
+    @Override
+    public String toString() {
+      flush();
+      return String.join("\n", operations);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.folderai.services.ai.memory.store;
+
+import com.folderai.services.config.properties.ChatMemoryStoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An on-heap {@link ChatMemoryRepository} that cannot grow without bounds. Conversations expire
+ * once they have been idle for the configured time, and the least useful ones are evicted when
+ * either the number of conversations or their estimated size exceeds its limit. Eviction is left
+ * to Caffeine, whose buffered, lock-striped bookkeeping keeps reads and writes free of a global
+ * lock. Sizes and evictions are published under the {@code folder.chat-memory.conversations}
+ * meter names.
+ */
+@Slf4j
+public class BoundedChatMemoryRepository implements ChatMemoryRepository {
+
+  static final String CACHE_NAME = "folder.chat-memory.conversations";
+
+  /**
+   * Estimated bytes of a message on top of its text: the object, its metadata map and the list
+   * slot holding it.
+   */
+  static final int MESSAGE_OVERHEAD_BYTES = 64;
+
+  private final Cache<String, List<Message>> conversations;
+  private final AtomicLong estimatedBytes = new AtomicLong();
+
+  public BoundedChatMemoryRepository(ChatMemoryStoreProperties properties,
+      MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Ticker.systemTicker());
+  }
+
+  BoundedChatMemoryRepository(ChatMemoryStoreProperties properties, MeterRegistry meterRegistry,
+      Ticker ticker) {
+    var maxBytes = properties.maxBytes().toBytes();
+    // Every conversation weighs at least its share of the byte budget, so the weight bound also
+    // caps the number of conversations.
+    var minimumWeight = Math.max(1, maxBytes / properties.maxConversations());
+    this.conversations = Caffeine.newBuilder()
+        .expireAfterAccess(properties.idleTimeout())
+        .maximumWeight(maxBytes)
+        .<String, List<Message>>weigher((id, messages) ->
+            (int) Math.min(Integer.MAX_VALUE, Math.max(minimumWeight, estimateBytes(messages))))
+        .removalListener((String id, List<Message> messages, RemovalCause cause) -> {
+          estimatedBytes.addAndGet(-estimateBytes(messages));
+          if (cause.wasEvicted()) {
+            log.debug("Evicted conversation {} ({})", id, cause);
+          }
+        })
+        .executor(Runnable::run)
+        .scheduler(Scheduler.systemScheduler())
+        .ticker(ticker)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, conversations, CACHE_NAME);
+    Gauge.builder(CACHE_NAME + ".bytes", estimatedBytes, AtomicLong::get)
+        .description("Estimated size of the conversations kept on-heap")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public List<String> findConversationIds() {
+    return List.copyOf(conversations.asMap().keySet());
+  }
+
+  @Override
+  public List<Message> findByConversationId(String conversationId) {
+    var messages = conversations.getIfPresent(conversationId);
+    return messages == null ? List.of() : messages;
+  }
+
+  @Override
+  public void saveAll(String conversationId, List<Message> messages) {
+    var copy = List.copyOf(messages);
+    estimatedBytes.addAndGet(estimateBytes(copy));
+    conversations.put(conversationId, copy);
+  }
+
+  @Override
+  public void deleteByConversationId(String conversationId) {
+    conversations.invalidate(conversationId);
+  }
+
+  /**
+   * @return The estimated size of all the conversations currently kept.
+   */
+  long estimatedBytes() {
+    conversations.cleanUp();
+    return estimatedBytes.get();
+  }
+
+  static long estimateBytes(List<Message> messages) {
+    var bytes = 0L;
+    for (var message : messages) {
+      var text = message.getText();
+      bytes += MESSAGE_OVERHEAD_BYTES + (text == null ? 0 : 2L * text.length());
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,120 @@
+package com.folderai.services.ai.memory.store;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of the chat messages stored in the segment log: the message type, its text and
+ * its scalar metadata. The {@code messageType} metadata entry is implied by the type, and
+ * metadata values other than strings, booleans and numbers are not stored.
+ */
+final class MessageCodec {
+
+  private static final byte STRING = 1;
+  private static final byte BOOLEAN = 2;
+  private static final byte INTEGER = 3;
+  private static final byte LONG = 4;
+  private static final byte DOUBLE = 5;
+  private static final String MESSAGE_TYPE = "messageType";
+
+  private MessageCodec() {
+  }
+
+  static byte[] encode(Message message) {
+    if (message.getMessageType() == MessageType.TOOL) {
+      throw new IllegalArgumentException("Tool messages are not stored");
+    }
+    var bytes = new ByteArrayOutputStream(64 + (message.getText() == null ? 0
+        : message.getText().length()));
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeByte(message.getMessageType().ordinal());
+      writeString(out, message.getText() == null ? "" : message.getText());
+      var metadata = new LinkedHashMap<String, Object>();
+      message.getMetadata().forEach((key, value) -> {
+        if (!MESSAGE_TYPE.equals(key) && (value instanceof String || value instanceof Boolean
+            || value instanceof Integer || value instanceof Long || value instanceof Double)) {
+          metadata.put(key, value);
+        }
+      });
+      out.writeInt(metadata.size());
+      for (var entry : metadata.entrySet()) {
+        writeString(out, entry.getKey());
+        switch (entry.getValue()) {
+          case String value -> {
+            out.writeByte(STRING);
+            writeString(out, value);
+          }
+          case Boolean value -> {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(value);
+          }
+          case Integer value -> {
+            out.writeByte(INTEGER);
+            out.writeInt(value);
+          }
+          case Long value -> {
+            out.writeByte(LONG);
+            out.writeLong(value);
+          }
+          case Double value -> {
+            out.writeByte(DOUBLE);
+            out.writeDouble(value);
+          }
+          default -> throw new IllegalStateException("Unsupported metadata value");
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static Message decode(ByteBuffer buffer) {
+    var type = MessageType.values()[buffer.get()];
+    var text = readString(buffer);
+    var entries = buffer.getInt();
+    Map<String, Object> metadata = new LinkedHashMap<>(Math.max(4, entries * 2));
+    for (int i = 0; i < entries; i++) {
+      var key = readString(buffer);
+      var value = switch (buffer.get()) {
+        case STRING -> readString(buffer);
+        case BOOLEAN -> (Object) (buffer.get() != 0);
+        case INTEGER -> buffer.getInt();
+        case LONG -> buffer.getLong();
+        case DOUBLE -> buffer.getDouble();
+        default -> throw new IllegalStateException("Corrupted message metadata");
+      };
+      metadata.put(key, value);
+    }
+    return switch (type) {
+      case USER -> UserMessage.builder().text(text).metadata(metadata).build();
+      case ASSISTANT -> new AssistantMessage(text, metadata);
+      case SYSTEM -> SystemMessage.builder().text(text).metadata(metadata).build();
+      case TOOL -> throw new IllegalStateException("Corrupted message type");
+    };
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    var bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
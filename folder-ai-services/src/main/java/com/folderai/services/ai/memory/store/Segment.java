@@ -0,0 +1,109 @@
+package com.folderai.services.ai.memory.store;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One memory-mapped file of the segment log. Records are only ever appended to the active
+ * segment, by a single writer; readers use absolute reads of the mapping and never move its
+ * position, so they need no locking.
+ */
+final class Segment implements AutoCloseable {
+
+  private final int id;
+  private final Path path;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final AtomicLong liveBytes = new AtomicLong();
+  private int writePosition;
+
+  private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+    this.id = id;
+    this.path = path;
+    this.channel = channel;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Creates a new segment file of the given size, filled with zeros.
+   */
+  static Segment create(Path directory, int id, int size) throws IOException {
+    var path = directory.resolve(fileName(id));
+    var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+  }
+
+  /**
+   * Maps an existing segment file.
+   */
+  static Segment open(Path path) throws IOException {
+    var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    return new Segment(idOf(path), path, channel,
+        channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+  }
+
+  static String fileName(int id) {
+    return "%010d.seg".formatted(id);
+  }
+
+  static boolean isSegment(Path path) {
+    return path.getFileName().toString().matches("\\d{10}\\.seg");
+  }
+
+  static int idOf(Path path) {
+    var name = path.getFileName().toString();
+    return Integer.parseInt(name.substring(0, name.length() - ".seg".length()));
+  }
+
+  int id() {
+    return id;
+  }
+
+  MappedByteBuffer buffer() {
+    return buffer;
+  }
+
+  int capacity() {
+    return buffer.capacity();
+  }
+
+  int writePosition() {
+    return writePosition;
+  }
+
+  void writePosition(int writePosition) {
+    this.writePosition = writePosition;
+  }
+
+  int remaining() {
+    return buffer.capacity() - writePosition;
+  }
+
+  AtomicLong liveBytes() {
+    return liveBytes;
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  /**
+   * Closes the file and deletes it. The mapping itself is released once it is no longer
+   * referenced.
+   */
+  void delete() throws IOException {
+    close();
+    Files.deleteIfExists(path);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
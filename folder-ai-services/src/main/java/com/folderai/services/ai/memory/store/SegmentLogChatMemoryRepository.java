@@ -0,0 +1,517 @@
+package com.folderai.services.ai.memory.store;
+
+import com.folderai.services.config.properties.ChatMemoryStoreProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * A {@link ChatMemoryRepository} persisting conversations in an append-only log of memory-mapped
+ * segment files, so they survive restarts and their messages stay off the heap. The heap only
+ * holds a small index entry per conversation: the location of its latest record.
+ *
+ * <p>A conversation is stored as a snapshot record followed by records appending its new
+ * messages, each pointing to the previous one; reading it walks that chain back to the snapshot.
+ * Replacing earlier messages, or a chain grown past {@code maxChainLength}, writes a new
+ * snapshot. Deletions write a tombstone. Startup recovery only reads record headers to rebuild
+ * the index, checking checksums on the last segment where a write may have been torn.
+ *
+ * <p>In the background, records are forced to disk, conversations past their retention are
+ * deleted, and the oldest segment is compacted once little of it is still referenced: the
+ * conversations reaching into it are rewritten as snapshots in the active segment and the file is
+ * deleted.
+ */
+@Slf4j
+public class SegmentLogChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
+
+  static final int MAGIC = 0x464D4C31;
+  static final byte SNAPSHOT = 1;
+  static final byte APPEND = 2;
+  static final byte DELETE = 3;
+
+  // magic, type, payload length, checksum, previous record, write time, id length
+  static final int HEADER_BYTES = 4 + 1 + 4 + 4 + 8 + 8 + 2;
+  private static final int TYPE = 4;
+  private static final int PAYLOAD_LENGTH = 5;
+  private static final int CHECKSUM = 9;
+  private static final int PREVIOUS = 13;
+  private static final int WRITTEN_AT = 21;
+  private static final int ID_LENGTH = 29;
+  private static final long NONE = -1L;
+  private static final int STALE_READ_RETRIES = 3;
+
+  private final ChatMemoryStoreProperties properties;
+  private final Path directory;
+  private final Clock clock;
+  private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+  private final Map<String, Head> index = new ConcurrentHashMap<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final ScheduledExecutorService maintenance;
+  private final Counter compactedSegments;
+  private volatile Segment active;
+
+  /**
+   * The latest record of a conversation.
+   *
+   * @param location    The segment and offset of the record.
+   * @param baseSegment The segment of the snapshot the chain starts from.
+   * @param chainLength The number of records of the chain.
+   * @param writtenAt   The time of the last write, in epoch milliseconds.
+   */
+  record Head(long location, int baseSegment, int chainLength, long writtenAt) {
+
+  }
+
+  public SegmentLogChatMemoryRepository(ChatMemoryStoreProperties properties,
+      MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Clock.systemUTC());
+  }
+
+  SegmentLogChatMemoryRepository(ChatMemoryStoreProperties properties,
+      MeterRegistry meterRegistry, Clock clock) {
+    this.properties = properties;
+    this.directory = Path.of(properties.directory());
+    this.clock = clock;
+    try {
+      Files.createDirectories(directory);
+      var start = System.nanoTime();
+      recover();
+      log.info("Recovered {} conversations from {} chat memory segments in {} ms", index.size(),
+          segments.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open the chat memory store in " + directory, e);
+    }
+    Gauge.builder("folder.chat-memory.store.conversations", index, Map::size)
+        .description("Conversations in the chat memory store")
+        .register(meterRegistry);
+    Gauge.builder("folder.chat-memory.store.segments", segments, Map::size)
+        .description("Segment files of the chat memory store")
+        .register(meterRegistry);
+    this.compactedSegments = Counter.builder("folder.chat-memory.store.compactions")
+        .description("Segment files compacted and deleted")
+        .register(meterRegistry);
+    this.maintenance = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("chat-memory-store").factory());
+    var compactionMillis = properties.compactionInterval().toMillis();
+    maintenance.scheduleWithFixedDelay(this::maintain, compactionMillis, compactionMillis,
+        TimeUnit.MILLISECONDS);
+    var syncMillis = properties.syncInterval().toMillis();
+    maintenance.scheduleWithFixedDelay(this::sync, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public List<String> findConversationIds() {
+    return List.copyOf(index.keySet());
+  }
+
+  @Override
+  public List<Message> findByConversationId(String conversationId) {
+    for (int attempt = 1; ; attempt++) {
+      var head = index.get(conversationId);
+      if (head == null) {
+        return List.of();
+      }
+      try {
+        var messages = new ArrayList<Message>();
+        for (var message : rawMessages(head)) {
+          messages.add(MessageCodec.decode(message));
+        }
+        return messages;
+      } catch (StaleLocationException e) {
+        // The chain was compacted into a new snapshot while being read
+        if (attempt == STALE_READ_RETRIES) {
+          throw new IllegalStateException("Conversation " + conversationId
+              + " keeps moving during compaction");
+        }
+      }
+    }
+  }
+
+  @Override
+  public void saveAll(String conversationId, List<Message> messages) {
+    var encoded = messages.stream().map(message -> ByteBuffer.wrap(MessageCodec.encode(message)))
+        .toList();
+    writeLock.lock();
+    try {
+      var head = index.get(conversationId);
+      var now = clock.millis();
+      if (head != null && head.chainLength() < properties.maxChainLength()) {
+        var stored = rawMessages(head);
+        if (stored.size() <= encoded.size() && stored.equals(encoded.subList(0, stored.size()))) {
+          if (stored.size() == encoded.size()) {
+            index.put(conversationId, new Head(head.location(), head.baseSegment(),
+                head.chainLength(), now));
+            return;
+          }
+          var location = append(APPEND, conversationId, head.location(), now,
+              encoded.subList(stored.size(), encoded.size()));
+          index.put(conversationId, new Head(location, head.baseSegment(),
+              head.chainLength() + 1, now));
+          return;
+        }
+      }
+      var location = append(SNAPSHOT, conversationId, NONE, now, encoded);
+      index.put(conversationId, new Head(location, segmentOf(location), 1, now));
+      if (head != null) {
+        release(head);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void deleteByConversationId(String conversationId) {
+    writeLock.lock();
+    try {
+      var head = index.remove(conversationId);
+      if (head != null) {
+        append(DELETE, conversationId, NONE, clock.millis(), List.of());
+        release(head);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Deletes the conversations past their retention, then compacts the oldest segments while
+   * little of them is still referenced.
+   */
+  void compact() throws IOException {
+    var expiredBefore = clock.millis() - properties.retention().toMillis();
+    index.forEach((conversationId, head) -> {
+      if (head.writtenAt() < expiredBefore) {
+        writeLock.lock();
+        try {
+          if (index.remove(conversationId, head)) {
+            append(DELETE, conversationId, NONE, clock.millis(), List.of());
+            release(head);
+          }
+        } finally {
+          writeLock.unlock();
+        }
+      }
+    });
+    writeLock.lock();
+    try {
+      for (var segment : List.copyOf(segments.values())) {
+        if (segment != active && segment.liveBytes().get() == 0) {
+          drop(segment);
+        }
+      }
+      while (segments.firstEntry().getValue() != active) {
+        var oldest = segments.firstEntry().getValue();
+        if (oldest.writePosition() > 0 && (double) oldest.liveBytes().get()
+            / oldest.writePosition() >= properties.minLiveRatio()) {
+          return;
+        }
+        index.forEach((conversationId, head) -> {
+          if (head.baseSegment() <= oldest.id()) {
+            var location = append(SNAPSHOT, conversationId, NONE, head.writtenAt(),
+                rawMessages(head));
+            index.put(conversationId, new Head(location, segmentOf(location), 1,
+                head.writtenAt()));
+            release(head);
+          }
+        });
+        // What is left are tombstones, which only hide records of this segment or older ones
+        drop(oldest);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    maintenance.shutdownNow();
+    writeLock.lock();
+    try {
+      for (var segment : segments.values()) {
+        segment.force();
+        segment.close();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void maintain() {
+    try {
+      compact();
+    } catch (Exception e) {
+      log.warn("Chat memory store compaction failed", e);
+    }
+  }
+
+  private void sync() {
+    try {
+      var segment = active;
+      if (segment != null) {
+        segment.force();
+      }
+    } catch (Exception e) {
+      log.warn("Failed to force chat memory records to disk", e);
+    }
+  }
+
+  private void drop(Segment segment) throws IOException {
+    segments.remove(segment.id());
+    segment.delete();
+    compactedSegments.increment();
+    log.info("Deleted chat memory segment {}", segment.id());
+  }
+
+  // --- Writing ---
+
+  /**
+   * Appends a record to the active segment, rolling to a new segment when it does not fit. The
+   * magic number is written last, so a record torn by a crash is never taken for a valid one.
+   *
+   * @return The location of the record.
+   */
+  private long append(byte type, String conversationId, long previous, long writtenAt,
+      List<ByteBuffer> messages) {
+    var id = conversationId.getBytes(StandardCharsets.UTF_8);
+    var payloadLength = Integer.BYTES;
+    for (var message : messages) {
+      payloadLength += Integer.BYTES + message.remaining();
+    }
+    var size = HEADER_BYTES + id.length + payloadLength;
+    if (active.remaining() < size) {
+      roll(size);
+    }
+    var buffer = active.buffer();
+    var offset = active.writePosition();
+    buffer.put(offset + TYPE, type);
+    buffer.putInt(offset + PAYLOAD_LENGTH, payloadLength);
+    buffer.putLong(offset + PREVIOUS, previous);
+    buffer.putLong(offset + WRITTEN_AT, writtenAt);
+    buffer.putShort(offset + ID_LENGTH, (short) id.length);
+    buffer.put(offset + HEADER_BYTES, id);
+    var position = offset + HEADER_BYTES + id.length;
+    buffer.putInt(position, messages.size());
+    position += Integer.BYTES;
+    for (var message : messages) {
+      buffer.putInt(position, message.remaining());
+      buffer.put(position + Integer.BYTES, message, message.position(), message.remaining());
+      position += Integer.BYTES + message.remaining();
+    }
+    buffer.putInt(offset + CHECKSUM, checksum(active, offset, size));
+    buffer.putInt(offset, MAGIC);
+    active.writePosition(offset + size);
+    active.liveBytes().addAndGet(size);
+    return location(active.id(), offset);
+  }
+
+  private void roll(int minimumSize) {
+    try {
+      var size = (int) Math.max(properties.segmentSize().toBytes(), minimumSize);
+      var next = Segment.create(directory, active == null ? 0 : active.id() + 1, size);
+      if (active != null) {
+        active.force();
+      }
+      segments.put(next.id(), next);
+      active = next;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create a chat memory segment in " + directory, e);
+    }
+  }
+
+  /**
+   * Marks the records of a chain that is no longer referenced as dead in their segments.
+   */
+  private void release(Head head) {
+    var location = head.location();
+    while (location != NONE) {
+      var segment = segments.get(segmentOf(location));
+      if (segment == null) {
+        return;
+      }
+      var offset = offsetOf(location);
+      segment.liveBytes().addAndGet(-recordSize(segment, offset));
+      location = segment.buffer().get(offset + TYPE) == SNAPSHOT
+          ? NONE
+          : segment.buffer().getLong(offset + PREVIOUS);
+    }
+  }
+
+  // --- Reading ---
+
+  /**
+   * Returns the encoded messages of a conversation, oldest first, as views of the mapped
+   * segments.
+   */
+  private List<ByteBuffer> rawMessages(Head head) {
+    var chain = new ArrayList<Long>(head.chainLength());
+    var location = head.location();
+    while (location != NONE) {
+      chain.add(location);
+      var segment = segment(location);
+      var offset = offsetOf(location);
+      location = segment.buffer().get(offset + TYPE) == SNAPSHOT
+          ? NONE
+          : segment.buffer().getLong(offset + PREVIOUS);
+    }
+    var messages = new ArrayList<ByteBuffer>();
+    for (int i = chain.size() - 1; i >= 0; i--) {
+      var segment = segment(chain.get(i));
+      var buffer = segment.buffer();
+      var offset = offsetOf(chain.get(i));
+      var position = offset + HEADER_BYTES + (buffer.getShort(offset + ID_LENGTH) & 0xFFFF);
+      var count = buffer.getInt(position);
+      position += Integer.BYTES;
+      for (int m = 0; m < count; m++) {
+        var length = buffer.getInt(position);
+        messages.add(buffer.slice(position + Integer.BYTES, length));
+        position += Integer.BYTES + length;
+      }
+    }
+    return messages;
+  }
+
+  private Segment segment(long location) {
+    var segment = segments.get(segmentOf(location));
+    if (segment == null) {
+      throw new StaleLocationException();
+    }
+    return segment;
+  }
+
+  // --- Recovery ---
+
+  /**
+   * Rebuilds the index from the record headers, then the live byte counts of the segments.
+   */
+  private void recover() throws IOException {
+    List<Path> files;
+    try (var paths = Files.list(directory)) {
+      files = paths.filter(Segment::isSegment).sorted().toList();
+    }
+    for (int i = 0; i < files.size(); i++) {
+      var segment = Segment.open(files.get(i));
+      segments.put(segment.id(), segment);
+      var last = i == files.size() - 1;
+      var buffer = segment.buffer();
+      var offset = 0;
+      while (offset + HEADER_BYTES <= segment.capacity() && buffer.getInt(offset) == MAGIC) {
+        var size = recordSize(segment, offset);
+        if (size < HEADER_BYTES || offset + size > segment.capacity()
+            || (last && buffer.getInt(offset + CHECKSUM) != checksum(segment, offset, size))) {
+          log.warn("Ignoring a torn chat memory record at the end of segment {}", segment.id());
+          break;
+        }
+        replay(segment, offset, size);
+        offset += size;
+      }
+      segment.writePosition(offset);
+      if (last) {
+        // Clear whatever a torn write left behind, so it is never read as a record later
+        var zeros = new byte[64 * 1024];
+        for (int position = offset; position < segment.capacity(); position += zeros.length) {
+          buffer.put(position, zeros, 0, Math.min(zeros.length, segment.capacity() - position));
+        }
+      }
+    }
+    index.values().forEach(head -> {
+      var location = head.location();
+      while (location != NONE) {
+        var segment = segments.get(segmentOf(location));
+        if (segment == null) {
+          return;
+        }
+        var offset = offsetOf(location);
+        segment.liveBytes().addAndGet(recordSize(segment, offset));
+        location = segment.buffer().get(offset + TYPE) == SNAPSHOT
+            ? NONE
+            : segment.buffer().getLong(offset + PREVIOUS);
+      }
+    });
+    if (segments.isEmpty()) {
+      roll(0);
+    } else {
+      active = segments.lastEntry().getValue();
+    }
+  }
+
+  private void replay(Segment segment, int offset, int size) {
+    var buffer = segment.buffer();
+    var id = new byte[buffer.getShort(offset + ID_LENGTH) & 0xFFFF];
+    buffer.get(offset + HEADER_BYTES, id);
+    var conversationId = new String(id, StandardCharsets.UTF_8);
+    var location = location(segment.id(), offset);
+    var writtenAt = buffer.getLong(offset + WRITTEN_AT);
+    switch (buffer.get(offset + TYPE)) {
+      case SNAPSHOT -> index.put(conversationId, new Head(location, segment.id(), 1, writtenAt));
+      case APPEND -> index.computeIfPresent(conversationId,
+          (key, head) -> head.location() == buffer.getLong(offset + PREVIOUS)
+              ? new Head(location, head.baseSegment(), head.chainLength() + 1, writtenAt)
+              : head);
+      case DELETE -> {
+        index.remove(conversationId);
+        segment.liveBytes().addAndGet(size);
+      }
+      default -> log.warn("Skipping a chat memory record of unknown type in segment {}",
+          segment.id());
+    }
+  }
+
+  // --- Record layout ---
+
+  private static int recordSize(Segment segment, int offset) {
+    var buffer = segment.buffer();
+    return HEADER_BYTES + (buffer.getShort(offset + ID_LENGTH) & 0xFFFF)
+        + buffer.getInt(offset + PAYLOAD_LENGTH);
+  }
+
+  private static int checksum(Segment segment, int offset, int size) {
+    var crc = new CRC32C();
+    crc.update(segment.buffer().get(offset + TYPE));
+    crc.update(segment.buffer().slice(offset + PREVIOUS, size - PREVIOUS));
+    return (int) crc.getValue();
+  }
+
+  private static long location(int segment, int offset) {
+    return ((long) segment << 32) | offset;
+  }
+
+  private static int segmentOf(long location) {
+    return (int) (location >>> 32);
+  }
+
+  private static int offsetOf(long location) {
+    return (int) location;
+  }
+
+  /**
+   * A record location whose segment was deleted by a concurrent compaction.
+   */
+  private static final class StaleLocationException extends RuntimeException {
+
+    StaleLocationException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package com.folderai.services.ai.metrics;
+
+import com.folderai.services.ai.concurrency.ProviderFailure;
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.dto.response.FolderUsage;
+import com.folderai.services.jfr.GenerationStageEvent;
+import com.folderai.services.jfr.ModelCallEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of a generation and counts the tokens it consumes.
+ * <p>
+ * Each stage is timed under {@code folder.generation.stage}, tagged with the stage, the requested
+ * model and the outcome: {@code success}; for failed model calls, the kind of provider failure
+ * ({@code rate_limited}, {@code quota_exceeded}, {@code timeout}, {@code other}) or
+ * {@code cancelled} for abandoned streams; {@code error} for the other stages. Prompt and
+ * completion tokens are counted under {@code folder.generation.tokens}, tagged with the type and
+ * the model that answered, and model calls in flight are gauged under
+ * {@code folder.generation.inflight}. Models are tagged under their {@link ModelAllowlist} name,
+ * so that callers cannot create new series at will.
+ * <p>
+ * Each stage and model call is also recorded as a JDK Flight Recorder event, with its
+ * conversation and, for model calls, its token counts.
+ */
+@Component
+public class GenerationMetrics {
+
+  static final String SUCCESS = "success";
+  static final String ERROR = "error";
+  static final String CANCELLED = "cancelled";
+
+  private final ModelAllowlist modelAllowlist;
+  private final Meter.MeterProvider<Timer> stageTimers;
+  private final Meter.MeterProvider<Counter> tokenCounters;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  public GenerationMetrics(MeterRegistry meterRegistry, ModelAllowlist modelAllowlist) {
+    this.modelAllowlist = modelAllowlist;
+    this.stageTimers = Timer.builder("folder.generation.stage")
+        .description("Time spent in each stage of a generation")
+        .withRegistry(meterRegistry);
+    this.tokenCounters = Counter.builder("folder.generation.tokens")
+        .description("Tokens consumed by AI model calls")
+        .baseUnit("tokens")
+        .withRegistry(meterRegistry);
+    Gauge.builder("folder.generation.inflight", inFlight, AtomicInteger::get)
+        .description("AI model calls currently running")
+        .register(meterRegistry);
+  }
+
+  /**
+   * The timed stages of a generation.
+   */
+  public enum Stage {
+    /**
+     * Rendering the prompt templates.
+     */
+    PROMPT_BUILD,
+    /**
+     * Reading the conversation history.
+     */
+    MEMORY_READ,
+    /**
+     * The AI model call itself, once it passed the concurrency limits.
+     */
+    LLM_CALL,
+    /**
+     * Parsing the answer into a structure, or applying an edit script.
+     */
+    RESPONSE_CONVERSION,
+    /**
+     * Recording the turn in the conversation.
+     */
+    MEMORY_WRITE;
+
+    private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  /**
+   * Runs a stage and times it.
+   *
+   * @param stage          The stage.
+   * @param model          The requested model.
+   * @param conversationId The conversation of the generation.
+   * @param action         The stage itself.
+   * @return The result of the stage.
+   */
+  public <T> T time(Stage stage, String model, String conversationId, Supplier<T> action) {
+    var event = new GenerationStageEvent();
+    event.begin();
+    var start = System.nanoTime();
+    var outcome = ERROR;
+    try {
+      var result = action.get();
+      outcome = SUCCESS;
+      return result;
+    } finally {
+      record(stage, model, outcome, System.nanoTime() - start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.stage = stage.tag;
+        event.conversationId = conversationId;
+        event.model = model;
+        event.outcome = outcome;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Runs a stage without result and times it.
+   */
+  public void time(Stage stage, String model, String conversationId, Runnable action) {
+    time(stage, model, conversationId, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Starts timing a model call, counted as in flight until one of the methods of the returned
+   * call is invoked.
+   *
+   * @param model          The requested model.
+   * @param conversationId The conversation of the generation.
+   * @return The call, to be marked as succeeded, failed or cancelled.
+   */
+  public ModelCall startCall(String model, String conversationId) {
+    inFlight.incrementAndGet();
+    var event = new ModelCallEvent();
+    event.begin();
+    return new ModelCall(model, conversationId, event, System.nanoTime());
+  }
+
+  /**
+   * A model call being timed.
+   */
+  public final class ModelCall {
+
+    private final String requestedModel;
+    private final String conversationId;
+    private final ModelCallEvent event;
+    private final long start;
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    private ModelCall(String requestedModel, String conversationId, ModelCallEvent event,
+        long start) {
+      this.requestedModel = requestedModel;
+      this.conversationId = conversationId;
+      this.event = event;
+      this.start = start;
+    }
+
+    /**
+     * Ends the call and counts the tokens it consumed.
+     *
+     * @param model The model that answered, or null when unknown.
+     * @param usage The tokens the call consumed.
+     */
+    public void succeeded(String model, FolderUsage usage) {
+      var answering = model == null || model.isBlank() ? requestedModel : model;
+      var tag = modelAllowlist.resolve(answering);
+      if (usage.promptTokens() != null && usage.promptTokens() > 0) {
+        tokenCounters.withTags("type", "prompt", "model", tag).increment(usage.promptTokens());
+      }
+      if (usage.generationTokens() != null && usage.generationTokens() > 0) {
+        tokenCounters.withTags("type", "completion", "model", tag)
+            .increment(usage.generationTokens());
+      }
+      end(SUCCESS, answering, usage);
+    }
+
+    /**
+     * Ends the call, tagged with the kind of provider failure.
+     */
+    public void failed(Throwable failure) {
+      end(ProviderFailure.of(failure).name().toLowerCase(Locale.ROOT), requestedModel, null);
+    }
+
+    /**
+     * Ends a call abandoned by its caller.
+     */
+    public void cancelled() {
+      end(CANCELLED, requestedModel, null);
+    }
+
+    private void end(String outcome, String model, FolderUsage usage) {
+      if (!ended.compareAndSet(false, true)) {
+        return;
+      }
+      inFlight.decrementAndGet();
+      record(Stage.LLM_CALL, requestedModel, outcome, System.nanoTime() - start);
+      event.end();
+      if (event.shouldCommit()) {
+        event.conversationId = conversationId;
+        event.requestedModel = requestedModel;
+        event.model = model;
+        event.outcome = outcome;
+        if (usage != null) {
+          event.promptTokens = Objects.requireNonNullElse(usage.promptTokens(), 0);
+          event.completionTokens = Objects.requireNonNullElse(usage.generationTokens(), 0);
+        }
+        event.commit();
+      }
+    }
+  }
+
+  private void record(Stage stage, String model, String outcome, long nanos) {
+    stageTimers.withTags("stage", stage.tag, "model", modelAllowlist.resolve(model),
+            "outcome", outcome)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
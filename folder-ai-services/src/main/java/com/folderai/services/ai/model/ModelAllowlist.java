@@ -0,0 +1,46 @@
+package com.folderai.services.ai.model;
+
+import com.folderai.services.ai.cache.DirectoryCacheKey;
+import com.folderai.services.config.properties.ModelProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the model named by a request to the name per-model state is kept under. Requests may
+ * name any model, so bulkhead compartments, adaptive limits, latency samples and meters are only
+ * created for the models of {@code folder.models.allowed}: dated snapshots such as
+ * {@code gpt-4o-2024-08-06} fold into their allowed base model, requests without a model resolve
+ * to {@link #DEFAULT} and every other name shares {@link #OTHER}.
+ */
+@Component
+public class ModelAllowlist {
+
+  public static final String DEFAULT = DirectoryCacheKey.DEFAULT_MODEL;
+  public static final String OTHER = "other";
+
+  private static final Pattern SNAPSHOT = Pattern.compile("-\\d{4}-\\d{2}-\\d{2}$");
+
+  private final Set<String> allowed;
+
+  public ModelAllowlist(ModelProperties properties) {
+    this.allowed = Set.copyOf(properties.allowed());
+  }
+
+  /**
+   * @param model The model named by a request or reported by the provider, may be null.
+   * @return The allowed model, {@link #DEFAULT} or {@link #OTHER}.
+   */
+  public String resolve(String model) {
+    if (model == null || model.isBlank()) {
+      return DEFAULT;
+    }
+    if (allowed.contains(model) || model.equals(DEFAULT)) {
+      return model;
+    }
+    var base = SNAPSHOT.matcher(model).replaceFirst("");
+    return allowed.contains(base) ? base : OTHER;
+  }
+
+}
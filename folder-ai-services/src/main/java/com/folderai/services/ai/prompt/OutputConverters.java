@@ -0,0 +1,38 @@
+package com.folderai.services.ai.prompt;
+
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.TreeEditScript;
+import org.springframework.ai.converter.BeanOutputConverter;
+
+/**
+ * Shared output converters. Building a {@link BeanOutputConverter} generates the JSON schema of its
+ * target type, so it is done once here rather than on every request; the converters only read
+ * their state afterwards and are safe to share between threads.
+ */
+public final class OutputConverters {
+
+  /**
+   * Parses the model answer into a {@link DirectoryStructure}.
+   */
+  public static final BeanOutputConverter<DirectoryStructure> DIRECTORY_STRUCTURE =
+      new BeanOutputConverter<>(DirectoryStructure.class);
+
+  /**
+   * The format instructions of {@link #DIRECTORY_STRUCTURE}, rendered into the system prompt.
+   */
+  public static final String DIRECTORY_STRUCTURE_FORMAT = DIRECTORY_STRUCTURE.getFormat();
+
+  /**
+   * Parses the model answer in refinement mode into a {@link TreeEditScript}.
+   */
+  public static final BeanOutputConverter<TreeEditScript> TREE_EDIT_SCRIPT =
+      new BeanOutputConverter<>(TreeEditScript.class);
+
+  /**
+   * The format instructions of {@link #TREE_EDIT_SCRIPT}, rendered into the refinement prompt.
+   */
+  public static final String TREE_EDIT_SCRIPT_FORMAT = TREE_EDIT_SCRIPT.getFormat();
+
+  private OutputConverters() {
+  }
+}
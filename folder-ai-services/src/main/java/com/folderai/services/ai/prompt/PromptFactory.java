@@ -3,8 +3,11 @@ package com.folderai.services.ai.prompt;
 import com.folderai.services.config.properties.PromptProperties;
 import com.folderai.services.exception.FolderFileNotFoundException;
 import com.folderai.services.exception.PromptGenerationException;
+import com.folderai.services.jfr.PromptRenderEvent;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.core.io.Resource;
@@ -15,64 +18,186 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
- * A factory class responsible for creating structured prompts for the AI model by loading and
- * rendering externalized templates.
+ * A factory class responsible for creating structured prompts for the AI model from externalized
+ * templates. Every template registered in {@link PromptProperties} is loaded and compiled once at
+ * startup, and the system message is rendered once per distinct set of format instructions; a
+ * request then only renders its own user message. {@link #reload()} swaps in freshly compiled
+ * templates, e.g. when the files change on disk.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class PromptFactory {
 
+  /**
+   * Upper bound on the distinct format instructions whose system message is kept rendered.
+   */
+  private static final int MAX_RENDERED_SYSTEM_MESSAGES = 16;
+
   private final PromptProperties promptProperties;
   private final ResourceLoader resourceLoader;
 
+  private volatile CompiledTemplates templates;
+
+  /**
+   * Compiles the templates at startup, so that a missing or broken template fails fast rather than
+   * on the first request.
+   */
+  @PostConstruct
+  public void compile() {
+    try {
+      templates();
+    } catch (Exception e) {
+      throw new PromptGenerationException("Failed to compile the prompt templates", e);
+    }
+  }
+
+  /**
+   * Recompiles the templates and swaps them in. When the new templates cannot be loaded the
+   * previous ones are kept, so a half-saved file never breaks the running service.
+   */
+  public void reload() {
+    try {
+      templates = compileTemplates();
+      log.info("Reloaded prompt templates from: {}", promptProperties.templatePaths());
+    } catch (Exception e) {
+      log.warn("Failed to reload prompt templates, keeping the previous ones", e);
+    }
+  }
+
   /**
-   * Creates a complete Prompt object for the directory generation.
+   * Creates a complete Prompt object for the directory generation. The rendering is recorded as a
+   * {@link PromptRenderEvent}.
    *
    * @param userPrompt         The user's specific request string.
    * @param formatInstructions The format instructions from the BeanOutputConverter.
    * @return A Prompt object containing formatted system and user messages.
    */
   public Prompt createStructurePrompt(String userPrompt, String formatInstructions) {
-    return createPrompt(
-        promptProperties.directory().systemPromptPath(),
-        promptProperties.directory().userPromptPath(), Map.of("prompt", userPrompt),
-        Map.of("format", formatInstructions)
-    );
+    var event = new PromptRenderEvent();
+    event.begin();
+    try {
+      var compiled = templates();
+      var systemMessage = compiled.systemMessage(formatInstructions);
+      var userMessage = compiled.user().createMessage(Map.of("prompt", userPrompt));
+
+      event.end();
+      if (event.shouldCommit()) {
+        event.template = promptProperties.directory().userPromptPath();
+        event.characters = systemMessage.getText().length() + userMessage.getText().length();
+        event.commit();
+      }
+      return new Prompt(List.of(systemMessage, userMessage));
+    } catch (Exception e) {
+      log.error("Failed to create prompt from paths: {} and {}",
+          promptProperties.directory().systemPromptPath(),
+          promptProperties.directory().userPromptPath(), e);
+      throw new PromptGenerationException("Failed to generate a complete prompt", e);
+    }
   }
 
   /**
-   * Internal helper method to construct a Prompt, eliminating code duplication. It loads, renders,
-   * and assembles the system and user messages.
+   * Creates the prompt asking for the edit script that fulfills a follow-up request on an existing
+   * tree. The rendering is recorded as a {@link PromptRenderEvent}.
    *
-   * @param userMap          The user's input.
-   * @param systemMap        The output format instructions.
-   * @param systemPromptPath The classpath location of the system prompt template.
-   * @param userPromptPath   The classpath location of the user prompt template.
-   * @return A fully constructed Prompt object.
+   * @param userPrompt  The follow-up request.
+   * @param currentTree The current tree of the conversation.
+   * @return A Prompt object holding the rendered refinement message.
    */
-  private Prompt createPrompt(String systemPromptPath, String userPromptPath,
-      Map<String, Object> userMap, Map<String,
-          Object> systemMap) {
-    try {
+  public Prompt createRefinePrompt(String userPrompt, String currentTree) {
+    return createSingleMessagePrompt(promptProperties.directory().refinePromptPath(),
+        CompiledTemplates::refine, Map.of(
+            "tree", currentTree,
+            "format", OutputConverters.TREE_EDIT_SCRIPT_FORMAT,
+            "prompt", userPrompt));
+  }
 
-      PromptTemplate userPromptTemplate = new PromptTemplate(loadPromptTemplate(userPromptPath));
-      PromptTemplate systemPromptTemplate = new PromptTemplate(
-          loadPromptTemplate(systemPromptPath));
+  /**
+   * Creates the prompt condensing a conversation into a summary. The rendering is recorded as a
+   * {@link PromptRenderEvent}.
+   *
+   * @param previousSummary The summary of the turns before {@code conversation}, or null.
+   * @param conversation    The turns to condense, one per line and oldest first.
+   * @return A Prompt object holding the rendered summarization message.
+   */
+  public Prompt createSummaryPrompt(String previousSummary, String conversation) {
+    return createSingleMessagePrompt(promptProperties.memory().summaryPromptPath(),
+        CompiledTemplates::summary, Map.of(
+            "summary", previousSummary == null ? "" : "Summary so far:\n" + previousSummary,
+            "conversation", conversation));
+  }
 
-      var systemMessage = systemPromptTemplate.createMessage(systemMap);
-      var userMessage = userPromptTemplate.createMessage(userMap);
+  /**
+   * Renders a prompt made of a single user message.
+   *
+   * @param location The location of the template, recorded with the render event.
+   * @param template The compiled template to render.
+   * @param model    The values of the template placeholders.
+   * @return A Prompt object holding the rendered message.
+   */
+  private Prompt createSingleMessagePrompt(String location,
+      Function<CompiledTemplates, PromptTemplate> template, Map<String, Object> model) {
+    var event = new PromptRenderEvent();
+    event.begin();
+    try {
+      var message = template.apply(templates()).createMessage(model);
 
-      return new Prompt(List.of(systemMessage, userMessage));
+      event.end();
+      if (event.shouldCommit()) {
+        event.template = location;
+        event.characters = message.getText().length();
+        event.commit();
+      }
+      return new Prompt(message);
     } catch (Exception e) {
-      log.error("Failed to create prompt from paths: {} and {}", systemPromptPath, userPromptPath,
-          e);
+      log.error("Failed to create prompt from path: {}", location, e);
       throw new PromptGenerationException("Failed to generate a complete prompt", e);
     }
   }
 
+  /**
+   * Returns the compiled templates, compiling them on first use when the factory was not started
+   * by the container.
+   */
+  private CompiledTemplates templates() {
+    var current = templates;
+    if (current == null) {
+      synchronized (this) {
+        current = templates;
+        if (current == null) {
+          current = compileTemplates();
+          templates = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Loads all the registered templates and pre-renders the system message for the directory
+   * structure format.
+   *
+   * @return The compiled templates.
+   */
+  private CompiledTemplates compileTemplates() {
+    var userTemplate = new PromptTemplate(
+        loadPromptTemplate(promptProperties.directory().userPromptPath()));
+    var systemTemplate = new PromptTemplate(
+        loadPromptTemplate(promptProperties.directory().systemPromptPath()));
+    var refineTemplate = new PromptTemplate(
+        loadPromptTemplate(promptProperties.directory().refinePromptPath()));
+    var summaryTemplate = new PromptTemplate(
+        loadPromptTemplate(promptProperties.memory().summaryPromptPath()));
+    var compiled = new CompiledTemplates(systemTemplate, userTemplate, refineTemplate,
+        summaryTemplate, new ConcurrentHashMap<>());
+    compiled.systemMessage(OutputConverters.DIRECTORY_STRUCTURE_FORMAT);
+    return compiled;
+  }
+
   /**
    * @param location location of the prompt file
    * @return A Resource Object corresponding to the prompt file
@@ -91,4 +216,24 @@ public class PromptFactory {
     }
   }
 
+  /**
+   * The compiled templates, with the system messages rendered so far keyed by their format
+   * instructions.
+   */
+  private record CompiledTemplates(PromptTemplate system, PromptTemplate user,
+                                   PromptTemplate refine, PromptTemplate summary,
+                                   Map<String, Message> systemMessages) {
+
+    Message systemMessage(String formatInstructions) {
+      var rendered = systemMessages.get(formatInstructions);
+      if (rendered == null) {
+        rendered = system.createMessage(Map.of("format", formatInstructions));
+        if (systemMessages.size() < MAX_RENDERED_SYSTEM_MESSAGES) {
+          systemMessages.putIfAbsent(formatInstructions, rendered);
+        }
+      }
+      return rendered;
+    }
+  }
+
 }
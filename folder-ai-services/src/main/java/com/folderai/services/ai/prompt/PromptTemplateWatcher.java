@@ -0,0 +1,110 @@
+package com.folderai.services.ai.prompt;
+
+import com.folderai.services.config.properties.PromptProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recompiles the prompt templates when they change on disk, so they can be tuned without a
+ * restart. Only active with {@code prompt.hot-reload=true}, and only for templates that resolve to
+ * files; templates packaged inside the jar never change and are not watched.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PromptTemplateWatcher {
+
+  private final PromptProperties promptProperties;
+  private final ResourceLoader resourceLoader;
+  private final PromptFactory promptFactory;
+
+  private WatchService watchService;
+  private Thread watcher;
+
+  @PostConstruct
+  void start() throws IOException {
+    if (!promptProperties.hotReload()) {
+      return;
+    }
+    var files = templateFiles();
+    if (files.isEmpty()) {
+      log.info("Prompt hot reload enabled but no template is stored as a file, nothing to watch");
+      return;
+    }
+    watchService = FileSystems.getDefault().newWatchService();
+    Set<Path> directories = new HashSet<>();
+    for (var file : files) {
+      if (directories.add(file.getParent())) {
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+      }
+    }
+    watcher = Thread.ofPlatform().daemon().name("prompt-template-watcher")
+        .start(() -> watch(files));
+    log.info("Watching prompt templates for changes: {}", files);
+  }
+
+  @PreDestroy
+  void stop() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+      watcher.interrupt();
+    }
+  }
+
+  /**
+   * Reloads the templates once per batch of file events touching one of them.
+   */
+  private void watch(List<Path> files) {
+    try {
+      while (true) {
+        var key = watchService.take();
+        var directory = (Path) key.watchable();
+        var changed = key.pollEvents().stream()
+            .filter(event -> event.context() instanceof Path)
+            .map(event -> directory.resolve((Path) event.context()))
+            .anyMatch(files::contains);
+        key.reset();
+        if (changed) {
+          promptFactory.reload();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      log.debug("Prompt template watcher stopped");
+    }
+  }
+
+  /**
+   * @return The absolute paths of the templates that are stored as files.
+   */
+  private List<Path> templateFiles() {
+    return promptProperties.templatePaths().stream()
+        .map(resourceLoader::getResource)
+        .filter(Resource::isFile)
+        .map(resource -> {
+          try {
+            return resource.getFile().toPath().toAbsolutePath();
+          } catch (IOException e) {
+            throw new IllegalStateException("Cannot resolve prompt template file: " + resource, e);
+          }
+        })
+        .toList();
+  }
+}
@@ -0,0 +1,19 @@
+package com.folderai.services.ai.refine;
+
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.TreeEdit;
+
+import java.util.List;
+
+/**
+ * The outcome of a refinement: the edited structure and the edits applied to get it.
+ *
+ * @param structure The structure after the edits.
+ * @param edits     The applied edits, in order.
+ */
+public record RefinedTree(DirectoryStructure structure, List<TreeEdit> edits) {
+
+  public RefinedTree {
+    edits = List.copyOf(edits);
+  }
+}
@@ -0,0 +1,213 @@
+package com.folderai.services.ai.refine;
+
+import com.folderai.services.dto.response.DirectoryTree;
+import com.folderai.services.dto.response.TreeEdit;
+import com.folderai.services.util.DirectoryTreeParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies {@link TreeEdit} scripts to a tree. The tree is read by {@link DirectoryTreeParser}, so
+ * box-drawing and ASCII trees alike can be edited, turned into folders, the edits are applied to
+ * them in order and the result is drawn back with box-drawing connectors. Every edit is checked
+ * against the tree as it stands: a path that does not exist, a name already taken by a sibling or
+ * a folder moved below itself rejects the whole script.
+ */
+final class TreeEditor {
+
+  private TreeEditor() {
+  }
+
+  /**
+   * @param tree  The current tree.
+   * @param edits The edits to apply, in order.
+   * @return The edited tree.
+   * @throws InvalidTreeEditException when the tree cannot be parsed or an edit does not apply.
+   */
+  static String apply(String tree, List<TreeEdit> edits) {
+    var root = parse(tree);
+    for (var edit : edits) {
+      apply(root, edit);
+    }
+    return render(root);
+  }
+
+  private static void apply(Folder root, TreeEdit edit) {
+    if (edit == null || edit.op() == null || edit.path() == null) {
+      throw new InvalidTreeEditException("edit has no operation or path");
+    }
+    var segments = segments(root, edit.path());
+    if (segments.isEmpty()) {
+      throw new InvalidTreeEditException(edit.op() + " cannot apply to the root folder");
+    }
+    var name = segments.getLast() + (edit.path().strip().endsWith("/") ? "/" : "");
+    switch (edit.op()) {
+      case ADD -> {
+        var parent = root;
+        for (var segment : segments.subList(0, segments.size() - 1)) {
+          var child = parent.child(segment);
+          if (child == null) {
+            child = new Folder(segment + "/");
+            parent.children.add(child);
+          }
+          parent = child;
+        }
+        if (parent.child(segments.getLast()) != null) {
+          throw new InvalidTreeEditException(edit.path() + " already exists");
+        }
+        parent.children.add(new Folder(name));
+      }
+      case REMOVE -> {
+        var parent = resolve(root, segments.subList(0, segments.size() - 1), edit.path());
+        parent.children.remove(resolve(parent, segments.subList(segments.size() - 1,
+            segments.size()), edit.path()));
+      }
+      case RENAME -> {
+        var target = edit.target() == null ? "" : edit.target().strip();
+        if (key(target).isEmpty() || key(target).contains("/")) {
+          throw new InvalidTreeEditException("RENAME of " + edit.path() + " needs a folder name");
+        }
+        var parent = resolve(root, segments.subList(0, segments.size() - 1), edit.path());
+        var folder = resolve(parent, segments.subList(segments.size() - 1, segments.size()),
+            edit.path());
+        var sibling = parent.child(key(target));
+        if (sibling != null && sibling != folder) {
+          throw new InvalidTreeEditException(target + " already exists next to " + edit.path());
+        }
+        folder.name = key(target) + (folder.name.endsWith("/") ? "/" : "");
+      }
+      case MOVE -> {
+        var parent = resolve(root, segments.subList(0, segments.size() - 1), edit.path());
+        var folder = resolve(parent, segments.subList(segments.size() - 1, segments.size()),
+            edit.path());
+        var destination = resolve(root,
+            segments(root, edit.target() == null ? "" : edit.target()), edit.target());
+        if (folder.contains(destination)) {
+          throw new InvalidTreeEditException(edit.path() + " cannot move below itself");
+        }
+        if (destination.child(key(folder.name)) != null) {
+          throw new InvalidTreeEditException(folder.name + " already exists in " + edit.target());
+        }
+        parent.children.remove(folder);
+        destination.children.add(folder);
+      }
+    }
+  }
+
+  /**
+   * Splits a path into folder names, dropping a leading root name the model may repeat.
+   */
+  private static List<String> segments(Folder root, String path) {
+    var segments = new ArrayList<>(Arrays.stream(path.strip().split("/"))
+        .map(String::strip)
+        .filter(segment -> !segment.isEmpty() && !segment.equals("."))
+        .toList());
+    if (!segments.isEmpty() && segments.getFirst().equals(key(root.name))
+        && root.child(segments.getFirst()) == null) {
+      segments.removeFirst();
+    }
+    return segments;
+  }
+
+  private static Folder resolve(Folder from, List<String> segments, String path) {
+    var folder = from;
+    for (var segment : segments) {
+      folder = folder.child(segment);
+      if (folder == null) {
+        throw new InvalidTreeEditException(path + " does not exist");
+      }
+    }
+    return folder;
+  }
+
+  private static String key(String name) {
+    var key = name.strip();
+    return key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+  }
+
+  /**
+   * Builds the folders to edit from the parsed tree. A tree of several lines of which no entry
+   * could be read is rejected rather than edited as an empty folder.
+   */
+  private static Folder parse(String tree) {
+    var parsed = DirectoryTreeParser.parse(tree);
+    if (parsed == null) {
+      throw new InvalidTreeEditException("there is no tree to edit");
+    }
+    if (parsed.size() == 1 && tree.strip().indexOf('\n') >= 0) {
+      throw new InvalidTreeEditException("the tree has no entry that can be read");
+    }
+    var folders = new Folder[parsed.size()];
+    folders[0] = new Folder(nameOf(parsed, 0));
+    // Nodes are numbered in the order they were added, so a parent always comes before its
+    // children and siblings come in their order in the tree
+    for (int node = 1; node < parsed.size(); node++) {
+      folders[node] = new Folder(nameOf(parsed, node));
+      folders[parsed.parent(node)].children.add(folders[node]);
+    }
+    return folders[0];
+  }
+
+  private static String nameOf(DirectoryTree tree, int node) {
+    return tree.name(node) + (tree.isDirectory(node) ? "/" : "");
+  }
+
+  private static String render(Folder root) {
+    var tree = new StringBuilder(root.name);
+    render(root, "", tree);
+    return tree.toString();
+  }
+
+  private static void render(Folder folder, String indent, StringBuilder tree) {
+    for (int i = 0; i < folder.children.size(); i++) {
+      var child = folder.children.get(i);
+      var last = i == folder.children.size() - 1;
+      tree.append('\n').append(indent).append(last ? "└── " : "├── ").append(child.name);
+      render(child, indent + (last ? "    " : "│   "), tree);
+    }
+  }
+
+  private static final class Folder {
+
+    private String name;
+    private final List<Folder> children = new ArrayList<>();
+
+    private Folder(String name) {
+      this.name = name;
+    }
+
+    private Folder child(String name) {
+      var wanted = key(name);
+      for (var child : children) {
+        if (key(child.name).equals(wanted)) {
+          return child;
+        }
+      }
+      return null;
+    }
+
+    private boolean contains(Folder folder) {
+      if (this == folder) {
+        return true;
+      }
+      for (var child : children) {
+        if (child.contains(folder)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * An edit script that cannot be applied to the tree it was written for.
+   */
+  static final class InvalidTreeEditException extends RuntimeException {
+
+    InvalidTreeEditException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.folderai.services.ai.refine;
+
+import com.folderai.services.ai.prompt.OutputConverters;
+import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.config.properties.RefinementProperties;
+import com.folderai.services.dto.response.DirectoryStructure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Refinement mode: asks the model for an edit script against the current tree of a conversation,
+ * rather than a whole new tree, and applies it. The answer, and so the latency, then grows with
+ * the size of the change instead of the size of the tree. Scripts that cannot be parsed or
+ * applied are rejected so the caller can fall back to a full regeneration; applied scripts and
+ * fallbacks are counted under {@code folder.refinement.applied} and
+ * {@code folder.refinement.fallbacks}.
+ */
+@Component
+@Slf4j
+public class TreeRefiner {
+
+  private final RefinementProperties properties;
+  private final PromptFactory promptFactory;
+  private final Counter applied;
+  private final Counter fallbacks;
+
+  public TreeRefiner(RefinementProperties properties, PromptFactory promptFactory,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.promptFactory = promptFactory;
+    this.applied = Counter.builder("folder.refinement.applied")
+        .description("Follow-ups answered by applying an edit script to the current tree")
+        .register(meterRegistry);
+    this.fallbacks = Counter.builder("folder.refinement.fallbacks")
+        .description("Edit scripts rejected in favor of a full regeneration")
+        .register(meterRegistry);
+  }
+
+  /**
+   * @return true when follow-ups on an existing tree are answered with edit scripts.
+   */
+  public boolean isEnabled() {
+    return properties.enabled();
+  }
+
+  /**
+   * Creates the prompt asking for the edits that fulfill a follow-up request.
+   *
+   * @param userPrompt  The follow-up request.
+   * @param currentTree The current tree of the conversation.
+   * @return A Prompt object holding the rendered refinement message.
+   */
+  public Prompt createPrompt(String userPrompt, String currentTree) {
+    return promptFactory.createRefinePrompt(userPrompt, currentTree);
+  }
+
+  /**
+   * Parses the model answer and applies its edits to the current tree.
+   *
+   * @param currentTree The tree the edits were asked against.
+   * @param rawAnswer   The model answer.
+   * @return The edited tree, or empty when the answer is not an edit script that applies to it.
+   */
+  public Optional<RefinedTree> refine(String currentTree, String rawAnswer) {
+    try {
+      if (rawAnswer == null || rawAnswer.isBlank()) {
+        throw new TreeEditor.InvalidTreeEditException("the answer is empty");
+      }
+      var script = OutputConverters.TREE_EDIT_SCRIPT.convert(rawAnswer);
+      if (script == null || script.edits() == null || script.edits().isEmpty()) {
+        throw new TreeEditor.InvalidTreeEditException("the answer holds no edits");
+      }
+      if (script.edits().size() > properties.maxEdits()) {
+        throw new TreeEditor.InvalidTreeEditException(
+            "the answer holds more than " + properties.maxEdits() + " edits");
+      }
+      var tree = TreeEditor.apply(currentTree, script.edits());
+      applied.increment();
+      return Optional.of(new RefinedTree(new DirectoryStructure(projectName(tree), tree),
+          script.edits()));
+    } catch (RuntimeException e) {
+      fallbacks.increment();
+      log.info("Refinement: edit script rejected ({}), regenerating the whole tree",
+          e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return The root folder of a tree, without its trailing slash.
+   */
+  private static String projectName(String tree) {
+    var root = tree.lines().findFirst().orElse("").strip();
+    return root.endsWith("/") ? root.substring(0, root.length() - 1) : root;
+  }
+}
@@ -1,9 +1,11 @@
 package com.folderai.services.aop;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.folderai.services.commun.FolderConstants;
-import lombok.RequiredArgsConstructor;
+import com.folderai.services.config.properties.LoggingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -12,20 +14,64 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for logging execution of service and controller methods. This aspect provides structured,
  * contextual logging for method entry, exit, execution time, and errors, using AOP to keep business
  * logic clean.
+ * <p>
+ * Only the packages listed in {@link LoggingProperties#packages()} are logged, and only for the
+ * sampled share of requests: other calls cost two clock reads and are logged only when they fail
+ * or are slow. At DEBUG, the arguments and results of sampled calls are serialized to JSON on a
+ * background thread, cut to a maximum size; when that thread falls behind, payloads are dropped
+ * and counted under {@code folder.logging.payloads.dropped}.
  */
 @Aspect
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class LoggingAspect {
 
+  private static final String CLASS_NAME_KEY = "className";
+  private static final String METHOD_NAME_KEY = "methodName";
+  private static final int SAMPLING_RESOLUTION = 10_000;
+
   private final ObjectMapper objectMapper;
+  private final LoggingProperties properties;
+  private final long slowCallNanos;
+  private final int sampledTraces;
+  private final ThreadPoolExecutor payloadWriter;
+  private final Counter droppedPayloads;
+  private final ClassValue<Boolean> allowed = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      var name = type.getName();
+      return properties.packages().stream()
+          .anyMatch(prefix -> name.startsWith(prefix + "."));
+    }
+  };
+
+  public LoggingAspect(ObjectMapper objectMapper, LoggingProperties properties,
+      MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.slowCallNanos = properties.slowCallThreshold().toNanos();
+    this.sampledTraces = (int) Math.round(properties.sampleRate() * SAMPLING_RESOLUTION);
+    this.droppedPayloads = Counter.builder("folder.logging.payloads.dropped")
+        .description("DEBUG payloads not logged because the background writer was behind")
+        .register(meterRegistry);
+    this.payloadWriter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(properties.payloadQueueCapacity()),
+        Thread.ofPlatform().daemon().name("logging-aspect").factory(),
+        (task, executor) -> droppedPayloads.increment());
+  }
 
   /**
    * Pointcut that matches all public methods in the service package and its subpackages.
@@ -57,62 +103,183 @@ public class LoggingAspect {
    */
   @Around("applicationLayerPointcut()")
   public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-    MDC.put("className", joinPoint.getSignature().getDeclaringTypeName());
-    MDC.put("methodName", joinPoint.getSignature().getName());
+    var signature = joinPoint.getSignature();
+    if (!allowed.get(signature.getDeclaringType())) {
+      return joinPoint.proceed();
+    }
+    var traceId = MDC.get(FolderConstants.TRACE_ID_KEY);
+    var sampled = isSampled(traceId);
+    var startTime = System.nanoTime();
+    if (!sampled) {
+      try {
+        var result = joinPoint.proceed();
+        var elapsedTime = System.nanoTime() - startTime;
+        if (elapsedTime >= slowCallNanos) {
+          withContext(joinPoint, () -> logExit(elapsedTime));
+        }
+        return result;
+      } catch (Throwable throwable) {
+        var elapsedTime = System.nanoTime() - startTime;
+        withContext(joinPoint, () -> logError(elapsedTime, throwable));
+        throw throwable;
+      }
+    }
 
-    String traceId = MDC.get(FolderConstants.TRACE_ID_KEY);
+    var previousClassName = MDC.get(CLASS_NAME_KEY);
+    var previousMethodName = MDC.get(METHOD_NAME_KEY);
+    MDC.put(CLASS_NAME_KEY, signature.getDeclaringTypeName());
+    MDC.put(METHOD_NAME_KEY, signature.getName());
     if (traceId == null || traceId.isBlank()) {
       MDC.put(FolderConstants.TRACE_ID_KEY, UUID.randomUUID().toString());
     }
+    try {
+      log.info("Entering method");
+      if (log.isDebugEnabled()) {
+        logPayload("Method arguments: {}", joinPoint.getArgs());
+      }
+      Object result;
+      try {
+        result = joinPoint.proceed();
+      } catch (Throwable throwable) {
+        logError(System.nanoTime() - startTime, throwable);
+        throw throwable;
+      }
+      logExit(System.nanoTime() - startTime);
+      // Log result only if DEBUG is enabled
+      if (log.isDebugEnabled()) {
+        logPayload("Method result: {}", result);
+      }
+      return result;
+    } finally {
+      restore(CLASS_NAME_KEY, previousClassName);
+      restore(METHOD_NAME_KEY, previousMethodName);
+      restore(FolderConstants.TRACE_ID_KEY, traceId);
+    }
+  }
 
-    log.info("Entering method");
+  @PreDestroy
+  public void shutdown() {
+    payloadWriter.shutdown();
+  }
 
-    if (log.isDebugEnabled()) {
-      log.debug("Method arguments: {}", serialize(joinPoint.getArgs()));
+  /**
+   * Samples by trace, so that all the calls of a sampled request are logged.
+   */
+  private boolean isSampled(String traceId) {
+    if (sampledTraces >= SAMPLING_RESOLUTION) {
+      return true;
     }
+    if (sampledTraces <= 0) {
+      return false;
+    }
+    var bucket = traceId == null
+        ? ThreadLocalRandom.current().nextInt(SAMPLING_RESOLUTION)
+        : Math.floorMod(traceId.hashCode(), SAMPLING_RESOLUTION);
+    return bucket < sampledTraces;
+  }
+
+  private static void logExit(long elapsedNanos) {
+    log.atInfo()
+        .setMessage("Exiting method")
+        .addKeyValue("executionTimeMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+        .log();
+  }
 
-    long startTime = System.currentTimeMillis();
+  private static void logError(long elapsedNanos, Throwable throwable) {
+    log.atError()
+        .setMessage("Method threw exception")
+        .addKeyValue("executionTimeMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+        .setCause(throwable)
+        .log();
+  }
 
+  /**
+   * Logs an unsampled call with the same context as a sampled one.
+   */
+  private static void withContext(ProceedingJoinPoint joinPoint, Runnable log) {
+    var signature = joinPoint.getSignature();
+    var previousClassName = MDC.get(CLASS_NAME_KEY);
+    var previousMethodName = MDC.get(METHOD_NAME_KEY);
+    MDC.put(CLASS_NAME_KEY, signature.getDeclaringTypeName());
+    MDC.put(METHOD_NAME_KEY, signature.getName());
     try {
-      Object result = joinPoint.proceed();
-      long elapsedTime = System.currentTimeMillis() - startTime;
+      log.run();
+    } finally {
+      restore(CLASS_NAME_KEY, previousClassName);
+      restore(METHOD_NAME_KEY, previousMethodName);
+    }
+  }
 
-      log.atInfo()
-          .setMessage("Exiting method")
-          .addKeyValue("executionTimeMs", elapsedTime)
-          .log();
+  private static void restore(String key, String previous) {
+    if (previous == null) {
+      MDC.remove(key);
+    } else {
+      MDC.put(key, previous);
+    }
+  }
 
-      // Log result only if DEBUG is enabled
-      if (log.isDebugEnabled()) {
-        log.debug("Method result: {}", serialize(result));
+  /**
+   * Serializes the payload on the background thread and logs it there, with the context of the
+   * call.
+   */
+  private void logPayload(String message, Object payload) {
+    var context = MDC.getCopyOfContextMap();
+    payloadWriter.execute(() -> {
+      MDC.setContextMap(context == null ? Map.of() : context);
+      try {
+        log.debug(message, serialize(payload));
+      } finally {
+        MDC.clear();
       }
+    });
+  }
 
-      return result;
+  String serialize(Object obj) {
+    if (obj instanceof byte[] bytes) {
+      return String.format("<binary data of size %d bytes>", bytes.length);
+    }
+    var writer = new CappedWriter(properties.maxPayloadChars());
+    try {
+      objectMapper.writeValue(writer, obj);
+    } catch (IOException e) {
+      if (!writer.full) {
+        return "Failed to serialize object to JSON";
+      }
+    }
+    return writer.full ? writer.text + "... (truncated)" : writer.text.toString();
+  }
 
-    } catch (Throwable throwable) {
-      long elapsedTime = System.currentTimeMillis() - startTime;
+  /**
+   * Keeps the first characters written to it, then fails so that serialization stops early.
+   */
+  private static final class CappedWriter extends Writer {
 
-      log.atError()
-          .setMessage("Method threw exception")
-          .addKeyValue("executionTimeMs", elapsedTime)
-          .setCause(throwable)
-          .log();
+    private final StringBuilder text = new StringBuilder();
+    private final int capacity;
+    private boolean full;
 
-      throw throwable;
-    } finally {
-      MDC.clear();
+    private CappedWriter(int capacity) {
+      this.capacity = capacity;
     }
-  }
 
-  private String serialize(Object obj) {
-    if (obj instanceof byte[]) {
-      return String.format("<binary data of size %d bytes>", ((byte[]) obj).length);
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+      var room = capacity - text.length();
+      text.append(buffer, offset, Math.min(room, length));
+      if (length > room) {
+        full = true;
+        throw new IOException("Payload longer than " + capacity + " characters");
+      }
     }
-    try {
-      return objectMapper.writeValueAsString(obj);
-    } catch (JsonProcessingException e) {
-      return "Failed to serialize object to JSON";
+
+    @Override
+    public void flush() {
+      // Nothing is buffered
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release
     }
   }
 }
-
@@ -1,10 +1,16 @@
 package com.folderai.services.config.ai;
 
+import com.folderai.services.ai.memory.ConversationSummarizer;
+import com.folderai.services.ai.memory.TokenBudgetChatMemory;
+import com.folderai.services.ai.memory.store.BoundedChatMemoryRepository;
+import com.folderai.services.ai.memory.store.SegmentLogChatMemoryRepository;
+import com.folderai.services.config.properties.ChatMemoryProperties;
+import com.folderai.services.config.properties.ChatMemoryStoreProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,40 +21,59 @@ import org.springframework.context.annotation.Configuration;
 public class AIConfig {
 
   /**
-   * Creates and configures a InMemoryChatMemoryRepository bean for the application.
+   * Creates and configures the ChatMemoryRepository bean for the application: a segment log on
+   * local disk that survives restarts when the store is persistent, a bounded on-heap cache
+   * otherwise. Either way, the number of stored conversations is gauged under
+   * {@code folder.chat-memory.conversations.stored}.
    *
-   * @return A configured InMemoryChatMemoryRepository bean ready for injection.
+   * @param properties    the chat memory store settings
+   * @param meterRegistry the registry of the store metrics
+   * @return A configured ChatMemoryRepository bean ready for injection.
    */
   @Bean
-  public InMemoryChatMemoryRepository inMemoryChatMemoryRepository() {
-    return new InMemoryChatMemoryRepository();
+  public ChatMemoryRepository chatMemoryRepository(ChatMemoryStoreProperties properties,
+      MeterRegistry meterRegistry) {
+    var repository = properties.persistent()
+        ? new SegmentLogChatMemoryRepository(properties, meterRegistry)
+        : new BoundedChatMemoryRepository(properties, meterRegistry);
+    Gauge.builder("folder.chat-memory.conversations.stored", repository,
+            r -> r.findConversationIds().size())
+        .description("Conversations stored in the chat memory, whatever the store")
+        .register(meterRegistry);
+    return repository;
   }
 
   /**
-   * Creates and configures a ChatMemory bean for the application.
+   * Creates and configures a ChatMemory bean for the application. The history sent with each
+   * request is bounded by a token budget, counted locally with the OpenAI tokenizer, and older
+   * turns are condensed into a summary in the background.
    *
-   * @param repository the spring AI InMemoryChatMemoryRepository
+   * @param repository    the repository storing the conversations
+   * @param summarizer    the summarizer of the turns falling out of the budget
+   * @param properties    the token budget settings
+   * @param meterRegistry the registry of the compaction metrics
    * @return A configured ChatMemory bean ready for injection.
    */
   @Bean
-  public ChatMemory chatMemory(InMemoryChatMemoryRepository repository) {
-    return MessageWindowChatMemory.builder()
-        .chatMemoryRepository(repository)
-        .maxMessages(20)
-        .build();
+  public TokenBudgetChatMemory chatMemory(ChatMemoryRepository repository,
+      ConversationSummarizer summarizer, ChatMemoryProperties properties,
+      MeterRegistry meterRegistry) {
+    return new TokenBudgetChatMemory(repository, new JTokkitTokenCountEstimator(), summarizer,
+        properties, meterRegistry);
   }
 
   /**
    * Creates and configures a ChatClient bean for the application. Spring AI provides a
    * pre-configured ChatClient.Builder that we can use to build the final ChatClient instance.
+   * Conversation history is read from and written to the ChatMemory by the FolderService itself,
+   * so that hedged or repeated calls record each turn only once.
    *
-   * @param builder    The ChatClient.Builder provided by the Spring AI auto-configuration.
-   * @param chatMemory The ChatMemory bean.
+   * @param builder The ChatClient.Builder provided by the Spring AI auto-configuration.
    * @return A configured ChatClient bean ready for injection.
    */
   @Bean
-  public ChatClient chatClient(ChatClient.Builder builder, ChatMemory chatMemory) {
-    return builder.defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build()).build();
+  public ChatClient chatClient(ChatClient.Builder builder) {
+    return builder.build();
   }
 
 }
@@ -0,0 +1,28 @@
+package com.folderai.services.config.ai;
+
+import com.folderai.services.ai.fake.FakeChatModel;
+import com.folderai.services.config.properties.FakeModelProperties;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces the OpenAI chat model with an offline fake when the 'fake' profile is active, so that
+ * load tests and local runs never call the provider. application-fake.yml turns the OpenAI chat
+ * auto-configuration off; the ChatClient is then built on this model.
+ */
+@Configuration
+@Profile("fake")
+public class FakeModelConfig {
+
+  /**
+   * @param properties the latency and fault settings of the fake model
+   * @return The offline chat model.
+   */
+  @Bean
+  public ChatModel fakeChatModel(FakeModelProperties properties) {
+    return new FakeChatModel(properties);
+  }
+
+}
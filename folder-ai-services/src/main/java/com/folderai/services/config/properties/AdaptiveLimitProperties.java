@@ -0,0 +1,37 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.adaptive-limit' namespace in application.yml. Controls the adaptive
+ * concurrency limit applied to AI model calls, per model.
+ *
+ * @param enabled           Whether AI model calls are guarded by the adaptive limit.
+ * @param initialLimit      The concurrency limit a model starts with.
+ * @param minLimit          The lowest the limit may shrink to.
+ * @param maxLimit          The highest the limit may grow to.
+ * @param backoffRatio      The factor applied to the limit on a congestion signal.
+ * @param slowCallThreshold The latency above which a successful call counts as congestion.
+ * @param queueTimeout      How long a request waits under the limit before being rejected.
+ */
+@ConfigurationProperties(prefix = "folder.adaptive-limit")
+@Validated
+public record AdaptiveLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("16") @Positive int initialLimit,
+    @DefaultValue("1") @Positive int minLimit,
+    @DefaultValue("64") @Positive int maxLimit,
+    @DefaultValue("0.9") @DecimalMin("0.1") @DecimalMax("0.99") double backoffRatio,
+    @DefaultValue("30s") @NotNull Duration slowCallThreshold,
+    @DefaultValue("5s") @NotNull Duration queueTimeout
+) {
+
+}
@@ -0,0 +1,21 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Maps to the 'folder.batch' namespace in application.yml. Controls the batch generation endpoint.
+ *
+ * @param parallelism The maximum number of requests of one batch generated at the same time.
+ * @param maxItems    The maximum number of requests accepted in one batch.
+ */
+@ConfigurationProperties(prefix = "folder.batch")
+@Validated
+public record BatchProperties(
+    @DefaultValue("8") @Positive int parallelism,
+    @DefaultValue("500") @Positive int maxItems
+) {
+
+}
@@ -0,0 +1,42 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Maps to the 'folder.bulkhead' namespace in application.yml. Limits how many AI model calls may
+ * be in flight at once, per model.
+ *
+ * @param enabled            Whether AI model calls are guarded by the bulkhead.
+ * @param maxConcurrentCalls The default number of concurrent calls allowed per model.
+ * @param models             Per-model overrides of {@code maxConcurrentCalls}, keyed by model name.
+ * @param queueTimeout       How long a request waits for a free slot before being rejected.
+ */
+@ConfigurationProperties(prefix = "folder.bulkhead")
+@Validated
+public record BulkheadProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("64") @Positive int maxConcurrentCalls,
+    Map<String, Integer> models,
+    @DefaultValue("5s") @NotNull Duration queueTimeout
+) {
+
+  public BulkheadProperties {
+    models = models == null ? Map.of() : Map.copyOf(models);
+  }
+
+  /**
+   * @param model The model name.
+   * @return The number of concurrent calls allowed for this model.
+   */
+  public int maxConcurrentCalls(String model) {
+    return models.getOrDefault(model, maxConcurrentCalls);
+  }
+
+}
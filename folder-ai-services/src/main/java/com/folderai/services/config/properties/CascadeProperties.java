@@ -0,0 +1,43 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+/**
+ * Maps to the 'folder.cascade' namespace in application.yml. Controls the model cascade used when
+ * a request does not choose a model: each tier is tried in order and the next one is only called
+ * when the structure returned by the previous tier cannot be parsed or fails validation.
+ *
+ * @param enabled    Whether requests without a model go through the cascade.
+ * @param models     The models of the cascade, fastest and cheapest first.
+ * @param minEntries The minimum number of entries of a valid tree.
+ * @param maxEntries The maximum number of entries of a valid tree.
+ * @param maxDepth   The maximum nesting depth of a valid tree.
+ */
+@ConfigurationProperties(prefix = "folder.cascade")
+@Validated
+public record CascadeProperties(
+    @DefaultValue("false") boolean enabled,
+    List<String> models,
+    @DefaultValue("3") @PositiveOrZero int minEntries,
+    @DefaultValue("500") @Positive int maxEntries,
+    @DefaultValue("10") @Positive int maxDepth
+) {
+
+  public CascadeProperties {
+    models = models == null ? List.of() : List.copyOf(models);
+  }
+
+  /**
+   * @return true when the cascade is switched on and has at least one tier.
+   */
+  public boolean isActive() {
+    return enabled && !models.isEmpty();
+  }
+
+}
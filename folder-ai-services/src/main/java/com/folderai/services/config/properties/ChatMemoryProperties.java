@@ -0,0 +1,28 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Maps to the 'folder.chat-memory' namespace in application.yml. Bounds the conversation history
+ * sent with each follow-up request by a token budget rather than a message count: a single
+ * generated tree can weigh more than a dozen short turns.
+ *
+ * @param maxTokens    The token budget of the history sent to the model, summary included.
+ * @param maxMessages  The maximum number of messages stored per conversation.
+ * @param summarize    Whether turns that fall out of the budget are compacted into a summary.
+ * @param summaryModel The model writing the summaries.
+ */
+@ConfigurationProperties(prefix = "folder.chat-memory")
+@Validated
+public record ChatMemoryProperties(
+    @DefaultValue("3000") @Positive int maxTokens,
+    @DefaultValue("100") @Positive int maxMessages,
+    @DefaultValue("true") boolean summarize,
+    @DefaultValue("gpt-4o-mini") @NotBlank String summaryModel
+) {
+
+}
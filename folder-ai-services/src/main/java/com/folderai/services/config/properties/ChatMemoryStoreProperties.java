@@ -0,0 +1,56 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.chat-memory.store' namespace in application.yml. Selects where conversations
+ * are stored: in a bounded on-heap cache, or in an append-only log of memory-mapped segment files
+ * that survives restarts.
+ *
+ * @param maxConversations   The maximum number of conversations kept on-heap.
+ * @param maxBytes           The maximum estimated size of the conversations kept on-heap.
+ * @param idleTimeout        How long an on-heap conversation is kept after it was last used.
+ * @param persistent         Whether conversations are stored in the segment log.
+ * @param directory          The directory of the segment files.
+ * @param segmentSize        The size of a segment file; a record larger than it gets its own. A
+ *                           segment is memory-mapped as a whole, so it is smaller than 2GB.
+ * @param maxChainLength     The number of appended records after which a conversation is written
+ *                           again as a single snapshot, bounding the cost of reading it.
+ * @param minLiveRatio       The share of still referenced bytes under which the oldest segment
+ *                           is compacted.
+ * @param compactionInterval How often the compaction runs.
+ * @param retention          How long a conversation is kept after its last write.
+ * @param syncInterval       How often written records are forced to disk.
+ */
+@ConfigurationProperties(prefix = "folder.chat-memory.store")
+@Validated
+public record ChatMemoryStoreProperties(
+    @DefaultValue("10000") @Positive long maxConversations,
+    @DefaultValue("64MB") DataSize maxBytes,
+    @DefaultValue("2h") Duration idleTimeout,
+    @DefaultValue("false") boolean persistent,
+    @DefaultValue("data/chat-memory") @NotBlank String directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("16") @Positive int maxChainLength,
+    @DefaultValue("0.5") @DecimalMin("0.0") @DecimalMax("1.0") double minLiveRatio,
+    @DefaultValue("1m") Duration compactionInterval,
+    @DefaultValue("7d") Duration retention,
+    @DefaultValue("1s") Duration syncInterval
+) {
+
+  public ChatMemoryStoreProperties {
+    if (segmentSize.toBytes() <= 0 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "folder.chat-memory.store.segment-size must be positive and smaller than 2GB, got " + segmentSize);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Maps to the 'folder.coalescing' namespace in application.yml. Controls how identical in-flight
+ * generation requests share a single AI model call.
+ *
+ * @param enabled          Whether identical concurrent requests are collapsed into one call.
+ * @param maxWaitersPerKey The maximum number of requests waiting on one in-flight call; requests
+ *                         above this cap call the AI model themselves.
+ */
+@ConfigurationProperties(prefix = "folder.coalescing")
+@Validated
+public record CoalescingProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100") @Positive int maxWaitersPerKey
+) {
+
+}
@@ -0,0 +1,27 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.cache' namespace in application.yml. Controls the cache of generated
+ * directory structures placed in front of the AI model.
+ *
+ * @param enabled     Whether repeated prompts are answered from the cache.
+ * @param ttl         How long a generated structure stays valid after it was written.
+ * @param maximumSize The maximum number of structures kept before the least useful are evicted.
+ */
+@ConfigurationProperties(prefix = "folder.cache")
+@Validated
+public record DirectoryCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1h") @NotNull Duration ttl,
+    @DefaultValue("1000") @Positive long maximumSize
+) {
+
+}
@@ -0,0 +1,41 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.fake-model' namespace in application-fake.yml. Configures the offline chat
+ * model used with the 'fake' profile: how fast it answers and how often it fails.
+ *
+ * @param model            The model name reported when the request does not name one.
+ * @param timeToFirstToken The delay before the first token of an answer.
+ * @param tokensPerSecond  The rate at which the tokens of an answer are produced.
+ * @param treeNodes        The number of folders of a generated tree, root included.
+ * @param rateLimitRate    The share of calls rejected with an HTTP 429 error.
+ * @param timeoutRate      The share of calls that hang and then fail with a read timeout.
+ * @param timeout          How long a timed-out call hangs before failing.
+ * @param malformedRate    The share of answers cut in the middle of their JSON.
+ */
+@ConfigurationProperties(prefix = "folder.fake-model")
+@Validated
+public record FakeModelProperties(
+    @DefaultValue("fake-gpt-4o-mini") @NotBlank String model,
+    @DefaultValue("300ms") @NotNull Duration timeToFirstToken,
+    @DefaultValue("80") @Positive double tokensPerSecond,
+    @DefaultValue("40") @Min(1) int treeNodes,
+    @DefaultValue("0") @DecimalMin("0") @DecimalMax("1") double rateLimitRate,
+    @DefaultValue("0") @DecimalMin("0") @DecimalMax("1") double timeoutRate,
+    @DefaultValue("10s") @NotNull Duration timeout,
+    @DefaultValue("0") @DecimalMin("0") @DecimalMax("1") double malformedRate
+) {
+
+}
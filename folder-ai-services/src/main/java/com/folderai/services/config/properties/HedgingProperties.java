@@ -0,0 +1,40 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.hedging' namespace in application.yml. Controls hedged AI model calls: a
+ * second, identical call issued when the first one is slower than usual.
+ *
+ * @param enabled          Whether slow AI model calls are hedged.
+ * @param percentile       The latency percentile of recent calls after which a hedge is issued.
+ * @param minDelay         The shortest delay before a hedge, whatever the observed latencies.
+ * @param maxDelay         The longest delay before a hedge, also used until enough calls have
+ *                         been observed.
+ * @param minSamples       The number of observed calls needed before the percentile is trusted.
+ * @param budgetPerMinute  The maximum number of hedges issued per minute, bounding the extra
+ *                         token spend.
+ * @param alternateModel   An optional model the hedge is sent to instead of the primary model.
+ */
+@ConfigurationProperties(prefix = "folder.hedging")
+@Validated
+public record HedgingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("0.95") @DecimalMin("0.5") @DecimalMax("0.999") double percentile,
+    @DefaultValue("2s") @NotNull Duration minDelay,
+    @DefaultValue("20s") @NotNull Duration maxDelay,
+    @DefaultValue("20") @Positive int minSamples,
+    @DefaultValue("10") @PositiveOrZero int budgetPerMinute,
+    String alternateModel
+) {
+
+}
@@ -0,0 +1,28 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.jfr' namespace in application.yml. Controls the in-process JDK Flight
+ * Recorder stream summarizing the generation pipeline events.
+ *
+ * @param enabled Whether the events are streamed and summarized; they can still be recorded by an
+ *                external recording when not.
+ * @param samples The most recent events of each kind whose durations make up the percentiles.
+ * @param maxAge  How long the stream keeps recorded data on disk.
+ */
+@ConfigurationProperties(prefix = "folder.jfr")
+@Validated
+public record JfrProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1024") @Positive int samples,
+    @DefaultValue("1m") @NotNull Duration maxAge
+) {
+
+}
@@ -0,0 +1,32 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Maps to the 'folder.jobs' namespace in application.yml. Controls the asynchronous generation job
+ * API.
+ *
+ * @param workers       The number of jobs processed concurrently.
+ * @param queueCapacity The number of submitted jobs allowed to wait for a worker.
+ * @param maxStoredJobs The maximum number of finished jobs kept for polling; pending and running
+ *                      jobs are bounded by the workers and the queue capacity instead.
+ * @param resultTtl     How long a finished job stays available after completion.
+ * @param maxWait       The longest a poll may wait for a job to finish before returning.
+ */
+@ConfigurationProperties(prefix = "folder.jobs")
+@Validated
+public record JobProperties(
+    @DefaultValue("16") @Positive int workers,
+    @DefaultValue("500") @Positive int queueCapacity,
+    @DefaultValue("10000") @Positive long maxStoredJobs,
+    @DefaultValue("15m") @NotNull Duration resultTtl,
+    @DefaultValue("25s") @NotNull Duration maxWait
+) {
+
+}
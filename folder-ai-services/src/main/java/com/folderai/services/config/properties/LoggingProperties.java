@@ -0,0 +1,44 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Maps to the 'folder.logging' namespace in application.yml. Controls the method logging of the
+ * LoggingAspect.
+ *
+ * @param packages             The packages whose public methods are logged, subpackages
+ *                             included; only the controller and service layers can be listed.
+ * @param sampleRate           The share of requests whose method calls are logged, decided once
+ *                             per trace so that a sampled request is logged through every layer.
+ * @param slowCallThreshold    Calls at least this slow are logged even when not sampled, as are
+ *                             failed calls.
+ * @param maxPayloadChars      The longest JSON kept of the arguments or result of a call logged
+ *                             at DEBUG; the rest is cut.
+ * @param payloadQueueCapacity The payloads waiting to be serialized in the background; further
+ *                             payloads are dropped rather than slowing requests down.
+ * @param asyncQueueSize       The log events waiting to be written by the asynchronous console
+ *                             appender of logback-spring.xml, which reads it at startup.
+ */
+@ConfigurationProperties(prefix = "folder.logging")
+@Validated
+public record LoggingProperties(
+    @DefaultValue({"com.folderai.services.controller", "com.folderai.services.service"})
+    @NotNull List<String> packages,
+    @DefaultValue("1.0") @DecimalMin("0.0") @DecimalMax("1.0") double sampleRate,
+    @DefaultValue("1s") @NotNull Duration slowCallThreshold,
+    @DefaultValue("2048") @PositiveOrZero int maxPayloadChars,
+    @DefaultValue("1000") @Positive int payloadQueueCapacity,
+    @DefaultValue("8192") @Positive int asyncQueueSize
+) {
+
+}
@@ -0,0 +1,25 @@
+package com.folderai.services.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+/**
+ * Maps to the 'folder.models' namespace in application.yml. Lists the models that get their own
+ * concurrency limits, latency samples and meters.
+ *
+ * @param allowed The model names tracked on their own; any other model named by a request is
+ *                tracked as {@code other}.
+ */
+@ConfigurationProperties(prefix = "folder.models")
+@Validated
+public record ModelProperties(
+    List<String> allowed
+) {
+
+  public ModelProperties {
+    allowed = allowed == null ? List.of() : List.copyOf(allowed);
+  }
+
+}
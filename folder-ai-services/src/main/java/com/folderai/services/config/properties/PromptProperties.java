@@ -2,30 +2,61 @@ package com.folderai.services.config.properties;
 
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 /**
- * Maps to the 'prompt' namespace in application.yml. This version handle separate
- * system and user prompt paths.
+ * Maps to the 'prompt' namespace in application.yml. Every template the service renders is
+ * registered here, so that all of them are compiled at startup and watched for changes.
  *
  * @param directory Configuration for folder directory prompts.
+ * @param memory    Configuration for conversation memory prompts.
+ * @param hotReload Whether templates stored as files are recompiled when they change on disk.
  */
 @ConfigurationProperties(prefix = "prompt")
 @Validated
 public record PromptProperties(
-    Directory directory
+    Directory directory,
+    @DefaultValue Memory memory,
+    @DefaultValue("false") boolean hotReload
 ) {
 
+  /**
+   * @return The locations of all the registered templates.
+   */
+  public List<String> templatePaths() {
+    return List.of(directory.systemPromptPath(), directory.userPromptPath(),
+        directory.refinePromptPath(), memory.summaryPromptPath());
+  }
+
   /**
    * Nested record for Directory-related properties.
    *
    * @param systemPromptPath The classpath location of the directory system prompt.
    * @param userPromptPath   The classpath location of the directory user prompt.
+   * @param refinePromptPath The location of the prompt asking for an edit script.
    */
-  public record Directory(@NotBlank String systemPromptPath, @NotBlank String userPromptPath) {
+  public record Directory(
+      @NotBlank String systemPromptPath,
+      @NotBlank String userPromptPath,
+      @DefaultValue("classpath:prompts/directory/directory-refine.st") @NotBlank
+      String refinePromptPath
+  ) {
 
   }
 
+  /**
+   * Nested record for conversation memory properties.
+   *
+   * @param summaryPromptPath The location of the conversation summarization prompt.
+   */
+  public record Memory(
+      @DefaultValue("classpath:prompts/memory/conversation-summary.st") @NotBlank
+      String summaryPromptPath
+  ) {
 
-}
+  }
 
+}
@@ -0,0 +1,24 @@
+package com.folderai.services.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Maps to the 'folder.refinement' namespace in application.yml. In refinement mode, a follow-up
+ * on a conversation that already has a tree asks the model for a short edit script instead of a
+ * whole new tree.
+ *
+ * @param enabled  Whether follow-ups are answered with edit scripts.
+ * @param maxEdits The maximum number of edits applied; longer scripts fall back to a full
+ *                 regeneration.
+ */
+@ConfigurationProperties(prefix = "folder.refinement")
+@Validated
+public record RefinementProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("50") @Positive int maxEdits
+) {
+
+}
@@ -1,10 +1,14 @@
 package com.folderai.services.config.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -17,17 +21,42 @@ import java.util.List;
  * Security configuration for the Folder AI application. This class configures CORS and disables
  * CSRF protection, which is standard for stateless REST APIs consumed by modern frontend
  * applications.
+ * <p>
+ * The actuator endpoints have their own filter chain: apart from the health check, they expose
+ * metrics and profiling data and require HTTP Basic authentication with the
+ * {@value #ACTUATOR_ROLE} role, granted to the {@code spring.security.user}.
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+  static final String ACTUATOR_ROLE = "ACTUATOR";
+
+  @Bean
+  @Order(1)
+  public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+    http
+        .securityMatcher("/actuator/**")
+        .csrf(AbstractHttpConfigurer::disable)
+        .sessionManagement(session -> session
+            .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        .authorizeHttpRequests(auth -> auth
+            .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+            .anyRequest().hasRole(ACTUATOR_ROLE)
+        )
+        .httpBasic(Customizer.withDefaults());
+    return http.build();
+  }
+
   @Bean
+  @Order(2)
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     http
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .csrf(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(auth -> auth
+            // Lets the error page render the status set by the chain that rejected the request
+            .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
             .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
             .requestMatchers("/api/v1/folders/**").permitAll()
             .anyRequest().authenticated()
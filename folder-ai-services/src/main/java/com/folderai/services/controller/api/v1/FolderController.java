@@ -1,17 +1,23 @@
 package com.folderai.services.controller.api.v1;
 
+import com.folderai.services.dto.request.BatchRequest;
 import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.BatchLine;
 import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.service.BatchService;
 import com.folderai.services.service.FolderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 /**
  * The main REST controller for the Folder AI application. This class handles all incoming API
@@ -25,6 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class FolderController {
 
   private final FolderService folderService;
+  private final BatchService batchService;
 
   @Operation(summary = "Analyze prompt and return project directory",
       description = "Receives a chat prompt and returns a structured representation of folders to be generated.")
@@ -36,6 +43,28 @@ public class FolderController {
     return ResponseEntity.ok(folderService.generateProjectDirectory(folderRequest));
   }
 
-}
+  @Operation(summary = "Stream the project directory while it is generated",
+      description = "Receives a chat prompt and streams the tree line by line as Server-Sent "
+          + "Events ('line'), followed by a 'result' event with the structured response or an "
+          + "'error' event.")
+  @PostMapping(value = "/project-directory/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<Flux<ServerSentEvent<Object>>> streamProjectDirectory(
+      @RequestBody FolderRequest folderRequest) {
+    log.info("Received request to stream project structure, prompt : {}",
+        folderRequest.prompt());
+    return ResponseEntity.ok(folderService.streamProjectDirectory(folderRequest)
+        .map(event -> ServerSentEvent.builder(event.data()).event(event.event()).build()));
+  }
 
+  @Operation(summary = "Generate a batch of project directories",
+      description = "Receives a list of chat prompts, generates them concurrently and streams one "
+          + "JSON line per prompt in completion order ('item', with its index and token usage or "
+          + "error), followed by a 'summary' line with the aggregate token usage.")
+  @PostMapping(value = "/project-directory/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Flux<BatchLine>> generateBatch(@RequestBody BatchRequest batchRequest) {
+    log.info("Received request to generate a batch of {} project structures",
+        batchRequest.requests() == null ? 0 : batchRequest.requests().size());
+    return ResponseEntity.ok(batchService.generateBatch(batchRequest));
+  }
 
+}
@@ -0,0 +1,60 @@
+package com.folderai.services.controller.api.v1;
+
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.JobResponse;
+import com.folderai.services.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * REST controller for asynchronous project directory generation. Clients submit a job, then poll
+ * or long-poll for its result, so no HTTP connection has to stay open for the whole generation.
+ */
+@RestController
+@RequestMapping("/api/v1/folders/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Folder AI jobs", description = "Endpoints for asynchronous directory generation.")
+public class JobController {
+
+  private final JobService jobService;
+
+  @Operation(summary = "Submit a project directory generation job",
+      description = "Queues the prompt and immediately returns 202 Accepted with the job id.")
+  @PostMapping
+  public ResponseEntity<JobResponse> submitJob(@RequestBody FolderRequest folderRequest) {
+    log.info("Received job request to generate project structure, prompt : {}",
+        folderRequest.prompt());
+    var job = jobService.submit(folderRequest);
+    var location = ServletUriComponentsBuilder.fromCurrentRequest()
+        .path("/{jobId}")
+        .buildAndExpand(job.jobId())
+        .toUri();
+    return ResponseEntity.accepted().location(location).body(job);
+  }
+
+  @Operation(summary = "Get a generation job",
+      description = "Returns the job state. With waitSeconds, long-polls until the job finishes "
+          + "or the wait (capped server-side) elapses; the request thread is released meanwhile.")
+  @GetMapping("/{jobId}")
+  public ResponseEntity<Mono<JobResponse>> getJob(@PathVariable UUID jobId,
+      @RequestParam(defaultValue = "0") long waitSeconds) {
+    return ResponseEntity.ok(jobService.awaitJob(jobId, Duration.ofSeconds(waitSeconds)));
+  }
+
+}
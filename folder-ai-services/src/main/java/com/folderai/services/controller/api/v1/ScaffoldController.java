@@ -0,0 +1,77 @@
+package com.folderai.services.controller.api.v1;
+
+import com.folderai.services.dto.request.ScaffoldPlaceholder;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.DirectoryTree;
+import com.folderai.services.service.ScaffoldService;
+import com.folderai.services.util.ScaffoldZipWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * REST controller downloading a generated directory as a ZIP archive of empty folders. The archive
+ * is written straight to the response while the tree is walked, so the download starts at once
+ * and uses constant memory whatever the size of the tree.
+ */
+@RestController
+@RequestMapping("/api/v1/folders/scaffold")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Folder AI scaffold", description = "Endpoints for downloading a generated directory.")
+public class ScaffoldController {
+
+  static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+  private final ScaffoldService scaffoldService;
+
+  @Operation(summary = "Download a directory structure as a ZIP archive",
+      description = "Receives a directory structure and streams a ZIP archive of its folders, "
+          + "with an optional placeholder file in each empty folder.")
+  @PostMapping
+  public ResponseEntity<StreamingResponseBody> downloadScaffold(
+      @RequestBody DirectoryStructure structure,
+      @RequestParam(defaultValue = "NONE") ScaffoldPlaceholder placeholder) {
+    log.info("Received request to download a scaffold, project : {}",
+        structure == null ? null : structure.projectName());
+    return zip(scaffoldService.treeOf(structure), placeholder);
+  }
+
+  @Operation(summary = "Download the result of a generation job as a ZIP archive",
+      description = "Streams a ZIP archive of the folders generated by a finished job, with an "
+          + "optional placeholder file in each empty folder.")
+  @GetMapping("/{jobId}")
+  public ResponseEntity<StreamingResponseBody> downloadJobScaffold(@PathVariable UUID jobId,
+      @RequestParam(defaultValue = "NONE") ScaffoldPlaceholder placeholder) {
+    log.info("Received request to download the scaffold of job : {}", jobId);
+    return zip(scaffoldService.treeOf(jobId), placeholder);
+  }
+
+  static ResponseEntity<StreamingResponseBody> zip(DirectoryTree tree,
+      ScaffoldPlaceholder placeholder) {
+    var disposition = ContentDisposition.attachment()
+        .filename(tree.name(0) + ".zip", StandardCharsets.UTF_8)
+        .build();
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_ZIP)
+        .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+        .body(out -> ScaffoldZipWriter.write(tree, placeholder, out));
+  }
+
+}
@@ -0,0 +1,20 @@
+package com.folderai.services.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of folder generation requests, processed concurrently.
+ *
+ * @param requests The requests to generate, each answered independently.
+ */
+public record BatchRequest(
+    @Schema(description = "The folder generation requests of the batch.")
+    @NotEmpty(message = "Requests cannot be empty.")
+    List<@Valid FolderRequest> requests
+) {
+
+}
@@ -12,6 +12,7 @@ import java.util.UUID;
  * @param prompt         A description to help the AI generate more relevant code content.
  * @param conversationId An optional unique identifier to maintain conversational context.
  * @param chatOptions    Optional parameters to control the AI model's behavior.
+ * @param skipCache      Optional flag forcing a fresh generation instead of a cached structure.
  */
 public record FolderRequest(
     @Schema(description = "A description to help the AI generate more relevant directory.",
@@ -19,8 +20,14 @@ public record FolderRequest(
     @NotNull(message = "Prompt cannot be null.")
     String prompt,
     UUID conversationId,
-    FolderModelOptions chatOptions
+    FolderModelOptions chatOptions,
+    @Schema(description = "Set to true to always call the AI model, bypassing cached structures.",
+        example = "false")
+    Boolean skipCache
 ) {
 
-}
+  public FolderRequest(String prompt, UUID conversationId, FolderModelOptions chatOptions) {
+    this(prompt, conversationId, chatOptions, null);
+  }
 
+}
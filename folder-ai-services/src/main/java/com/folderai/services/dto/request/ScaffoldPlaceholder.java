@@ -0,0 +1,20 @@
+package com.folderai.services.dto.request;
+
+/**
+ * The file written into each empty folder of a downloaded scaffold, so that version control and
+ * archive tools keep the folder.
+ */
+public enum ScaffoldPlaceholder {
+  /**
+   * Empty folders are left empty.
+   */
+  NONE,
+  /**
+   * An empty {@code .gitkeep} file.
+   */
+  GITKEEP,
+  /**
+   * A {@code README.md} titled with the folder name.
+   */
+  README
+}
@@ -0,0 +1,16 @@
+package com.folderai.services.dto.response;
+
+/**
+ * The outcome of one request of a batch. Items are sent in completion order, not request order.
+ *
+ * @param index  The position of the request in the batch.
+ * @param result The generated structure with its token usage, present on success.
+ * @param error  The failure details, present when the request failed.
+ */
+public record BatchItemResult(
+    int index,
+    FolderResponse result,
+    ErrorResponse error
+) implements BatchLine {
+
+}
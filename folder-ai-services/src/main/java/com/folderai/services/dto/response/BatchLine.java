@@ -0,0 +1,18 @@
+package com.folderai.services.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * A single line of a batch generation response, written as one JSON object per line (NDJSON). The
+ * {@code type} property tells an {@link BatchItemResult item} from the final
+ * {@link BatchSummary summary}.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+    @JsonSubTypes.Type(value = BatchItemResult.class, name = "item"),
+    @JsonSubTypes.Type(value = BatchSummary.class, name = "summary")
+})
+public sealed interface BatchLine permits BatchItemResult, BatchSummary {
+
+}
@@ -0,0 +1,18 @@
+package com.folderai.services.dto.response;
+
+/**
+ * The last line of a batch response, sent once every item has completed.
+ *
+ * @param total     The number of requests in the batch.
+ * @param succeeded The number of requests that produced a structure.
+ * @param failed    The number of requests that failed.
+ * @param usage     The tokens consumed by the whole batch.
+ */
+public record BatchSummary(
+    int total,
+    int succeeded,
+    int failed,
+    FolderUsage usage
+) implements BatchLine {
+
+}
@@ -0,0 +1,32 @@
+package com.folderai.services.dto.response;
+
+/**
+ * A single event of a streamed project directory generation, sent to the client as a Server-Sent
+ * Event whose name is {@link #event()}.
+ *
+ * @param event The event name: {@value #LINE}, {@value #RESULT} or {@value #ERROR}.
+ * @param data  The payload: a tree line, the final {@link FolderResponse} or an
+ *              {@link ErrorResponse}.
+ */
+public record DirectoryStreamEvent(
+    String event,
+    Object data
+) {
+
+  public static final String LINE = "line";
+  public static final String RESULT = "result";
+  public static final String ERROR = "error";
+
+  public static DirectoryStreamEvent line(String line) {
+    return new DirectoryStreamEvent(LINE, line);
+  }
+
+  public static DirectoryStreamEvent result(FolderResponse response) {
+    return new DirectoryStreamEvent(RESULT, response);
+  }
+
+  public static DirectoryStreamEvent error(ErrorResponse error) {
+    return new DirectoryStreamEvent(ERROR, error);
+  }
+
+}
@@ -0,0 +1,307 @@
+package com.folderai.services.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A directory structure as a compact, queryable tree. Folders are numbered in depth-first order,
+ * the root being 0, and described by parallel index arrays rather than an object per folder;
+ * each distinct name is stored once. Siblings never share a name, compared ignoring case.
+ *
+ * <p>Serialized as nested JSON objects: {@code {"name": ..., "directory": ..., "children": [...]}},
+ * the children being omitted for a leaf.
+ */
+@JsonSerialize(using = DirectoryTree.Serializer.class)
+public final class DirectoryTree {
+
+  private static final int NONE = -1;
+
+  private final String[] names;
+  private final int[] nameIds;
+  private final int[] parents;
+  private final int[] firstChildren;
+  private final int[] nextSiblings;
+  private final BitSet directories;
+
+  private DirectoryTree(String[] names, int[] nameIds, int[] parents, int[] firstChildren,
+      int[] nextSiblings, BitSet directories) {
+    this.names = names;
+    this.nameIds = nameIds;
+    this.parents = parents;
+    this.firstChildren = firstChildren;
+    this.nextSiblings = nextSiblings;
+    this.directories = directories;
+  }
+
+  /**
+   * @param rootName The name of the root folder.
+   * @param capacity The expected number of folders, root included.
+   * @return A builder of a tree holding only the root.
+   */
+  public static Builder builder(String rootName, int capacity) {
+    return new Builder(rootName, capacity);
+  }
+
+  /**
+   * @return The number of folders and files, root included.
+   */
+  public int size() {
+    return nameIds.length;
+  }
+
+  /**
+   * @return The name of a node, without a trailing slash.
+   */
+  public String name(int node) {
+    return names[nameIds[node]];
+  }
+
+  /**
+   * @return The parent of a node, or -1 for the root.
+   */
+  public int parent(int node) {
+    return parents[node];
+  }
+
+  /**
+   * @return The first child of a node, or -1 when it has none.
+   */
+  public int firstChild(int node) {
+    return firstChildren[node];
+  }
+
+  /**
+   * @return The next sibling of a node, or -1 when it is the last one.
+   */
+  public int nextSibling(int node) {
+    return nextSiblings[node];
+  }
+
+  /**
+   * @return true when the node is a folder, i.e. it was written with a trailing slash or has
+   *     children.
+   */
+  public boolean isDirectory(int node) {
+    return directories.get(node);
+  }
+
+  /**
+   * @return The number of distinct names in the tree.
+   */
+  public int distinctNames() {
+    return names.length;
+  }
+
+  /**
+   * @return The path of a node below the root, separated by '/', empty for the root.
+   */
+  public String path(int node) {
+    var path = new StringBuilder();
+    for (var current = node; current > 0; current = parents[current]) {
+      path.insert(0, name(current)).insert(0, '/');
+    }
+    return path.isEmpty() ? "" : path.substring(1);
+  }
+
+  /**
+   * Looks up a node by its path below the root, ignoring case and trailing slashes.
+   *
+   * @return The node, or -1 when no node has that path.
+   */
+  public int find(String path) {
+    var node = 0;
+    for (var segment : path.split("/")) {
+      if (segment.isEmpty()) {
+        continue;
+      }
+      var child = firstChildren[node];
+      while (child != NONE && !name(child).equalsIgnoreCase(segment)) {
+        child = nextSiblings[child];
+      }
+      if (child == NONE) {
+        return NONE;
+      }
+      node = child;
+    }
+    return node;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof DirectoryTree tree) || tree.size() != size()) {
+      return false;
+    }
+    for (int node = 0; node < size(); node++) {
+      if (!name(node).equals(tree.name(node))) {
+        return false;
+      }
+    }
+    return Arrays.equals(parents, tree.parents)
+        && Arrays.equals(firstChildren, tree.firstChildren)
+        && Arrays.equals(nextSiblings, tree.nextSiblings)
+        && directories.equals(tree.directories);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(parents) + name(0).hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "DirectoryTree[root=" + name(0) + ", size=" + size() + "]";
+  }
+
+  /**
+   * Appends nodes to a tree in depth-first order. Adding a name a sibling already has, ignoring
+   * case, returns that sibling instead, so duplicated folders are merged along with their children.
+   */
+  public static final class Builder {
+
+    private final Map<String, Integer> nameTable = new HashMap<>();
+    private final Map<SiblingKey, Integer> siblings = new HashMap<>();
+    private final BitSet directories = new BitSet();
+    private String[] names;
+    private int[] nameIds;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] lastChildren;
+    private int[] nextSiblings;
+    private int size;
+
+    private Builder(String rootName, int capacity) {
+      var initial = Math.max(1, capacity);
+      names = new String[Math.min(initial, 16)];
+      nameIds = new int[initial];
+      parents = new int[initial];
+      firstChildren = new int[initial];
+      lastChildren = new int[initial];
+      nextSiblings = new int[initial];
+      append(NONE, rootName);
+      directories.set(0);
+    }
+
+    /**
+     * @param parent    The parent node, 0 for the root.
+     * @param name      The sanitized name, without a trailing slash.
+     * @param directory Whether the node is known to be a folder.
+     * @return The new node, or the sibling already holding that name.
+     */
+    public int add(int parent, String name, boolean directory) {
+      var key = new SiblingKey(parent, name.toLowerCase(Locale.ROOT));
+      var existing = siblings.get(key);
+      var node = existing != null ? existing : append(parent, name);
+      if (existing == null) {
+        siblings.put(key, node);
+      }
+      if (directory) {
+        directories.set(node);
+      }
+      directories.set(parent);
+      return node;
+    }
+
+    private int append(int parent, String name) {
+      if (size == nameIds.length) {
+        grow();
+      }
+      var node = size++;
+      nameIds[node] = intern(name);
+      parents[node] = parent;
+      firstChildren[node] = NONE;
+      lastChildren[node] = NONE;
+      nextSiblings[node] = NONE;
+      if (parent != NONE) {
+        if (firstChildren[parent] == NONE) {
+          firstChildren[parent] = node;
+        } else {
+          nextSiblings[lastChildren[parent]] = node;
+        }
+        lastChildren[parent] = node;
+      }
+      return node;
+    }
+
+    private int intern(String name) {
+      var id = nameTable.get(name);
+      if (id == null) {
+        id = nameTable.size();
+        if (id == names.length) {
+          names = Arrays.copyOf(names, names.length * 2);
+        }
+        names[id] = name;
+        nameTable.put(name, id);
+      }
+      return id;
+    }
+
+    private void grow() {
+      var capacity = nameIds.length * 2;
+      nameIds = Arrays.copyOf(nameIds, capacity);
+      parents = Arrays.copyOf(parents, capacity);
+      firstChildren = Arrays.copyOf(firstChildren, capacity);
+      lastChildren = Arrays.copyOf(lastChildren, capacity);
+      nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+    }
+
+    public DirectoryTree build() {
+      return new DirectoryTree(Arrays.copyOf(names, nameTable.size()),
+          Arrays.copyOf(nameIds, size), Arrays.copyOf(parents, size),
+          Arrays.copyOf(firstChildren, size), Arrays.copyOf(nextSiblings, size),
+          (BitSet) directories.clone());
+    }
+
+    private record SiblingKey(int parent, String name) {
+
+    }
+  }
+
+  /**
+   * Writes the tree as nested objects without recursion, so that very deep trees cannot exhaust
+   * the stack.
+   */
+  static final class Serializer extends StdSerializer<DirectoryTree> {
+
+    Serializer() {
+      super(DirectoryTree.class);
+    }
+
+    @Override
+    public void serialize(DirectoryTree tree, JsonGenerator generator,
+        SerializerProvider provider) throws IOException {
+      var node = 0;
+      while (true) {
+        generator.writeStartObject();
+        generator.writeStringField("name", tree.name(node));
+        generator.writeBooleanField("directory", tree.isDirectory(node));
+        if (tree.firstChild(node) != NONE) {
+          generator.writeArrayFieldStart("children");
+          node = tree.firstChild(node);
+          continue;
+        }
+        generator.writeEndObject();
+        while (node != 0 && tree.nextSibling(node) == NONE) {
+          node = tree.parent(node);
+          generator.writeEndArray();
+          generator.writeEndObject();
+        }
+        if (node == 0) {
+          return;
+        }
+        node = tree.nextSibling(node);
+      }
+    }
+  }
+}
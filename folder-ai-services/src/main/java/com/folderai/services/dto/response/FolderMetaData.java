@@ -3,13 +3,22 @@ package com.folderai.services.dto.response;
 /**
  * Nested record to structure metadata from the AI provider.
  *
- * @param model The model that generated the response.
- * @param usage Details on token consumption.
+ * @param model    The model that generated the response.
+ * @param usage    Details on token consumption, summed over all attempts.
+ * @param tier     The 1-based model cascade tier that served the request, null when the cascade
+ *                 was not used.
+ * @param attempts The number of AI model calls made for the request, 0 when it was served from a
+ *                 previous generation.
  */
 public record FolderMetaData(
     String model,
-    FolderUsage usage
+    FolderUsage usage,
+    Integer tier,
+    Integer attempts
 ) {
 
-}
+  public FolderMetaData(String model, FolderUsage usage) {
+    this(model, usage, null, null);
+  }
 
+}
@@ -1,6 +1,10 @@
 package com.folderai.services.dto.response;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -9,17 +13,37 @@ import java.util.UUID;
  *
  * @param directoryStructure           A nested map representing directory structure and project
  *                                     name.
+ * @param directoryTree  The tree of {@code directoryStructure} parsed into nested folders by the
+ *                       service, omitted when it holds no tree. Written only: it is not read
+ *                       back from JSON.
  * @param conversationId conversationId The unique identifier for the conversation, echoed from the
  *                       request.
  * @param metaData       metadata Contains usage information (like token counts) and other metadata
  *                       from the provider.
+ * @param edits          The edits applied to the previous tree when the structure was refined
+ *                       rather than regenerated, omitted otherwise.
  */
 
 public record FolderResponse(
     DirectoryStructure directoryStructure,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    DirectoryTree directoryTree,
     UUID conversationId,
     //or we can use spring MetaData, but it may cause an issue
-    FolderMetaData metaData
+    FolderMetaData metaData,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<TreeEdit> edits
 ) {
 
+  public FolderResponse(DirectoryStructure directoryStructure, UUID conversationId,
+      FolderMetaData metaData, List<TreeEdit> edits) {
+    this(directoryStructure, null, conversationId, metaData, edits);
+  }
+
+  public FolderResponse(DirectoryStructure directoryStructure, UUID conversationId,
+      FolderMetaData metaData) {
+    this(directoryStructure, null, conversationId, metaData, null);
+  }
+
 }
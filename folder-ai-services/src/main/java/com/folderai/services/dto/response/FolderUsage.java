@@ -1,16 +1,34 @@
 package com.folderai.services.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Nested record for token usage details. Field names are mapped to common provider outputs using
  *
- * @param promptTokens     Tokens used in the prompt.
- * @param generationTokens Tokens used in the generated response.
- * @param totalTokens      Total tokens consumed for the API call.
+ * @param promptTokens      Tokens used in the prompt.
+ * @param generationTokens  Tokens used in the generated response.
+ * @param totalTokens       Total tokens consumed for the API call.
+ * @param savedPromptTokens Estimated prompt tokens of conversation history left out of the call
+ *                          by the chat memory token budget, omitted when nothing was left out.
  */
 public record FolderUsage(
     Integer promptTokens,
     Integer generationTokens,
-    Integer totalTokens
+    Integer totalTokens,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Integer savedPromptTokens
 ) {
 
+  public FolderUsage(Integer promptTokens, Integer generationTokens, Integer totalTokens) {
+    this(promptTokens, generationTokens, totalTokens, null);
+  }
+
+  /**
+   * @param savedPromptTokens The prompt tokens left out of the call.
+   * @return This usage with the given saved prompt tokens, unchanged when there are none.
+   */
+  public FolderUsage withSavedPromptTokens(int savedPromptTokens) {
+    return savedPromptTokens == 0
+        ? this
+        : new FolderUsage(promptTokens, generationTokens, totalTokens, savedPromptTokens);
+  }
 }
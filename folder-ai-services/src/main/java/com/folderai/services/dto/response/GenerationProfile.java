@@ -0,0 +1,46 @@
+package com.folderai.services.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO summarizing the generation pipeline events recorded by JDK Flight Recorder since startup.
+ * Durations are in milliseconds.
+ *
+ * @param streaming Whether the events are being streamed; when not, the summary stays empty.
+ * @param since     When the stream started.
+ * @param events    One summary per kind of event and set of tags.
+ */
+public record GenerationProfile(
+    boolean streaming,
+    Instant since,
+    List<EventSummary> events
+) {
+
+  /**
+   * @param event            The kind of event, e.g. "model-call".
+   * @param tags             What the events have in common, such as their stage, model and
+   *                         outcome.
+   * @param count            The number of events since startup.
+   * @param p50              The median duration of the most recent events.
+   * @param p90              The 90th percentile duration of the most recent events.
+   * @param p99              The 99th percentile duration of the most recent events.
+   * @param max              The longest duration of the most recent events.
+   * @param promptTokens     The prompt tokens of model calls since startup.
+   * @param completionTokens The completion tokens of model calls since startup.
+   */
+  public record EventSummary(
+      String event,
+      Map<String, String> tags,
+      long count,
+      double p50,
+      double p90,
+      double p99,
+      double max,
+      long promptTokens,
+      long completionTokens
+  ) {
+
+  }
+}
@@ -0,0 +1,23 @@
+package com.folderai.services.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO describing an asynchronous generation job and, once finished, its outcome.
+ *
+ * @param jobId       The unique identifier of the job.
+ * @param status      The current status of the job.
+ * @param submittedAt When the job was accepted.
+ * @param result      The generated structure, present when the job succeeded.
+ * @param error       The failure details, present when the job failed.
+ */
+public record JobResponse(
+    UUID jobId,
+    JobStatus status,
+    Instant submittedAt,
+    FolderResponse result,
+    ErrorResponse error
+) {
+
+}
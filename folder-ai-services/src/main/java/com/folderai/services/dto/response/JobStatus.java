@@ -0,0 +1,11 @@
+package com.folderai.services.dto.response;
+
+/**
+ * Lifecycle of an asynchronous generation job.
+ */
+public enum JobStatus {
+  PENDING,
+  RUNNING,
+  SUCCEEDED,
+  FAILED
+}
@@ -0,0 +1,33 @@
+package com.folderai.services.dto.response;
+
+/**
+ * One edit of a refinement edit script, applied to the current tree of a conversation.
+ *
+ * @param op     The kind of edit.
+ * @param path   The folder the edit applies to, relative to the root and separated by '/'. Folder
+ *               paths end with '/'.
+ * @param target The new name of a renamed folder, or the destination folder of a moved one, empty
+ *               for the root. Unused by the other edits.
+ */
+public record TreeEdit(Operation op, String path, String target) {
+
+  public enum Operation {
+    /**
+     * Creates the folder, and any missing folder above it.
+     */
+    ADD,
+    /**
+     * Deletes the folder and everything below it.
+     */
+    REMOVE,
+    /**
+     * Gives the folder another name, keeping its position.
+     */
+    RENAME,
+    /**
+     * Moves the folder, with everything below it, to the end of another folder.
+     */
+    MOVE
+  }
+
+}
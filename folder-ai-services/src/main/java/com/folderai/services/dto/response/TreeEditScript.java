@@ -0,0 +1,13 @@
+package com.folderai.services.dto.response;
+
+import java.util.List;
+
+/**
+ * Defines the expected JSON structure of the AI's response in refinement mode: the edits turning
+ * the current tree into the requested one, in the order they are applied.
+ *
+ * @param edits The edits to apply.
+ */
+public record TreeEditScript(List<TreeEdit> edits) {
+
+}
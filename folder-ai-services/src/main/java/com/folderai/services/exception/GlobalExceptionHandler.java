@@ -1,6 +1,7 @@
 package com.folderai.services.exception;
 
 import com.folderai.services.dto.response.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -63,4 +64,63 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
   }
 
+  /**
+   * Handles ProviderCapacityExceededException
+   *
+   * @param exception The ProviderCapacityExceededException exception that was thrown.
+   * @return A ResponseEntity containing a standardized error response.
+   */
+  @ExceptionHandler(ProviderCapacityExceededException.class)
+  public ResponseEntity<ErrorResponse> handleProviderCapacityExceededException(
+      ProviderCapacityExceededException exception) {
+    var errorResponse = new ErrorResponse(LocalDateTime.now(),
+        HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE.name(),
+        exception.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(errorResponse);
+  }
+
+  /**
+   * Handles JobNotFoundException
+   *
+   * @param exception The JobNotFoundException exception that was thrown.
+   * @return A ResponseEntity containing a standardized error response.
+   */
+  @ExceptionHandler(JobNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleJobNotFoundException(
+      JobNotFoundException exception) {
+    var errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(),
+        HttpStatus.NOT_FOUND.name(), exception.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Handles InvalidBatchException
+   *
+   * @param exception The InvalidBatchException exception that was thrown.
+   * @return A ResponseEntity containing a standardized error response.
+   */
+  @ExceptionHandler(InvalidBatchException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidBatchException(
+      InvalidBatchException exception) {
+    var errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+        HttpStatus.BAD_REQUEST.name(), exception.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles InvalidScaffoldException
+   *
+   * @param exception The InvalidScaffoldException exception that was thrown.
+   * @return A ResponseEntity containing a standardized error response.
+   */
+  @ExceptionHandler(InvalidScaffoldException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidScaffoldException(
+      InvalidScaffoldException exception) {
+    var errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+        HttpStatus.BAD_REQUEST.name(), exception.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
 }
@@ -0,0 +1,12 @@
+package com.folderai.services.exception;
+
+/**
+ * Thrown when a batch generation request is empty or larger than the configured maximum.
+ */
+public class InvalidBatchException extends RuntimeException {
+
+  public InvalidBatchException(String message) {
+    super(message);
+  }
+
+}
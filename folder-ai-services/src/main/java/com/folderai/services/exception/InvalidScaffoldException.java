@@ -0,0 +1,12 @@
+package com.folderai.services.exception;
+
+/**
+ * Thrown when a scaffold is requested for a directory structure that holds no tree.
+ */
+public class InvalidScaffoldException extends RuntimeException {
+
+  public InvalidScaffoldException(String message) {
+    super(message);
+  }
+
+}
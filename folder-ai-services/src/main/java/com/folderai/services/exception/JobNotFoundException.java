@@ -0,0 +1,12 @@
+package com.folderai.services.exception;
+
+/**
+ * Custom exception to be thrown when a generation job is unknown or its result has expired.
+ */
+public class JobNotFoundException extends RuntimeException {
+
+  public JobNotFoundException(String message) {
+    super(message);
+  }
+
+}
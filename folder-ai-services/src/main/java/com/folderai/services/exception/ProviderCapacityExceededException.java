@@ -0,0 +1,13 @@
+package com.folderai.services.exception;
+
+/**
+ * Exception thrown when a generation cannot start because the provider's concurrency limit is
+ * reached, or the job queue is full, and no slot became free in time.
+ */
+public class ProviderCapacityExceededException extends RuntimeException {
+
+  public ProviderCapacityExceededException(String message) {
+    super(message);
+  }
+
+}
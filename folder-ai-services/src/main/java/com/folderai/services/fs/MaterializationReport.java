@@ -0,0 +1,19 @@
+package com.folderai.services.fs;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The outcome of materializing a tree on disk.
+ *
+ * @param root      The folder the tree root was materialized to.
+ * @param created   The number of folders and files created, or that would be in a dry run.
+ * @param existing  The number of folders and files that were already there.
+ * @param conflicts The paths, relative to the workspace, already taken by an entry of another
+ *                  type or by a symbolic link; nothing is created below them.
+ * @param dryRun    Whether the filesystem was left untouched.
+ */
+public record MaterializationReport(Path root, long created, long existing,
+                                    List<String> conflicts, boolean dryRun) {
+
+}
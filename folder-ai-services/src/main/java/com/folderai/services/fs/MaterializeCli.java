@@ -0,0 +1,103 @@
+package com.folderai.services.fs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.util.DirectoryTreeParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command line entry point materializing a generated {@link DirectoryStructure} into a workspace
+ * folder, without starting the application. From the packaged jar:
+ *
+ * <pre>
+ * java -cp folder-ai-services.jar -Dloader.main=com.folderai.services.fs.MaterializeCli \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     structure.json /workspace [--dry-run] [--parallelism N]
+ * </pre>
+ *
+ * <p>The structure is read as JSON from the given file, or from the standard input for {@code -}.
+ * Exits with 0 on success, 1 when some entries were in conflict and 2 on invalid input.
+ */
+public final class MaterializeCli {
+
+  private static final String USAGE =
+      "Usage: MaterializeCli <structure.json|-> <workspace> [--dry-run] [--parallelism N]";
+
+  private MaterializeCli() {
+  }
+
+  public static void main(String[] args) {
+    System.exit(run(args, System.in, System.out, System.err));
+  }
+
+  /**
+   * @return The exit status.
+   */
+  static int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+    String source = null;
+    Path workspace = null;
+    var dryRun = false;
+    var parallelism = Runtime.getRuntime().availableProcessors();
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--dry-run" -> dryRun = true;
+          case "--parallelism" -> parallelism = Integer.parseInt(args[++i]);
+          default -> {
+            if (source == null) {
+              source = args[i];
+            } else if (workspace == null) {
+              workspace = Path.of(args[i]);
+            } else {
+              throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+          }
+        }
+      }
+      if (workspace == null || parallelism < 1) {
+        throw new IllegalArgumentException(USAGE);
+      }
+      if (!Files.isDirectory(workspace)) {
+        throw new IllegalArgumentException("Workspace is not a folder: " + workspace);
+      }
+      var structure = read(source, in);
+      var tree = DirectoryTreeParser.parse(structure.tree());
+      if (tree == null) {
+        throw new IllegalArgumentException("The directory structure holds no tree.");
+      }
+      var pool = new ForkJoinPool(parallelism);
+      MaterializationReport report;
+      try {
+        report = new TreeMaterializer(pool).materialize(tree, workspace, dryRun);
+      } finally {
+        pool.shutdown();
+      }
+      out.printf("%s %s: %d created, %d existing, %d conflicts%n",
+          report.dryRun() ? "Dry run of" : "Materialized", report.root(), report.created(),
+          report.existing(), report.conflicts().size());
+      report.conflicts().forEach(conflict -> err.println("Conflict: " + conflict));
+      return report.conflicts().isEmpty() ? 0 : 1;
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | UncheckedIOException e) {
+      err.println(e instanceof IndexOutOfBoundsException ? USAGE : e.getMessage());
+      return 2;
+    }
+  }
+
+  private static DirectoryStructure read(String source, InputStream in) {
+    var mapper = new ObjectMapper();
+    try {
+      return "-".equals(source)
+          ? mapper.readValue(in, DirectoryStructure.class)
+          : mapper.readValue(Path.of(source).toFile(), DirectoryStructure.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read the directory structure: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.folderai.services.fs;
+
+import com.folderai.services.dto.response.DirectoryTree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates the folders and empty files of a {@link DirectoryTree} below a workspace folder. Subtrees
+ * are independent, so they are created in parallel on a fork-join pool: large subtrees get a task
+ * each, small sibling subtrees are grouped into tasks of similar size.
+ *
+ * <p>Re-running on the same workspace is safe: existing entries of the right type are counted and
+ * kept. An entry already taken by a file of the wrong type or by a symbolic link is reported as a
+ * conflict and nothing is created below it, so links can never lead outside the workspace. Names
+ * are checked before anything is written, so a tree with an unsafe name creates nothing.
+ */
+public final class TreeMaterializer {
+
+  /**
+   * The number of nodes below which a subtree is not split further.
+   */
+  static final int FORK_THRESHOLD = 64;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * @param pool The pool creating the subtrees; a pool of parallelism 1 creates them one by one.
+   */
+  public TreeMaterializer(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Creates the tree as the folder {@code workspace/<root name>}.
+   *
+   * @param tree      The tree to create.
+   * @param workspace The folder to create it in, which must exist.
+   * @param dryRun    When true, only reports what would be created.
+   * @return What was created, found or in conflict.
+   * @throws IllegalArgumentException when a name of the tree is not a single safe path segment.
+   * @throws UncheckedIOException     when the filesystem fails.
+   */
+  public MaterializationReport materialize(DirectoryTree tree, Path workspace, boolean dryRun) {
+    var base = workspace.toAbsolutePath().normalize();
+    for (int node = 0; node < tree.size(); node++) {
+      checkName(tree.name(node));
+    }
+    // Single segments that are neither '.' nor '..' keep every path below the workspace
+    var root = base.resolve(tree.name(0));
+    var run = new Run(tree, base, dryRun);
+    pool.invoke(run.new Create(0, root));
+    return new MaterializationReport(root, run.created.sum(), run.existing.sum(),
+        List.copyOf(run.conflicts), dryRun);
+  }
+
+  private static void checkName(String name) {
+    if (name.isEmpty() || name.equals(".") || name.equals("..") || name.indexOf('/') >= 0
+        || name.indexOf('\\') >= 0 || name.indexOf('\0') >= 0) {
+      throw new IllegalArgumentException("Unsafe name in tree: '" + name + "'");
+    }
+  }
+
+  /**
+   * The state of one materialization, shared by its tasks.
+   */
+  private static final class Run {
+
+    private final DirectoryTree tree;
+    private final Path base;
+    private final boolean dryRun;
+    // Number of nodes in the subtree of each node
+    private final int[] sizes;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder existing = new LongAdder();
+    private final ConcurrentLinkedQueue<String> conflicts = new ConcurrentLinkedQueue<>();
+
+    private Run(DirectoryTree tree, Path base, boolean dryRun) {
+      this.tree = tree;
+      this.base = base;
+      this.dryRun = dryRun;
+      this.sizes = new int[tree.size()];
+      // Children always come after their parent, so one backward pass sums the subtrees
+      for (int node = tree.size() - 1; node >= 0; node--) {
+        sizes[node]++;
+        if (node > 0) {
+          sizes[tree.parent(node)] += sizes[node];
+        }
+      }
+    }
+
+    /**
+     * Creates the subtree of a node, depth first.
+     */
+    private void createAll(int node, Path path) {
+      if (!create(node, path)) {
+        return;
+      }
+      for (var child = tree.firstChild(node); child != -1; child = tree.nextSibling(child)) {
+        createAll(child, path.resolve(tree.name(child)));
+      }
+    }
+
+    private void createAll(List<Integer> nodes, Path parentPath) {
+      for (var node : nodes) {
+        createAll(node, parentPath.resolve(tree.name(node)));
+      }
+    }
+
+    /**
+     * Creates one node.
+     *
+     * @return true when the node is a folder whose children can be created.
+     */
+    private boolean create(int node, Path path) {
+      var directory = tree.isDirectory(node);
+      try {
+        if (dryRun) {
+          if (Files.notExists(path, LinkOption.NOFOLLOW_LINKS)) {
+            created.increment();
+            return directory;
+          }
+        } else {
+          if (directory) {
+            Files.createDirectory(path);
+          } else {
+            Files.createFile(path);
+          }
+          created.increment();
+          return directory;
+        }
+      } catch (FileAlreadyExistsException e) {
+        // Checked below, as in a dry run
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      var sameType = directory
+          ? Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)
+          : Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS);
+      if (!sameType) {
+        conflicts.add(base.relativize(path).toString());
+        return false;
+      }
+      existing.increment();
+      return directory;
+    }
+
+    private final class Create extends RecursiveAction {
+
+      private final int node;
+      private final Path path;
+
+      private Create(int node, Path path) {
+        this.node = node;
+        this.path = path;
+      }
+
+      @Override
+      protected void compute() {
+        if (!create(node, path)) {
+          return;
+        }
+        var forks = new ArrayList<ForkJoinTask<?>>();
+        // Small siblings are grouped until they are worth a task of their own
+        var batch = new ArrayList<Integer>();
+        var batchSize = 0;
+        for (var child = tree.firstChild(node); child != -1; child = tree.nextSibling(child)) {
+          if (sizes[child] >= FORK_THRESHOLD) {
+            forks.add(new Create(child, path.resolve(tree.name(child))).fork());
+            continue;
+          }
+          batch.add(child);
+          batchSize += sizes[child];
+          if (batchSize >= FORK_THRESHOLD) {
+            var nodes = List.copyOf(batch);
+            forks.add(ForkJoinTask.adapt(() -> createAll(nodes, path)).fork());
+            batch.clear();
+            batchSize = 0;
+          }
+        }
+        createAll(batch, path);
+        for (var task : forks) {
+          task.join();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.folderai.services.jfr;
+
+import com.folderai.services.ai.hedging.LatencyRecorder;
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.JfrProperties;
+import com.folderai.services.dto.response.GenerationProfile;
+import com.folderai.services.dto.response.GenerationProfile.EventSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the generation pipeline events from JDK Flight Recorder within the process and keeps a
+ * running summary of them: counts and token totals since startup, and duration percentiles over
+ * the most recent events of each kind. No profiler needs to be attached; only the events of this
+ * application are enabled, without stack traces, so the stream costs little more than the events
+ * themselves. Models are summarized under their {@link ModelAllowlist} name.
+ */
+@Component
+@Slf4j
+public class GenerationEventStream {
+
+  private final JfrProperties properties;
+  private final ModelAllowlist modelAllowlist;
+  private final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+  private volatile RecordingStream stream;
+  private volatile Instant since;
+
+  public GenerationEventStream(JfrProperties properties, ModelAllowlist modelAllowlist) {
+    this.properties = properties;
+    this.modelAllowlist = modelAllowlist;
+  }
+
+  /**
+   * Starts the stream, unless disabled or Flight Recorder is not available in this JVM.
+   */
+  @PostConstruct
+  public void start() {
+    if (!properties.enabled()) {
+      return;
+    }
+    try {
+      var recording = new RecordingStream();
+      for (var name : List.of(GenerationStageEvent.NAME, ModelCallEvent.NAME,
+          PromptRenderEvent.NAME, TreeFormatEvent.NAME)) {
+        recording.enable(name).withoutThreshold();
+      }
+      recording.setMaxAge(properties.maxAge());
+      recording.onEvent(GenerationStageEvent.NAME, event -> record("generation-stage", event,
+          "stage", "model", "outcome"));
+      recording.onEvent(ModelCallEvent.NAME, event -> record("model-call", event,
+          "model", "outcome"));
+      recording.onEvent(PromptRenderEvent.NAME, event -> record("prompt-render", event,
+          "template"));
+      recording.onEvent(TreeFormatEvent.NAME, event -> record("tree-format", event, "format"));
+      recording.startAsync();
+      stream = recording;
+      since = Instant.now();
+    } catch (RuntimeException e) {
+      log.warn("Cannot stream Flight Recorder events, the generation profile stays empty", e);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    var recording = stream;
+    if (recording != null) {
+      stream = null;
+      recording.close();
+    }
+  }
+
+  /**
+   * @return The summary of the events streamed so far.
+   */
+  public GenerationProfile profile() {
+    var events = stats.entrySet().stream()
+        .map(entry -> entry.getValue().summarize(entry.getKey()))
+        .sorted(Comparator.comparing(EventSummary::event)
+            .thenComparing(summary -> summary.tags().toString()))
+        .toList();
+    return new GenerationProfile(stream != null, since, events);
+  }
+
+  private void record(String kind, RecordedEvent event, String... tagFields) {
+    var tags = new LinkedHashMap<String, String>();
+    for (var field : tagFields) {
+      var value = event.getString(field);
+      tags.put(field, field.equals("model")
+          ? modelAllowlist.resolve(value)
+          : Objects.requireNonNullElse(value, ""));
+    }
+    var summary = stats.computeIfAbsent(new Key(kind, tags),
+        key -> new Stats(properties.samples()));
+    summary.count.incrementAndGet();
+    summary.durations.record(event.getDuration());
+    if (event.hasField("promptTokens")) {
+      summary.promptTokens.addAndGet(event.getInt("promptTokens"));
+      summary.completionTokens.addAndGet(event.getInt("completionTokens"));
+    }
+  }
+
+  private record Key(String kind, Map<String, String> tags) {
+
+  }
+
+  private static final class Stats {
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong completionTokens = new AtomicLong();
+    private final LatencyRecorder durations;
+
+    private Stats(int samples) {
+      this.durations = new LatencyRecorder(samples);
+    }
+
+    private EventSummary summarize(Key key) {
+      return new EventSummary(key.kind(), key.tags(), count.get(),
+          millis(durations.percentile(0.5)), millis(durations.percentile(0.9)),
+          millis(durations.percentile(0.99)), millis(durations.percentile(1.0)),
+          promptTokens.get(), completionTokens.get());
+    }
+
+    private static double millis(Duration duration) {
+      return duration.toNanos() / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.folderai.services.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A stage of a directory generation: prompt build, memory read or write, or response
+ * conversion. Model calls have their own {@link ModelCallEvent}.
+ */
+@Name(GenerationStageEvent.NAME)
+@Label("Generation Stage")
+@Category({"Folder AI", "Generation"})
+@Description("A stage of a directory generation")
+@StackTrace(false)
+public class GenerationStageEvent extends Event {
+
+  public static final String NAME = "com.folderai.GenerationStage";
+
+  @Label("Stage")
+  public String stage;
+
+  @Label("Conversation Id")
+  public String conversationId;
+
+  @Label("Model")
+  @Description("The requested model")
+  public String model;
+
+  @Label("Outcome")
+  public String outcome;
+}
@@ -0,0 +1,25 @@
+package com.folderai.services.jfr;
+
+import com.folderai.services.dto.response.GenerationProfile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/jfr}) returning the live summary of the
+ * generation pipeline events streamed from JDK Flight Recorder. Like the other actuator
+ * endpoints but health, it requires the actuator credentials.
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+  private final GenerationEventStream eventStream;
+
+  @ReadOperation
+  public GenerationProfile profile() {
+    return eventStream.profile();
+  }
+}
@@ -0,0 +1,41 @@
+package com.folderai.services.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to an AI model, blocking or streamed, from the moment it passed the concurrency limits
+ * until its answer is complete.
+ */
+@Name(ModelCallEvent.NAME)
+@Label("Model Call")
+@Category({"Folder AI", "Generation"})
+@Description("A call to an AI model, once it passed the concurrency limits")
+@StackTrace(false)
+public class ModelCallEvent extends Event {
+
+  public static final String NAME = "com.folderai.ModelCall";
+
+  @Label("Conversation Id")
+  public String conversationId;
+
+  @Label("Requested Model")
+  public String requestedModel;
+
+  @Label("Model")
+  @Description("The model that answered, the requested one when the call failed")
+  public String model;
+
+  @Label("Outcome")
+  public String outcome;
+
+  @Label("Prompt Tokens")
+  public int promptTokens;
+
+  @Label("Completion Tokens")
+  public int completionTokens;
+}
@@ -0,0 +1,25 @@
+package com.folderai.services.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The rendering of a prompt from its templates.
+ */
+@Name(PromptRenderEvent.NAME)
+@Label("Prompt Render")
+@Category({"Folder AI", "Prompt"})
+@StackTrace(false)
+public class PromptRenderEvent extends Event {
+
+  public static final String NAME = "com.folderai.PromptRender";
+
+  @Label("Template")
+  public String template;
+
+  @Label("Characters")
+  public int characters;
+}
@@ -0,0 +1,28 @@
+package com.folderai.services.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The formatting of a raw tree by the TreeFormatter.
+ */
+@Name(TreeFormatEvent.NAME)
+@Label("Tree Format")
+@Category({"Folder AI", "Tree"})
+@StackTrace(false)
+public class TreeFormatEvent extends Event {
+
+  public static final String NAME = "com.folderai.TreeFormat";
+
+  @Label("Format")
+  public String format;
+
+  @Label("Characters")
+  public int characters;
+
+  @Label("Lines")
+  public int lines;
+}
@@ -0,0 +1,17 @@
+package com.folderai.services.service;
+
+import com.folderai.services.dto.request.BatchRequest;
+import com.folderai.services.dto.response.BatchLine;
+import reactor.core.publisher.Flux;
+
+public interface BatchService {
+
+  /**
+   * Generates every request of a batch concurrently, up to the configured parallelism.
+   *
+   * @param batchRequest request
+   * @return one item per request in completion order, followed by the batch summary
+   */
+  Flux<BatchLine> generateBatch(BatchRequest batchRequest);
+
+}
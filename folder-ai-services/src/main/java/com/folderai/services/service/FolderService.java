@@ -1,7 +1,9 @@
 package com.folderai.services.service;
 
 import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.DirectoryStreamEvent;
 import com.folderai.services.dto.response.FolderResponse;
+import reactor.core.publisher.Flux;
 
 public interface FolderService {
 
@@ -14,4 +16,14 @@ public interface FolderService {
    */
   FolderResponse generateProjectDirectory(FolderRequest folderRequest);
 
+  /**
+   * Streaming variant of {@link #generateProjectDirectory(FolderRequest)}. Emits each tree line as
+   * soon as the AI model produces it, followed by a final event carrying the parsed structure and
+   * its usage metadata. Cancelling the subscription cancels the upstream AI call.
+   *
+   * @param folderRequest request
+   * @return the stream of line events, terminated by a result or an error event
+   */
+  Flux<DirectoryStreamEvent> streamProjectDirectory(FolderRequest folderRequest);
+
 }
@@ -0,0 +1,39 @@
+package com.folderai.services.service;
+
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.JobResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public interface JobService {
+
+  /**
+   * Queues a project directory generation to be processed in the background.
+   *
+   * @param folderRequest request
+   * @return the pending job
+   */
+  JobResponse submit(FolderRequest folderRequest);
+
+  /**
+   * Returns the current state of a job.
+   *
+   * @param jobId job identifier
+   * @return the job, finished or not
+   */
+  JobResponse getJob(UUID jobId);
+
+  /**
+   * Returns the state of a job once it finishes, or once the given duration elapses, without
+   * blocking the caller.
+   *
+   * @param jobId job identifier
+   * @param wait  how long to wait for completion, zero to return immediately
+   * @return the job, finished or not
+   * @throws com.folderai.services.exception.JobNotFoundException when the job is unknown or expired
+   */
+  Mono<JobResponse> awaitJob(UUID jobId, Duration wait);
+
+}
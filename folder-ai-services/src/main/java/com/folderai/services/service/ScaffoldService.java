@@ -0,0 +1,26 @@
+package com.folderai.services.service;
+
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.DirectoryTree;
+
+import java.util.UUID;
+
+public interface ScaffoldService {
+
+  /**
+   * Parses a directory structure into the tree to scaffold.
+   *
+   * @param structure the structure, as returned by a generation
+   * @return the tree
+   */
+  DirectoryTree treeOf(DirectoryStructure structure);
+
+  /**
+   * Returns the tree generated by a finished job.
+   *
+   * @param jobId job identifier
+   * @return the tree of the job result
+   */
+  DirectoryTree treeOf(UUID jobId);
+
+}
@@ -0,0 +1,140 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.config.properties.BatchProperties;
+import com.folderai.services.dto.request.BatchRequest;
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.BatchItemResult;
+import com.folderai.services.dto.response.BatchLine;
+import com.folderai.services.dto.response.BatchSummary;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.FolderUsage;
+import com.folderai.services.exception.InvalidBatchException;
+import com.folderai.services.service.BatchService;
+import com.folderai.services.service.FolderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of the BatchService interface. Each request of a batch is handed to
+ * {@link FolderService} on its own virtual thread, at most {@code folder.batch.parallelism} at a
+ * time, and its outcome is emitted as soon as it completes. A failing request is reported as an
+ * error item and does not abort the rest of the batch.
+ */
+@Service
+@Slf4j
+public class BatchServiceImpl implements BatchService {
+
+  private final FolderService folderService;
+  private final BatchProperties batchProperties;
+  private final Scheduler scheduler;
+
+  public BatchServiceImpl(FolderService folderService, BatchProperties batchProperties) {
+    this.folderService = folderService;
+    this.batchProperties = batchProperties;
+    this.scheduler = Schedulers.fromExecutorService(
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("generation-batch-", 0)
+            .factory()), "generation-batch");
+  }
+
+  @Override
+  public Flux<BatchLine> generateBatch(BatchRequest batchRequest) {
+    var requests = batchRequest.requests();
+    if (requests == null || requests.isEmpty()) {
+      throw new InvalidBatchException("Batch must contain at least one request.");
+    }
+    if (requests.size() > batchProperties.maxItems()) {
+      throw new InvalidBatchException(
+          "Batch cannot contain more than " + batchProperties.maxItems() + " requests.");
+    }
+    var context = MDC.getCopyOfContextMap();
+    log.info("Generating batch of {} requests", requests.size());
+    return Flux.defer(() -> {
+      var totals = new Totals();
+      return Flux.fromStream(IntStream.range(0, requests.size()).boxed())
+          .flatMap(index -> generate(index, requests.get(index), context),
+              batchProperties.parallelism())
+          .doOnNext(totals::add)
+          .cast(BatchLine.class)
+          .concatWith(Mono.fromSupplier(() -> totals.toSummary(requests.size())));
+    });
+  }
+
+  private Mono<BatchItemResult> generate(int index, FolderRequest folderRequest,
+      Map<String, String> context) {
+    return Mono.fromCallable(() -> {
+          if (context != null) {
+            MDC.setContextMap(context);
+          }
+          try {
+            return folderService.generateProjectDirectory(folderRequest);
+          } finally {
+            MDC.clear();
+          }
+        })
+        .subscribeOn(scheduler)
+        .map(response -> new BatchItemResult(index, response, null))
+        .onErrorResume(e -> {
+          log.error("Batch item {} failed", index, e);
+          return Mono.just(new BatchItemResult(index, null, GenerationErrors.toErrorResponse(e)));
+        });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scheduler.dispose();
+  }
+
+  /**
+   * Running totals of a batch, updated as items complete.
+   */
+  private static final class Totals {
+
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong generationTokens = new AtomicLong();
+    private final AtomicLong totalTokens = new AtomicLong();
+
+    private void add(BatchItemResult item) {
+      if (item.error() != null) {
+        failed.incrementAndGet();
+        return;
+      }
+      succeeded.incrementAndGet();
+      var usage = usageOf(item.result());
+      if (usage != null) {
+        promptTokens.addAndGet(valueOf(usage.promptTokens()));
+        generationTokens.addAndGet(valueOf(usage.generationTokens()));
+        totalTokens.addAndGet(valueOf(usage.totalTokens()));
+      }
+    }
+
+    private BatchSummary toSummary(int total) {
+      return new BatchSummary(total, succeeded.get(), failed.get(), new FolderUsage(
+          Math.toIntExact(promptTokens.get()),
+          Math.toIntExact(generationTokens.get()),
+          Math.toIntExact(totalTokens.get())));
+    }
+
+    private static FolderUsage usageOf(FolderResponse response) {
+      return response == null || response.metaData() == null ? null : response.metaData().usage();
+    }
+
+    private static long valueOf(Integer tokens) {
+      return tokens == null ? 0 : tokens;
+    }
+  }
+
+}
@@ -1,30 +1,59 @@
 package com.folderai.services.service.impl;
 
+import com.folderai.services.ai.cache.CachedDirectory;
+import com.folderai.services.ai.cascade.ModelCascade;
+import com.folderai.services.ai.client.ModelCaller;
+import com.folderai.services.ai.cache.DirectoryCache;
+import com.folderai.services.ai.cache.DirectoryCacheKey;
+import com.folderai.services.ai.concurrency.AdaptiveConcurrencyLimiter;
+import com.folderai.services.ai.concurrency.GenerationCoalescer;
+import com.folderai.services.ai.concurrency.ModelBulkhead;
+import com.folderai.services.ai.concurrency.ProviderFailure;
+import com.folderai.services.ai.hedging.RequestHedger;
+import com.folderai.services.ai.memory.HistoryWindow;
+import com.folderai.services.ai.memory.TokenBudgetChatMemory;
+import com.folderai.services.ai.metrics.GenerationMetrics;
+import com.folderai.services.ai.metrics.GenerationMetrics.Stage;
+import com.folderai.services.ai.prompt.OutputConverters;
 import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.ai.refine.TreeRefiner;
 import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.DirectoryStreamEvent;
 import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.ErrorResponse;
 import com.folderai.services.dto.response.FolderMetaData;
 import com.folderai.services.dto.response.FolderResponse;
 import com.folderai.services.dto.response.FolderUsage;
 import com.folderai.services.exception.FolderGenerationException;
+import com.folderai.services.exception.ProviderCapacityExceededException;
 import com.folderai.services.service.FolderService;
+import com.folderai.services.util.DirectoryTreeParser;
+import com.folderai.services.util.StreamingTreeExtractor;
 import com.folderai.services.util.TreeFormatter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.AbstractMessage;
-import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.converter.BeanOutputConverter;
-import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of the FolderService interface. This class contains the core logic for
@@ -36,40 +65,259 @@ import java.util.UUID;
 public class FolderServiceImpl implements FolderService {
 
   private final ChatClient chatClient;
-  private final ChatMemory chatMemory;
+  private final TokenBudgetChatMemory chatMemory;
   private final PromptFactory promptFactory;
+  private final DirectoryCache directoryCache;
+  private final GenerationCoalescer generationCoalescer;
+  private final ModelBulkhead modelBulkhead;
+  private final AdaptiveConcurrencyLimiter adaptiveLimiter;
+  private final RequestHedger requestHedger;
+  private final ModelCascade modelCascade;
+  private final ModelCaller modelCaller;
+  private final TreeRefiner treeRefiner;
+  private final GenerationMetrics generationMetrics;
 
 
   @Override
   public FolderResponse generateProjectDirectory(FolderRequest folderRequest) {
     {
-      final var conversationId =
-          (folderRequest.conversationId() == null || folderRequest.conversationId().toString()
-              .isBlank())
-              ? UUID.randomUUID().toString()
-              : folderRequest.conversationId().toString();
+      final var conversationId = resolveConversationId(folderRequest);
       try {
 
-        var converter = new BeanOutputConverter<>(DirectoryStructure.class);
-        var prompt = promptFactory.createStructurePrompt(folderRequest.prompt(),
-            converter.getFormat());
+        var converter = OutputConverters.DIRECTORY_STRUCTURE;
+        var chatOptions = getChatOptions(folderRequest);
+        var model = ModelCaller.modelOf(chatOptions);
+        var prompt = generationMetrics.time(Stage.PROMPT_BUILD, model, conversationId,
+            () -> promptFactory.createStructurePrompt(folderRequest.prompt(),
+                OutputConverters.DIRECTORY_STRUCTURE_FORMAT));
+        var history = getHistory(folderRequest, conversationId, model);
+        var firstTurn = history.isFirstTurn();
+        var requestKey = DirectoryCacheKey.of(folderRequest.prompt(), folderRequest.chatOptions());
+        var cacheable = firstTurn && isCacheable(folderRequest);
+        if (cacheable) {
+          var cached = directoryCache.get(requestKey);
+          if (cached.isPresent()) {
+            log.info("Project directory: Serving cached structure for conversationId: {}",
+                conversationId);
+            return reuse(cached.get(), prompt, conversationId, model);
+          }
+        }
         log.info("Project directory: Calling AI model for conversationId: {}", conversationId);
-        return callAiModel(prompt, getChatOptions(folderRequest), conversationId, converter);
+        if (history.currentTree() != null && treeRefiner.isEnabled()) {
+          return refineOrRegenerate(folderRequest, prompt, history, chatOptions, conversationId,
+              converter);
+        }
+        FolderResponse response;
+        if (firstTurn && generationCoalescer.isEnabled()) {
+          var coalesced = generationCoalescer.execute(requestKey,
+              () -> callAiModel(prompt, history, chatOptions, conversationId, converter));
+          if (coalesced.shared()) {
+            log.info("Project directory: Shared an in-flight AI call for conversationId: {}",
+                conversationId);
+            return reuse(toCachedDirectory(coalesced.response()), prompt, conversationId,
+                model);
+          }
+          response = coalesced.response();
+        } else {
+          response = callAiModel(prompt, history, chatOptions, conversationId, converter);
+        }
+        if (cacheable) {
+          directoryCache.put(requestKey, toCachedDirectory(response));
+        }
+        return response;
       } catch (Exception e) {
-        log.error("Error during folder generation for conversationId: {}.",
-            conversationId);
+        throw toGenerationException(e, conversationId);
+      }
 
-        if (e instanceof NonTransientAiException) {
-          throw new FolderGenerationException("Current quota was exceeded.", e);
+    }
 
-        }
-        log.error("Error during folder generation for conversationId: {}.",
-            conversationId);
-        throw new FolderGenerationException("Error during folder generation", e);
+  }
+
+  @Override
+  public Flux<DirectoryStreamEvent> streamProjectDirectory(FolderRequest folderRequest) {
+    final var conversationId = resolveConversationId(folderRequest);
+    return Flux.defer(() -> {
+      var converter = OutputConverters.DIRECTORY_STRUCTURE;
+      var chatOptions = getChatOptions(folderRequest);
+      var requestedModel = ModelCaller.modelOf(chatOptions);
+      var prompt = generationMetrics.time(Stage.PROMPT_BUILD, requestedModel, conversationId,
+          () -> promptFactory.createStructurePrompt(folderRequest.prompt(),
+              OutputConverters.DIRECTORY_STRUCTURE_FORMAT));
+      log.info("Project directory: Streaming AI model for conversationId: {}", conversationId);
+      var token = adaptiveLimiter.acquire(requestedModel);
+      ModelBulkhead.Permit permit;
+      try {
+        permit = modelBulkhead.acquire(requestedModel);
+      } catch (RuntimeException e) {
+        token.onIgnore();
+        throw e;
+      }
+      token.onStart();
+      try {
+        return streamModel(folderRequest, prompt, chatOptions, requestedModel, conversationId,
+            converter, token, permit);
+      } catch (RuntimeException e) {
+        // The stream was never returned, so its doFinally will not release them
+        token.onIgnore();
+        permit.release();
+        throw e;
+      }
+    }).onErrorResume(e -> {
+      var exception = toGenerationException(e, conversationId);
+      if (exception instanceof ProviderCapacityExceededException) {
+        return Mono.just(DirectoryStreamEvent.error(new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            HttpStatus.SERVICE_UNAVAILABLE.name(),
+            exception.getMessage())));
       }
+      return Mono.just(DirectoryStreamEvent.error(new ErrorResponse(
+          LocalDateTime.now(),
+          HttpStatus.INTERNAL_SERVER_ERROR.value(),
+          "Folder Generation Failed",
+          exception.getMessage())));
+    });
+  }
+
+  /**
+   * Streams the answer of the AI model, once the model's limiter token and bulkhead permit are
+   * held. Both are released when the stream terminates or is cancelled.
+   */
+  private Flux<DirectoryStreamEvent> streamModel(FolderRequest folderRequest, Prompt prompt,
+      ChatOptions chatOptions, String requestedModel, String conversationId,
+      BeanOutputConverter<DirectoryStructure> converter, AdaptiveConcurrencyLimiter.Token token,
+      ModelBulkhead.Permit permit) {
+    var extractor = new StreamingTreeExtractor();
+    var content = new StringBuilder();
+    var model = new AtomicReference<String>();
+    var usage = new AtomicReference<Usage>();
+    var call = new AtomicReference<GenerationMetrics.ModelCall>();
+    var history = getHistory(folderRequest, conversationId, requestedModel);
+    return chatClient.prompt(withHistory(prompt, history.messages()))
+        .options(chatOptions)
+        .stream()
+        .chatResponse()
+        .doOnSubscribe(subscription -> call.set(
+            generationMetrics.startCall(requestedModel, conversationId)))
+        .doOnNext(chunk -> {
+          var metadata = chunk.getMetadata();
+          if (metadata != null) {
+            if (metadata.getModel() != null && !metadata.getModel().isBlank()) {
+              model.set(metadata.getModel());
+            }
+            if (metadata.getUsage() != null && metadata.getUsage().getTotalTokens() != null
+                && metadata.getUsage().getTotalTokens() > 0) {
+              usage.set(metadata.getUsage());
+            }
+          }
+        })
+        .doOnComplete(() -> call.get().succeeded(model.get(), ModelCaller.usageOf(usage.get())))
+        .doOnError(e -> call.get().failed(e))
+        .doOnCancel(() -> call.get().cancelled())
+        .concatMapIterable(chunk -> {
+          var text = Optional.ofNullable(chunk.getResult())
+              .map(Generation::getOutput)
+              .map(AbstractMessage::getText)
+              .orElse("");
+          content.append(text);
+          return extractor.accept(text);
+        })
+        .concatWith(Flux.defer(() -> Flux.fromIterable(extractor.finish())))
+        .map(DirectoryStreamEvent::line)
+        .concatWith(Mono.fromCallable(() -> DirectoryStreamEvent.result(
+            toFolderResponse(content.toString(), requestedModel, model.get(), usage.get(),
+                history.savedTokens(), prompt.getUserMessage(), conversationId, converter))))
+        .doOnComplete(token::onSuccess)
+        .doOnError(token::onError)
+        .doOnCancel(token::onIgnore)
+        .doFinally(signal -> permit.release());
+  }
 
+  private static String resolveConversationId(FolderRequest folderRequest) {
+    return (folderRequest.conversationId() == null || folderRequest.conversationId().toString()
+        .isBlank())
+        ? UUID.randomUUID().toString()
+        : folderRequest.conversationId().toString();
+  }
+
+  /**
+   * Translates a generation failure: capacity rejections and provider rate limiting become a
+   * retryable {@link ProviderCapacityExceededException}, anything else a
+   * {@link FolderGenerationException}.
+   */
+  private static RuntimeException toGenerationException(Throwable e, String conversationId) {
+    if (e instanceof ProviderCapacityExceededException capacityExceeded) {
+      return capacityExceeded;
     }
+    log.error("Error during folder generation for conversationId: {}.", conversationId);
+    return switch (ProviderFailure.of(e)) {
+      case RATE_LIMITED -> new ProviderCapacityExceededException(
+          "The AI provider is rate limiting requests, please retry shortly.");
+      case QUOTA_EXCEEDED -> new FolderGenerationException("Current quota was exceeded.", e);
+      case TIMEOUT -> new FolderGenerationException("The AI model did not answer in time.", e);
+      case OTHER -> new FolderGenerationException("Error during folder generation", e);
+    };
+  }
+
+  /**
+   * Returns the earlier turns of the conversation that fit in the chat memory token budget. Only
+   * the first turn of a conversation, without history, can reuse another answer: a follow-up
+   * depends on that history.
+   */
+  private HistoryWindow getHistory(FolderRequest folderRequest, String conversationId,
+      String model) {
+    return folderRequest.conversationId() == null
+        ? HistoryWindow.EMPTY
+        : generationMetrics.time(Stage.MEMORY_READ, model, conversationId,
+            () -> chatMemory.window(conversationId));
+  }
+
+  /**
+   * Inserts the conversation history between the system message and the new user message. The
+   * history is managed here rather than by a chat memory advisor so that each turn is recorded
+   * exactly once, with a single write once its answer is known, whether the model is called once,
+   * hedged, cascaded or streamed.
+   */
+  private static Prompt withHistory(Prompt prompt, List<Message> history) {
+    if (history.isEmpty()) {
+      return prompt;
+    }
+    var messages = new ArrayList<Message>();
+    prompt.getInstructions().stream()
+        .filter(message -> message.getMessageType() == MessageType.SYSTEM)
+        .forEach(messages::add);
+    messages.addAll(history);
+    prompt.getInstructions().stream()
+        .filter(message -> message.getMessageType() != MessageType.SYSTEM)
+        .forEach(messages::add);
+    return new Prompt(messages, prompt.getOptions());
+  }
+
+  private boolean isCacheable(FolderRequest folderRequest) {
+    return directoryCache.isEnabled() && !Boolean.TRUE.equals(folderRequest.skipCache());
+  }
 
+  /**
+   * Answers a request with a structure generated for another request, recording the exchange in
+   * this request's own conversation. No tokens are consumed on its behalf.
+   */
+  private FolderResponse reuse(CachedDirectory cached, Prompt prompt, String conversationId,
+      String model) {
+    generationMetrics.time(Stage.MEMORY_WRITE, model, conversationId,
+        () -> chatMemory.addTurn(conversationId, prompt.getUserMessage(),
+            cached.directoryStructure().tree()));
+    return new FolderResponse(
+        cached.directoryStructure(),
+        cached.directoryTree(),
+        UUID.fromString(conversationId),
+        new FolderMetaData(cached.model(), new FolderUsage(0, 0, 0), null, 0),
+        null
+    );
+  }
+
+  private static CachedDirectory toCachedDirectory(FolderResponse response) {
+    return new CachedDirectory(response.directoryStructure(), response.directoryTree(),
+        response.metaData().model());
   }
 
   private ChatOptions getChatOptions(FolderRequest folderRequest) {
@@ -86,42 +334,209 @@ public class FolderServiceImpl implements FolderService {
     return chatOptionsBuilder.build();
   }
 
-  private FolderResponse callAiModel(Prompt prompt, ChatOptions chatOptions, String conversationId,
+  private FolderResponse callAiModel(Prompt prompt, HistoryWindow history,
+      ChatOptions chatOptions, String conversationId,
       BeanOutputConverter<DirectoryStructure> converter
   ) {
-    chatMemory.add(conversationId, prompt.getUserMessage());
-    var rawResponse = chatClient.prompt(prompt)
-        .options(chatOptions)
-        .advisors(a -> a.param(ChatMemory.CONVERSATION_ID, conversationId)).call()
-        .chatResponse();
-    var rawTextContent = Optional.of(Objects.requireNonNull(rawResponse))
-        .map(org.springframework.ai.chat.model.ChatResponse::getResult)
+    var question = prompt.getUserMessage();
+    var fullPrompt = withHistory(prompt, history.messages());
+    if (chatOptions.getModel() != null || !modelCascade.isActive()) {
+      var spent = new AtomicReference<>(new FolderUsage(0, 0, 0));
+      var requestedModel = ModelCaller.modelOf(chatOptions);
+      var generated = requestHedger.execute(requestedModel, model -> generate(fullPrompt,
+          withModel(chatOptions, model), conversationId, converter, false, spent));
+      return recordTurn(generated.structure(), requestedModel, generated.model(),
+          spent.get().withSavedPromptTokens(history.savedTokens()), null, 1, question,
+          conversationId);
+    }
+    return callModelCascade(fullPrompt, chatOptions, history.savedTokens(), question,
+        conversationId, converter);
+  }
+
+  /**
+   * Asks the model for an edit script against the current tree of the conversation and applies
+   * it. When the script cannot be applied, the whole tree is regenerated; the usage of the
+   * rejected attempt is still reported.
+   */
+  private FolderResponse refineOrRegenerate(FolderRequest folderRequest, Prompt prompt,
+      HistoryWindow history, ChatOptions chatOptions, String conversationId,
+      BeanOutputConverter<DirectoryStructure> converter) {
+    log.info("Project directory: Refining the current tree for conversationId: {}",
+        conversationId);
+    var model = ModelCaller.modelOf(chatOptions);
+    var refinePrompt = generationMetrics.time(Stage.PROMPT_BUILD, model, conversationId,
+        () -> treeRefiner.createPrompt(folderRequest.prompt(), history.currentTree()));
+    var rawResponse = modelCaller.call(refinePrompt, chatOptions, conversationId);
+    var usage = ModelCaller.usageOf(rawResponse.getMetadata().getUsage());
+    var refined = generationMetrics.time(Stage.RESPONSE_CONVERSION, model, conversationId,
+        () -> treeRefiner.refine(history.currentTree(), textOf(rawResponse)));
+    if (refined.isPresent()) {
+      var response = recordTurn(refined.get().structure(), model,
+          rawResponse.getMetadata().getModel(),
+          usage.withSavedPromptTokens(history.savedTokens()), null, 1, prompt.getUserMessage(),
+          conversationId);
+      return new FolderResponse(response.directoryStructure(), response.directoryTree(),
+          response.conversationId(), response.metaData(), refined.get().edits());
+    }
+    var regenerated = callAiModel(prompt, history, chatOptions, conversationId, converter);
+    var metaData = regenerated.metaData();
+    return new FolderResponse(regenerated.directoryStructure(), regenerated.directoryTree(),
+        regenerated.conversationId(), new FolderMetaData(metaData.model(),
+            add(usage, metaData.usage()).withSavedPromptTokens(history.savedTokens()),
+            metaData.tier(), metaData.attempts() + 1), null);
+  }
+
+  /**
+   * Tries each model tier in turn until one returns a structure that passes validation. The last
+   * tier is only required to return a parseable structure. Usage is summed over all attempts,
+   * hedges included.
+   */
+  private FolderResponse callModelCascade(Prompt prompt, ChatOptions chatOptions,
+      int savedPromptTokens, Message question, String conversationId,
+      BeanOutputConverter<DirectoryStructure> converter) {
+    var tiers = modelCascade.models();
+    var spent = new AtomicReference<>(new FolderUsage(0, 0, 0));
+    InvalidStructureException lastError = null;
+    for (int i = 0; i < tiers.size(); i++) {
+      var validate = i < tiers.size() - 1;
+      try {
+        var generated = requestHedger.execute(tiers.get(i), model -> generate(prompt,
+            withModel(chatOptions, model), conversationId, converter, validate, spent));
+        return recordTurn(generated.structure(), ModelCaller.modelOf(chatOptions),
+            generated.model(), spent.get().withSavedPromptTokens(savedPromptTokens), i + 1, i + 1,
+            question, conversationId);
+      } catch (InvalidStructureException e) {
+        modelCascade.escalated(tiers.get(i), e.getMessage());
+        lastError = e;
+      }
+    }
+    throw lastError;
+  }
+
+  /**
+   * Calls the AI model once and parses its answer, without touching the conversation: when the
+   * call is hedged, only the winning answer is recorded. The tokens of every answer are added to
+   * {@code spent}, so that those of a hedge or primary call that lost the race, or of an answer
+   * that could not be used, are still reported when they returned in time.
+   *
+   * @param validate Whether the structure must also pass the cascade validation.
+   * @param spent    The usage of all attempts of the request.
+   * @throws InvalidStructureException when the answer cannot be parsed or fails validation.
+   */
+  private GeneratedDirectory generate(Prompt prompt, ChatOptions chatOptions,
+      String conversationId, BeanOutputConverter<DirectoryStructure> converter,
+      boolean validate, AtomicReference<FolderUsage> spent) {
+    var rawResponse = modelCaller.call(prompt, chatOptions, conversationId);
+    spent.accumulateAndGet(ModelCaller.usageOf(rawResponse.getMetadata().getUsage()),
+        FolderServiceImpl::add);
+    var rawTextContent = Optional.ofNullable(textOf(rawResponse))
+        .filter(text -> !text.isBlank()) // Also check that the text isn't empty
+        .orElseThrow(() -> new InvalidStructureException("AI response was empty or malformed."));
+
+    DirectoryStructure structure;
+    try {
+      structure = generationMetrics.time(Stage.RESPONSE_CONVERSION,
+          ModelCaller.modelOf(chatOptions), conversationId,
+          () -> parse(rawTextContent, converter));
+    } catch (RuntimeException e) {
+      throw new InvalidStructureException("AI response could not be parsed.");
+    }
+    if (validate) {
+      var problem = modelCascade.validate(structure);
+      if (problem.isPresent()) {
+        throw new InvalidStructureException(problem.get());
+      }
+    }
+    return new GeneratedDirectory(structure, rawResponse.getMetadata().getModel());
+  }
+
+  private static String textOf(ChatResponse response) {
+    return Optional.ofNullable(response.getResult())
         .map(Generation::getOutput)
         .map(AbstractMessage::getText)
-        .filter(text -> !text.isBlank()) // Also check that the text isn't empty
-        .orElseThrow(() -> new FolderGenerationException("AI response was empty or malformed"
-            + ".", new NullPointerException()));
+        .orElse(null);
+  }
 
+  private static ChatOptions withModel(ChatOptions chatOptions, String model) {
+    if (model.equals(ModelCaller.modelOf(chatOptions))) {
+      return chatOptions;
+    }
+    return ChatOptions.builder()
+        .model(model)
+        .temperature(chatOptions.getTemperature())
+        .build();
+  }
+
+  /**
+   * Parses the raw AI output, records the generated tree in the conversation and assembles the
+   * response with its usage metadata.
+   */
+  private FolderResponse toFolderResponse(String rawTextContent, String requestedModel,
+      String model, Usage usage, int savedPromptTokens, Message question, String conversationId,
+      BeanOutputConverter<DirectoryStructure> converter) {
+    var parsedData = generationMetrics.time(Stage.RESPONSE_CONVERSION, requestedModel,
+        conversationId, () -> parse(rawTextContent, converter));
+    return recordTurn(parsedData, requestedModel, model,
+        ModelCaller.usageOf(usage).withSavedPromptTokens(savedPromptTokens), null, 1, question,
+        conversationId);
+  }
+
+  private static DirectoryStructure parse(String rawTextContent,
+      BeanOutputConverter<DirectoryStructure> converter) {
+    if (rawTextContent == null || rawTextContent.isBlank()) {
+      throw new FolderGenerationException("AI response was empty or malformed.",
+          new NullPointerException());
+    }
     var parsedData = converter.convert(rawTextContent);
-    if (parsedData != null) {
-      log.info("Formatted Project Structure:\n{}",
-          TreeFormatter.cleanAndFormatTree(parsedData.tree()));
+    if (parsedData != null && parsedData.tree() != null && !parsedData.tree().isBlank()) {
+      log.debug("Formatted Project Structure:\n{}",
+          TreeFormatter.lazy(parsedData.tree(), TreeFormatter.Format.BOX_DRAWING));
     } else {
       throw new FolderGenerationException("AI response was empty", new Exception());
     }
-    chatMemory.add(conversationId, new AssistantMessage(parsedData.tree()));
+    return parsedData;
+  }
+
+  /**
+   * Records the question and its generated tree in the conversation, then assembles the response.
+   * The tree is parsed here, once per generated answer: cached and shared answers carry it along.
+   */
+  private FolderResponse recordTurn(DirectoryStructure parsedData, String requestedModel,
+      String model, FolderUsage usage, Integer tier, int attempts, Message question,
+      String conversationId) {
+    generationMetrics.time(Stage.MEMORY_WRITE, requestedModel, conversationId,
+        () -> chatMemory.addTurn(conversationId, question, parsedData.tree()));
     return new FolderResponse(
         parsedData,
+        DirectoryTreeParser.parse(parsedData.tree()),
         UUID.fromString(conversationId),
-        new FolderMetaData(
-            rawResponse.getMetadata().getModel(),
-            new FolderUsage(
-                rawResponse.getMetadata().getUsage().getPromptTokens(),
-                rawResponse.getMetadata().getUsage().getCompletionTokens(),
-                rawResponse.getMetadata().getUsage().getTotalTokens()
-            )
-        )
+        new FolderMetaData(model, usage, tier, attempts),
+        null
     );
   }
 
+  private static FolderUsage add(FolderUsage left, FolderUsage right) {
+    return new FolderUsage(
+        Objects.requireNonNullElse(left.promptTokens(), 0)
+            + Objects.requireNonNullElse(right.promptTokens(), 0),
+        Objects.requireNonNullElse(left.generationTokens(), 0)
+            + Objects.requireNonNullElse(right.generationTokens(), 0),
+        Objects.requireNonNullElse(left.totalTokens(), 0)
+            + Objects.requireNonNullElse(right.totalTokens(), 0));
+  }
+
+  private record GeneratedDirectory(DirectoryStructure structure, String model) {
+
+  }
+
+  /**
+   * An answer that cannot be served: unparseable, or rejected by the cascade validation.
+   */
+  private static final class InvalidStructureException extends FolderGenerationException {
+
+    private InvalidStructureException(String message) {
+      super(message, null);
+    }
+  }
+
 }
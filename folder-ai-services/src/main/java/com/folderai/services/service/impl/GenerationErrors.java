@@ -0,0 +1,31 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.dto.response.ErrorResponse;
+import com.folderai.services.exception.FolderGenerationException;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Builds the {@link ErrorResponse} reported for a generation that fails outside of a request
+ * thread, where the {@code GlobalExceptionHandler} cannot translate the exception.
+ */
+final class GenerationErrors {
+
+  private GenerationErrors() {
+  }
+
+  static ErrorResponse toErrorResponse(Throwable e) {
+    if (e instanceof ProviderCapacityExceededException) {
+      return new ErrorResponse(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(),
+          HttpStatus.SERVICE_UNAVAILABLE.name(), e.getMessage());
+    }
+    var message = e instanceof FolderGenerationException
+        ? e.getMessage()
+        : "Error during folder generation";
+    return new ErrorResponse(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+        "Folder Generation Failed", message);
+  }
+
+}
@@ -0,0 +1,183 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.config.properties.JobProperties;
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.ErrorResponse;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.JobResponse;
+import com.folderai.services.dto.response.JobStatus;
+import com.folderai.services.exception.JobNotFoundException;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import com.folderai.services.service.FolderService;
+import com.folderai.services.service.JobService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the JobService interface. Submitted jobs wait in a bounded queue drained by a
+ * fixed pool of workers calling {@link FolderService}; finished jobs and their results are kept
+ * in a size-bounded store and expire a while after they finish, while pending and running jobs,
+ * already bounded by the workers and the queue capacity, are kept however long they take. This
+ * decouples the lifetime of an HTTP connection from the latency of the AI model and absorbs bursts
+ * up to the queue capacity. Long polls wait without holding a request thread.
+ */
+@Service
+@Slf4j
+public class JobServiceImpl implements JobService {
+
+  private final FolderService folderService;
+  private final JobProperties jobProperties;
+  private final ThreadPoolExecutor workers;
+  private final Cache<UUID, Job> jobs;
+
+  public JobServiceImpl(FolderService folderService, JobProperties jobProperties,
+      MeterRegistry meterRegistry) {
+    this.folderService = folderService;
+    this.jobProperties = jobProperties;
+    this.workers = new ThreadPoolExecutor(jobProperties.workers(), jobProperties.workers(),
+        0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(jobProperties.queueCapacity()),
+        Thread.ofVirtual().name("generation-job-", 0).factory());
+    this.jobs = Caffeine.newBuilder()
+        // Only finished jobs count towards the bound, so a job is never evicted before its client
+        // could read its outcome.
+        .maximumWeight(jobProperties.maxStoredJobs())
+        .weigher((UUID id, Job job) -> job.result.isDone() ? 1 : 0)
+        .expireAfter(new FinishedJobExpiry(jobProperties.resultTtl()))
+        .build();
+    meterRegistry.gauge("folder.jobs.queued", workers, w -> w.getQueue().size());
+    meterRegistry.gauge("folder.jobs.active", workers, ThreadPoolExecutor::getActiveCount);
+  }
+
+  @Override
+  public JobResponse submit(FolderRequest folderRequest) {
+    var job = new Job(UUID.randomUUID(), Instant.now());
+    var context = MDC.getCopyOfContextMap();
+    jobs.put(job.id, job);
+    try {
+      workers.execute(() -> run(job, folderRequest, context));
+    } catch (RejectedExecutionException e) {
+      jobs.invalidate(job.id);
+      log.warn("Job queue full, rejecting generation job: {}", job.id);
+      throw new ProviderCapacityExceededException(
+          "Too many queued generations, please retry shortly.");
+    }
+    log.info("Queued generation job: {}", job.id);
+    return job.toResponse();
+  }
+
+  @Override
+  public JobResponse getJob(UUID jobId) {
+    return find(jobId).toResponse();
+  }
+
+  @Override
+  public Mono<JobResponse> awaitJob(UUID jobId, Duration wait) {
+    var job = find(jobId);
+    var timeout = wait.compareTo(jobProperties.maxWait()) > 0 ? jobProperties.maxWait() : wait;
+    if (timeout.isNegative() || timeout.isZero() || job.result.isDone()) {
+      return Mono.just(job.toResponse());
+    }
+    // Waits on a dependent stage, so that timing out never cancels the job itself
+    return Mono.fromFuture(job.result.handle((result, error) -> job))
+        .timeout(timeout, Mono.just(job))
+        .map(Job::toResponse);
+  }
+
+  private Job find(UUID jobId) {
+    var job = jobs.getIfPresent(jobId);
+    if (job == null) {
+      throw new JobNotFoundException("Job not found or expired: " + jobId);
+    }
+    return job;
+  }
+
+  private void run(Job job, FolderRequest folderRequest, Map<String, String> context) {
+    if (context != null) {
+      MDC.setContextMap(context);
+    }
+    try {
+      job.status = JobStatus.RUNNING;
+      var response = folderService.generateProjectDirectory(folderRequest);
+      job.status = JobStatus.SUCCEEDED;
+      job.result.complete(response);
+    } catch (RuntimeException e) {
+      log.error("Generation job failed: {}", job.id, e);
+      job.error = GenerationErrors.toErrorResponse(e);
+      job.status = JobStatus.FAILED;
+      job.result.completeExceptionally(e);
+    } finally {
+      // Re-insert so that the result expires relative to completion.
+      jobs.put(job.id, job);
+      MDC.clear();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    workers.shutdownNow();
+  }
+
+  /**
+   * Keeps jobs until they finish, then for the result TTL, counted from the update that records
+   * the outcome.
+   */
+  private record FinishedJobExpiry(Duration resultTtl) implements Expiry<UUID, Job> {
+
+    @Override
+    public long expireAfterCreate(UUID id, Job job, long currentTime) {
+      return lifetime(job);
+    }
+
+    @Override
+    public long expireAfterUpdate(UUID id, Job job, long currentTime, long currentDuration) {
+      return lifetime(job);
+    }
+
+    @Override
+    public long expireAfterRead(UUID id, Job job, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    private long lifetime(Job job) {
+      return job.result.isDone() ? resultTtl.toNanos() : Long.MAX_VALUE;
+    }
+  }
+
+  private static final class Job {
+
+    private final UUID id;
+    private final Instant submittedAt;
+    private final CompletableFuture<FolderResponse> result = new CompletableFuture<>();
+    private volatile JobStatus status = JobStatus.PENDING;
+    private volatile ErrorResponse error;
+
+    private Job(UUID id, Instant submittedAt) {
+      this.id = id;
+      this.submittedAt = submittedAt;
+    }
+
+    private JobResponse toResponse() {
+      var current = status;
+      return new JobResponse(id, current, submittedAt,
+          current == JobStatus.SUCCEEDED ? result.join() : null, error);
+    }
+  }
+
+}
@@ -0,0 +1,47 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.DirectoryTree;
+import com.folderai.services.dto.response.JobStatus;
+import com.folderai.services.exception.InvalidScaffoldException;
+import com.folderai.services.exception.JobNotFoundException;
+import com.folderai.services.service.JobService;
+import com.folderai.services.service.ScaffoldService;
+import com.folderai.services.util.DirectoryTreeParser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Implementation of the ScaffoldService interface. Trees come either from a structure sent back by
+ * the client or from the stored result of a generation job, reusing its parsed tree.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScaffoldServiceImpl implements ScaffoldService {
+
+  private final JobService jobService;
+
+  @Override
+  public DirectoryTree treeOf(DirectoryStructure structure) {
+    var tree = structure == null ? null : DirectoryTreeParser.parse(structure.tree());
+    if (tree == null) {
+      throw new InvalidScaffoldException("The directory structure holds no tree.");
+    }
+    return tree;
+  }
+
+  @Override
+  public DirectoryTree treeOf(UUID jobId) {
+    var job = jobService.getJob(jobId);
+    if (job.status() != JobStatus.SUCCEEDED) {
+      throw new JobNotFoundException("Job has no result: " + jobId + " (" + job.status() + ")");
+    }
+    var result = job.result();
+    return result.directoryTree() != null
+        ? result.directoryTree()
+        : treeOf(result.directoryStructure());
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.folderai.services.util;
+
+import com.folderai.services.dto.response.DirectoryTree;
+
+import java.util.Arrays;
+
+/**
+ * Parses the tree text written by the AI model into a {@link DirectoryTree}, in a single pass over
+ * its characters and without regular expressions, so the cost stays linear in the size of the
+ * text.
+ *
+ * <p>Entries are recognized by their box-drawing ({@code ├── }, {@code └── }, {@code │   }) or
+ * ASCII ({@code |-- }, {@code `-- }, {@code +-- }, {@code |   }) connectors, each indentation level
+ * being four characters wide. Lines that are not entries are skipped, and an entry nested more
+ * than one level below the previous one is attached to the deepest open folder. Markdown code
+ * fences around the tree are ignored. Names are
+ * sanitized for use as file names, and sibling entries that end up with the same name are merged.
+ */
+public final class DirectoryTreeParser {
+
+  private static final String UNNAMED = "unnamed";
+
+  private DirectoryTreeParser() {
+  }
+
+  /**
+   * @param rawTree The tree text from the AI response.
+   * @return The parsed tree, or null when the text holds no tree.
+   */
+  public static DirectoryTree parse(String rawTree) {
+    if (rawTree == null || rawTree.isBlank()) {
+      return null;
+    }
+    DirectoryTree.Builder builder = null;
+    // open[d] is the folder entries at depth d + 1 are attached to
+    var open = new int[16];
+    var openDepth = 0;
+    var length = rawTree.length();
+    var start = 0;
+    while (start < length) {
+      var end = TreeSyntax.lineEnd(rawTree, start);
+      var position = TreeSyntax.skipIndents(rawTree, start, end);
+      var depth = (position - start) / TreeSyntax.INDENT;
+      var entry = TreeSyntax.isConnector(rawTree, position, end);
+      if (entry) {
+        position += TreeSyntax.INDENT;
+      }
+      var nameStart = position;
+      var nameEnd = end;
+      if (!entry && TreeSyntax.isFence(rawTree, nameStart, nameEnd)) {
+        start = end + 1;
+        continue;
+      }
+      if (builder == null) {
+        if (!entry && depth == 0 && !TreeSyntax.isBlank(rawTree, nameStart, nameEnd)) {
+          builder = DirectoryTree.builder(sanitize(rawTree, nameStart, nameEnd),
+              countLines(rawTree));
+        } else if (entry) {
+          builder = DirectoryTree.builder(UNNAMED, countLines(rawTree));
+        }
+        if (builder != null) {
+          open[0] = 0;
+          openDepth = 1;
+        }
+      }
+      if (entry && builder != null) {
+        var level = Math.min(depth + 1, openDepth);
+        var node = builder.add(open[level - 1], sanitize(rawTree, nameStart, nameEnd),
+            endsWithSlash(rawTree, nameStart, nameEnd));
+        if (level == open.length) {
+          open = Arrays.copyOf(open, open.length * 2);
+        }
+        open[level] = node;
+        openDepth = level + 1;
+      }
+      start = end + 1;
+    }
+    return builder == null ? null : builder.build();
+  }
+
+  private static boolean endsWithSlash(String text, int start, int end) {
+    var last = TreeSyntax.trimEnd(text, start, commentStart(text, start, end)) - 1;
+    return last >= start && text.charAt(last) == '/';
+  }
+
+  /**
+   * @return The position of a trailing {@code #} comment, or the end of the line.
+   */
+  private static int commentStart(String text, int start, int end) {
+    for (int i = start + 1; i < end; i++) {
+      if (text.charAt(i) == '#' && TreeSyntax.isSpace(text.charAt(i - 1))) {
+        return i;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Turns an entry into a portable file name: the trailing comment and slashes are dropped, runs
+   * of spaces are collapsed, characters that are not allowed in file names are replaced with '-',
+   * and trailing dots are removed.
+   */
+  static String sanitize(String text, int start, int end) {
+    var stop = commentStart(text, start, end);
+    while (stop > start && (TreeSyntax.isSpace(text.charAt(stop - 1))
+        || text.charAt(stop - 1) == '\r' || text.charAt(stop - 1) == '/')) {
+      stop--;
+    }
+    var name = new StringBuilder(stop - start);
+    for (int i = start; i < stop; i++) {
+      var c = text.charAt(i);
+      if (TreeSyntax.isSpace(c)) {
+        if (!name.isEmpty() && name.charAt(name.length() - 1) != ' ') {
+          name.append(' ');
+        }
+      } else if (c < 0x20 || c == 0x7f || "<>:\"/\\|?*".indexOf(c) >= 0) {
+        name.append('-');
+      } else {
+        name.append(c);
+      }
+    }
+    var length = name.length();
+    while (length > 0 && (name.charAt(length - 1) == '.' || name.charAt(length - 1) == ' ')) {
+      length--;
+    }
+    name.setLength(length);
+    return name.isEmpty() ? UNNAMED : name.toString();
+  }
+
+  private static int countLines(String text) {
+    var lines = 1;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        lines++;
+      }
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,91 @@
+package com.folderai.services.util;
+
+import com.folderai.services.dto.request.ScaffoldPlaceholder;
+import com.folderai.services.dto.response.DirectoryTree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a {@link DirectoryTree} as a ZIP archive of its folders and empty files. Entries are
+ * written to the stream as the tree is walked, so the archive is never held in memory: besides
+ * the tree itself, only the path of the current node is kept.
+ */
+public final class ScaffoldZipWriter {
+
+  private ScaffoldZipWriter() {
+  }
+
+  /**
+   * Writes the archive and finishes it, leaving {@code out} open. Entry names are the node paths
+   * below the archive root, which is the tree root; they are safe to extract since the parser
+   * already stripped separators and dot-only names.
+   *
+   * @param tree        The tree to archive.
+   * @param placeholder The file written into each empty folder.
+   * @param out         Where to write the archive.
+   * @throws IOException when {@code out} fails.
+   */
+  public static void write(DirectoryTree tree, ScaffoldPlaceholder placeholder, OutputStream out)
+      throws IOException {
+    var zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+    var path = new StringBuilder();
+    // Length of the path before the name of the node at each depth
+    var lengths = new int[16];
+    var depth = 0;
+    var node = 0;
+    while (true) {
+      if (depth == lengths.length) {
+        lengths = Arrays.copyOf(lengths, depth * 2);
+      }
+      lengths[depth] = path.length();
+      path.append(tree.name(node));
+      var directory = tree.isDirectory(node);
+      if (directory) {
+        path.append('/');
+      }
+      zip.putNextEntry(new ZipEntry(path.toString()));
+      zip.closeEntry();
+      if (tree.firstChild(node) != -1) {
+        node = tree.firstChild(node);
+        depth++;
+        continue;
+      }
+      if (directory) {
+        writePlaceholder(zip, path, tree.name(node), placeholder);
+      }
+      path.setLength(lengths[depth]);
+      while (node != 0 && tree.nextSibling(node) == -1) {
+        node = tree.parent(node);
+        depth--;
+        path.setLength(lengths[depth]);
+      }
+      if (node == 0) {
+        break;
+      }
+      node = tree.nextSibling(node);
+    }
+    zip.finish();
+  }
+
+  private static void writePlaceholder(ZipOutputStream zip, StringBuilder folder, String name,
+      ScaffoldPlaceholder placeholder) throws IOException {
+    switch (placeholder) {
+      case NONE -> {
+      }
+      case GITKEEP -> {
+        zip.putNextEntry(new ZipEntry(folder + ".gitkeep"));
+        zip.closeEntry();
+      }
+      case README -> {
+        zip.putNextEntry(new ZipEntry(folder + "README.md"));
+        zip.write(("# " + name + "\n").getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.folderai.services.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts the lines of the {@code "tree"} field from a JSON document that arrives in arbitrary
+ * chunks, as produced by a streaming AI response. Each chunk is scanned once; complete tree lines
+ * are returned as soon as their terminating newline has been received, so they can be forwarded to
+ * the client before the document is complete.
+ * <p>
+ * Instances are stateful and not thread-safe: use one extractor per stream.
+ */
+public class StreamingTreeExtractor {
+
+  private static final String TREE_KEY = "\"tree\"";
+
+  private enum State { SEEK_KEY, SEEK_COLON, SEEK_QUOTE, IN_STRING, ESCAPE, UNICODE, DONE }
+
+  private State state = State.SEEK_KEY;
+  private int keyMatched;
+  private int unicodeDigits;
+  private int unicodeValue;
+  private final StringBuilder line = new StringBuilder();
+
+  /**
+   * Consumes the next chunk of the JSON document.
+   *
+   * @param chunk The next piece of the raw AI response, may be null.
+   * @return The tree lines completed by this chunk, possibly empty.
+   */
+  public List<String> accept(String chunk) {
+    List<String> lines = new ArrayList<>();
+    if (chunk == null) {
+      return lines;
+    }
+    for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+      consume(chunk.charAt(i), lines);
+    }
+    return lines;
+  }
+
+  /**
+   * Signals the end of the document.
+   *
+   * @return The last, unterminated tree line if any, possibly empty.
+   */
+  public List<String> finish() {
+    List<String> lines = new ArrayList<>();
+    flush(lines);
+    state = State.DONE;
+    return lines;
+  }
+
+  private void consume(char c, List<String> lines) {
+    switch (state) {
+      case SEEK_KEY -> matchKey(c);
+      case SEEK_COLON -> {
+        if (c == ':') {
+          state = State.SEEK_QUOTE;
+        } else if (!Character.isWhitespace(c)) {
+          state = State.SEEK_KEY;
+          matchKey(c);
+        }
+      }
+      case SEEK_QUOTE -> {
+        if (c == '"') {
+          state = State.IN_STRING;
+        } else if (!Character.isWhitespace(c)) {
+          state = State.SEEK_KEY;
+        }
+      }
+      case IN_STRING -> {
+        if (c == '\\') {
+          state = State.ESCAPE;
+        } else if (c == '"') {
+          flush(lines);
+          state = State.DONE;
+        } else {
+          append(c, lines);
+        }
+      }
+      case ESCAPE -> {
+        state = State.IN_STRING;
+        switch (c) {
+          case 'n' -> append('\n', lines);
+          case 't' -> append('\t', lines);
+          case 'r', 'b', 'f' -> {
+            // Carriage returns and control characters carry no tree content.
+          }
+          case 'u' -> {
+            state = State.UNICODE;
+            unicodeDigits = 0;
+            unicodeValue = 0;
+          }
+          default -> append(c, lines);
+        }
+      }
+      case UNICODE -> {
+        unicodeValue = (unicodeValue << 4) + Character.digit(c, 16);
+        if (++unicodeDigits == 4) {
+          state = State.IN_STRING;
+          append((char) unicodeValue, lines);
+        }
+      }
+      case DONE -> {
+        // The tree field has been fully read.
+      }
+    }
+  }
+
+  private void matchKey(char c) {
+    if (c == TREE_KEY.charAt(keyMatched)) {
+      keyMatched++;
+    } else {
+      keyMatched = c == TREE_KEY.charAt(0) ? 1 : 0;
+    }
+    if (keyMatched == TREE_KEY.length()) {
+      keyMatched = 0;
+      state = State.SEEK_COLON;
+    }
+  }
+
+  private void append(char c, List<String> lines) {
+    if (c == '\n') {
+      lines.add(line.toString());
+      line.setLength(0);
+    } else {
+      line.append(c);
+    }
+  }
+
+  private void flush(List<String> lines) {
+    if (!line.isEmpty()) {
+      lines.add(line.toString());
+      line.setLength(0);
+    }
+  }
+
+}
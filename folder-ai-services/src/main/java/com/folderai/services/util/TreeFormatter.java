@@ -1,13 +1,52 @@
 package com.folderai.services.util;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import com.folderai.services.jfr.TreeFormatEvent;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 
-public class TreeFormatter {
+/**
+ * Renders the raw tree of an AI response in several formats. The tree is read in a single pass,
+ * character by character, and written straight to an {@link Appendable}: no line array, regular
+ * expression or intermediate string is created along the way.
+ *
+ * <p>Entries are recognized by their box-drawing ({@code ├── }, {@code └── }, {@code │   }) or
+ * ASCII ({@code |-- }, {@code `-- }, {@code |   }) connectors, each indentation level being four
+ * characters wide; non-breaking spaces count as plain spaces.
+ */
+public final class TreeFormatter {
 
   /**
-   * Cleans and formats the raw tree string from an AI response for display.
+   * The output formats.
+   */
+  public enum Format {
+    /**
+     * The tree drawn with box-drawing characters.
+     */
+    BOX_DRAWING,
+    /**
+     * The tree drawn with ASCII characters only.
+     */
+    ASCII,
+    /**
+     * One full path per line, folders ending with '/'.
+     */
+    PATHS,
+    /**
+     * A YAML-like nested list, indented by two spaces per level.
+     */
+    YAML
+  }
+
+  private TreeFormatter() {
+  }
+
+  /**
+   * Cleans and formats the raw tree string from an AI response for display. Only special spaces
+   * are replaced and lines are joined with the platform line separator; connectors, carriage
+   * returns and inner blank lines are kept as they are, while trailing line feeds are dropped. Use
+   * {@link #format(CharSequence, Format)} to normalize the connectors.
    *
    * @param rawTree The raw string from the ProjectDirectory.tree() method.
    * @return A formatted, multi-line string suitable for logging or UI display.
@@ -16,10 +55,196 @@ public class TreeFormatter {
     if (rawTree == null || rawTree.isBlank()) {
       return "";
     }
+    var end = rawTree.length();
+    while (end > 0 && rawTree.charAt(end - 1) == '\n') {
+      end--;
+    }
+    var separator = System.lineSeparator();
+    var out = new StringBuilder(end + end / 16);
+    for (int i = 0; i < end; i++) {
+      var c = rawTree.charAt(i);
+      if (c == '\n') {
+        out.append(separator);
+      } else {
+        out.append(Character.isSpaceChar(c) ? ' ' : c);
+      }
+    }
+    return out.toString();
+  }
 
-    return Stream.of(rawTree.split("\n"))
-        .map(line -> line.replaceAll("\\p{Z}", " "))
-        .collect(Collectors.joining(System.lineSeparator()));
+  /**
+   * @param rawTree The raw tree of an AI response.
+   * @param format  The output format.
+   * @return The tree in the given format, empty when there is no tree.
+   */
+  public static String format(CharSequence rawTree, Format format) {
+    var out = new StringBuilder(rawTree == null ? 0 : rawTree.length() + rawTree.length() / 4);
+    try {
+      format(rawTree, format, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Returns a value rendering the tree when its {@code toString()} is called, so that a log
+   * statement only pays for the formatting when it is actually written.
+   */
+  public static Object lazy(CharSequence rawTree, Format format) {
+    return new Object() {
+      @Override
+      public String toString() {
+        return format(rawTree, format);
+      }
+    };
+  }
+
+  /**
+   * Writes the tree to {@code out} in the given format. Lines are separated with the platform line
+   * separator. In the {@link Format#PATHS} and {@link Format#YAML} formats, lines that are neither
+   * the root nor an entry, such as code fences, are left out. The formatting is recorded as a
+   * {@link TreeFormatEvent}.
+   *
+   * @param rawTree The raw tree of an AI response.
+   * @param format  The output format.
+   * @param out     Where to write the result.
+   * @throws IOException when {@code out} fails.
+   */
+  public static void format(CharSequence rawTree, Format format, Appendable out)
+      throws IOException {
+    if (rawTree == null || TreeSyntax.isBlank(rawTree, 0, rawTree.length())) {
+      return;
+    }
+    var event = new TreeFormatEvent();
+    event.begin();
+    var lines = scan(rawTree, format, out);
+    event.end();
+    if (event.shouldCommit()) {
+      event.format = format.name();
+      event.characters = rawTree.length();
+      event.lines = lines;
+      event.commit();
+    }
+  }
+
+  /**
+   * @return The number of lines read.
+   */
+  private static int scan(CharSequence rawTree, Format format, Appendable out)
+      throws IOException {
+    var lines = 0;
+    var separator = System.lineSeparator();
+    var length = rawTree.length();
+    // Start and end of the name at each depth, for the full paths
+    var starts = format == Format.PATHS ? new int[16] : null;
+    var ends = format == Format.PATHS ? new int[16] : null;
+    var rootSeen = false;
+    // Number of levels with an open folder; an entry nested deeper is clamped below the last one
+    var open = 0;
+    var firstLine = true;
+    var start = 0;
+    while (start < length) {
+      lines++;
+      var end = TreeSyntax.lineEnd(rawTree, start);
+      var position = TreeSyntax.skipIndents(rawTree, start, end);
+      var depth = (position - start) / TreeSyntax.INDENT;
+      var connector = TreeSyntax.isConnector(rawTree, position, end);
+      var nameStart = connector ? position + TreeSyntax.INDENT : position;
+      var nameEnd = TreeSyntax.trimEnd(rawTree, nameStart, end);
+      var entry = connector && nameStart < nameEnd;
+      var root = !entry && !rootSeen && depth == 0
+          && !TreeSyntax.isFence(rawTree, nameStart, nameEnd)
+          && !TreeSyntax.isBlank(rawTree, nameStart, nameEnd);
+      rootSeen |= root;
+      var level = 0;
+      if (root || entry) {
+        level = entry ? Math.min(depth + 1, open) : 0;
+        open = level + 1;
+      }
+
+      switch (format) {
+        case BOX_DRAWING, ASCII -> {
+          if (!firstLine) {
+            out.append(separator);
+          }
+          var ascii = format == Format.ASCII;
+          if (connector) {
+            for (int i = start; i < position; i += TreeSyntax.INDENT) {
+              var vertical = rawTree.charAt(i) == '│' || rawTree.charAt(i) == '|';
+              out.append(vertical ? (ascii ? "|   " : "│   ") : "    ");
+            }
+            out.append(TreeSyntax.isLast(rawTree.charAt(position))
+                ? (ascii ? "`-- " : "└── ")
+                : (ascii ? "|-- " : "├── "));
+            appendName(rawTree, nameStart, end, out);
+          } else {
+            appendName(rawTree, start, end, out);
+          }
+        }
+        case PATHS -> {
+          if (root || entry) {
+            if (level >= starts.length) {
+              starts = Arrays.copyOf(starts, level * 2);
+              ends = Arrays.copyOf(ends, level * 2);
+            }
+            starts[level] = nameStart;
+            ends[level] = nameEnd;
+            if (!firstLine) {
+              out.append(separator);
+            }
+            for (int i = 0; i < level; i++) {
+              appendName(rawTree, starts[i], stripSlashes(rawTree, starts[i], ends[i]), out);
+              out.append('/');
+            }
+            appendName(rawTree, nameStart, nameEnd, out);
+          } else {
+            start = end + 1;
+            continue;
+          }
+        }
+        case YAML -> {
+          if (root || entry) {
+            if (!firstLine) {
+              out.append(separator);
+            }
+            for (int i = level; i > 0; i--) {
+              out.append("  ");
+            }
+            out.append("- ");
+            appendName(rawTree, nameStart, nameEnd, out);
+          } else {
+            start = end + 1;
+            continue;
+          }
+        }
+      }
+      firstLine = false;
+      start = end + 1;
+    }
+    return lines;
+  }
+
+  /**
+   * Writes a name, with non-breaking and other special spaces turned into plain spaces and
+   * carriage returns dropped.
+   */
+  private static void appendName(CharSequence text, int start, int end, Appendable out)
+      throws IOException {
+    for (int i = start; i < end; i++) {
+      var c = text.charAt(i);
+      if (c == '\r') {
+        continue;
+      }
+      out.append(Character.isSpaceChar(c) ? ' ' : c);
+    }
+  }
+
+  private static int stripSlashes(CharSequence text, int start, int end) {
+    while (end > start && text.charAt(end - 1) == '/') {
+      end--;
+    }
+    return end;
   }
 
-}
\ No newline at end of file
+}
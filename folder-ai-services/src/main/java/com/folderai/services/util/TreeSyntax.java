@@ -0,0 +1,113 @@
+package com.folderai.services.util;
+
+/**
+ * Reads the lines of a tree drawn by the AI model, shared by {@link DirectoryTreeParser} and
+ * {@link TreeFormatter} so that both recognize the same entries.
+ *
+ * <p>An indentation unit is four characters wide: a vertical line ({@code │} or {@code |}) or a
+ * space, followed by three spaces. An entry connector is a box-drawing ({@code ├── },
+ * {@code └── }) or ASCII ({@code |-- }, {@code `-- }, {@code +-- }, {@code \-- }) branch followed
+ * by a space. Tabs and non-breaking spaces count as plain spaces.
+ */
+final class TreeSyntax {
+
+  /**
+   * The width of an indentation unit and of an entry connector.
+   */
+  static final int INDENT = 4;
+
+  private TreeSyntax() {
+  }
+
+  /**
+   * @return The position of the line feed ending the line that starts at {@code from}, or the
+   *     length of the text for the last line.
+   */
+  static int lineEnd(CharSequence text, int from) {
+    for (int i = from; i < text.length(); i++) {
+      if (text.charAt(i) == '\n') {
+        return i;
+      }
+    }
+    return text.length();
+  }
+
+  /**
+   * @return The position after the indentation units starting at {@code position}.
+   */
+  static int skipIndents(CharSequence text, int position, int end) {
+    while (isIndent(text, position, end)) {
+      position += INDENT;
+    }
+    return position;
+  }
+
+  /**
+   * @return true when a four-character indentation unit starts at the position.
+   */
+  static boolean isIndent(CharSequence text, int position, int end) {
+    if (position + INDENT > end) {
+      return false;
+    }
+    var first = text.charAt(position);
+    if (first != '│' && first != '|' && !isSpace(first)) {
+      return false;
+    }
+    for (int i = 1; i < INDENT; i++) {
+      if (!isSpace(text.charAt(position + i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true when a four-character entry connector starts at the position.
+   */
+  static boolean isConnector(CharSequence text, int position, int end) {
+    if (position + INDENT > end) {
+      return false;
+    }
+    var first = text.charAt(position);
+    var second = text.charAt(position + 1);
+    var third = text.charAt(position + 2);
+    var boxDrawing = (first == '├' || first == '└') && second == '─' && third == '─';
+    var ascii = (first == '|' || first == '`' || first == '+' || first == '\\')
+        && second == '-' && third == '-';
+    return (boxDrawing || ascii) && isSpace(text.charAt(position + 3));
+  }
+
+  /**
+   * @return true when the connector starting with this character closes its folder.
+   */
+  static boolean isLast(char connector) {
+    return connector == '└' || connector == '`' || connector == '\\';
+  }
+
+  /**
+   * @return true when the text between the positions opens or closes a Markdown code fence.
+   */
+  static boolean isFence(CharSequence text, int start, int end) {
+    return end - start >= 3 && text.charAt(start) == '`' && text.charAt(start + 1) == '`'
+        && text.charAt(start + 2) == '`';
+  }
+
+  static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || Character.isSpaceChar(c);
+  }
+
+  static boolean isBlank(CharSequence text, int start, int end) {
+    return trimEnd(text, start, end) == start;
+  }
+
+  /**
+   * @return The end of the text between the positions, trailing spaces and carriage returns
+   *     excluded.
+   */
+  static int trimEnd(CharSequence text, int start, int end) {
+    while (end > start && (isSpace(text.charAt(end - 1)) || text.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return end;
+  }
+}
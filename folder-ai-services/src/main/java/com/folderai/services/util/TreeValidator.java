@@ -0,0 +1,73 @@
+package com.folderai.services.util;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that a tree generated by the AI model is usable: a root line followed by entries drawn
+ * with box-drawing connectors, each nested at most one level below the previous one, within the
+ * given size and depth bounds.
+ */
+public class TreeValidator {
+
+  private static final Pattern ENTRY = Pattern.compile("^((?:│   |    )*)(?:├── |└── )(\\S.*)$");
+  private static final int INDENT = 4;
+
+  private TreeValidator() {
+  }
+
+  /**
+   * Validates a raw tree.
+   *
+   * @param rawTree    The tree string from the AI response.
+   * @param minEntries The minimum number of entries below the root.
+   * @param maxEntries The maximum number of entries below the root.
+   * @param maxDepth   The maximum nesting depth of an entry, the root's children being at depth 1.
+   * @return The first problem found, or empty when the tree is valid.
+   */
+  public static Optional<String> validate(String rawTree, int minEntries, int maxEntries,
+      int maxDepth) {
+    if (rawTree == null || rawTree.isBlank()) {
+      return Optional.of("tree is empty");
+    }
+    var lines = rawTree.strip().split("\n");
+    if (ENTRY.matcher(normalize(lines[0])).matches()) {
+      return Optional.of("tree has no root line");
+    }
+    var entries = 0;
+    var previousDepth = 0;
+    for (int i = 1; i < lines.length; i++) {
+      var line = normalize(lines[i]);
+      if (line.isBlank()) {
+        continue;
+      }
+      var matcher = ENTRY.matcher(line);
+      if (!matcher.matches()) {
+        return Optional.of("line " + (i + 1) + " is not a well-formed tree entry");
+      }
+      var depth = matcher.group(1).length() / INDENT + 1;
+      if (depth > previousDepth + 1) {
+        return Optional.of("line " + (i + 1) + " skips a nesting level");
+      }
+      if (depth > maxDepth) {
+        return Optional.of("tree is deeper than " + maxDepth + " levels");
+      }
+      if (++entries > maxEntries) {
+        return Optional.of("tree has more than " + maxEntries + " entries");
+      }
+      previousDepth = depth;
+    }
+    if (entries < minEntries) {
+      return Optional.of("tree has fewer than " + minEntries + " entries");
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Models often emit non-breaking spaces inside the indentation; treat them as plain spaces.
+   */
+  private static String normalize(String line) {
+    return line.replaceAll("\\p{Z}", " ").stripTrailing();
+  }
+
+}
@@ -0,0 +1,48 @@
+package com.folderai.services.ai.cache;
+
+import com.folderai.services.dto.request.FolderModelOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DirectoryCacheKey Tests")
+class DirectoryCacheKeyTest {
+
+  @Test
+  @DisplayName("should ignore case, whitespace and punctuation differences")
+  void of_shouldCanonicalizePrompt() {
+    var first = DirectoryCacheKey.of("  Learn   advanced Java!! ", null);
+    var second = DirectoryCacheKey.of("learn advanced, java", new FolderModelOptions(" ", null));
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.prompt()).isEqualTo("learn advanced java");
+    assertThat(first.model()).isEqualTo(DirectoryCacheKey.DEFAULT_MODEL);
+  }
+
+  @Test
+  @DisplayName("should keep symbols and punctuation within words")
+  void of_shouldKeepSymbolsWithinWords() {
+    var cpp = DirectoryCacheKey.of("Learn C++", null);
+    var csharp = DirectoryCacheKey.of("Learn C#", null);
+    var c = DirectoryCacheKey.of("Learn C", null);
+
+    assertThat(cpp.prompt()).isEqualTo("learn c++");
+    assertThat(csharp.prompt()).isEqualTo("learn c#");
+    assertThat(c.prompt()).isEqualTo("learn c");
+    assertThat(DirectoryCacheKey.of("Learn C++.", null)).isEqualTo(cpp);
+    assertThat(DirectoryCacheKey.of("learn node.js", null))
+        .isNotEqualTo(DirectoryCacheKey.of("learn node js", null));
+  }
+
+  @Test
+  @DisplayName("should distinguish model and temperature")
+  void of_shouldKeepModelOptions() {
+    var base = DirectoryCacheKey.of("learn java", new FolderModelOptions("gpt-4o", 0.2));
+
+    assertThat(base).isNotEqualTo(DirectoryCacheKey.of("learn java",
+        new FolderModelOptions("gpt-4o-mini", 0.2)));
+    assertThat(base).isNotEqualTo(DirectoryCacheKey.of("learn java",
+        new FolderModelOptions("gpt-4o", 0.9)));
+  }
+}
@@ -0,0 +1,48 @@
+package com.folderai.services.ai.cache;
+
+import com.folderai.services.config.properties.DirectoryCacheProperties;
+import com.folderai.services.dto.response.DirectoryStructure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DirectoryCache Tests")
+class DirectoryCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DirectoryCacheKey key = DirectoryCacheKey.of("learn advanced java", null);
+  private final CachedDirectory value =
+      new CachedDirectory(new DirectoryStructure("java", "java/"), null, "gpt-4o");
+
+  @Test
+  @DisplayName("should return stored structures and record hits and misses")
+  void get_shouldRecordHitsAndMisses() {
+    var cache = new DirectoryCache(
+        new DirectoryCacheProperties(true, Duration.ofMinutes(5), 10), meterRegistry);
+
+    assertThat(cache.get(key)).isEmpty();
+    cache.put(key, value);
+    assertThat(cache.get(DirectoryCacheKey.of("Learn advanced Java.", null))).contains(value);
+
+    assertThat(meterRegistry.get("cache.gets").tag("cache", DirectoryCache.CACHE_NAME)
+        .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", DirectoryCache.CACHE_NAME)
+        .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should never store or return entries when disabled")
+  void get_whenDisabled_shouldAlwaysMiss() {
+    var cache = new DirectoryCache(
+        new DirectoryCacheProperties(false, Duration.ofMinutes(5), 10), meterRegistry);
+
+    cache.put(key, value);
+
+    assertThat(cache.isEnabled()).isFalse();
+    assertThat(cache.get(key)).isEmpty();
+  }
+}
@@ -0,0 +1,126 @@
+package com.folderai.services.ai.concurrency;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.AdaptiveLimitProperties;
+import com.folderai.services.config.properties.ModelProperties;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private AdaptiveConcurrencyLimiter newLimiter(int initialLimit, int maxLimit,
+      Duration slowCallThreshold) {
+    return new AdaptiveConcurrencyLimiter(new AdaptiveLimitProperties(true, initialLimit, 1,
+        maxLimit, 0.5, slowCallThreshold, Duration.ofMillis(50)),
+        new ModelAllowlist(new ModelProperties(List.of("gpt-4o", "gpt-4o-mini"))), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("should reject a call once the limit stays reached past the timeout")
+  void acquire_whenLimitReached_shouldReject() {
+    var limiter = newLimiter(1, 4, Duration.ofSeconds(30));
+
+    var token = limiter.acquire("gpt-4o");
+
+    assertThrows(ProviderCapacityExceededException.class, () -> limiter.acquire("gpt-4o"));
+    assertThat(meterRegistry.get("folder.adaptive.rejected").tag("model", "gpt-4o").counter()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("folder.adaptive.queued").tag("model", "gpt-4o").gauge()
+        .value()).isZero();
+    token.onSuccess();
+    assertThat(limiter.execute("gpt-4o", () -> "ok")).isEqualTo("ok");
+  }
+
+  @Test
+  @DisplayName("should shrink once per round of rate-limited calls")
+  void onError_whenRateLimited_shouldBackOffOnce() {
+    var limiter = newLimiter(8, 8, Duration.ofSeconds(30));
+    var rateLimited = new NonTransientAiException("429 - Rate limit reached");
+
+    var tokens = IntStream.range(0, 4).mapToObj(i -> limiter.acquire("gpt-4o")).toList();
+    tokens.forEach(token -> token.onError(rateLimited));
+
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(4);
+    assertThat(meterRegistry.get("folder.adaptive.limit").tag("model", "gpt-4o").gauge()
+        .value()).isEqualTo(4);
+    assertThat(meterRegistry.get("folder.adaptive.congestion").tag("model", "gpt-4o").counter()
+        .count()).isEqualTo(4);
+
+    limiter.acquire("gpt-4o").onError(rateLimited);
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should grow back while calls are healthy, up to the maximum")
+  void onSuccess_whenHealthy_shouldGrow() {
+    var limiter = newLimiter(2, 3, Duration.ofSeconds(30));
+
+    IntStream.range(0, 20).forEach(i -> limiter.execute("gpt-4o", () -> "ok"));
+
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("should treat a slow call as congestion")
+  void onSuccess_whenSlow_shouldBackOff() {
+    var limiter = newLimiter(4, 4, Duration.ZERO);
+
+    limiter.execute("gpt-4o", () -> "ok");
+
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should only measure latency from the start of the call")
+  void onSuccess_whenQueuedBeforeStart_shouldNotBackOff() {
+    var limiter = newLimiter(4, 4, Duration.ofMillis(100));
+
+    limiter.execute("gpt-4o", token -> {
+      // Waiting for a bulkhead permit
+      sleep(Duration.ofMillis(200));
+      token.onStart();
+      return "ok";
+    });
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(4);
+
+    limiter.execute("gpt-4o", token -> {
+      token.onStart();
+      sleep(Duration.ofMillis(200));
+      return "ok";
+    });
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(2);
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  @DisplayName("should keep separate limits per model and ignore unrelated failures")
+  void onError_shouldIsolateModels() {
+    var limiter = newLimiter(4, 4, Duration.ofSeconds(30));
+
+    limiter.acquire("gpt-4o").onError(new NonTransientAiException("429 - Too Many Requests"));
+    limiter.acquire("gpt-4o-mini").onError(new IllegalStateException("boom"));
+
+    assertThat(limiter.currentLimit("gpt-4o")).isEqualTo(2);
+    assertThat(limiter.currentLimit("gpt-4o-mini")).isEqualTo(4);
+  }
+}
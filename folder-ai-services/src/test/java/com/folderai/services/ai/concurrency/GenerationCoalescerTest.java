@@ -0,0 +1,117 @@
+package com.folderai.services.ai.concurrency;
+
+import com.folderai.services.ai.cache.DirectoryCacheKey;
+import com.folderai.services.config.properties.CoalescingProperties;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("GenerationCoalescer Tests")
+class GenerationCoalescerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DirectoryCacheKey key = DirectoryCacheKey.of("learn advanced java", null);
+  private final FolderResponse response =
+      new FolderResponse(new DirectoryStructure("java", "java/"), null, null);
+
+  @Test
+  @DisplayName("should share one in-flight call between identical concurrent requests")
+  void execute_shouldCollapseConcurrentCalls() throws Exception {
+    var coalescer = new GenerationCoalescer(new CoalescingProperties(true, 10), meterRegistry);
+    var calls = new AtomicInteger();
+    var release = new CountDownLatch(1);
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<GenerationCoalescer.Coalesced>> results = new ArrayList<>();
+      results.add(executor.submit(() -> coalescer.execute(key, () -> {
+        calls.incrementAndGet();
+        awaitRelease(release);
+        return response;
+      })));
+      await().until(() -> calls.get() == 1);
+      for (int i = 0; i < 5; i++) {
+        results.add(executor.submit(() -> coalescer.execute(key, () -> {
+          calls.incrementAndGet();
+          return response;
+        })));
+      }
+      await().until(() -> meterRegistry.counter("folder.generation.coalesced").count() == 5);
+      release.countDown();
+
+      var shared = 0;
+      for (var result : results) {
+        var coalesced = result.get(5, TimeUnit.SECONDS);
+        assertThat(coalesced.response()).isSameAs(response);
+        shared += coalesced.shared() ? 1 : 0;
+      }
+      assertThat(shared).isEqualTo(5);
+    }
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should let requests above the waiter cap call the model themselves")
+  void execute_whenWaiterCapReached_shouldCallDirectly() throws Exception {
+    var coalescer = new GenerationCoalescer(new CoalescingProperties(true, 1), meterRegistry);
+    var calls = new AtomicInteger();
+    var release = new CountDownLatch(1);
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var leader = executor.submit(() -> coalescer.execute(key, () -> {
+        calls.incrementAndGet();
+        awaitRelease(release);
+        return response;
+      }));
+      await().until(() -> calls.get() == 1);
+      var waiter = executor.submit(() -> coalescer.execute(key, () -> response));
+      await().until(() -> meterRegistry.counter("folder.generation.coalesced").count() == 1);
+
+      var overflow = coalescer.execute(key, () -> {
+        calls.incrementAndGet();
+        return response;
+      });
+      release.countDown();
+
+      assertThat(overflow.shared()).isFalse();
+      assertThat(leader.get(5, TimeUnit.SECONDS).shared()).isFalse();
+      assertThat(waiter.get(5, TimeUnit.SECONDS).shared()).isTrue();
+    }
+    assertThat(calls.get()).isEqualTo(2);
+    assertThat(meterRegistry.counter("folder.generation.coalescing.overflow").count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should propagate the leader's failure and forget the flight")
+  void execute_whenLeaderFails_shouldRethrowAndReset() {
+    var coalescer = new GenerationCoalescer(new CoalescingProperties(true, 10), meterRegistry);
+
+    assertThrows(IllegalStateException.class, () -> coalescer.execute(key, () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    assertThat(coalescer.execute(key, () -> response).shared()).isFalse();
+  }
+
+  private static void awaitRelease(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.folderai.services.ai.concurrency;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.BulkheadProperties;
+import com.folderai.services.config.properties.ModelProperties;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ModelBulkhead Tests")
+class ModelBulkheadTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ModelAllowlist modelAllowlist = new ModelAllowlist(
+      new ModelProperties(List.of("gpt-4o", "gpt-4o-mini")));
+
+  @Test
+  @DisplayName("should reject a call once the model's permits stay exhausted past the timeout")
+  void acquire_whenFull_shouldRejectAfterQueueTimeout() {
+    var bulkhead = new ModelBulkhead(
+        new BulkheadProperties(true, 1, null, Duration.ofMillis(50)), modelAllowlist,
+        meterRegistry);
+
+    var permit = bulkhead.acquire("gpt-4o");
+
+    assertThrows(ProviderCapacityExceededException.class, () -> bulkhead.acquire("gpt-4o"));
+    assertThat(meterRegistry.get("folder.bulkhead.rejected").tag("model", "gpt-4o").counter()
+        .count()).isEqualTo(1);
+    permit.release();
+    assertThat(bulkhead.execute("gpt-4o", () -> "ok")).isEqualTo("ok");
+  }
+
+  @Test
+  @DisplayName("should keep separate limits per model")
+  void acquire_shouldIsolateModels() {
+    var bulkhead = new ModelBulkhead(
+        new BulkheadProperties(true, 1, Map.of("gpt-4o", 2), Duration.ofMillis(50)),
+        modelAllowlist, meterRegistry);
+
+    bulkhead.acquire("gpt-4o-mini");
+    bulkhead.acquire("gpt-4o");
+    bulkhead.acquire("gpt-4o");
+
+    assertThat(meterRegistry.get("folder.bulkhead.active").tag("model", "gpt-4o").gauge()
+        .value()).isEqualTo(2);
+    assertThrows(ProviderCapacityExceededException.class, () -> bulkhead.acquire("gpt-4o-mini"));
+  }
+
+  @Test
+  @DisplayName("should share one compartment between the models outside of the allowlist")
+  void acquire_whenModelNotAllowed_shouldShareOtherCompartment() {
+    var bulkhead = new ModelBulkhead(
+        new BulkheadProperties(true, 1, null, Duration.ofMillis(50)), modelAllowlist,
+        meterRegistry);
+
+    bulkhead.acquire("made-up-model-1");
+
+    assertThrows(ProviderCapacityExceededException.class,
+        () -> bulkhead.acquire("made-up-model-2"));
+    assertThat(meterRegistry.find("folder.bulkhead.active").gauges()).singleElement()
+        .satisfies(gauge -> assertThat(gauge.getId().getTag("model"))
+            .isEqualTo(ModelAllowlist.OTHER));
+  }
+
+  @Test
+  @DisplayName("should release the permit when the call fails")
+  void execute_whenCallFails_shouldReleasePermit() {
+    var bulkhead = new ModelBulkhead(
+        new BulkheadProperties(true, 1, null, Duration.ofMillis(50)), modelAllowlist,
+        meterRegistry);
+
+    assertThrows(IllegalStateException.class, () -> bulkhead.execute("default", () -> {
+      throw new IllegalStateException("boom");
+    }));
+
+    assertThat(bulkhead.execute("default", () -> "ok")).isEqualTo("ok");
+  }
+}
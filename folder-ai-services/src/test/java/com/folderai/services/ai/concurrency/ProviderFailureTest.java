@@ -0,0 +1,47 @@
+package com.folderai.services.ai.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProviderFailure Tests")
+class ProviderFailureTest {
+
+  @Test
+  @DisplayName("should tell rate limiting from an exhausted quota")
+  void of_shouldClassifyHttp429() {
+    assertThat(ProviderFailure.of(new NonTransientAiException(
+        "429 - {\"error\": {\"message\": \"Rate limit reached for gpt-4o\"}}")))
+        .isEqualTo(ProviderFailure.RATE_LIMITED);
+    assertThat(ProviderFailure.of(new TransientAiException("429 - Too Many Requests")))
+        .isEqualTo(ProviderFailure.RATE_LIMITED);
+    assertThat(ProviderFailure.of(new NonTransientAiException(
+        "429 - {\"error\": {\"code\": \"insufficient_quota\"}}")))
+        .isEqualTo(ProviderFailure.QUOTA_EXCEEDED);
+  }
+
+  @Test
+  @DisplayName("should detect timeouts anywhere in the cause chain")
+  void of_shouldClassifyTimeouts() {
+    var error = new ResourceAccessException("I/O error",
+        new SocketTimeoutException("Read timed out"));
+
+    assertThat(ProviderFailure.of(error)).isEqualTo(ProviderFailure.TIMEOUT);
+    assertThat(ProviderFailure.TIMEOUT.isCongestion()).isTrue();
+  }
+
+  @Test
+  @DisplayName("should not treat other failures as congestion")
+  void of_shouldClassifyOtherFailures() {
+    var failure = ProviderFailure.of(new NonTransientAiException("400 - invalid model"));
+
+    assertThat(failure).isEqualTo(ProviderFailure.OTHER);
+    assertThat(failure.isCongestion()).isFalse();
+  }
+}
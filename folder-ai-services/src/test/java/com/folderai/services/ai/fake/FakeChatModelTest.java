@@ -0,0 +1,92 @@
+package com.folderai.services.ai.fake;
+
+import com.folderai.services.ai.concurrency.ProviderFailure;
+import com.folderai.services.ai.prompt.OutputConverters;
+import com.folderai.services.config.properties.FakeModelProperties;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.openai.OpenAiChatOptions;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FakeChatModel Tests")
+class FakeChatModelTest {
+
+  private final Prompt prompt = new Prompt(List.of(
+      new SystemMessage(OutputConverters.DIRECTORY_STRUCTURE_FORMAT),
+      new UserMessage("Learn Spring Boot")));
+
+  private static FakeChatModel model(double rateLimitRate, double timeoutRate,
+      double malformedRate) {
+    return new FakeChatModel(new FakeModelProperties("fake-model", Duration.ofMillis(20), 5000, 30,
+        rateLimitRate, timeoutRate, Duration.ofMillis(50), malformedRate));
+  }
+
+  @Test
+  @DisplayName("should answer with a directory structure of the configured size")
+  void call_shouldReturnStructure() {
+    var started = System.nanoTime();
+
+    var response = model(0, 0, 0).call(prompt);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThan(Duration.ofMillis(20));
+    var structure = OutputConverters.DIRECTORY_STRUCTURE.convert(
+        response.getResult().getOutput().getText());
+    assertThat(structure.projectName()).isEqualTo("learn-spring-boot");
+    assertThat(DirectoryTreeParser.parse(structure.tree()).size()).isEqualTo(30);
+    assertThat(response.getMetadata().getModel()).isEqualTo("fake-model");
+    assertThat(response.getMetadata().getUsage().getCompletionTokens()).isPositive();
+  }
+
+  @Test
+  @DisplayName("should stream the same answer a token at a time, usage last")
+  void stream_shouldEmitTokensThenUsage() {
+    var options = OpenAiChatOptions.builder().model("gpt-4o").build();
+    var chunks = model(0, 0, 0).stream(new Prompt(prompt.getInstructions(), options))
+        .collectList().block();
+
+    var text = new StringBuilder();
+    chunks.forEach(chunk -> text.append(chunk.getResult().getOutput().getText()));
+    assertThat(chunks).hasSizeGreaterThan(10);
+    assertThat(text.toString()).isEqualTo(model(0, 0, 0).call(prompt).getResult().getOutput()
+        .getText());
+    var last = chunks.get(chunks.size() - 1).getMetadata();
+    assertThat(last.getModel()).isEqualTo("gpt-4o");
+    assertThat(last.getUsage().getTotalTokens()).isPositive();
+    assertThat(chunks.get(0).getMetadata().getUsage().getTotalTokens()).isZero();
+  }
+
+  @Test
+  @DisplayName("should answer refinement prompts with an edit script")
+  void call_whenRefinementPrompt_shouldReturnEditScript() {
+    var refine = new Prompt(new UserMessage(OutputConverters.TREE_EDIT_SCRIPT_FORMAT));
+
+    var script = OutputConverters.TREE_EDIT_SCRIPT.convert(
+        model(0, 0, 0).call(refine).getResult().getOutput().getText());
+
+    assertThat(script.edits()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("should inject faults shaped like the provider ones")
+  void call_whenFaultsInjected_shouldFailLikeTheProvider() {
+    assertThatThrownBy(() -> model(1, 0, 0).call(prompt))
+        .satisfies(e -> assertThat(ProviderFailure.of(e)).isEqualTo(ProviderFailure.RATE_LIMITED));
+    assertThatThrownBy(() -> model(0, 1, 0).call(prompt))
+        .satisfies(e -> assertThat(ProviderFailure.of(e)).isEqualTo(ProviderFailure.TIMEOUT));
+    assertThatThrownBy(() -> model(0, 1, 0).stream(prompt).blockLast())
+        .satisfies(e -> assertThat(ProviderFailure.of(e)).isEqualTo(ProviderFailure.TIMEOUT));
+    var malformed = model(0, 0, 1).call(prompt).getResult().getOutput().getText();
+    assertThatThrownBy(() -> OutputConverters.DIRECTORY_STRUCTURE.convert(malformed))
+        .isInstanceOf(RuntimeException.class);
+  }
+}
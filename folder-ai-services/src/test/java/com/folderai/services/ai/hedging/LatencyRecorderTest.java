@@ -0,0 +1,40 @@
+package com.folderai.services.ai.hedging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LatencyRecorder Tests")
+class LatencyRecorderTest {
+
+  @Test
+  @DisplayName("should compute percentiles over the recorded latencies")
+  void percentile_shouldUseRecordedLatencies() {
+    var recorder = new LatencyRecorder(100);
+    IntStream.rangeClosed(1, 100).forEach(i -> recorder.record(Duration.ofMillis(i)));
+
+    assertThat(recorder.percentile(0.5)).isEqualTo(Duration.ofMillis(50));
+    assertThat(recorder.percentile(0.95)).isEqualTo(Duration.ofMillis(95));
+    assertThat(recorder.percentile(1.0)).isEqualTo(Duration.ofMillis(100));
+  }
+
+  @Test
+  @DisplayName("should only keep the most recent latencies")
+  void record_shouldOverwriteOldestLatencies() {
+    var recorder = new LatencyRecorder(3);
+    IntStream.of(900, 800, 700, 1, 2, 3).forEach(i -> recorder.record(Duration.ofMillis(i)));
+
+    assertThat(recorder.size()).isEqualTo(3);
+    assertThat(recorder.percentile(1.0)).isEqualTo(Duration.ofMillis(3));
+  }
+
+  @Test
+  @DisplayName("should return zero before any latency is recorded")
+  void percentile_whenEmpty_shouldReturnZero() {
+    assertThat(new LatencyRecorder(10).percentile(0.95)).isZero();
+  }
+}
@@ -0,0 +1,192 @@
+package com.folderai.services.ai.hedging;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.HedgingProperties;
+import com.folderai.services.config.properties.ModelProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("RequestHedger Tests")
+class RequestHedgerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch stall = new CountDownLatch(1);
+  private RequestHedger hedger;
+
+  private RequestHedger newHedger(int budgetPerMinute, String alternateModel) {
+    hedger = new RequestHedger(new HedgingProperties(true, 0.95, Duration.ofMillis(10),
+        Duration.ofMillis(50), 20, budgetPerMinute, alternateModel),
+        new ModelAllowlist(new ModelProperties(List.of("gpt-4o", "gpt-4o-mini"))), meterRegistry);
+    return hedger;
+  }
+
+  @AfterEach
+  void tearDown() {
+    stall.countDown();
+    hedger.shutdown();
+  }
+
+  private double count(String name) {
+    return meterRegistry.get(name).counter().count();
+  }
+
+  /**
+   * Blocks like a stalled provider until the test ends or the call is cancelled.
+   */
+  private String stalled() {
+    try {
+      stall.await(10, TimeUnit.SECONDS);
+      return "late";
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("cancelled");
+    }
+  }
+
+  /**
+   * Waits for the other call of a race to reach the given point.
+   */
+  private static void awaitOther(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  @DisplayName("should not hedge a call that completes before the delay")
+  void execute_whenFast_shouldNotHedge() {
+    var hedger = newHedger(10, null);
+
+    String result = hedger.execute("gpt-4o", model -> "fast");
+
+    assertThat(result).isEqualTo("fast");
+    assertThat(count("folder.hedging.calls")).isEqualTo(1);
+    assertThat(count("folder.hedging.hedges")).isZero();
+  }
+
+  @Test
+  @DisplayName("should hedge a stalled call to the alternate model and cancel the loser")
+  void execute_whenStalled_shouldReturnHedgeAndCancelPrimary() throws InterruptedException {
+    var hedger = newHedger(10, "gpt-4o-mini");
+    var cancelled = new CountDownLatch(1);
+
+    String result = hedger.execute("gpt-4o", model -> {
+      if (model.equals("gpt-4o")) {
+        try {
+          return stalled();
+        } finally {
+          cancelled.countDown();
+        }
+      }
+      return "hedged by " + model;
+    });
+
+    assertThat(result).isEqualTo("hedged by gpt-4o-mini");
+    assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(stall.getCount()).isEqualTo(1);
+    assertThat(count("folder.hedging.hedges")).isEqualTo(1);
+    assertThat(count("folder.hedging.wins")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should sample the latency of cancelled calls so that hedges do not fire earlier")
+  void execute_whenPrimaryCancelled_shouldRecordItsLatency() {
+    var hedger = newHedger(100, null);
+
+    for (int i = 0; i < 20; i++) {
+      var calls = new AtomicInteger();
+      String result = hedger.execute("gpt-4o",
+          model -> calls.getAndIncrement() == 0 ? stalled() : "hedged");
+      assertThat(result).isEqualTo("hedged");
+    }
+
+    // Half the samples are cancelled primaries, at the longest delay: only fast hedges would
+    // bring the delay down to the shortest one
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+        assertThat(hedger.hedgeDelay("gpt-4o")).isEqualTo(Duration.ofMillis(50)));
+  }
+
+  @Test
+  @DisplayName("should keep waiting for the primary call when the hedge is invalid")
+  void execute_whenHedgeFails_shouldReturnPrimary() {
+    var hedger = newHedger(10, "gpt-4o-mini");
+    var hedgeFailed = new CountDownLatch(1);
+
+    String result = hedger.execute("gpt-4o", model -> {
+      if (model.equals("gpt-4o-mini")) {
+        hedgeFailed.countDown();
+        throw new IllegalStateException("unparseable");
+      }
+      awaitOther(hedgeFailed);
+      return "primary";
+    });
+
+    assertThat(result).isEqualTo("primary");
+    assertThat(count("folder.hedging.wins")).isZero();
+  }
+
+  @Test
+  @DisplayName("should fail with the primary error once both calls failed")
+  void execute_whenBothFail_shouldThrowPrimaryError() {
+    var hedger = newHedger(10, "gpt-4o-mini");
+    var hedgeFailed = new CountDownLatch(1);
+
+    var error = assertThrows(IllegalStateException.class, () -> hedger.execute("gpt-4o",
+        model -> {
+          if (model.equals("gpt-4o-mini")) {
+            hedgeFailed.countDown();
+            throw new IllegalStateException("hedge failed");
+          }
+          awaitOther(hedgeFailed);
+          throw new IllegalStateException("primary failed");
+        }));
+
+    assertThat(error.getMessage()).isEqualTo("primary failed");
+  }
+
+  @Test
+  @DisplayName("should stop hedging once the per-minute budget is spent")
+  void execute_whenBudgetSpent_shouldWaitForPrimary() {
+    var hedger = newHedger(0, null);
+
+    String result = hedger.execute("gpt-4o", model -> {
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "primary";
+    });
+
+    assertThat(result).isEqualTo("primary");
+    assertThat(count("folder.hedging.hedges")).isZero();
+    assertThat(count("folder.hedging.budget.exhausted")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should derive the delay from the latency percentile once enough calls completed")
+  void hedgeDelay_shouldFollowRecentLatencies() {
+    var hedger = newHedger(10, null);
+    assertThat(hedger.hedgeDelay("gpt-4o")).isEqualTo(Duration.ofMillis(50));
+
+    for (int i = 0; i < 20; i++) {
+      hedger.<String>execute("gpt-4o", model -> "fast");
+    }
+
+    assertThat(hedger.hedgeDelay("gpt-4o")).isEqualTo(Duration.ofMillis(10));
+  }
+}
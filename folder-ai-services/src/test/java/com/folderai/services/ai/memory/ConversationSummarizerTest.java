@@ -0,0 +1,89 @@
+package com.folderai.services.ai.memory;
+
+import com.folderai.services.ai.client.ModelCaller;
+import com.folderai.services.ai.concurrency.AdaptiveConcurrencyLimiter;
+import com.folderai.services.ai.concurrency.ModelBulkhead;
+import com.folderai.services.ai.metrics.GenerationMetrics;
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.config.properties.AdaptiveLimitProperties;
+import com.folderai.services.config.properties.BulkheadProperties;
+import com.folderai.services.config.properties.ChatMemoryProperties;
+import com.folderai.services.config.properties.ModelProperties;
+import com.folderai.services.config.properties.PromptProperties;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ConversationSummarizer Tests")
+class ConversationSummarizerTest {
+
+  private static final PromptProperties PROMPTS = new PromptProperties(
+      new PromptProperties.Directory("classpath:prompts/directory/directory-system.st",
+          "classpath:prompts/directory/directory-user.st",
+          "classpath:prompts/directory/directory-refine.st"),
+      new PromptProperties.Memory("classpath:prompts/memory/conversation-summary.st"), false);
+
+  private final List<Message> turns = List.of(new UserMessage("learn java"),
+      new AssistantMessage("java/"));
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ModelAllowlist modelAllowlist = new ModelAllowlist(
+      new ModelProperties(List.of("gpt-4o", "gpt-4o-mini")));
+  private final ModelBulkhead modelBulkhead = new ModelBulkhead(
+      new BulkheadProperties(true, 1, null, Duration.ofMillis(50)), modelAllowlist,
+      meterRegistry);
+  private final ChatClient chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+  private final ConversationSummarizer summarizer = new ConversationSummarizer(
+      new ModelCaller(chatClient,
+          new AdaptiveConcurrencyLimiter(new AdaptiveLimitProperties(true, 4, 1, 4, 0.5,
+              Duration.ofSeconds(30), Duration.ofSeconds(1)), modelAllowlist, meterRegistry),
+          modelBulkhead, new GenerationMetrics(meterRegistry, modelAllowlist)),
+      new ChatMemoryProperties(3000, 100, true, "gpt-4o-mini"),
+      new PromptFactory(PROMPTS, new DefaultResourceLoader()));
+
+  @Test
+  @DisplayName("should call the summary model as a timed model call")
+  void summarize_shouldRecordModelCall() {
+    when(chatClient.prompt(any(Prompt.class)).options(any()).call().chatResponse()).thenReturn(
+        new ChatResponse(List.of(new Generation(new AssistantMessage("java basics")))));
+
+    var summary = summarizer.summarize("conversation", null, turns);
+
+    assertThat(summary).isEqualTo("java basics");
+    assertThat(meterRegistry.get("folder.generation.stage").tags("stage", "llm-call",
+        "model", "gpt-4o-mini", "outcome", "success").timer().count()).isOne();
+  }
+
+  @Test
+  @DisplayName("should wait for the summary model's bulkhead like any other call")
+  void summarize_whenBulkheadFull_shouldBeRejected() {
+    var permit = modelBulkhead.acquire("gpt-4o-mini");
+    try {
+      assertThrows(ProviderCapacityExceededException.class,
+          () -> summarizer.summarize("conversation", "java", turns));
+    } finally {
+      permit.release();
+    }
+    verifyNoInteractions(chatClient);
+  }
+}
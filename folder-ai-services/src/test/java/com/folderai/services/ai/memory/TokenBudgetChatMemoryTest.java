@@ -0,0 +1,237 @@
+package com.folderai.services.ai.memory;
+
+import com.folderai.services.config.properties.ChatMemoryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.content.MediaContent;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TokenBudgetChatMemory Tests")
+class TokenBudgetChatMemoryTest {
+
+  private static final String CONVERSATION = "conversation";
+
+  // Every message below weighs 10 characters, i.e. 14 tokens with the per-message overhead
+  private final Message user1 = new UserMessage("learn java");
+  private final Message answer1 = new AssistantMessage("java/ core");
+  private final Message user2 = new UserMessage("add tests!");
+  private final Message answer2 = new AssistantMessage("java/ test");
+
+  private final InMemoryChatMemoryRepository repository = new InMemoryChatMemoryRepository();
+  private final ConversationSummarizer summarizer = mock(ConversationSummarizer.class);
+  private TokenBudgetChatMemory memory;
+
+  /**
+   * Counts one token per character so the budgets below are easy to follow.
+   */
+  private static final TokenCountEstimator CHARACTERS = new TokenCountEstimator() {
+    @Override
+    public int estimate(String text) {
+      return text.length();
+    }
+
+    @Override
+    public int estimate(MediaContent content) {
+      return estimate(content.getText());
+    }
+
+    @Override
+    public int estimate(Iterable<MediaContent> contents) {
+      return 0;
+    }
+  };
+
+  private TokenBudgetChatMemory newMemory(int maxTokens, boolean summarize) {
+    memory = new TokenBudgetChatMemory(repository, CHARACTERS, summarizer,
+        new ChatMemoryProperties(maxTokens, 100, summarize, "gpt-4o-mini"),
+        new SimpleMeterRegistry());
+    return memory;
+  }
+
+  @AfterEach
+  void tearDown() {
+    memory.close();
+  }
+
+  @Test
+  @DisplayName("should return the whole conversation while it fits in the budget")
+  void window_whenWithinBudget_shouldReturnAllMessages() {
+    var memory = newMemory(100, true);
+    memory.add(CONVERSATION, List.of(user1, answer1, user2, answer2));
+
+    var window = memory.window(CONVERSATION);
+
+    assertThat(window.messages()).containsExactly(user1, answer1, user2, answer2);
+    assertThat(window.savedTokens()).isZero();
+    verifyNoInteractions(summarizer);
+  }
+
+  @Test
+  @DisplayName("should keep only the latest turns fitting in the budget, starting with a question")
+  void window_whenOverBudget_shouldDropOldestTurns() {
+    var memory = newMemory(45, false);
+    memory.add(CONVERSATION, List.of(user1, answer1, user2, answer2));
+
+    var window = memory.window(CONVERSATION);
+
+    assertThat(window.messages()).containsExactly(user2, answer2);
+    assertThat(window.savedTokens()).isEqualTo(28);
+    assertThat(memory.get(CONVERSATION)).containsExactly(user2, answer2);
+  }
+
+  @Test
+  @DisplayName("should keep the latest question and tree even when the tree alone exceeds the "
+      + "budget")
+  void window_whenLatestTreeOverBudget_shouldKeepLatestTurn() {
+    var memory = newMemory(20, false);
+    var tree = "java/\n├── core/\n├── streams/\n└── tests/";
+    memory.addTurn(CONVERSATION, user1, "java/");
+    memory.addTurn(CONVERSATION, user2, tree);
+
+    var window = memory.window(CONVERSATION);
+
+    assertThat(window.isFirstTurn()).isFalse();
+    assertThat(window.currentTree()).isEqualTo(tree);
+    assertThat(window.messages()).extracting(Message::getText).containsExactly("add tests!", tree);
+    assertThat(window.savedTokens()).isPositive();
+  }
+
+  @Test
+  @DisplayName("should condense the turns falling out of the budget into a summary in the "
+      + "background")
+  void add_whenOverBudget_shouldCompactIntoSummary() {
+    var memory = newMemory(50, true);
+    when(summarizer.summarize(eq(CONVERSATION), isNull(), eq(List.of(user1, answer1))))
+        .thenReturn("java basics");
+
+    memory.add(CONVERSATION, List.of(user1, answer1, user2, answer2));
+
+    verify(summarizer, timeout(5_000)).summarize(eq(CONVERSATION), isNull(), anyList());
+    var stored = awaitCompaction();
+    assertThat(stored).hasSize(3);
+    assertThat(stored.getFirst().getMessageType()).isEqualTo(MessageType.SYSTEM);
+    assertThat(stored.getFirst().getText()).isEqualTo("java basics");
+    assertThat(stored.subList(1, 3)).containsExactly(user2, answer2);
+    assertThat(memory.window(CONVERSATION).messages()).containsExactlyElementsOf(stored);
+  }
+
+  @Test
+  @DisplayName("should drop the summary when the conversation was cleared during compaction")
+  void compact_whenConversationCleared_shouldNotWriteSummary() {
+    var memory = newMemory(50, false);
+    memory.add(CONVERSATION, List.of(user1, answer1, user2, answer2));
+    when(summarizer.summarize(eq(CONVERSATION), any(), anyList())).thenAnswer(invocation -> {
+      memory.clear(CONVERSATION);
+      return "java basics";
+    });
+
+    memory.compact(CONVERSATION);
+
+    assertThat(repository.findByConversationId(CONVERSATION)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should store follow-up trees as deltas and send the current tree only once")
+  void addTurn_whenFollowUp_shouldStoreDeltaAndSendCurrentTree() {
+    var memory = newMemory(1_000, false);
+    var base = "java/\n├── core/\n│   ├── collections/\n│   └── generics/\n└── streams/";
+    var current = "java/\n├── core/\n│   ├── collections/\n│   └── generics/\n├── streams/\n"
+        + "└── tests/";
+    memory.addTurn(CONVERSATION, user1, base);
+    memory.addTurn(CONVERSATION, user2, current);
+
+    var stored = repository.findByConversationId(CONVERSATION);
+    assertThat(stored).hasSize(4);
+    assertThat(stored.get(1).getText()).isEqualTo(base);
+    assertThat(stored.get(3).getText())
+        .isEqualTo("=4\n-└── streams/\n+├── streams/\n+└── tests/");
+    var window = memory.window(CONVERSATION);
+    assertThat(window.currentTree()).isEqualTo(current);
+    assertThat(window.messages()).extracting(Message::getText).containsExactly(
+        "learn java", TokenBudgetChatMemory.SUPERSEDED_TREE, "add tests!", current);
+  }
+
+  @Test
+  @DisplayName("should grow the prompt by the changes of each turn rather than by the whole tree")
+  void window_shouldGrowPromptTokensWithChangesOnly() {
+    var memory = newMemory(100_000, false);
+    var question = new UserMessage("add module");
+    var tree = new StringBuilder("app/");
+    for (int i = 0; i < 50; i++) {
+      tree.append("\n├── module-%02d/".formatted(i));
+    }
+    var superseded = 4 + TokenBudgetChatMemory.SUPERSEDED_TREE.length();
+    var editedOneLine = 4 + "Edited the tree:\n+├── module-00/".length();
+
+    for (int turn = 1; turn <= 10; turn++) {
+      memory.addTurn(CONVERSATION, question, tree.toString());
+      var window = memory.window(CONVERSATION);
+
+      var expected = 14 * turn + 4 + tree.length()
+          + (turn > 1 ? superseded : 0) + Math.max(0, turn - 2) * editedOneLine;
+      assertThat(promptTokens(window)).as("prompt tokens of turn %d", turn).isEqualTo(expected);
+      assertThat(window.currentTree()).isEqualTo(tree.toString());
+      tree.append("\n├── module-%02d/".formatted(50 + turn));
+    }
+  }
+
+  @Test
+  @DisplayName("should keep the current tree when the base tree is compacted into the summary")
+  void compact_whenBaseTreeCompacted_shouldRebaseFirstDelta() {
+    var memory = newMemory(60, false);
+    var base = "java/\n├── core/\n└── streams/";
+    var current = "java/\n├── core/\n├── streams/\n└── tests/";
+    memory.addTurn(CONVERSATION, user1, base);
+    memory.addTurn(CONVERSATION, user2, current);
+    memory.addTurn(CONVERSATION, new UserMessage("keep going"), current);
+    when(summarizer.summarize(eq(CONVERSATION), isNull(), anyList())).thenReturn("java basics");
+
+    memory.compact(CONVERSATION);
+
+    var stored = repository.findByConversationId(CONVERSATION);
+    assertThat(stored.getFirst().getText()).isEqualTo("java basics");
+    assertThat(stored).noneMatch(message -> base.equals(message.getText()));
+    assertThat(memory.window(CONVERSATION).currentTree()).isEqualTo(current);
+  }
+
+  private static int promptTokens(HistoryWindow window) {
+    return window.messages().stream()
+        .mapToInt(message -> 4 + CHARACTERS.estimate(message.getText()))
+        .sum();
+  }
+
+  private List<Message> awaitCompaction() {
+    for (int i = 0; i < 100; i++) {
+      var stored = repository.findByConversationId(CONVERSATION);
+      if (stored.getFirst().getMessageType() == MessageType.SYSTEM) {
+        return stored;
+      }
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return repository.findByConversationId(CONVERSATION);
+  }
+}
@@ -0,0 +1,49 @@
+package com.folderai.services.ai.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("TreeDelta Tests")
+class TreeDeltaTest {
+
+  private static final String PREVIOUS = "java/\n├── core/\n│   └── streams/\n└── build.gradle";
+  private static final String CURRENT =
+      "java/\n├── core/\n│   └── collections/\n├── tests/\n└── build.gradle";
+
+  @Test
+  @DisplayName("should only record the changed lines")
+  void diff_shouldRecordChangedLines() {
+    assertThat(TreeDelta.diff(PREVIOUS, CURRENT))
+        .isEqualTo("=2\n-│   └── streams/\n+│   └── collections/\n+├── tests/\n=1");
+  }
+
+  @Test
+  @DisplayName("should rebuild the current tree from the previous one")
+  void apply_shouldRebuildCurrentTree() {
+    assertThat(TreeDelta.apply(PREVIOUS, TreeDelta.diff(PREVIOUS, CURRENT))).isEqualTo(CURRENT);
+    assertThat(TreeDelta.apply(CURRENT, TreeDelta.diff(CURRENT, PREVIOUS))).isEqualTo(PREVIOUS);
+    assertThat(TreeDelta.apply("", TreeDelta.diff("", CURRENT))).isEqualTo(CURRENT);
+    assertThat(TreeDelta.apply(CURRENT, TreeDelta.diff(CURRENT, CURRENT))).isEqualTo(CURRENT);
+  }
+
+  @Test
+  @DisplayName("should reject a delta computed against another tree")
+  void apply_whenTreeDiffers_shouldThrow() {
+    var delta = TreeDelta.diff(PREVIOUS, CURRENT);
+
+    assertThrows(IllegalArgumentException.class, () -> TreeDelta.apply(CURRENT, delta));
+    assertThrows(IllegalArgumentException.class, () -> TreeDelta.apply("java/", delta));
+  }
+
+  @Test
+  @DisplayName("should describe a delta by the lines it inserts and removes")
+  void describe_shouldListChangedLines() {
+    assertThat(TreeDelta.describe(TreeDelta.diff(PREVIOUS, CURRENT))).isEqualTo(
+        "Edited the tree:\n-│   └── streams/\n+│   └── collections/\n+├── tests/");
+    assertThat(TreeDelta.describe(TreeDelta.diff(PREVIOUS, PREVIOUS)))
+        .isEqualTo("Kept the tree unchanged.");
+  }
+}
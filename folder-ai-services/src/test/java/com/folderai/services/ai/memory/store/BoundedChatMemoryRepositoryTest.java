@@ -0,0 +1,111 @@
+package com.folderai.services.ai.memory.store;
+
+import com.folderai.services.config.properties.ChatMemoryStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BoundedChatMemoryRepository Tests")
+class BoundedChatMemoryRepositoryTest {
+
+  private final List<Message> turn = List.of(new UserMessage("learn java"),
+      new AssistantMessage("java/\n└── basics/"));
+  private final AtomicLong nanos = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private BoundedChatMemoryRepository repository(long maxConversations, DataSize maxBytes) {
+    var properties = new ChatMemoryStoreProperties(maxConversations, maxBytes,
+        Duration.ofMinutes(30), false, "data/chat-memory", DataSize.ofMegabytes(64), 16, 0.5,
+        Duration.ofMinutes(1), Duration.ofDays(7), Duration.ofSeconds(1));
+    return new BoundedChatMemoryRepository(properties, meterRegistry, nanos::get);
+  }
+
+  @Test
+  @DisplayName("Should store, list and delete conversations")
+  void shouldStoreListAndDeleteConversations() {
+    var repository = repository(10, DataSize.ofMegabytes(1));
+
+    repository.saveAll("a", turn);
+    repository.saveAll("b", turn.subList(0, 1));
+
+    assertThat(repository.findByConversationId("a")).isEqualTo(turn);
+    assertThat(repository.findConversationIds()).containsExactlyInAnyOrder("a", "b");
+
+    repository.deleteByConversationId("a");
+
+    assertThat(repository.findByConversationId("a")).isEmpty();
+    assertThat(repository.findConversationIds()).containsExactly("b");
+    assertThat(repository.estimatedBytes())
+        .isEqualTo(BoundedChatMemoryRepository.estimateBytes(turn.subList(0, 1)));
+  }
+
+  @Test
+  @DisplayName("Should keep the estimated size in step with replaced conversations")
+  void shouldTrackEstimatedBytesOnReplace() {
+    var repository = repository(10, DataSize.ofMegabytes(1));
+
+    repository.saveAll("a", turn.subList(0, 1));
+    repository.saveAll("a", turn);
+
+    var expected = BoundedChatMemoryRepository.estimateBytes(turn);
+    assertThat(repository.estimatedBytes()).isEqualTo(expected);
+    assertThat(meterRegistry.get(BoundedChatMemoryRepository.CACHE_NAME + ".bytes").gauge()
+        .value()).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Should never keep more conversations than the configured maximum")
+  void shouldBoundConversationCount() {
+    var repository = repository(3, DataSize.ofMegabytes(64));
+
+    for (int i = 0; i < 20; i++) {
+      repository.saveAll("conversation-" + i, turn);
+    }
+    repository.estimatedBytes();
+
+    assertThat(repository.findConversationIds()).hasSizeLessThanOrEqualTo(3);
+    assertThat(meterRegistry.get("cache.evictions")
+        .tag("cache", BoundedChatMemoryRepository.CACHE_NAME).functionCounter().count()).isGreaterThanOrEqualTo(17);
+  }
+
+  @Test
+  @DisplayName("Should evict conversations once their estimated size exceeds the budget")
+  void shouldBoundEstimatedBytes() {
+    var maxBytes = DataSize.ofBytes(4 * BoundedChatMemoryRepository.estimateBytes(turn));
+    var repository = repository(1_000, maxBytes);
+
+    for (int i = 0; i < 20; i++) {
+      repository.saveAll("conversation-" + i, turn);
+    }
+
+    assertThat(repository.estimatedBytes()).isLessThanOrEqualTo(maxBytes.toBytes());
+    assertThat(repository.findConversationIds()).hasSizeLessThanOrEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should expire conversations left idle for longer than the timeout")
+  void shouldExpireIdleConversations() {
+    var repository = repository(10, DataSize.ofMegabytes(1));
+    repository.saveAll("idle", turn);
+    repository.saveAll("active", turn);
+
+    nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+    repository.findByConversationId("active");
+    nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+
+    assertThat(repository.findByConversationId("idle")).isEmpty();
+    assertThat(repository.findByConversationId("active")).isEqualTo(turn);
+    assertThat(repository.estimatedBytes())
+        .isEqualTo(BoundedChatMemoryRepository.estimateBytes(turn));
+  }
+}
@@ -0,0 +1,160 @@
+package com.folderai.services.ai.memory.store;
+
+import com.folderai.services.config.properties.ChatMemoryStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SegmentLogChatMemoryRepository Tests")
+class SegmentLogChatMemoryRepositoryTest {
+
+  private static final String CONVERSATION = "63035339-877c-432e-81a8-e1afb9c0d89b";
+
+  @TempDir
+  Path directory;
+
+  private final Message question = new UserMessage("learn java");
+  private final Message answer = new AssistantMessage("java/\n└── basics/");
+  private final Message followUp = new UserMessage("add a testing section");
+
+  private Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+  private SegmentLogChatMemoryRepository repository;
+
+  private SegmentLogChatMemoryRepository open(DataSize segmentSize) {
+    repository = new SegmentLogChatMemoryRepository(new ChatMemoryStoreProperties(10_000,
+        DataSize.ofMegabytes(64), Duration.ofHours(2), true,
+        directory.toString(), segmentSize, 16, 0.5, Duration.ofHours(1), Duration.ofDays(7),
+        Duration.ofHours(1)), new SimpleMeterRegistry(), clock);
+    return repository;
+  }
+
+  private SegmentLogChatMemoryRepository reopen() throws IOException {
+    repository.close();
+    return open(DataSize.ofKilobytes(64));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    repository.close();
+  }
+
+  @Test
+  @DisplayName("should store and read back messages with their type and metadata")
+  void saveAll_shouldRoundTripMessages() {
+    var summary = SystemMessage.builder().text("java basics")
+        .metadata(Map.of("conversationSummary", true)).build();
+    var repository = open(DataSize.ofKilobytes(64));
+
+    repository.saveAll(CONVERSATION, List.of(summary, question, answer));
+
+    assertThat(repository.findByConversationId(CONVERSATION))
+        .containsExactly(summary, question, answer);
+    assertThat(repository.findConversationIds()).containsExactly(CONVERSATION);
+    assertThat(repository.findByConversationId("unknown")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should recover appended and replaced conversations after a restart")
+  void recover_shouldRebuildConversations() throws IOException {
+    var repository = open(DataSize.ofKilobytes(64));
+    repository.saveAll(CONVERSATION, List.of(question, answer));
+    repository.saveAll(CONVERSATION, List.of(question, answer, followUp));
+    repository.saveAll("replaced", List.of(question, answer));
+    repository.saveAll("replaced", List.of(followUp));
+    repository.saveAll("deleted", List.of(question));
+    repository.deleteByConversationId("deleted");
+
+    var recovered = reopen();
+
+    assertThat(recovered.findByConversationId(CONVERSATION))
+        .containsExactly(question, answer, followUp);
+    assertThat(recovered.findByConversationId("replaced")).containsExactly(followUp);
+    assertThat(recovered.findConversationIds())
+        .containsExactlyInAnyOrder(CONVERSATION, "replaced");
+  }
+
+  @Test
+  @DisplayName("should ignore a record torn by a crash and keep the earlier state")
+  void recover_whenLastRecordTorn_shouldKeepPreviousState() throws IOException {
+    var repository = open(DataSize.ofKilobytes(64));
+    repository.saveAll(CONVERSATION, List.of(question, answer));
+    repository.saveAll(CONVERSATION, List.of(question, answer, followUp));
+    repository.close();
+    var firstRecord = SegmentLogChatMemoryRepository.HEADER_BYTES
+        + CONVERSATION.getBytes(StandardCharsets.UTF_8).length + Integer.BYTES
+        + Integer.BYTES + MessageCodec.encode(question).length
+        + Integer.BYTES + MessageCodec.encode(answer).length;
+    try (var file = new RandomAccessFile(directory.resolve(Segment.fileName(0)).toFile(), "rw")) {
+      file.seek(firstRecord + SegmentLogChatMemoryRepository.HEADER_BYTES + 40);
+      file.write(0x7F);
+    }
+
+    var recovered = open(DataSize.ofKilobytes(64));
+    recovered.saveAll("after-crash", List.of(answer));
+
+    assertThat(recovered.findByConversationId(CONVERSATION)).containsExactly(question, answer);
+    assertThat(reopen().findByConversationId("after-crash")).containsExactly(answer);
+  }
+
+  @Test
+  @DisplayName("should roll segments and delete the ones compaction emptied")
+  void compact_shouldDeleteDeadSegments() throws IOException {
+    var repository = open(DataSize.ofBytes(512));
+    for (int turn = 0; turn < 20; turn++) {
+      repository.saveAll(CONVERSATION, List.of(new UserMessage("turn " + turn), answer));
+      repository.saveAll("long-lived", List.of(question, new AssistantMessage("tree " + turn)));
+    }
+    assertThat(segmentFiles()).hasSizeGreaterThan(5);
+
+    repository.compact();
+
+    assertThat(segmentFiles()).hasSizeLessThanOrEqualTo(2);
+    assertThat(repository.findByConversationId(CONVERSATION))
+        .containsExactly(new UserMessage("turn 19"), answer);
+    assertThat(reopen().findByConversationId("long-lived"))
+        .containsExactly(question, new AssistantMessage("tree 19"));
+  }
+
+  @Test
+  @DisplayName("should delete conversations past their retention")
+  void compact_shouldExpireOldConversations() throws IOException {
+    var repository = open(DataSize.ofKilobytes(64));
+    repository.saveAll("old", List.of(question));
+    clock = Clock.offset(clock, Duration.ofDays(8));
+    repository = reopen();
+    repository.saveAll(CONVERSATION, List.of(question));
+
+    repository.compact();
+
+    assertThat(repository.findConversationIds()).containsExactly(CONVERSATION);
+    assertThat(reopen().findConversationIds()).containsExactly(CONVERSATION);
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(Segment::isSegment).toList();
+    }
+  }
+}
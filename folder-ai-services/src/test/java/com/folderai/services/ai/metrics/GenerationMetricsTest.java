@@ -0,0 +1,94 @@
+package com.folderai.services.ai.metrics;
+
+import com.folderai.services.ai.metrics.GenerationMetrics.Stage;
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.ModelProperties;
+import com.folderai.services.dto.response.FolderUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GenerationMetrics Tests")
+class GenerationMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final GenerationMetrics metrics = new GenerationMetrics(meterRegistry,
+      new ModelAllowlist(new ModelProperties(List.of("gpt-4o", "gpt-4o-mini"))));
+
+  private long stageCount(String stage, String outcome) {
+    return meterRegistry.get("folder.generation.stage")
+        .tags("stage", stage, "model", "gpt-4o", "outcome", outcome).timer().count();
+  }
+
+  @Test
+  @DisplayName("should time each stage with its outcome")
+  void time_shouldTagStageAndOutcome() {
+    assertThat(metrics.time(Stage.PROMPT_BUILD, "gpt-4o", "c1", () -> "prompt"))
+        .isEqualTo("prompt");
+    assertThatThrownBy(() -> metrics.time(Stage.RESPONSE_CONVERSION, "gpt-4o", "c1", () -> {
+      throw new IllegalStateException("malformed");
+    })).hasMessage("malformed");
+
+    assertThat(stageCount("prompt-build", "success")).isOne();
+    assertThat(stageCount("response-conversion", "error")).isOne();
+  }
+
+  @Test
+  @DisplayName("should gauge model calls in flight and tag failures by provider failure")
+  void startCall_shouldTrackInFlightCalls() {
+    var inFlight = meterRegistry.get("folder.generation.inflight").gauge();
+
+    var succeeded = metrics.startCall("gpt-4o", "c1");
+    var failed = metrics.startCall("gpt-4o", "c2");
+    var cancelled = metrics.startCall("gpt-4o", "c3");
+    assertThat(inFlight.value()).isEqualTo(3);
+    succeeded.succeeded(null, new FolderUsage(0, 0, 0));
+    failed.failed(new TransientAiException("429 - Rate limit reached"));
+    cancelled.cancelled();
+    cancelled.failed(new IllegalStateException("after the cancellation"));
+
+    assertThat(inFlight.value()).isZero();
+    assertThat(stageCount("llm-call", "success")).isOne();
+    assertThat(stageCount("llm-call", "rate_limited")).isOne();
+    assertThat(stageCount("llm-call", "cancelled")).isOne();
+    assertThat(meterRegistry.find("folder.generation.stage").tag("outcome", "other").timer())
+        .isNull();
+  }
+
+  @Test
+  @DisplayName("should count prompt and completion tokens by answering model")
+  void succeeded_shouldCountTokens() {
+    metrics.startCall("gpt-4o", "c1").succeeded("gpt-4o-2024-08-06",
+        new FolderUsage(120, 30, 150));
+    metrics.startCall("gpt-4o", "c2").succeeded("gpt-4o-mini",
+        new FolderUsage(80, 20, 100));
+    metrics.startCall("gpt-4o", "c3").succeeded(null, new FolderUsage(null, 5, 5));
+
+    assertThat(meterRegistry.get("folder.generation.tokens")
+        .tags("type", "prompt", "model", "gpt-4o").counter().count()).isEqualTo(120);
+    assertThat(meterRegistry.get("folder.generation.tokens")
+        .tags("type", "completion", "model", "gpt-4o").counter().count()).isEqualTo(35);
+    assertThat(meterRegistry.get("folder.generation.tokens")
+        .tags("type", "prompt", "model", "gpt-4o-mini").counter().count()).isEqualTo(80);
+  }
+
+  @Test
+  @DisplayName("should tag models outside the allowlist as other")
+  void time_whenModelNotAllowed_shouldTagOther() {
+    for (int i = 0; i < 5; i++) {
+      metrics.time(Stage.PROMPT_BUILD, "made-up-" + i, "c1", () -> "prompt");
+      metrics.startCall("made-up-" + i, "c1").succeeded(null, new FolderUsage(10, 5, 15));
+    }
+
+    assertThat(meterRegistry.get("folder.generation.stage").timers()).hasSize(2)
+        .allSatisfy(timer -> assertThat(timer.getId().getTag("model")).isEqualTo("other"));
+    assertThat(meterRegistry.get("folder.generation.tokens")
+        .tags("type", "prompt", "model", "other").counter().count()).isEqualTo(50);
+  }
+}
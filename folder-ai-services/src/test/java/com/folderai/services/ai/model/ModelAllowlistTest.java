@@ -0,0 +1,34 @@
+package com.folderai.services.ai.model;
+
+import com.folderai.services.config.properties.ModelProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ModelAllowlist Tests")
+class ModelAllowlistTest {
+
+  private final ModelAllowlist allowlist = new ModelAllowlist(
+      new ModelProperties(List.of("gpt-4o", "gpt-4o-mini")));
+
+  @Test
+  @DisplayName("should keep allowed models and fold their snapshots into them")
+  void resolve_shouldKeepAllowedModels() {
+    assertThat(allowlist.resolve("gpt-4o")).isEqualTo("gpt-4o");
+    assertThat(allowlist.resolve("gpt-4o-mini")).isEqualTo("gpt-4o-mini");
+    assertThat(allowlist.resolve("gpt-4o-2024-08-06")).isEqualTo("gpt-4o");
+    assertThat(allowlist.resolve(null)).isEqualTo(ModelAllowlist.DEFAULT);
+    assertThat(allowlist.resolve(" ")).isEqualTo(ModelAllowlist.DEFAULT);
+  }
+
+  @Test
+  @DisplayName("should map any other model name to 'other'")
+  void resolve_whenNotAllowed_shouldReturnOther() {
+    assertThat(allowlist.resolve("gpt-4o-evil")).isEqualTo(ModelAllowlist.OTHER);
+    assertThat(allowlist.resolve("x".repeat(200))).isEqualTo(ModelAllowlist.OTHER);
+    assertThat(allowlist.resolve("gpt-5-2025-01-01")).isEqualTo(ModelAllowlist.OTHER);
+  }
+}
@@ -23,6 +23,8 @@ import java.nio.charset.StandardCharsets;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -47,6 +49,8 @@ class PromptFactoryTest {
 
   private static final String DIRECTORY_SYSTEM_PATH = "classpath:/prompts/directory/system.st";
   private static final String DIRECTORY_USER_PATH = "classpath:/prompts/directory/user.st";
+  private static final String DIRECTORY_REFINE_PATH = "classpath:/prompts/directory/refine.st";
+  private static final String MEMORY_SUMMARY_PATH = "classpath:/prompts/memory/summary.st";
 
 
   /**
@@ -54,8 +58,17 @@ class PromptFactoryTest {
    */
   @BeforeEach
   void setUp() {
-    var structureProps = new PromptProperties.Directory(DIRECTORY_SYSTEM_PATH, DIRECTORY_USER_PATH);
+    var structureProps = new PromptProperties.Directory(DIRECTORY_SYSTEM_PATH, DIRECTORY_USER_PATH,
+        DIRECTORY_REFINE_PATH);
     lenient().when(promptProperties.directory()).thenReturn(structureProps);
+    lenient().when(promptProperties.memory())
+        .thenReturn(new PromptProperties.Memory(MEMORY_SUMMARY_PATH));
+    lenient().when(resourceLoader.getResource(DIRECTORY_REFINE_PATH)).thenReturn(
+        new ByteArrayResource("Tree: {tree} Format: {format} Request: {prompt}"
+            .getBytes(StandardCharsets.UTF_8)));
+    lenient().when(resourceLoader.getResource(MEMORY_SUMMARY_PATH)).thenReturn(
+        new ByteArrayResource("{summary} Conversation: {conversation}"
+            .getBytes(StandardCharsets.UTF_8)));
   }
 
   /**
@@ -66,6 +79,15 @@ class PromptFactoryTest {
     when(resourceLoader.getResource(path)).thenReturn(resource);
   }
 
+  private static Resource missingResource() {
+    return new ByteArrayResource(new byte[0]) {
+      @Override
+      public boolean exists() {
+        return false;
+      }
+    };
+  }
+
   @Nested
   @DisplayName("Success Scenarios")
   class SuccessScenarios {
@@ -94,6 +116,76 @@ class PromptFactoryTest {
       assertThat(result.getInstructions().get(1).getText()).contains(FAKE_USER_PROMPT);
     }
 
+    @Test
+    @DisplayName("should load the templates once and reuse the rendered system message")
+    void createStructurePrompt_shouldReuseCompiledTemplates() {
+      mockResource(DIRECTORY_SYSTEM_PATH, "System instructions with format: {format}");
+      mockResource(DIRECTORY_USER_PATH, "User request: {prompt}");
+
+      Prompt first = promptFactory.createStructurePrompt("learn go", FAKE_FORMAT_INSTRUCTIONS);
+      Prompt second = promptFactory.createStructurePrompt("learn rust", FAKE_FORMAT_INSTRUCTIONS);
+
+      assertThat(second.getInstructions().get(0)).isSameAs(first.getInstructions().get(0));
+      assertThat(second.getInstructions().get(1).getText()).isEqualTo("User request: learn rust");
+      verify(resourceLoader, times(1)).getResource(DIRECTORY_SYSTEM_PATH);
+      verify(resourceLoader, times(1)).getResource(DIRECTORY_USER_PATH);
+    }
+
+    @Test
+    @DisplayName("should swap in the new templates on reload")
+    void reload_shouldUseNewTemplates() {
+      mockResource(DIRECTORY_SYSTEM_PATH, "System: {format}");
+      when(resourceLoader.getResource(DIRECTORY_USER_PATH)).thenReturn(
+          new ByteArrayResource("Old: {prompt}".getBytes(StandardCharsets.UTF_8)),
+          new ByteArrayResource("New: {prompt}".getBytes(StandardCharsets.UTF_8)));
+      promptFactory.compile();
+
+      promptFactory.reload();
+
+      assertThat(promptFactory.createStructurePrompt(FAKE_USER_PROMPT, FAKE_FORMAT_INSTRUCTIONS)
+          .getInstructions().get(1).getText()).isEqualTo("New: " + FAKE_USER_PROMPT);
+    }
+
+    @Test
+    @DisplayName("should keep the previous templates when the reload fails")
+    void reload_whenTemplateMissing_shouldKeepPreviousTemplates() {
+      mockResource(DIRECTORY_SYSTEM_PATH, "System: {format}");
+      when(resourceLoader.getResource(DIRECTORY_USER_PATH)).thenReturn(
+          new ByteArrayResource("Old: {prompt}".getBytes(StandardCharsets.UTF_8)),
+          missingResource());
+      promptFactory.compile();
+
+      promptFactory.reload();
+
+      assertThat(promptFactory.createStructurePrompt(FAKE_USER_PROMPT, FAKE_FORMAT_INSTRUCTIONS)
+          .getInstructions().get(1).getText()).isEqualTo("Old: " + FAKE_USER_PROMPT);
+    }
+
+    @Test
+    @DisplayName("should render the refinement prompt from the registered template")
+    void createRefinePrompt_shouldRenderTreeFormatAndRequest() {
+      mockResource(DIRECTORY_SYSTEM_PATH, "System: {format}");
+      mockResource(DIRECTORY_USER_PATH, "User: {prompt}");
+
+      Prompt result = promptFactory.createRefinePrompt("add tests", "learn-java/");
+
+      assertThat(result.getInstructions()).hasSize(1);
+      assertThat(result.getContents()).startsWith("Tree: learn-java/ Format: ")
+          .contains(OutputConverters.TREE_EDIT_SCRIPT_FORMAT).endsWith("Request: add tests");
+    }
+
+    @Test
+    @DisplayName("should render the summary prompt with and without a previous summary")
+    void createSummaryPrompt_shouldRenderPreviousSummary() {
+      mockResource(DIRECTORY_SYSTEM_PATH, "System: {format}");
+      mockResource(DIRECTORY_USER_PATH, "User: {prompt}");
+
+      assertThat(promptFactory.createSummaryPrompt(null, "user: hi").getContents())
+          .isEqualTo(" Conversation: user: hi");
+      assertThat(promptFactory.createSummaryPrompt("learning go", "user: hi").getContents())
+          .isEqualTo("Summary so far:\nlearning go Conversation: user: hi");
+    }
+
 
   }
 
@@ -101,6 +193,16 @@ class PromptFactoryTest {
   @DisplayName("Failure Scenarios")
   class FailureScenarios {
 
+    @Test
+    @DisplayName("should fail at startup when a template is missing")
+    void compile_whenTemplateMissing_shouldThrow() {
+      when(resourceLoader.getResource(DIRECTORY_USER_PATH)).thenReturn(missingResource());
+
+      var exception = assertThrows(PromptGenerationException.class, promptFactory::compile);
+
+      assertThat(exception.getCause()).isInstanceOf(FolderFileNotFoundException.class);
+    }
+
     @Test
     @DisplayName("should throw PromptGenerationException if system template not found")
     void createPrompt_SystemTemplateNotFound() {
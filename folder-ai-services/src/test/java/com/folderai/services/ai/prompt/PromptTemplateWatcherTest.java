@@ -0,0 +1,54 @@
+package com.folderai.services.ai.prompt;
+
+import com.folderai.services.config.properties.PromptProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PromptTemplateWatcher Tests")
+class PromptTemplateWatcherTest {
+
+  @TempDir
+  Path templates;
+
+  private PromptTemplateWatcher watcher;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    watcher.stop();
+  }
+
+  @Test
+  @DisplayName("should recompile the templates when a template file changes")
+  void start_whenTemplateChanges_shouldReloadFactory() throws Exception {
+    var system = Files.writeString(templates.resolve("system.st"), "System: {format}");
+    var user = Files.writeString(templates.resolve("user.st"), "Old: {prompt}");
+    var properties = new PromptProperties(new PromptProperties.Directory(
+        system.toUri().toString(), user.toUri().toString(),
+        "classpath:prompts/directory/directory-refine.st"),
+        new PromptProperties.Memory("classpath:prompts/memory/conversation-summary.st"), true);
+    var resourceLoader = new DefaultResourceLoader();
+    var promptFactory = new PromptFactory(properties, resourceLoader);
+    promptFactory.compile();
+    watcher = new PromptTemplateWatcher(properties, resourceLoader, promptFactory);
+    watcher.start();
+
+    Files.writeString(user, "New: {prompt}");
+
+    String text = "";
+    for (int i = 0; i < 100 && !text.startsWith("New"); i++) {
+      Thread.sleep(50);
+      text = promptFactory.createStructurePrompt("learn go", "json")
+          .getInstructions().get(1).getText();
+    }
+    assertThat(text).isEqualTo("New: learn go");
+  }
+}
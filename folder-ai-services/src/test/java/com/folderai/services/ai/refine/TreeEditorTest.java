@@ -0,0 +1,100 @@
+package com.folderai.services.ai.refine;
+
+import com.folderai.services.dto.response.TreeEdit;
+import com.folderai.services.dto.response.TreeEdit.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("TreeEditor Tests")
+class TreeEditorTest {
+
+  private static final String TREE = """
+      learn-spring/
+      ├── core/
+      │   ├── ioc/
+      │   └── di/
+      ├── spring-boot/
+      │   └── starters/
+      └── projects/""";
+
+  @Test
+  @DisplayName("should redraw an unedited tree as it was")
+  void apply_whenNoEdits_shouldKeepTree() {
+    assertThat(TreeEditor.apply(TREE, List.of())).isEqualTo(TREE);
+  }
+
+  @Test
+  @DisplayName("should add, remove, rename and move folders")
+  void apply_shouldEditFolders() {
+    var tree = TreeEditor.apply(TREE, List.of(
+        new TreeEdit(Operation.ADD, "spring-boot/testing/", null),
+        new TreeEdit(Operation.REMOVE, "core/di/", null),
+        new TreeEdit(Operation.RENAME, "core/ioc/", "inversion-of-control"),
+        new TreeEdit(Operation.MOVE, "learn-spring/projects/", "spring-boot/")));
+
+    assertThat(tree).isEqualTo("""
+        learn-spring/
+        ├── core/
+        │   └── inversion-of-control/
+        └── spring-boot/
+            ├── starters/
+            ├── testing/
+            └── projects/""");
+  }
+
+  @Test
+  @DisplayName("should create the missing folders above an added one")
+  void apply_whenParentMissing_shouldCreateIt() {
+    var tree = TreeEditor.apply(TREE, List.of(
+        new TreeEdit(Operation.ADD, "testing/junit/", null)));
+
+    assertThat(tree).endsWith("├── projects/\n└── testing/\n    └── junit/");
+  }
+
+  @Test
+  @DisplayName("should reject edits that do not apply to the tree")
+  void apply_whenEditInvalid_shouldThrow() {
+    assertThrows(TreeEditor.InvalidTreeEditException.class, () -> TreeEditor.apply(TREE,
+        List.of(new TreeEdit(Operation.REMOVE, "security/", null))));
+    assertThrows(TreeEditor.InvalidTreeEditException.class, () -> TreeEditor.apply(TREE,
+        List.of(new TreeEdit(Operation.ADD, "core/ioc/", null))));
+    assertThrows(TreeEditor.InvalidTreeEditException.class, () -> TreeEditor.apply(TREE,
+        List.of(new TreeEdit(Operation.RENAME, "core/ioc/", "di"))));
+    assertThrows(TreeEditor.InvalidTreeEditException.class, () -> TreeEditor.apply(TREE,
+        List.of(new TreeEdit(Operation.MOVE, "core/", "core/ioc/"))));
+    assertThrows(TreeEditor.InvalidTreeEditException.class, () -> TreeEditor.apply(TREE,
+        List.of(new TreeEdit(Operation.REMOVE, "learn-spring/", null))));
+  }
+
+  @Test
+  @DisplayName("should edit a tree drawn with ASCII connectors and redraw it with box drawing")
+  void apply_whenAsciiTree_shouldEditIt() {
+    var tree = TreeEditor.apply("""
+        learn-spring/
+        |-- core/
+        |   +-- ioc/
+        |   `-- di/
+        `-- projects/""", List.of(
+        new TreeEdit(Operation.ADD, "core/aop/", null),
+        new TreeEdit(Operation.REMOVE, "projects/", null)));
+
+    assertThat(tree).isEqualTo("""
+        learn-spring/
+        └── core/
+            ├── ioc/
+            ├── di/
+            └── aop/""");
+  }
+
+  @Test
+  @DisplayName("should reject a tree whose entries cannot be read")
+  void apply_whenTreeMalformed_shouldThrow() {
+    assertThrows(TreeEditor.InvalidTreeEditException.class, () -> TreeEditor.apply(
+        "learn-spring/\n  core/", List.of(new TreeEdit(Operation.ADD, "testing/", null))));
+  }
+}
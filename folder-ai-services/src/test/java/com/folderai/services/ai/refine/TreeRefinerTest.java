@@ -0,0 +1,64 @@
+package com.folderai.services.ai.refine;
+
+import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.config.properties.PromptProperties;
+import com.folderai.services.config.properties.RefinementProperties;
+import com.folderai.services.dto.response.TreeEdit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TreeRefiner Tests")
+class TreeRefinerTest {
+
+  private static final String TREE = "learn-java/\n├── basics/\n└── collections/";
+  private static final PromptProperties PROMPTS = new PromptProperties(
+      new PromptProperties.Directory("classpath:prompts/directory/directory-system.st",
+          "classpath:prompts/directory/directory-user.st",
+          "classpath:prompts/directory/directory-refine.st"),
+      new PromptProperties.Memory("classpath:prompts/memory/conversation-summary.st"), false);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final TreeRefiner refiner = new TreeRefiner(new RefinementProperties(true, 2),
+      new PromptFactory(PROMPTS, new DefaultResourceLoader()), meterRegistry);
+
+  @Test
+  @DisplayName("should ask for edits against the current tree")
+  void createPrompt_shouldRenderTreeAndRequest() {
+    var prompt = refiner.createPrompt("add a testing section", TREE);
+
+    assertThat(prompt.getInstructions()).hasSize(1);
+    assertThat(prompt.getContents()).contains(TREE, "add a testing section", "\"edits\"");
+  }
+
+  @Test
+  @DisplayName("should apply the edit script and return the edits")
+  void refine_whenScriptApplies_shouldReturnEditedTree() {
+    var refined = refiner.refine(TREE,
+        "{\"edits\":[{\"op\":\"ADD\",\"path\":\"testing/\",\"target\":null}]}");
+
+    assertThat(refined).hasValueSatisfying(result -> {
+      assertThat(result.structure().projectName()).isEqualTo("learn-java");
+      assertThat(result.structure().tree()).isEqualTo(
+          "learn-java/\n├── basics/\n├── collections/\n└── testing/");
+      assertThat(result.edits()).containsExactly(
+          new TreeEdit(TreeEdit.Operation.ADD, "testing/", null));
+    });
+    assertThat(meterRegistry.get("folder.refinement.applied").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should reject answers that are not an applicable edit script")
+  void refine_whenScriptInvalid_shouldReturnEmpty() {
+    assertThat(refiner.refine(TREE, "not json")).isEmpty();
+    assertThat(refiner.refine(TREE, "{\"edits\":[]}")).isEmpty();
+    assertThat(refiner.refine(TREE,
+        "{\"edits\":[{\"op\":\"REMOVE\",\"path\":\"streams/\"}]}")).isEmpty();
+    assertThat(refiner.refine(TREE, "{\"edits\":[{\"op\":\"ADD\",\"path\":\"a/\"},"
+        + "{\"op\":\"ADD\",\"path\":\"b/\"},{\"op\":\"ADD\",\"path\":\"c/\"}]}")).isEmpty();
+    assertThat(meterRegistry.get("folder.refinement.fallbacks").counter().count()).isEqualTo(4);
+  }
+}
@@ -1,14 +1,27 @@
 package com.folderai.services.aop;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.folderai.services.commun.FolderConstants;
+import com.folderai.services.config.properties.LoggingProperties;
+import com.folderai.services.service.FolderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -18,12 +31,31 @@ import static org.mockito.Mockito.when;
 class LoggingAspectTest {
 
   private final ObjectMapper objectMapper = new ObjectMapper();
-  private final LoggingAspect aspect = new LoggingAspect(objectMapper);
+  private final LoggingAspect aspect = aspect(1.0);
   private final ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
   private final Signature sig = mock(Signature.class);
+  private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+  private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+  private LoggingAspect aspect(double sampleRate) {
+    return new LoggingAspect(objectMapper, new LoggingProperties(
+        List.of("com.folderai.services.controller", "com.folderai.services.service"), sampleRate,
+        Duration.ofSeconds(1), 40, 10, 8192), new SimpleMeterRegistry());
+  }
+
+  @BeforeEach
+  void captureLogs() {
+    events.start();
+    logger.addAppender(events);
+    logger.setLevel(Level.INFO);
+    when(sig.getDeclaringType()).thenReturn(FolderService.class);
+  }
 
   @AfterEach
   void clearMdc() {
+    logger.detachAppender(events);
+    logger.setLevel(null);
+    aspect.shutdown();
     MDC.clear();
   }
 
@@ -80,5 +112,50 @@ class LoggingAspectTest {
     assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
   }
 
+  @Test
+  @DisplayName("should only log unsampled calls when they fail, and leave the MDC as it was")
+  void logMethodExecution_whenNotSampled_shouldLogFailuresOnly() throws Throwable {
+    var unsampled = aspect(0);
+    when(sig.getDeclaringTypeName()).thenReturn("com.example.MyService");
+    when(sig.getName()).thenReturn("myMethod");
+    when(pjp.getSignature()).thenReturn(sig);
+    MDC.put("className", "com.example.MyController");
+    when(pjp.proceed()).thenAnswer(invocation -> {
+      assertThat(MDC.get("className")).isEqualTo("com.example.MyController");
+      return "ok";
+    }).thenThrow(new IllegalStateException("boom"));
+
+    assertThat(unsampled.logMethodExecution(pjp)).isEqualTo("ok");
+    assertThrows(IllegalStateException.class, () -> unsampled.logMethodExecution(pjp));
+    unsampled.shutdown();
+
+    assertThat(events.list).singleElement().satisfies(event -> {
+      assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+      assertThat(event.getMDCPropertyMap()).containsEntry("methodName", "myMethod");
+    });
+    assertThat(MDC.getCopyOfContextMap()).containsOnly(
+        Map.entry("className", "com.example.MyController"));
+  }
+
+  @Test
+  @DisplayName("should not log methods outside of the allowed packages")
+  void logMethodExecution_whenPackageNotAllowed_shouldOnlyProceed() throws Throwable {
+    when(sig.getDeclaringType()).thenReturn(String.class);
+    when(pjp.getSignature()).thenReturn(sig);
+    when(pjp.proceed()).thenReturn("ok");
+
+    assertThat(aspect.logMethodExecution(pjp)).isEqualTo("ok");
+
+    assertThat(events.list).isEmpty();
+    assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+  }
 
+  @Test
+  @DisplayName("should cut serialized payloads at the maximum size")
+  void serialize_whenPayloadTooLong_shouldTruncate() {
+    assertThat(aspect.serialize(Map.of("key", "value"))).isEqualTo("{\"key\":\"value\"}");
+    assertThat(aspect.serialize(Map.of("key", "x".repeat(10_000))))
+        .isEqualTo("{\"key\":\"" + "x".repeat(32) + "... (truncated)");
+    assertThat(aspect.serialize(new byte[12])).isEqualTo("<binary data of size 12 bytes>");
+  }
 }
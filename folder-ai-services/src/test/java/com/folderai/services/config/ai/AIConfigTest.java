@@ -8,10 +8,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.api.Advisor;
-import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -32,29 +28,18 @@ class AIConfigTest {
   @InjectMocks
   private AIConfig aiConfig;
 
-  private ChatMemory realChatMemory;
-
   @BeforeEach
   void setUp() {
-    InMemoryChatMemoryRepository repository = new InMemoryChatMemoryRepository();
-    realChatMemory = MessageWindowChatMemory.builder()
-        .chatMemoryRepository(repository)
-        .maxMessages(20)
-        .build();
-
-    when(mockChatClientBuilder.defaultAdvisors(any(Advisor.class)))
-        .thenReturn(mockChatClientBuilder);
-
     when(mockChatClientBuilder.build()).thenReturn(mockChatClient);
   }
 
   @Test
-  @DisplayName("chatClient bean should call build() on the builder and return the result")
+  @DisplayName("chatClient bean should call build() on the builder and return the result, "
+      + "without a chat memory advisor")
   void chatClient_shouldBuildAndReturnClient() {
-    ChatClient result = aiConfig.chatClient(mockChatClientBuilder, realChatMemory);
+    ChatClient result = aiConfig.chatClient(mockChatClientBuilder);
 
     assertThat(result).isSameAs(mockChatClient);
-    verify(mockChatClientBuilder, times(1)).defaultAdvisors(any(Advisor.class));
     verify(mockChatClientBuilder, times(1)).build();
     verifyNoMoreInteractions(mockChatClientBuilder);
   }
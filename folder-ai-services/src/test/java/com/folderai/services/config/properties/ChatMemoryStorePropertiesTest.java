@@ -0,0 +1,43 @@
+package com.folderai.services.config.properties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChatMemoryStoreProperties Test")
+class ChatMemoryStorePropertiesTest {
+
+  private static ChatMemoryStoreProperties withSegmentSize(DataSize segmentSize) {
+    return new ChatMemoryStoreProperties(10_000, DataSize.ofMegabytes(64), Duration.ofHours(2),
+        true, "data/chat-memory", segmentSize, 16, 0.5, Duration.ofMinutes(1), Duration.ofDays(7),
+        Duration.ofSeconds(1));
+  }
+
+  @Test
+  @DisplayName("shouldAcceptTheLargestMappableSegment")
+  void record_shouldAcceptTheLargestMappableSegment() {
+    var props = withSegmentSize(DataSize.ofBytes(Integer.MAX_VALUE));
+
+    assertThat(props.segmentSize().toBytes()).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  @DisplayName("shouldRejectSegmentsOf2GBOrMore")
+  void record_shouldRejectSegmentsOf2GBOrMore() {
+    assertThatThrownBy(() -> withSegmentSize(DataSize.ofGigabytes(2)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("segment-size");
+  }
+
+  @Test
+  @DisplayName("shouldRejectEmptySegments")
+  void record_shouldRejectEmptySegments() {
+    assertThatThrownBy(() -> withSegmentSize(DataSize.ofBytes(0)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -3,6 +3,8 @@ package com.folderai.services.config.properties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DisplayName("PromptProperties Test")
@@ -13,11 +15,16 @@ class PromptPropertiesTest {
   void record_shouldExposeValues() {
     PromptProperties.Directory directory =
         new PromptProperties.Directory("classpath:/directory-system.txt",
-            "classpath:/directory-user.txt");
+            "classpath:/directory-user.txt", "classpath:/directory-refine.txt");
+    PromptProperties.Memory memory = new PromptProperties.Memory("classpath:/summary.txt");
 
-    PromptProperties props = new PromptProperties(directory);
+    PromptProperties props = new PromptProperties(directory, memory, true);
 
     assertThat(props.directory().systemPromptPath()).isEqualTo("classpath:/directory-system.txt");
     assertThat(props.directory().userPromptPath()).isEqualTo("classpath:/directory-user.txt");
+    assertThat(props.hotReload()).isTrue();
+    assertThat(props.templatePaths()).isEqualTo(List.of("classpath:/directory-system.txt",
+        "classpath:/directory-user.txt", "classpath:/directory-refine.txt",
+        "classpath:/summary.txt"));
   }
 }
@@ -9,12 +9,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -23,10 +27,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Unit tests for the SecurityConfig class. This class uses @WebMvcTest to test the security filter
  * chain in isolation.
  */
-@WebMvcTest
+@WebMvcTest(properties = {
+    "spring.security.user.name=" + SecurityConfigTest.USER,
+    "spring.security.user.password=" + SecurityConfigTest.PASSWORD,
+    "spring.security.user.roles=" + SecurityConfig.ACTUATOR_ROLE
+})
 @Import({SecurityConfig.class, SecurityConfigTest.TestConfig.class})
 class SecurityConfigTest {
 
+  static final String USER = "actuator";
+  static final String PASSWORD = "s3cret";
+
   @Autowired
   private MockMvc mockMvc;
 
@@ -51,7 +62,10 @@ class SecurityConfigTest {
 
     @GetMapping({
         "/api/v1/folders/123",
-        "/api/v1/templates/xyz"
+        "/api/v1/templates/xyz",
+        "/actuator/health",
+        "/actuator/prometheus",
+        "/actuator/jfr"
     })
     public String permittedGetEndpoints() {
       return "OK";
@@ -70,7 +84,8 @@ class SecurityConfigTest {
 
   @ParameterizedTest
   @ValueSource(strings = {
-      "/api/v1/folders/123"
+      "/api/v1/folders/123",
+      "/actuator/health"
   })
   @DisplayName("should allow unauthenticated access to permitted GET endpoints")
   void shouldAllowAccessToPermittedGetEndpoints(String url) throws Exception {
@@ -93,5 +108,24 @@ class SecurityConfigTest {
     mockMvc.perform(get("/api/v1/some-other-secured-endpoint"))
         .andExpect(status().isForbidden());
   }
-}
 
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "/actuator/prometheus",
+      "/actuator/jfr"
+  })
+  @DisplayName("should ask for credentials on the actuator metrics and profiling endpoints")
+  void shouldRequireAuthenticationForActuatorEndpoints(String url) throws Exception {
+    mockMvc.perform(get(url))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic(USER, "wrong")))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, basic(USER, PASSWORD)))
+        .andExpect(status().isOk());
+  }
+
+  private static String basic(String user, String password) {
+    return "Basic " + Base64.getEncoder()
+        .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -1,9 +1,13 @@
 package com.folderai.services.controller.api.v1;
 
+import com.folderai.services.dto.request.BatchRequest;
 import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.BatchSummary;
+import com.folderai.services.dto.response.DirectoryStreamEvent;
 import com.folderai.services.dto.response.DirectoryStructure;
 import com.folderai.services.dto.response.FolderResponse;
 import com.folderai.services.exception.FolderGenerationException;
+import com.folderai.services.service.BatchService;
 import com.folderai.services.service.FolderService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,8 +16,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,6 +37,9 @@ class FolderControllerTest {
   @Mock
   private FolderService folderService;
 
+  @Mock
+  private BatchService batchService;
+
   @InjectMocks
   private FolderController folderController;
 
@@ -71,5 +81,45 @@ class FolderControllerTest {
     }
   }
 
-}
+  @Nested
+  @DisplayName("POST /api/v1/folders/project-directory/stream")
+  class StreamProjectDirectoryTests {
+
+    @Test
+    @DisplayName("should map service events to named Server-Sent Events")
+    void shouldMapEventsToServerSentEvents() {
+      var request = new FolderRequest("Create a Java REST API", null, null);
+      var result = new FolderResponse(new DirectoryStructure("java", "java/"), null, null);
+      when(folderService.streamProjectDirectory(any(FolderRequest.class))).thenReturn(Flux.just(
+          DirectoryStreamEvent.line("java/"), DirectoryStreamEvent.result(result)));
+
+      var response = folderController.streamProjectDirectory(request);
+
+      assertThat(response.getStatusCode().value()).isEqualTo(200);
+      var events = response.getBody().collectList().block();
+      assertThat(events).extracting(ServerSentEvent::event)
+          .containsExactly(DirectoryStreamEvent.LINE, DirectoryStreamEvent.RESULT);
+      assertThat(events.get(1).data()).isSameAs(result);
+    }
+  }
+
+  @Nested
+  @DisplayName("POST /api/v1/folders/project-directory/batch")
+  class GenerateBatchTests {
+
+    @Test
+    @DisplayName("should return 200 OK with the batch lines")
+    void shouldReturnBatchLines() {
+      var request = new BatchRequest(List.of(new FolderRequest("Create a Java REST API", null,
+          null)));
+      var summary = new BatchSummary(1, 1, 0, null);
+      when(batchService.generateBatch(request)).thenReturn(Flux.just(summary));
+
+      var response = folderController.generateBatch(request);
 
+      assertThat(response.getStatusCode().value()).isEqualTo(200);
+      assertThat(response.getBody().collectList().block()).containsExactly(summary);
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+package com.folderai.services.controller.api.v1;
+
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.JobResponse;
+import com.folderai.services.dto.response.JobStatus;
+import com.folderai.services.service.JobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the JobController.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobController test class")
+class JobControllerTest {
+
+  @Mock
+  private JobService jobService;
+
+  @InjectMocks
+  private JobController jobController;
+
+  private final JobResponse pending =
+      new JobResponse(UUID.randomUUID(), JobStatus.PENDING, Instant.now(), null, null);
+
+  @BeforeEach
+  void setUp() {
+    var request = new MockHttpServletRequest("POST", "/api/v1/folders/jobs");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("should return 202 Accepted with the job location")
+  void submitJob_shouldReturnAccepted() {
+    when(jobService.submit(any(FolderRequest.class))).thenReturn(pending);
+
+    var response = jobController.submitJob(new FolderRequest("learn java", null, null));
+
+    assertThat(response.getStatusCode().value()).isEqualTo(202);
+    assertThat(response.getHeaders().getLocation()).hasToString(
+        "http://localhost/api/v1/folders/jobs/" + pending.jobId());
+    assertThat(response.getBody()).isSameAs(pending);
+  }
+
+  @Test
+  @DisplayName("should pass the requested wait to the service")
+  void getJob_shouldLongPoll() {
+    when(jobService.awaitJob(pending.jobId(), Duration.ofSeconds(20)))
+        .thenReturn(Mono.just(pending));
+
+    var response = jobController.getJob(pending.jobId(), 20);
+
+    assertThat(response.getStatusCode().value()).isEqualTo(200);
+    assertThat(response.getBody().block()).isSameAs(pending);
+  }
+}
@@ -0,0 +1,71 @@
+package com.folderai.services.controller.api.v1;
+
+import com.folderai.services.dto.request.ScaffoldPlaceholder;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.service.ScaffoldService;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the ScaffoldController.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScaffoldController test class")
+class ScaffoldControllerTest {
+
+  @Mock
+  private ScaffoldService scaffoldService;
+
+  @InjectMocks
+  private ScaffoldController scaffoldController;
+
+  private final DirectoryStructure structure =
+      new DirectoryStructure("java", "java/\n├── basics/\n└── oop/");
+
+  @Test
+  @DisplayName("should stream the structure as a ZIP attachment")
+  void downloadScaffold_shouldStreamZip() throws IOException {
+    when(scaffoldService.treeOf(structure)).thenReturn(DirectoryTreeParser.parse(structure.tree()));
+
+    var response = scaffoldController.downloadScaffold(structure, ScaffoldPlaceholder.GITKEEP);
+
+    assertThat(response.getStatusCode().value()).isEqualTo(200);
+    assertThat(response.getHeaders().getContentType()).isEqualTo(ScaffoldController.APPLICATION_ZIP);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+        .startsWith("attachment").contains("java.zip");
+    var out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    try (var zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      assertThat(zip.getNextEntry().getName()).isEqualTo("java/");
+      assertThat(zip.getNextEntry().getName()).isEqualTo("java/basics/");
+      assertThat(zip.getNextEntry().getName()).isEqualTo("java/basics/.gitkeep");
+    }
+  }
+
+  @Test
+  @DisplayName("should stream the result of a job")
+  void downloadJobScaffold_shouldUseTheJobTree() {
+    var jobId = UUID.randomUUID();
+    when(scaffoldService.treeOf(jobId)).thenReturn(DirectoryTreeParser.parse(structure.tree()));
+
+    var response = scaffoldController.downloadJobScaffold(jobId, ScaffoldPlaceholder.NONE);
+
+    assertThat(response.getStatusCode().value()).isEqualTo(200);
+    assertThat(response.getBody()).isNotNull();
+  }
+}
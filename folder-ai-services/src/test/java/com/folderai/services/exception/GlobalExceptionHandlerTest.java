@@ -56,6 +56,26 @@ class GlobalExceptionHandlerTest {
     public void throwFolderFileNotFoundException(@RequestParam String message) {
       throw new FolderFileNotFoundException(message);
     }
+
+    @GetMapping("/test/invalid-batch-exception")
+    public void throwInvalidBatchException(@RequestParam String message) {
+      throw new InvalidBatchException(message);
+    }
+
+    @GetMapping("/test/invalid-scaffold-exception")
+    public void throwInvalidScaffoldException(@RequestParam String message) {
+      throw new InvalidScaffoldException(message);
+    }
+
+    @GetMapping("/test/job-not-found-exception")
+    public void throwJobNotFoundException(@RequestParam String message) {
+      throw new JobNotFoundException(message);
+    }
+
+    @GetMapping("/test/provider-capacity-exceeded-exception")
+    public void throwProviderCapacityExceededException(@RequestParam String message) {
+      throw new ProviderCapacityExceededException(message);
+    }
   }
 
   @Test
@@ -115,6 +135,65 @@ class GlobalExceptionHandlerTest {
         .andExpect(jsonPath("$.timestamp").exists());
   }
 
+  @Test
+  @DisplayName("Should handle ProviderCapacityExceededException and return 503 SERVICE_UNAVAILABLE")
+  void whenProviderCapacityExceededExceptionIsThrown_thenReturns503ServiceUnavailable()
+      throws Exception {
+    final String errorMessage = "Too many concurrent generations, please retry shortly.";
+    final String url = "/test/provider-capacity-exceeded-exception";
+
+    mockMvc.perform(get(url).param("message", errorMessage))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"))
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.status").value(HttpStatus.SERVICE_UNAVAILABLE.value()))
+        .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"))
+        .andExpect(jsonPath("$.message").value(errorMessage))
+        .andExpect(jsonPath("$.timestamp").exists());
+  }
+
+  @Test
+  @DisplayName("Should handle JobNotFoundException and return 404 NOT_FOUND")
+  void whenJobNotFoundExceptionIsThrown_thenReturns404NotFound() throws Exception {
+    final String errorMessage = "Job not found or expired";
+    final String url = "/test/job-not-found-exception";
+
+    mockMvc.perform(get(url).param("message", errorMessage))
+        .andExpect(status().isNotFound())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.status").value(HttpStatus.NOT_FOUND.value()))
+        .andExpect(jsonPath("$.error").value("NOT_FOUND"))
+        .andExpect(jsonPath("$.message").value(errorMessage));
+  }
+
+  @Test
+  @DisplayName("Should handle InvalidBatchException and return 400 BAD_REQUEST")
+  void whenInvalidBatchExceptionIsThrown_thenReturns400BadRequest() throws Exception {
+    final String errorMessage = "Batch must contain at least one request.";
+    final String url = "/test/invalid-batch-exception";
+
+    mockMvc.perform(get(url).param("message", errorMessage))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.status").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.error").value("BAD_REQUEST"))
+        .andExpect(jsonPath("$.message").value(errorMessage));
+  }
+
+  @Test
+  @DisplayName("Should handle InvalidScaffoldException and return 400 BAD_REQUEST")
+  void whenInvalidScaffoldExceptionIsThrown_thenReturns400BadRequest() throws Exception {
+    final String errorMessage = "The directory structure holds no tree.";
+    final String url = "/test/invalid-scaffold-exception";
+
+    mockMvc.perform(get(url).param("message", errorMessage))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.status").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.error").value("BAD_REQUEST"))
+        .andExpect(jsonPath("$.message").value(errorMessage));
+  }
+
   @Nested
   @DisplayName("GlobalExceptionHandler object instantiation test")
   public class GlobalExceptionHandlerInitTest {
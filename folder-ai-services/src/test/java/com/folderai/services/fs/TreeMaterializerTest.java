@@ -0,0 +1,136 @@
+package com.folderai.services.fs;
+
+import com.folderai.services.dto.response.DirectoryTree;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TreeMaterializer Tests")
+class TreeMaterializerTest {
+
+  private static final String TREE = """
+      learn-spring/
+      ├── core/
+      │   ├── ioc/
+      │   └── notes.md
+      └── projects/
+          └── crud/
+      """;
+
+  private final TreeMaterializer materializer = new TreeMaterializer(ForkJoinPool.commonPool());
+
+  @TempDir
+  private Path workspace;
+
+  private static long count(Path root) throws IOException {
+    try (Stream<Path> paths = Files.walk(root)) {
+      return paths.count();
+    }
+  }
+
+  @Test
+  @DisplayName("should create every folder and file, and keep them on a re-run")
+  void materialize_shouldBeIdempotent() {
+    var tree = DirectoryTreeParser.parse(TREE);
+
+    var first = materializer.materialize(tree, workspace, false);
+    var second = materializer.materialize(tree, workspace, false);
+
+    assertThat(first.root()).isEqualTo(workspace.resolve("learn-spring"));
+    assertThat(first.created()).isEqualTo(6);
+    assertThat(Files.isDirectory(workspace.resolve("learn-spring/core/ioc"))).isTrue();
+    assertThat(Files.isRegularFile(workspace.resolve("learn-spring/core/notes.md"))).isTrue();
+    assertThat(second.created()).isZero();
+    assertThat(second.existing()).isEqualTo(6);
+  }
+
+  @Test
+  @DisplayName("should create large trees in parallel")
+  void materialize_whenLargeTree_shouldCreateEverything() throws IOException {
+    var text = new StringBuilder("big/");
+    for (int module = 0; module < 20; module++) {
+      text.append("\n├── module-").append(module).append('/');
+      for (int topic = 0; topic < TreeMaterializer.FORK_THRESHOLD; topic++) {
+        text.append("\n│   ├── topic-").append(topic).append('/');
+      }
+    }
+
+    var report = materializer.materialize(DirectoryTreeParser.parse(text.toString()), workspace,
+        false);
+
+    assertThat(report.created()).isEqualTo(1 + 20 * (1 + TreeMaterializer.FORK_THRESHOLD));
+    assertThat(count(report.root())).isEqualTo(report.created());
+  }
+
+  @Test
+  @DisplayName("should only report what would be created in a dry run")
+  void materialize_whenDryRun_shouldNotWrite() throws IOException {
+    Files.createDirectories(workspace.resolve("learn-spring/core"));
+
+    var report = materializer.materialize(DirectoryTreeParser.parse(TREE), workspace, true);
+
+    assertThat(report.dryRun()).isTrue();
+    assertThat(report.existing()).isEqualTo(2);
+    assertThat(report.created()).isEqualTo(4);
+    assertThat(count(workspace)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("should report conflicts and never follow links")
+  void materialize_whenTakenOrLinked_shouldReportConflicts() throws IOException {
+    var outside = Files.createDirectory(workspace.resolve("outside"));
+    var root = Files.createDirectory(workspace.resolve("learn-spring"));
+    Files.createFile(root.resolve("core"));
+    Files.createSymbolicLink(root.resolve("projects"), outside);
+
+    var report = materializer.materialize(DirectoryTreeParser.parse(TREE), workspace, false);
+
+    assertThat(report.conflicts()).containsExactlyInAnyOrder("learn-spring/core",
+        "learn-spring/projects");
+    assertThat(outside).isEmptyDirectory();
+  }
+
+  @Test
+  @DisplayName("should reject unsafe names before writing anything")
+  void materialize_whenUnsafeName_shouldThrow() {
+    var builder = DirectoryTree.builder("demo", 2);
+    builder.add(0, "..", true);
+
+    assertThatThrownBy(() -> materializer.materialize(builder.build(), workspace, false))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("'..'");
+    assertThat(workspace).isEmptyDirectory();
+  }
+
+  @Test
+  @DisplayName("should materialize a structure from the command line")
+  void cli_shouldMaterializeStructure() throws IOException {
+    var json = "{\"projectName\": \"demo\", \"tree\": \"demo/\\n└── src/\"}";
+    var out = new ByteArrayOutputStream();
+    var err = new ByteArrayOutputStream();
+
+    var status = MaterializeCli.run(new String[]{"-", workspace.toString(), "--parallelism", "2"},
+        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), new PrintStream(out),
+        new PrintStream(err));
+
+    assertThat(status).isZero();
+    assertThat(out.toString()).contains("2 created");
+    assertThat(workspace.resolve("demo/src")).isDirectory();
+    assertThat(MaterializeCli.run(new String[]{"-"}, null, new PrintStream(out),
+        new PrintStream(err))).isEqualTo(2);
+  }
+}
@@ -0,0 +1,42 @@
+package com.folderai.services.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Generates a project end to end with the 'fake' profile, without any call to the provider.
+ */
+@SpringBootTest(properties = {
+    "folder.fake-model.time-to-first-token=10ms",
+    "folder.fake-model.tokens-per-second=100000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("fake")
+@DisplayName("FakeModelIntegrationTest")
+class FakeModelIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("should generate a project offline")
+  void generateProjectDirectory_withFakeModel_returnsStructure() throws Exception {
+    mockMvc.perform(post("/api/v1/folders/project-directory")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"prompt\": \"learn rust\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.directoryStructure.projectName").value("learn-rust"))
+        .andExpect(jsonPath("$.directoryTree.children.length()").value(6))
+        .andExpect(jsonPath("$.metaData.model").value("fake-gpt-4o-mini"));
+  }
+}
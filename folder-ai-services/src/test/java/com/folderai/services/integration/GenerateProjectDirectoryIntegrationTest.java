@@ -1,8 +1,11 @@
 package com.folderai.services.integration;
 
 import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.DirectoryStreamEvent;
 import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderMetaData;
 import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.FolderUsage;
 import com.folderai.services.exception.FolderGenerationException;
 import com.folderai.services.service.FolderService;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +16,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Flux;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -86,6 +91,75 @@ public class GenerateProjectDirectoryIntegrationTest {
         .andExpect(jsonPath("$.error").value("Folder Generation Failed"))
         .andExpect(jsonPath("$.message").value(errorMessage));
   }
-}
 
+  @Test
+  @DisplayName("should stream tree lines and the final result as Server-Sent Events")
+  void streamProjectDirectory_returnsEventStream() throws Exception {
+    var result = new FolderResponse(new DirectoryStructure("project name", "java/"), null, null);
+    when(folderService.streamProjectDirectory(any(FolderRequest.class))).thenReturn(Flux.just(
+        DirectoryStreamEvent.line("java/"), DirectoryStreamEvent.result(result)));
+
+    // language=JSON
+    String requestJson = """
+        {
+              "prompt": "generate spring boot learn"
+            }
+        """;
+    var mvcResult = mockMvc.perform(
+            post("/api/v1/folders/project-directory/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .content(requestJson))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(content().string(containsString("event:line\ndata:java/")))
+        .andExpect(content().string(containsString("event:result")))
+        .andExpect(content().string(containsString("project name")));
+  }
+
+  @Test
+  @DisplayName("should stream one NDJSON line per batch item followed by the summary")
+  void generateBatch_returnsNdjson() throws Exception {
+    var result = new FolderResponse(new DirectoryStructure("project name", "java/"), null,
+        new FolderMetaData("gpt-4o", new FolderUsage(10, 5, 15)));
+    when(folderService.generateProjectDirectory(any(FolderRequest.class))).thenReturn(result);
 
+    // language=JSON
+    String requestJson = """
+        {
+              "requests": [{"prompt": "learn java"}, {"prompt": "learn go"}]
+            }
+        """;
+    var mvcResult = mockMvc.perform(
+            post("/api/v1/folders/project-directory/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content(requestJson))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(containsString("{\"type\":\"item\",\"index\":")))
+        .andExpect(content().string(containsString(
+            "{\"type\":\"summary\",\"total\":2,\"succeeded\":2,\"failed\":0,"
+                + "\"usage\":{\"promptTokens\":20,\"generationTokens\":10,"
+                + "\"totalTokens\":30}}\n")));
+  }
+
+  @Test
+  @DisplayName("should reject an empty batch with 400 Bad Request")
+  void generateBatch_returns400WhenEmpty() throws Exception {
+    mockMvc.perform(
+            post("/api/v1/folders/project-directory/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"requests\": []}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Batch must contain at least one request."));
+  }
+}
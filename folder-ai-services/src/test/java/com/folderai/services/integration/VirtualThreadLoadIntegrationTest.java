@@ -0,0 +1,128 @@
+package com.folderai.services.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test for the virtual-thread execution model. Fires {@value #REQUESTS} concurrent requests
+ * whose AI call stays blocked until every one of them is waiting on the provider at the same time,
+ * which Tomcat's pool of {@value #TOMCAT_PLATFORM_THREADS} platform threads could never reach. The
+ * gate is then released and the overall throughput is logged.
+ * <p>
+ * Tagged {@code load}, it is left out of the default build; run it with
+ * {@code mvn -Pload-tests test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=true",
+    "folder.bulkhead.max-concurrent-calls=" + VirtualThreadLoadIntegrationTest.REQUESTS,
+    "folder.adaptive-limit.enabled=false",
+    "logging.level.com.folderai.services=WARN",
+    "logging.level.com.folderai.services.integration=INFO"
+})
+@Tag("load")
+@DisplayName("VirtualThreadLoadIntegrationTest")
+class VirtualThreadLoadIntegrationTest {
+
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadIntegrationTest.class);
+
+  static final int REQUESTS = 1_000;
+  private static final int TOMCAT_PLATFORM_THREADS = 200;
+  private static final Duration SLOW_CALL = Duration.ofMillis(500);
+
+  @LocalServerPort
+  private int port;
+
+  @MockitoBean
+  private ChatClient chatClient;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+  private final CountDownLatch allInFlight = new CountDownLatch(REQUESTS);
+
+  @BeforeEach
+  void setUp() {
+    var requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+    var responseSpec = mock(ChatClient.CallResponseSpec.class);
+    var chatResponse = new ChatResponse(
+        List.of(new Generation(new AssistantMessage(
+            "{\"projectName\":\"java\",\"tree\":\"java/\\n└── basics/\"}"))),
+        ChatResponseMetadata.builder().model("gpt-4o").usage(new DefaultUsage(10, 20)).build());
+    when(chatClient.prompt(any(Prompt.class))).thenReturn(requestSpec);
+    when(requestSpec.options(any())).thenReturn(requestSpec);
+    when(requestSpec.call()).thenReturn(responseSpec);
+    when(responseSpec.chatResponse()).thenAnswer(invocation -> {
+      peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      allInFlight.countDown();
+      try {
+        // A slow provider: nothing returns before every request is waiting on it
+        allInFlight.await(2, TimeUnit.MINUTES);
+        Thread.sleep(SLOW_CALL);
+        return chatResponse;
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  @Test
+  @DisplayName("should hold 1k concurrent slow requests in flight at once")
+  void concurrentSlowRequests_areAllInFlightTogether() {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+        var client = HttpClient.newBuilder().executor(executor).build()) {
+      List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(REQUESTS);
+      long start = System.nanoTime();
+      for (int i = 0; i < REQUESTS; i++) {
+        var request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/v1/folders/project-directory"))
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofMinutes(3))
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"prompt\":\"learn topic number " + i + "\"}"))
+            .build();
+        responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+      }
+      CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+      var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+      log.info("{} slow requests in {} ms ({} req/s), peak in-flight AI calls: {}",
+          REQUESTS, elapsed.toMillis(), Math.round(REQUESTS * 1000.0 / elapsed.toMillis()),
+          peakInFlight.get());
+      assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode())
+          .isEqualTo(200));
+      assertThat(peakInFlight.get()).isEqualTo(REQUESTS)
+          .isGreaterThan(TOMCAT_PLATFORM_THREADS);
+    }
+  }
+}
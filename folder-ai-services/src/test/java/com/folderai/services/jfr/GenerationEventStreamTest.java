@@ -0,0 +1,89 @@
+package com.folderai.services.jfr;
+
+import com.folderai.services.ai.model.ModelAllowlist;
+import com.folderai.services.config.properties.JfrProperties;
+import com.folderai.services.config.properties.ModelProperties;
+import com.folderai.services.dto.response.GenerationProfile.EventSummary;
+import com.folderai.services.util.TreeFormatter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("GenerationEventStream Tests")
+class GenerationEventStreamTest {
+
+  private final ModelAllowlist modelAllowlist = new ModelAllowlist(
+      new ModelProperties(List.of("gpt-4o")));
+  private final GenerationEventStream eventStream = new GenerationEventStream(
+      new JfrProperties(true, 16, Duration.ofSeconds(30)), modelAllowlist);
+
+  @AfterEach
+  void close() {
+    eventStream.close();
+  }
+
+  @Test
+  @DisplayName("should summarize the pipeline events streamed from Flight Recorder")
+  void profile_shouldSummarizeStreamedEvents() {
+    eventStream.start();
+
+    var stage = new GenerationStageEvent();
+    stage.begin();
+    stage.stage = "memory-read";
+    stage.conversationId = "c1";
+    stage.model = "gpt-4o";
+    stage.outcome = "success";
+    stage.commit();
+    modelCall("c1", 120, 30);
+    modelCall("c2", 80, 20);
+    TreeFormatter.format("learn-go/\n└── basics/", TreeFormatter.Format.PATHS);
+
+    await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+      var events = eventStream.profile().events();
+      assertThat(events).extracting(EventSummary::event)
+          .contains("generation-stage", "model-call", "tree-format");
+      assertThat(events).filteredOn(summary -> summary.event().equals("model-call"))
+          .singleElement().satisfies(summary -> {
+            assertThat(summary.tags()).isEqualTo(
+                Map.of("model", "gpt-4o", "outcome", "success"));
+            assertThat(summary.count()).isEqualTo(2);
+            assertThat(summary.promptTokens()).isEqualTo(200);
+            assertThat(summary.completionTokens()).isEqualTo(50);
+            assertThat(summary.max()).isGreaterThanOrEqualTo(summary.p50());
+          });
+      assertThat(events).filteredOn(summary -> summary.event().equals("tree-format"))
+          .extracting(EventSummary::tags).contains(Map.of("format", "PATHS"));
+    });
+    assertThat(eventStream.profile().streaming()).isTrue();
+  }
+
+  private static void modelCall(String conversationId, int promptTokens, int completionTokens) {
+    var event = new ModelCallEvent();
+    event.begin();
+    event.conversationId = conversationId;
+    event.requestedModel = "gpt-4o";
+    event.model = "gpt-4o-2024-08-06";
+    event.outcome = "success";
+    event.promptTokens = promptTokens;
+    event.completionTokens = completionTokens;
+    event.commit();
+  }
+
+  @Test
+  @DisplayName("should stay empty when disabled")
+  void profile_whenDisabled_shouldBeEmpty() {
+    var disabled = new GenerationEventStream(new JfrProperties(false, 16, Duration.ofMinutes(1)),
+        modelAllowlist);
+    disabled.start();
+
+    assertThat(disabled.profile().streaming()).isFalse();
+    assertThat(disabled.profile().events()).isEmpty();
+  }
+}
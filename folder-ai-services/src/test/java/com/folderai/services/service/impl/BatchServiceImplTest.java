@@ -0,0 +1,133 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.config.properties.BatchProperties;
+import com.folderai.services.dto.request.BatchRequest;
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.BatchItemResult;
+import com.folderai.services.dto.response.BatchLine;
+import com.folderai.services.dto.response.BatchSummary;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderMetaData;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.FolderUsage;
+import com.folderai.services.exception.FolderGenerationException;
+import com.folderai.services.exception.InvalidBatchException;
+import com.folderai.services.service.FolderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("BatchServiceImpl Tests")
+class BatchServiceImplTest {
+
+  private final FolderService folderService = mock(FolderService.class);
+
+  private BatchServiceImpl batchService;
+
+  private BatchServiceImpl newBatchService(int parallelism, int maxItems) {
+    batchService = new BatchServiceImpl(folderService, new BatchProperties(parallelism, maxItems));
+    return batchService;
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (batchService != null) {
+      batchService.shutdown();
+    }
+  }
+
+  private static FolderResponse response(String name, int tokens) {
+    return new FolderResponse(new DirectoryStructure(name, name + "/"), UUID.randomUUID(),
+        new FolderMetaData("gpt-4o", new FolderUsage(tokens, tokens, 2 * tokens)));
+  }
+
+  @Test
+  @DisplayName("should report each item and sum the token usage in the summary")
+  void generateBatch_shouldAggregateUsage() {
+    when(folderService.generateProjectDirectory(argThat(r -> r != null
+        && r.prompt().equals("java")))).thenReturn(response("java", 10));
+    when(folderService.generateProjectDirectory(argThat(r -> r != null
+        && r.prompt().equals("go")))).thenReturn(response("go", 5));
+    var service = newBatchService(2, 10);
+
+    var lines = service.generateBatch(new BatchRequest(List.of(
+        new FolderRequest("java", null, null), new FolderRequest("go", null, null)))).collectList()
+        .block();
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines.subList(0, 2)).extracting(line -> ((BatchItemResult) line).index())
+        .containsExactlyInAnyOrder(0, 1);
+    assertThat(lines.get(2)).isEqualTo(new BatchSummary(2, 2, 0, new FolderUsage(15, 15, 30)));
+  }
+
+  @Test
+  @DisplayName("should report a failed item without aborting the batch")
+  void generateBatch_whenItemFails_shouldContinue() {
+    when(folderService.generateProjectDirectory(argThat(r -> r != null
+        && r.prompt().equals("java")))).thenReturn(response("java", 10));
+    when(folderService.generateProjectDirectory(argThat(r -> r != null
+        && r.prompt().equals("broken"))))
+        .thenThrow(new FolderGenerationException("Current quota was exceeded.", new Exception()));
+    var service = newBatchService(2, 10);
+
+    var lines = service.generateBatch(new BatchRequest(List.of(
+        new FolderRequest("broken", null, null), new FolderRequest("java", null, null))))
+        .collectList().block();
+
+    var failed = lines.stream()
+        .filter(line -> line instanceof BatchItemResult item && item.error() != null)
+        .map(BatchItemResult.class::cast)
+        .findFirst().orElseThrow();
+    assertThat(failed.index()).isZero();
+    assertThat(failed.error().status()).isEqualTo(500);
+    assertThat(failed.error().message()).isEqualTo("Current quota was exceeded.");
+    assertThat(lines.getLast()).isEqualTo(new BatchSummary(2, 1, 1, new FolderUsage(10, 10, 20)));
+  }
+
+  @Test
+  @DisplayName("should never run more items at once than the configured parallelism")
+  void generateBatch_shouldRespectParallelism() {
+    var active = new AtomicInteger();
+    var peak = new AtomicInteger();
+    var started = new CountDownLatch(2);
+    when(folderService.generateProjectDirectory(any())).thenAnswer(invocation -> {
+      peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+      started.countDown();
+      started.await(5, TimeUnit.SECONDS);
+      active.decrementAndGet();
+      return response("java", 1);
+    });
+    var service = newBatchService(2, 10);
+
+    List<BatchLine> lines = service.generateBatch(new BatchRequest(
+        Collections.nCopies(6, new FolderRequest("java", null, null)))).collectList().block();
+
+    assertThat(lines).hasSize(7);
+    assertThat(peak.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should reject empty and oversized batches")
+  void generateBatch_whenInvalid_shouldThrow() {
+    var service = newBatchService(2, 1);
+
+    assertThrows(InvalidBatchException.class,
+        () -> service.generateBatch(new BatchRequest(List.of())));
+    assertThrows(InvalidBatchException.class, () -> service.generateBatch(new BatchRequest(
+        Collections.nCopies(2, new FolderRequest("java", null, null)))));
+  }
+}
@@ -1,35 +1,76 @@
 package com.folderai.services.service.impl;
 
+import com.folderai.services.ai.cache.CachedDirectory;
+import com.folderai.services.ai.cache.DirectoryCache;
+import com.folderai.services.ai.cache.DirectoryCacheKey;
+import com.folderai.services.ai.cascade.ModelCascade;
+import com.folderai.services.ai.client.ModelCaller;
+import com.folderai.services.ai.concurrency.AdaptiveConcurrencyLimiter;
+import com.folderai.services.ai.concurrency.GenerationCoalescer;
+import com.folderai.services.ai.concurrency.ModelBulkhead;
+import com.folderai.services.ai.hedging.RequestHedger;
+import com.folderai.services.ai.memory.HistoryWindow;
+import com.folderai.services.ai.memory.TokenBudgetChatMemory;
+import com.folderai.services.ai.metrics.GenerationMetrics;
+import com.folderai.services.ai.model.ModelAllowlist;
 import com.folderai.services.ai.prompt.PromptFactory;
+import com.folderai.services.ai.refine.TreeRefiner;
+import com.folderai.services.config.properties.AdaptiveLimitProperties;
+import com.folderai.services.config.properties.BulkheadProperties;
+import com.folderai.services.config.properties.CascadeProperties;
+import com.folderai.services.config.properties.HedgingProperties;
+import com.folderai.services.config.properties.ModelProperties;
+import com.folderai.services.config.properties.PromptProperties;
+import com.folderai.services.config.properties.RefinementProperties;
 import com.folderai.services.dto.request.FolderModelOptions;
 import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.DirectoryStreamEvent;
 import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.ErrorResponse;
+import com.folderai.services.dto.response.FolderMetaData;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.FolderUsage;
+import com.folderai.services.dto.response.TreeEdit;
 import com.folderai.services.exception.FolderGenerationException;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import com.folderai.services.util.DirectoryTreeParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.core.io.DefaultResourceLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 
@@ -41,22 +82,64 @@ class FolderServiceImplTest {
   private ChatClient chatClient;
 
   @Mock
-  private ChatMemory chatMemory;
+  private TokenBudgetChatMemory chatMemory;
 
   @Mock
   private PromptFactory promptFactory;
   @Mock
+  private DirectoryCache directoryCache;
+  @Mock
+  private GenerationCoalescer generationCoalescer;
+  private final ModelAllowlist modelAllowlist = new ModelAllowlist(
+      new ModelProperties(List.of("gpt-4o", "gpt-4o-mini")));
+  @Spy
+  private ModelBulkhead modelBulkhead = new ModelBulkhead(
+      new BulkheadProperties(true, 4, null, Duration.ofSeconds(1)), modelAllowlist,
+      new SimpleMeterRegistry());
+  @Spy
+  private AdaptiveConcurrencyLimiter adaptiveLimiter = new AdaptiveConcurrencyLimiter(
+      new AdaptiveLimitProperties(true, 4, 1, 4, 0.5, Duration.ofSeconds(30),
+          Duration.ofSeconds(1)), modelAllowlist, new SimpleMeterRegistry());
+  @Spy
+  private RequestHedger requestHedger = new RequestHedger(new HedgingProperties(false, 0.95,
+      Duration.ofSeconds(2), Duration.ofSeconds(20), 20, 10, null), modelAllowlist,
+      new SimpleMeterRegistry());
+  @Spy
+  private ModelCascade modelCascade = new ModelCascade(new CascadeProperties(false,
+      List.of("gpt-4o-mini", "gpt-4o"), 2, 500, 10), new SimpleMeterRegistry());
+  @Spy
+  private TreeRefiner treeRefiner = new TreeRefiner(new RefinementProperties(true, 50),
+      new PromptFactory(new PromptProperties(
+          new PromptProperties.Directory("classpath:prompts/directory/directory-system.st",
+              "classpath:prompts/directory/directory-user.st",
+              "classpath:prompts/directory/directory-refine.st"),
+          new PromptProperties.Memory("classpath:prompts/memory/conversation-summary.st"), false),
+          new DefaultResourceLoader()), new SimpleMeterRegistry());
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  @Spy
+  private GenerationMetrics generationMetrics = new GenerationMetrics(meterRegistry,
+      modelAllowlist);
+  @Mock
   private ChatClient.ChatClientRequestSpec requestSpec;
   @Mock
   private ChatClient.CallResponseSpec responseSpec;
+  @Mock
+  private ChatClient.StreamResponseSpec streamSpec;
 
   @Mock
   private ChatResponse chatResponse;
 
 
-  @InjectMocks
   private FolderServiceImpl folderService;
 
+  @BeforeEach
+  void setUpService() {
+    folderService = new FolderServiceImpl(chatClient, chatMemory, promptFactory, directoryCache,
+        generationCoalescer, modelBulkhead, adaptiveLimiter, requestHedger, modelCascade,
+        new ModelCaller(chatClient, adaptiveLimiter, modelBulkhead, generationMetrics),
+        treeRefiner, generationMetrics);
+    lenient().when(chatMemory.window(anyString())).thenReturn(HistoryWindow.EMPTY);
+  }
 
   @Nested
   @DisplayName("generateProjectDirectory Tests")
@@ -79,7 +162,6 @@ class FolderServiceImplTest {
 
       when(chatClient.prompt(promptMock)).thenReturn(requestSpec);
       when(requestSpec.options(any())).thenReturn(requestSpec);
-      when(requestSpec.advisors(any(Consumer.class))).thenReturn(requestSpec);
       when(requestSpec.call()).thenReturn(responseSpec);
       when(responseSpec.chatResponse()).thenReturn(chatResponse);
 
@@ -109,6 +191,12 @@ class FolderServiceImplTest {
       verify(promptFactory).createStructurePrompt(eq(mockRequest.prompt()),
           anyString());
       verify(chatClient).prompt(any(Prompt.class));
+      for (var stage : List.of("prompt-build", "memory-read", "llm-call", "response-conversion",
+          "memory-write")) {
+        assertThat(meterRegistry.get("folder.generation.stage").tags("stage", stage,
+            "model", "gpt-4o", "outcome", "success").timer().count()).isOne();
+      }
+      assertThat(meterRegistry.get("folder.generation.inflight").gauge().value()).isZero();
 
     }
 
@@ -131,9 +219,28 @@ class FolderServiceImplTest {
 
       // Verify the specific error message for quota issues
       assertThat(exception.getMessage()).isEqualTo("Current quota was exceeded.");
+      assertThat(meterRegistry.get("folder.generation.stage").tags("stage", "llm-call",
+          "outcome", "quota_exceeded").timer().count()).isOne();
 
     }
 
+    @Test
+    @DisplayName("should report provider rate limiting as retryable and shrink the model's limit")
+    void generateProjectDirectory_whenRateLimited_thenThrowsProviderCapacityExceeded() {
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(
+          promptMock);
+      when(responseSpec.chatResponse()).thenThrow(new NonTransientAiException(
+          "429 - {\"error\": {\"code\": \"rate_limit_exceeded\"}}"));
+
+      var exception = assertThrows(ProviderCapacityExceededException.class, () ->
+          folderService.generateProjectDirectory(mockRequest)
+      );
+
+      assertThat(exception.getMessage()).isEqualTo(
+          "The AI provider is rate limiting requests, please retry shortly.");
+      assertThat(adaptiveLimiter.currentLimit("gpt-4o")).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("should throw FolderGenerationException for other exceptions")
     void generateProjectDirectory_whenOtherExceptionOccurs_thenThrowsFolderGenerationException() {
@@ -155,5 +262,390 @@ class FolderServiceImplTest {
 
   }
 
-}
+  @Nested
+  @DisplayName("directory cache Tests")
+  class DirectoryCacheTests {
+
+    private final Prompt prompt = new Prompt("learn advanced java");
+
+    @Test
+    @DisplayName("should serve a cached structure without calling the AI model")
+    void generateProjectDirectory_whenCached_thenSkipsAiCall() {
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(prompt);
+      when(directoryCache.isEnabled()).thenReturn(true);
+      var cached = new CachedDirectory(new DirectoryStructure("java", "java/"),
+          DirectoryTreeParser.parse("java/"), "gpt-4o");
+      when(directoryCache.get(DirectoryCacheKey.of("Learn advanced Java!", null)))
+          .thenReturn(Optional.of(cached));
+
+      var result = folderService.generateProjectDirectory(
+          new FolderRequest("Learn advanced Java!", null, null));
+
+      assertThat(result.directoryStructure().projectName()).isEqualTo("java");
+      assertThat(result.directoryTree()).isSameAs(cached.directoryTree());
+      assertThat(result.metaData().model()).isEqualTo("gpt-4o");
+      assertThat(result.metaData().usage().totalTokens()).isZero();
+      verify(chatMemory).addTurn(eq(result.conversationId().toString()), any(Message.class),
+          eq("java/"));
+      verifyNoInteractions(chatClient);
+    }
+
+    @Test
+    @DisplayName("should bypass the cache when the request opts out")
+    void generateProjectDirectory_whenSkipCache_thenIgnoresCache() {
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(prompt);
+      when(directoryCache.isEnabled()).thenReturn(true);
+
+      assertThrows(FolderGenerationException.class, () ->
+          folderService.generateProjectDirectory(
+              new FolderRequest("learn advanced java", null, null, true)));
+
+      verify(directoryCache, never()).get(any());
+      verify(chatClient).prompt(prompt);
+    }
+
+    @Test
+    @DisplayName("should bypass the cache for a conversation that already has history")
+    void generateProjectDirectory_whenConversationHasHistory_thenIgnoresCache() {
+      var conversationId = UUID.randomUUID();
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(prompt);
+      when(chatMemory.window(conversationId.toString()))
+          .thenReturn(new HistoryWindow(List.of(new AssistantMessage("java/")), 0));
+
+      assertThrows(FolderGenerationException.class, () ->
+          folderService.generateProjectDirectory(
+              new FolderRequest("add a testing section", conversationId, null)));
+
+      verify(directoryCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("should treat a conversation with a tree as a follow-up even when its window "
+        + "holds no message")
+    void generateProjectDirectory_whenWindowEmptyButTreeStored_thenIgnoresCacheAndCoalescing() {
+      var conversationId = UUID.randomUUID();
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(prompt);
+      lenient().when(directoryCache.isEnabled()).thenReturn(true);
+      lenient().when(generationCoalescer.isEnabled()).thenReturn(true);
+      when(chatMemory.window(conversationId.toString()))
+          .thenReturn(new HistoryWindow(List.of(), 5_000, "java/"));
+
+      assertThrows(FolderGenerationException.class, () ->
+          folderService.generateProjectDirectory(
+              new FolderRequest("add a testing section", conversationId, null)));
+
+      verify(directoryCache, never()).get(any());
+      verify(directoryCache, never()).put(any(), any());
+      verify(generationCoalescer, never()).execute(any(), any());
+    }
+  }
+
+  @Nested
+  @DisplayName("request coalescing Tests")
+  class RequestCoalescingTests {
+
+    @Test
+    @DisplayName("should answer a waiter with the shared structure under its own conversation")
+    void generateProjectDirectory_whenShared_thenRecordsOwnConversation() {
+      var leaderResponse = new FolderResponse(new DirectoryStructure("java", "java/"),
+          DirectoryTreeParser.parse("java/"), UUID.randomUUID(),
+          new FolderMetaData("gpt-4o", new FolderUsage(10, 20, 30)), null);
+      when(promptFactory.createStructurePrompt(anyString(), anyString()))
+          .thenReturn(new Prompt("learn java"));
+      when(generationCoalescer.isEnabled()).thenReturn(true);
+      when(generationCoalescer.execute(eq(DirectoryCacheKey.of("learn java", null)), any()))
+          .thenReturn(new GenerationCoalescer.Coalesced(leaderResponse, true));
+
+      var result = folderService.generateProjectDirectory(
+          new FolderRequest("learn java", null, null));
+
+      assertThat(result.directoryStructure()).isEqualTo(leaderResponse.directoryStructure());
+      assertThat(result.directoryTree()).isSameAs(leaderResponse.directoryTree());
+      assertThat(result.conversationId()).isNotEqualTo(leaderResponse.conversationId());
+      assertThat(result.metaData().usage().totalTokens()).isZero();
+      verify(chatMemory).addTurn(eq(result.conversationId().toString()), any(Message.class),
+          eq("java/"));
+      verifyNoInteractions(chatClient);
+    }
+  }
+
+  @Nested
+  @DisplayName("conversation history Tests")
+  class ConversationHistoryTests {
+
+    @Test
+    @DisplayName("should send the history window with the prompt, report the tokens it left out "
+        + "and record the turn exactly once")
+    void generateProjectDirectory_whenFollowUp_thenSendsHistoryAndRecordsOnce() {
+      var conversationId = UUID.randomUUID();
+      var system = new SystemMessage("system");
+      var user = new UserMessage("add a testing section");
+      var earlierTurn = List.<Message>of(new UserMessage("learn java"),
+          new AssistantMessage("java/"));
+      when(promptFactory.createStructurePrompt(anyString(), anyString()))
+          .thenReturn(new Prompt(List.of(system, user)));
+      when(chatMemory.window(conversationId.toString()))
+          .thenReturn(new HistoryWindow(earlierTurn, 250));
+      var sentPrompt = ArgumentCaptor.forClass(Prompt.class);
+      when(chatClient.prompt(sentPrompt.capture())).thenReturn(requestSpec);
+      when(requestSpec.options(any())).thenReturn(requestSpec);
+      when(requestSpec.call()).thenReturn(responseSpec);
+      when(responseSpec.chatResponse()).thenReturn(new ChatResponse(List.of(new Generation(
+          new AssistantMessage("{\"projectName\":\"java\",\"tree\":\"java/\\ntests/\"}")))));
+
+      var result = folderService.generateProjectDirectory(
+          new FolderRequest("add a testing section", conversationId, null));
+
+      assertThat(sentPrompt.getValue().getInstructions())
+          .containsExactly(system, earlierTurn.get(0), earlierTurn.get(1), user);
+      assertThat(result.metaData().usage().savedPromptTokens()).isEqualTo(250);
+      verify(chatMemory).addTurn(conversationId.toString(), user, "java/\ntests/");
+      verify(chatMemory, never()).add(anyString(), any(Message.class));
+      verify(chatMemory, never()).add(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("should give back the model's capacity when a stream fails before it starts")
+    void streamProjectDirectory_whenHistoryFails_thenReleasesPermitAndToken() {
+      var conversationId = UUID.randomUUID();
+      when(promptFactory.createStructurePrompt(anyString(), anyString()))
+          .thenReturn(new Prompt("add a testing section"));
+      when(chatMemory.window(conversationId.toString()))
+          .thenThrow(new IllegalStateException("Segment keeps moving"));
+
+      for (int i = 0; i < 5; i++) {
+        var events = folderService.streamProjectDirectory(
+            new FolderRequest("add a testing section", conversationId, null)).collectList().block();
+        assertThat(events).extracting(DirectoryStreamEvent::event)
+            .containsExactly(DirectoryStreamEvent.ERROR);
+      }
+
+      // Both allow 4 concurrent calls: leaked capacity would make these wait, then throw
+      for (int i = 0; i < 4; i++) {
+        modelBulkhead.acquire(DirectoryCacheKey.DEFAULT_MODEL);
+        adaptiveLimiter.acquire(DirectoryCacheKey.DEFAULT_MODEL);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("refinement Tests")
+  class RefinementTests {
+
+    private final UUID conversationId = UUID.randomUUID();
+    private final UserMessage user = new UserMessage("add a testing section");
+
+    @BeforeEach
+    void setUp() {
+      when(promptFactory.createStructurePrompt(anyString(), anyString()))
+          .thenReturn(new Prompt(List.of(new SystemMessage("system"), user)));
+      when(chatMemory.window(conversationId.toString())).thenReturn(new HistoryWindow(
+          List.of(new UserMessage("learn java"), new AssistantMessage("java/\n└── basics/")), 0,
+          "java/\n└── basics/"));
+      when(chatClient.prompt(any(Prompt.class))).thenReturn(requestSpec);
+      when(requestSpec.options(any())).thenReturn(requestSpec);
+      when(requestSpec.call()).thenReturn(responseSpec);
+    }
+
+    private ChatResponse answer(String text, int promptTokens, int completionTokens) {
+      return new ChatResponse(List.of(new Generation(new AssistantMessage(text))),
+          ChatResponseMetadata.builder().model("gpt-4o")
+              .usage(new DefaultUsage(promptTokens, completionTokens)).build());
+    }
+
+    @Test
+    @DisplayName("should apply the edit script to the current tree and return the edits")
+    void generateProjectDirectory_whenScriptApplies_thenReturnsEditedTree() {
+      when(responseSpec.chatResponse()).thenReturn(answer(
+          "{\"edits\":[{\"op\":\"ADD\",\"path\":\"testing/\",\"target\":null}]}", 40, 12));
+
+      var result = folderService.generateProjectDirectory(
+          new FolderRequest("add a testing section", conversationId, null));
+
+      assertThat(result.directoryStructure())
+          .isEqualTo(new DirectoryStructure("java", "java/\n├── basics/\n└── testing/"));
+      assertThat(result.edits())
+          .containsExactly(new TreeEdit(TreeEdit.Operation.ADD, "testing/", null));
+      assertThat(result.metaData().attempts()).isEqualTo(1);
+      assertThat(result.metaData().usage().totalTokens()).isEqualTo(52);
+      verify(chatClient, times(1)).prompt(argThat((Prompt prompt) ->
+          prompt.getContents().contains("java/\n└── basics/")));
+      verify(chatMemory).addTurn(conversationId.toString(), user,
+          "java/\n├── basics/\n└── testing/");
+    }
 
+    @Test
+    @DisplayName("should regenerate the whole tree when the edit script does not apply")
+    void generateProjectDirectory_whenScriptInvalid_thenRegenerates() {
+      when(responseSpec.chatResponse()).thenReturn(
+          answer("{\"edits\":[{\"op\":\"REMOVE\",\"path\":\"streams/\"}]}", 40, 12),
+          answer("{\"projectName\":\"java\",\"tree\":\"java/\\n└── tests/\"}", 100, 20));
+
+      var result = folderService.generateProjectDirectory(
+          new FolderRequest("add a testing section", conversationId, null));
+
+      assertThat(result.directoryStructure().tree()).isEqualTo("java/\n└── tests/");
+      assertThat(result.edits()).isNull();
+      assertThat(result.metaData().attempts()).isEqualTo(2);
+      assertThat(result.metaData().usage().totalTokens()).isEqualTo(172);
+      verify(chatClient, times(2)).prompt(any(Prompt.class));
+      verify(chatMemory, times(1)).addTurn(conversationId.toString(), user, "java/\n└── tests/");
+    }
+  }
+
+  @Nested
+  @DisplayName("model cascade Tests")
+  class ModelCascadeTests {
+
+    private final Prompt prompt = new Prompt("learn java");
+    private static ChatOptions model(String model) {
+      return argThat(options -> options != null && model.equals(options.getModel()));
+    }
+
+    @BeforeEach
+    void setUp() {
+      when(modelCascade.isActive()).thenReturn(true);
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(prompt);
+      when(chatClient.prompt(prompt)).thenReturn(requestSpec);
+      when(requestSpec.call()).thenReturn(responseSpec);
+    }
+
+    private ChatResponse answer(String model, String json) {
+      return new ChatResponse(List.of(new Generation(new AssistantMessage(json))),
+          ChatResponseMetadata.builder().model(model).usage(new DefaultUsage(10, 5)).build());
+    }
+
+    @Test
+    @DisplayName("should serve a valid structure from the first tier")
+    void generateProjectDirectory_whenFirstTierValid_thenServesFirstTier() {
+      when(requestSpec.options(model("gpt-4o-mini"))).thenReturn(requestSpec);
+      when(responseSpec.chatResponse()).thenReturn(answer("gpt-4o-mini",
+          "{\"projectName\":\"java\",\"tree\":\"java/\\n├── basics/\\n└── advanced/\"}"));
+
+      var result = folderService.generateProjectDirectory(new FolderRequest("learn java", null,
+          null));
+
+      assertThat(result.metaData()).isEqualTo(new FolderMetaData("gpt-4o-mini",
+          new FolderUsage(10, 5, 15), 1, 1));
+      verify(requestSpec, never()).options(model("gpt-4o"));
+    }
+
+    @Test
+    @DisplayName("should escalate an invalid structure and sum the usage of both attempts")
+    void generateProjectDirectory_whenFirstTierInvalid_thenEscalates() {
+      when(requestSpec.options(any())).thenReturn(requestSpec);
+      when(responseSpec.chatResponse()).thenReturn(
+          answer("gpt-4o-mini", "{\"projectName\":\"java\",\"tree\":\"java/\"}"),
+          answer("gpt-4o",
+              "{\"projectName\":\"java\",\"tree\":\"java/\\n├── basics/\\n└── advanced/\"}"));
+
+      var result = folderService.generateProjectDirectory(new FolderRequest("learn java", null,
+          null));
+
+      assertThat(result.metaData()).isEqualTo(new FolderMetaData("gpt-4o",
+          new FolderUsage(20, 10, 30), 2, 2));
+      verify(requestSpec).options(model("gpt-4o-mini"));
+      verify(requestSpec).options(model("gpt-4o"));
+      verify(modelCascade).escalated("gpt-4o-mini", "tree has fewer than 2 entries");
+    }
+
+    @Test
+    @DisplayName("should also report the tokens of a hedged answer that was discarded")
+    void generateProjectDirectory_whenHedgeDiscarded_thenReportsItsUsage() {
+      when(requestSpec.options(any())).thenReturn(requestSpec);
+      when(responseSpec.chatResponse()).thenReturn(
+          answer("gpt-4o-mini", "not a structure"),
+          answer("gpt-4o-mini",
+              "{\"projectName\":\"java\",\"tree\":\"java/\\n├── basics/\\n└── advanced/\"}"));
+      doAnswer(invocation -> {
+        Function<String, ?> call = invocation.getArgument(1);
+        // One call of the race answers with an unusable structure, the other one wins
+        assertThrows(FolderGenerationException.class, () -> call.apply("gpt-4o-mini"));
+        return call.apply("gpt-4o-mini");
+      }).when(requestHedger).execute(anyString(), any());
+
+      var result = folderService.generateProjectDirectory(new FolderRequest("learn java", null,
+          null));
+
+      assertThat(result.metaData()).isEqualTo(new FolderMetaData("gpt-4o-mini",
+          new FolderUsage(20, 10, 30), 1, 1));
+      verify(modelCascade, never()).escalated(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("should escalate an unparseable answer")
+    void generateProjectDirectory_whenFirstTierUnparseable_thenEscalates() {
+      when(requestSpec.options(any())).thenReturn(requestSpec);
+      when(responseSpec.chatResponse()).thenReturn(
+          answer("gpt-4o-mini", "not json"),
+          answer("gpt-4o", "{\"projectName\":\"java\",\"tree\":\"java/\"}"));
+
+      var result = folderService.generateProjectDirectory(new FolderRequest("learn java", null,
+          null));
+
+      // The last tier is served as long as it parses.
+      assertThat(result.metaData().tier()).isEqualTo(2);
+      assertThat(result.directoryStructure().tree()).isEqualTo("java/");
+    }
+  }
+
+  @Nested
+  @DisplayName("streamProjectDirectory Tests")
+  class StreamProjectDirectoryTests {
+
+    private final Prompt prompt = new Prompt("learn java");
+
+    @BeforeEach
+    void setUp() {
+      when(promptFactory.createStructurePrompt(anyString(), anyString())).thenReturn(prompt);
+      when(chatClient.prompt(prompt)).thenReturn(requestSpec);
+      when(requestSpec.options(any())).thenReturn(requestSpec);
+      when(requestSpec.stream()).thenReturn(streamSpec);
+    }
+
+    private ChatResponse chunk(String text) {
+      return new ChatResponse(List.of(new Generation(new AssistantMessage(text))),
+          ChatResponseMetadata.builder().model("gpt-4o").build());
+    }
+
+    @Test
+    @DisplayName("should emit tree lines then the parsed result with usage")
+    void streamProjectDirectory_whenSuccessful_thenEmitsLinesAndResult() {
+      var usageChunk = new ChatResponse(List.of(),
+          ChatResponseMetadata.builder().usage(new DefaultUsage(12, 8)).build());
+      when(streamSpec.chatResponse()).thenReturn(Flux.just(
+          chunk("{\"projectName\":\"java\",\"tree\":\"java/\\n"),
+          chunk("└── basics/\"}"),
+          usageChunk));
+
+      var events = folderService.streamProjectDirectory(new FolderRequest("learn java", null, null))
+          .collectList().block();
+
+      assertThat(events).extracting(DirectoryStreamEvent::event).containsExactly(
+          DirectoryStreamEvent.LINE, DirectoryStreamEvent.LINE, DirectoryStreamEvent.RESULT);
+      assertThat(events.get(1).data()).isEqualTo("└── basics/");
+      var result = (FolderResponse) events.get(2).data();
+      assertThat(result.directoryStructure().tree()).isEqualTo("java/\n└── basics/");
+      assertThat(result.metaData().model()).isEqualTo("gpt-4o");
+      assertThat(result.metaData().usage().totalTokens()).isEqualTo(20);
+      verify(chatMemory).addTurn(eq(result.conversationId().toString()),
+          any(UserMessage.class), eq("java/\n└── basics/"));
+    }
+
+    @Test
+    @DisplayName("should end with an error event when the AI call fails")
+    void streamProjectDirectory_whenAiFails_thenEmitsErrorEvent() {
+      when(streamSpec.chatResponse()).thenReturn(
+          Flux.error(new NonTransientAiException("Current quota was exceeded.")));
+
+      var events = folderService.streamProjectDirectory(new FolderRequest("learn java", null, null))
+          .collectList().block();
+
+      assertThat(events).hasSize(1);
+      assertThat(events.get(0).event()).isEqualTo(DirectoryStreamEvent.ERROR);
+      assertThat(((ErrorResponse) events.get(0).data()).message())
+          .isEqualTo("Current quota was exceeded.");
+    }
+  }
+
+}
@@ -0,0 +1,176 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.config.properties.JobProperties;
+import com.folderai.services.dto.request.FolderRequest;
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.JobStatus;
+import com.folderai.services.exception.FolderGenerationException;
+import com.folderai.services.exception.JobNotFoundException;
+import com.folderai.services.exception.ProviderCapacityExceededException;
+import com.folderai.services.service.FolderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JobServiceImpl Tests")
+class JobServiceImplTest {
+
+  private final FolderService folderService = mock(FolderService.class);
+  private final FolderRequest request = new FolderRequest("learn java", null, null);
+  private final FolderResponse response =
+      new FolderResponse(new DirectoryStructure("java", "java/"), UUID.randomUUID(), null);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private JobServiceImpl jobService;
+
+  private JobServiceImpl newJobService(int workers, int queueCapacity) {
+    return newJobService(workers, queueCapacity, Duration.ofMinutes(1));
+  }
+
+  private JobServiceImpl newJobService(int workers, int queueCapacity, Duration resultTtl) {
+    jobService = new JobServiceImpl(folderService, new JobProperties(workers, queueCapacity, 100,
+        resultTtl, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+    return jobService;
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    jobService.shutdown();
+  }
+
+  @Test
+  @DisplayName("should return a pending job, then its result once finished")
+  void submit_thenLongPoll_shouldReturnResult() {
+    when(folderService.generateProjectDirectory(any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return response;
+    });
+    var service = newJobService(1, 1);
+
+    var job = service.submit(request);
+    assertThat(job.status()).isIn(JobStatus.PENDING, JobStatus.RUNNING);
+    assertThat(service.getJob(job.jobId()).result()).isNull();
+
+    release.countDown();
+    var finished = service.awaitJob(job.jobId(), Duration.ofSeconds(5)).block();
+
+    assertThat(finished.status()).isEqualTo(JobStatus.SUCCEEDED);
+    assertThat(finished.result()).isSameAs(response);
+  }
+
+  @Test
+  @DisplayName("should report a failed job with its error")
+  void getJob_whenGenerationFails_shouldReturnError() {
+    when(folderService.generateProjectDirectory(any()))
+        .thenThrow(new FolderGenerationException("Current quota was exceeded.", new Exception()));
+    var service = newJobService(1, 1);
+
+    var job = service.awaitJob(service.submit(request).jobId(), Duration.ofSeconds(5)).block();
+
+    assertThat(job.status()).isEqualTo(JobStatus.FAILED);
+    assertThat(job.error().status()).isEqualTo(500);
+    assertThat(job.error().message()).isEqualTo("Current quota was exceeded.");
+  }
+
+  @Test
+  @DisplayName("should keep a job running past the result TTL, then expire it after completion")
+  void getJob_whenRunningPastTtl_shouldExpireOnlyAfterCompletion() throws InterruptedException {
+    when(folderService.generateProjectDirectory(any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return response;
+    });
+    var service = newJobService(1, 1, Duration.ofMillis(100));
+
+    var jobId = service.submit(request).jobId();
+    Thread.sleep(300);
+    assertThat(service.getJob(jobId).status())
+        .isIn(JobStatus.PENDING, JobStatus.RUNNING);
+
+    release.countDown();
+    assertThat(service.awaitJob(jobId, Duration.ofSeconds(5)).block().status())
+        .isEqualTo(JobStatus.SUCCEEDED);
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+        assertThrows(JobNotFoundException.class, () -> service.getJob(jobId)));
+  }
+
+  @Test
+  @DisplayName("should return the pending job once the wait elapses, without blocking the caller")
+  void awaitJob_whenStillRunning_shouldCompleteAfterTheWait() {
+    when(folderService.generateProjectDirectory(any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return response;
+    });
+    var service = newJobService(1, 1);
+    var jobId = service.submit(request).jobId();
+
+    var start = System.nanoTime();
+    var waiting = service.awaitJob(jobId, Duration.ofMillis(300));
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(300));
+
+    assertThat(waiting.block(Duration.ofSeconds(5)).status())
+        .isIn(JobStatus.PENDING, JobStatus.RUNNING);
+    release.countDown();
+    assertThat(service.awaitJob(jobId, Duration.ofSeconds(5)).block().status())
+        .isEqualTo(JobStatus.SUCCEEDED);
+  }
+
+  @Test
+  @DisplayName("should never evict a job before it finishes, whatever the store bound")
+  void submit_whenMoreJobsThanStored_shouldKeepUnfinishedJobs() {
+    when(folderService.generateProjectDirectory(any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return response;
+    });
+    jobService = new JobServiceImpl(folderService, new JobProperties(2, 8, 1,
+        Duration.ofMinutes(1), Duration.ofSeconds(5)), new SimpleMeterRegistry());
+
+    var jobIds = IntStream.range(0, 8).mapToObj(i -> jobService.submit(request).jobId()).toList();
+
+    await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(1)).untilAsserted(() ->
+        jobIds.forEach(jobId -> assertThat(jobService.getJob(jobId).status())
+            .isIn(JobStatus.PENDING, JobStatus.RUNNING)));
+    release.countDown();
+    assertThat(jobService.awaitJob(jobIds.getLast(), Duration.ofSeconds(5)).block().status())
+        .isEqualTo(JobStatus.SUCCEEDED);
+  }
+
+  @Test
+  @DisplayName("should reject submissions once workers and queue are full")
+  void submit_whenQueueFull_shouldReject() {
+    when(folderService.generateProjectDirectory(any())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return response;
+    });
+    var service = newJobService(1, 1);
+
+    service.submit(request);
+    service.submit(request);
+
+    assertThrows(ProviderCapacityExceededException.class, () -> service.submit(request));
+  }
+
+  @Test
+  @DisplayName("should throw JobNotFoundException for unknown jobs")
+  void getJob_whenUnknown_shouldThrow() {
+    var service = newJobService(1, 1);
+
+    assertThrows(JobNotFoundException.class,
+        () -> service.getJob(UUID.randomUUID()));
+  }
+}
@@ -0,0 +1,91 @@
+package com.folderai.services.service.impl;
+
+import com.folderai.services.dto.response.DirectoryStructure;
+import com.folderai.services.dto.response.FolderResponse;
+import com.folderai.services.dto.response.JobResponse;
+import com.folderai.services.dto.response.JobStatus;
+import com.folderai.services.exception.InvalidScaffoldException;
+import com.folderai.services.exception.JobNotFoundException;
+import com.folderai.services.service.JobService;
+import com.folderai.services.util.DirectoryTreeParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the ScaffoldServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScaffoldServiceImpl test class")
+class ScaffoldServiceImplTest {
+
+  @Mock
+  private JobService jobService;
+
+  @InjectMocks
+  private ScaffoldServiceImpl scaffoldService;
+
+  private final DirectoryStructure structure =
+      new DirectoryStructure("java", "java/\n├── basics/\n└── oop/");
+
+  @Test
+  @DisplayName("should parse the tree of a structure")
+  void treeOf_whenStructure_shouldParseTheTree() {
+    var tree = scaffoldService.treeOf(structure);
+
+    assertThat(tree.size()).isEqualTo(3);
+    assertThat(tree.find("oop")).isPositive();
+  }
+
+  @Test
+  @DisplayName("should reject a structure without a tree")
+  void treeOf_whenNoTree_shouldThrow() {
+    assertThatThrownBy(() -> scaffoldService.treeOf(new DirectoryStructure("java", " ")))
+        .isInstanceOf(InvalidScaffoldException.class);
+  }
+
+  @Test
+  @DisplayName("should reuse the tree of a finished job")
+  void treeOf_whenJobSucceeded_shouldReturnItsTree() {
+    var jobId = UUID.randomUUID();
+    var result = new FolderResponse(structure, DirectoryTreeParser.parse(structure.tree()),
+        UUID.randomUUID(), null, null);
+    when(jobService.getJob(jobId)).thenReturn(
+        new JobResponse(jobId, JobStatus.SUCCEEDED, Instant.now(), result, null));
+
+    assertThat(scaffoldService.treeOf(jobId)).isSameAs(result.directoryTree());
+  }
+
+  @Test
+  @DisplayName("should parse the tree of a finished job that carries none")
+  void treeOf_whenJobResultHasNoTree_shouldParseIt() {
+    var jobId = UUID.randomUUID();
+    var result = new FolderResponse(structure, UUID.randomUUID(), null);
+    when(jobService.getJob(jobId)).thenReturn(
+        new JobResponse(jobId, JobStatus.SUCCEEDED, Instant.now(), result, null));
+
+    assertThat(scaffoldService.treeOf(jobId).find("basics")).isPositive();
+  }
+
+  @Test
+  @DisplayName("should fail for a job without result")
+  void treeOf_whenJobPending_shouldThrow() {
+    var jobId = UUID.randomUUID();
+    when(jobService.getJob(jobId)).thenReturn(
+        new JobResponse(jobId, JobStatus.RUNNING, Instant.now(), null, null));
+
+    assertThatThrownBy(() -> scaffoldService.treeOf(jobId))
+        .isInstanceOf(JobNotFoundException.class)
+        .hasMessageContaining("RUNNING");
+  }
+}
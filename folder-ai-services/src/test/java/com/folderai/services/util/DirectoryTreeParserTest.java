@@ -0,0 +1,105 @@
+package com.folderai.services.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DirectoryTreeParser Tests")
+class DirectoryTreeParserTest {
+
+  private static final String TREE = """
+      learn-spring/
+      ├── core/
+      │   ├── ioc/
+      │   └── di/
+      ├── testing/
+      │   └── junit/
+      └── projects/
+          └── README.md
+      """;
+
+  @Test
+  @DisplayName("should parse folders into parent and child indexes in depth-first order")
+  void parse_shouldBuildIndexes() {
+    var tree = DirectoryTreeParser.parse(TREE);
+
+    assertThat(tree.size()).isEqualTo(8);
+    assertThat(tree.name(0)).isEqualTo("learn-spring");
+    assertThat(tree.name(2)).isEqualTo("ioc");
+    assertThat(tree.parent(2)).isEqualTo(1);
+    assertThat(tree.firstChild(1)).isEqualTo(2);
+    assertThat(tree.nextSibling(2)).isEqualTo(3);
+    assertThat(tree.nextSibling(3)).isEqualTo(-1);
+    assertThat(tree.path(tree.find("projects/README.md"))).isEqualTo("projects/README.md");
+    assertThat(tree.isDirectory(tree.find("core/di"))).isTrue();
+    assertThat(tree.isDirectory(tree.find("projects/README.md"))).isFalse();
+    assertThat(tree.find("core/aop")).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("should merge duplicated siblings and sanitize names")
+  void parse_shouldDedupeAndSanitize() {
+    var tree = DirectoryTreeParser.parse("""
+        java/
+        ├── core/
+        │   └── streams/
+        ├── Core/   # again
+        │   └── records/
+        ├── what?: <why>/
+        ├── ../
+        └── |-- ascii/
+        """);
+
+    assertThat(tree.size()).isEqualTo(7);
+    assertThat(tree.path(tree.find("core/records"))).isEqualTo("core/records");
+    assertThat(tree.name(4)).isEqualTo("what-- -why-");
+    assertThat(tree.name(5)).isEqualTo("unnamed");
+    assertThat(tree.name(6)).isEqualTo("--- ascii");
+  }
+
+  @Test
+  @DisplayName("should read ASCII connectors, non-breaking spaces and skipped levels")
+  void parse_shouldTolerateModelFormatting() {
+    var tree = DirectoryTreeParser.parse("""
+        ```tree
+        java/
+        |-- core/
+        |   `-- streams/
+        │           └── deep/
+        └── tests/
+        ```""".replace("|   `", "|\u00a0\u00a0 `"));
+
+    assertThat(tree.name(0)).isEqualTo("java");
+    assertThat(tree.path(tree.find("core/streams/deep"))).isEqualTo("core/streams/deep");
+    assertThat(tree.path(tree.find("tests"))).isEqualTo("tests");
+    assertThat(DirectoryTreeParser.parse("  \n")).isNull();
+  }
+
+  @Test
+  @DisplayName("should store each distinct name once")
+  void parse_shouldInternNames() {
+    var text = new StringBuilder("root/");
+    for (int i = 0; i < 1_000; i++) {
+      text.append("\n├── module-").append(i).append("/\n│   ├── src/\n│   └── test/");
+    }
+
+    var tree = DirectoryTreeParser.parse(text.toString());
+
+    assertThat(tree.size()).isEqualTo(3_001);
+    assertThat(tree.distinctNames()).isEqualTo(1_003);
+  }
+
+  @Test
+  @DisplayName("should serialize as nested folders")
+  void serialize_shouldWriteNestedJson() throws Exception {
+    var json = new ObjectMapper().writeValueAsString(
+        DirectoryTreeParser.parse("java/\n├── core/\n│   └── streams/\n└── README.md"));
+
+    assertThat(json).isEqualTo("{\"name\":\"java\",\"directory\":true,\"children\":["
+        + "{\"name\":\"core\",\"directory\":true,\"children\":["
+        + "{\"name\":\"streams\",\"directory\":true}]},"
+        + "{\"name\":\"README.md\",\"directory\":false}]}");
+  }
+}
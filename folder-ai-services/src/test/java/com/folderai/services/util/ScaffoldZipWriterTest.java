@@ -0,0 +1,83 @@
+package com.folderai.services.util;
+
+import com.folderai.services.dto.request.ScaffoldPlaceholder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ScaffoldZipWriter Tests")
+class ScaffoldZipWriterTest {
+
+  private static final String TREE = """
+      learn-spring/
+      ├── core/
+      │   ├── ioc/
+      │   └── notes.md
+      └── projects/
+          ├── crud/
+          └── api/
+      """;
+
+  /**
+   * @return the entries of the archive by name, with their content.
+   */
+  private static Map<String, String> unzip(byte[] archive) throws IOException {
+    var entries = new LinkedHashMap<String, String>();
+    try (var zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
+
+  private static Map<String, String> write(String tree, ScaffoldPlaceholder placeholder)
+      throws IOException {
+    var out = new ByteArrayOutputStream();
+    ScaffoldZipWriter.write(DirectoryTreeParser.parse(tree), placeholder, out);
+    return unzip(out.toByteArray());
+  }
+
+  @Test
+  @DisplayName("should archive every folder and file in depth-first order")
+  void write_shouldArchiveTheTree() throws IOException {
+    assertThat(write(TREE, ScaffoldPlaceholder.NONE)).containsExactly(
+        Map.entry("learn-spring/", ""),
+        Map.entry("learn-spring/core/", ""),
+        Map.entry("learn-spring/core/ioc/", ""),
+        Map.entry("learn-spring/core/notes.md", ""),
+        Map.entry("learn-spring/projects/", ""),
+        Map.entry("learn-spring/projects/crud/", ""),
+        Map.entry("learn-spring/projects/api/", ""));
+  }
+
+  @Test
+  @DisplayName("should only add placeholders to empty folders")
+  void write_whenPlaceholder_shouldFillEmptyFolders() throws IOException {
+    assertThat(write(TREE, ScaffoldPlaceholder.GITKEEP).keySet())
+        .filteredOn(name -> name.endsWith(".gitkeep"))
+        .containsExactly("learn-spring/core/ioc/.gitkeep",
+            "learn-spring/projects/crud/.gitkeep", "learn-spring/projects/api/.gitkeep");
+    assertThat(write(TREE, ScaffoldPlaceholder.README))
+        .containsEntry("learn-spring/projects/api/README.md", "# api\n")
+        .doesNotContainKey("learn-spring/projects/README.md");
+  }
+
+  @Test
+  @DisplayName("should archive a lone root and unsafe names safely")
+  void write_whenRootOnlyOrUnsafeNames_shouldStayInsideTheRoot() throws IOException {
+    assertThat(write("demo/", ScaffoldPlaceholder.GITKEEP).keySet())
+        .containsExactly("demo/", "demo/.gitkeep");
+    assertThat(write("demo/\n└── ../\n    └── etc:passwd", ScaffoldPlaceholder.NONE).keySet())
+        .allMatch(name -> name.startsWith("demo/") && !name.contains(".."));
+  }
+}
@@ -0,0 +1,42 @@
+package com.folderai.services.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StreamingTreeExtractor Tests")
+class StreamingTreeExtractorTest {
+
+  private static final String JSON = "{\"projectName\":\"tree\",\"tree\" : "
+      + "\"java/\\n├── basics/\\n│   └── \\\"hello\\\"\\u0020world/\\n└── advanced/\"}";
+
+  @Test
+  @DisplayName("should emit the same lines whatever the chunk boundaries")
+  void accept_shouldBeIndependentOfChunking() {
+    var expected = List.of("java/", "├── basics/", "│   └── \"hello\" world/", "└── advanced/");
+
+    for (int size = 1; size <= JSON.length(); size++) {
+      var extractor = new StreamingTreeExtractor();
+      List<String> lines = new ArrayList<>();
+      for (int i = 0; i < JSON.length(); i += size) {
+        lines.addAll(extractor.accept(JSON.substring(i, Math.min(JSON.length(), i + size))));
+      }
+      lines.addAll(extractor.finish());
+      assertThat(lines).as("chunk size %d", size).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("should emit a line as soon as its newline arrives")
+  void accept_shouldEmitCompletedLinesEagerly() {
+    var extractor = new StreamingTreeExtractor();
+
+    assertThat(extractor.accept("{\"tree\":\"java/\\n├── ba")).containsExactly("java/");
+    assertThat(extractor.accept("sics/")).isEmpty();
+    assertThat(extractor.finish()).containsExactly("├── basics/");
+  }
+}
@@ -0,0 +1,118 @@
+package com.folderai.services.util;
+
+import com.folderai.services.util.TreeFormatter.Format;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TreeFormatter Tests")
+class TreeFormatterTest {
+
+  private static final String TREE = """
+      learn-spring/
+      ├── core/
+      │   ├── ioc/
+      │   └── di/
+      └── projects/
+          └── crud app/
+      """.replace("crud app", "crud\u00a0app");
+
+  private static String lines(String text) {
+    return text.replace("\n", System.lineSeparator());
+  }
+
+  @Test
+  @DisplayName("should clean special spaces and keep the box drawing")
+  void format_whenBoxDrawing_shouldCleanSpaces() {
+    assertThat(TreeFormatter.cleanAndFormatTree(TREE)).isEqualTo(lines("""
+        learn-spring/
+        ├── core/
+        │   ├── ioc/
+        │   └── di/
+        └── projects/
+            └── crud app/"""));
+    assertThat(TreeFormatter.cleanAndFormatTree(" ")).isEmpty();
+    assertThat(TreeFormatter.cleanAndFormatTree(null)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should keep ASCII connectors, carriage returns and inner blank lines as they are")
+  void cleanAndFormatTree_shouldOnlyCleanSpaces() {
+    assertThat(TreeFormatter.cleanAndFormatTree("app/\r\n+-- src/\r\n`-- pom.xml\r\n"))
+        .isEqualTo("app/\r" + System.lineSeparator() + "+-- src/\r" + System.lineSeparator()
+            + "`-- pom.xml\r");
+    assertThat(TreeFormatter.cleanAndFormatTree("a\n\n")).isEqualTo("a");
+    assertThat(TreeFormatter.cleanAndFormatTree("a\n\nb\u2007")).isEqualTo(lines("a\n\nb "));
+  }
+
+  @Test
+  @DisplayName("should clean like the former split and regular expression")
+  void cleanAndFormatTree_shouldMatchFormerImplementation() {
+    for (var raw : List.of(TREE, "\na\n", "a\n \n", "|-- a\n\\-- b", "```\nroot/\n```\n\n",
+        "x\u00a0\u2028y\r\n\n")) {
+      var former = Stream.of(raw.split("\n"))
+          .map(line -> line.replaceAll("\\p{Z}", " "))
+          .collect(Collectors.joining(System.lineSeparator()));
+
+      assertThat(TreeFormatter.cleanAndFormatTree(raw)).isEqualTo(former);
+    }
+  }
+
+  @Test
+  @DisplayName("should convert between box drawing and ASCII")
+  void format_whenAscii_shouldReplaceConnectors() {
+    var ascii = TreeFormatter.format(TREE, Format.ASCII);
+
+    assertThat(ascii).isEqualTo(lines("""
+        learn-spring/
+        |-- core/
+        |   |-- ioc/
+        |   `-- di/
+        `-- projects/
+            `-- crud app/"""));
+    assertThat(TreeFormatter.format(ascii, Format.BOX_DRAWING))
+        .isEqualTo(TreeFormatter.format(TREE, Format.BOX_DRAWING));
+  }
+
+  @Test
+  @DisplayName("should list the full path of every entry")
+  void format_whenPaths_shouldListFullPaths() {
+    assertThat(TreeFormatter.format("```tree\n" + TREE + "```", Format.PATHS)).isEqualTo(lines("""
+        learn-spring/
+        learn-spring/core/
+        learn-spring/core/ioc/
+        learn-spring/core/di/
+        learn-spring/projects/
+        learn-spring/projects/crud app/"""));
+  }
+
+  @Test
+  @DisplayName("should write a nested YAML-like list to any Appendable")
+  void format_whenYaml_shouldIndentByLevel() throws IOException {
+    var out = new StringWriter();
+
+    TreeFormatter.format(TREE, Format.YAML, out);
+
+    assertThat(out).hasToString(lines("""
+        - learn-spring/
+          - core/
+            - ioc/
+            - di/
+          - projects/
+            - crud app/"""));
+  }
+
+  @Test
+  @DisplayName("should only format when the lazy value is rendered")
+  void lazy_shouldFormatOnToString() {
+    assertThat(TreeFormatter.lazy(TREE, Format.PATHS))
+        .hasToString(TreeFormatter.format(TREE, Format.PATHS));
+  }
+}
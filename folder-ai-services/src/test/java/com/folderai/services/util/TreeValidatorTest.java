@@ -0,0 +1,50 @@
+package com.folderai.services.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TreeValidator Tests")
+class TreeValidatorTest {
+
+  private static final String TREE = """
+      learn-spring/
+      ├── core/
+      │   ├── ioc/
+      │   └── di/
+      └── projects/
+          └── sample-crud-app/
+      """;
+
+  @Test
+  @DisplayName("should accept a well-formed tree within bounds")
+  void validate_whenWellFormed_shouldPass() {
+    assertThat(TreeValidator.validate(TREE, 3, 10, 2)).isEmpty();
+    assertThat(TreeValidator.validate(TREE.replace(' ', ' '), 3, 10, 2)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("should reject empty and rootless trees")
+  void validate_whenMissingRoot_shouldFail() {
+    assertThat(TreeValidator.validate(" ", 0, 10, 2)).contains("tree is empty");
+    assertThat(TreeValidator.validate("├── core/", 0, 10, 2)).contains("tree has no root line");
+  }
+
+  @Test
+  @DisplayName("should reject malformed box drawing and skipped levels")
+  void validate_whenMalformed_shouldFail() {
+    assertThat(TreeValidator.validate("root/\n- core/", 0, 10, 2))
+        .contains("line 2 is not a well-formed tree entry");
+    assertThat(TreeValidator.validate("root/\n│   ├── core/", 0, 10, 5))
+        .contains("line 2 skips a nesting level");
+  }
+
+  @Test
+  @DisplayName("should enforce the size and depth bounds")
+  void validate_whenOutOfBounds_shouldFail() {
+    assertThat(TreeValidator.validate(TREE, 6, 10, 2)).contains("tree has fewer than 6 entries");
+    assertThat(TreeValidator.validate(TREE, 0, 4, 2)).contains("tree has more than 4 entries");
+    assertThat(TreeValidator.validate(TREE, 0, 10, 1)).contains("tree is deeper than 1 levels");
+  }
+}
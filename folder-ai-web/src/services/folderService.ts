@@ -1,6 +1,6 @@
 import apiClient from "./apiClient";
 import { isAxiosError } from "axios";
-import type { FolderdRequest, ErrorResponse, FolderResponse,  } from '@/types'
+import type { FolderdRequest, ErrorResponse, FolderResponse, DirectoryStructure, ScaffoldPlaceholder } from '@/types'
 
 
 
@@ -38,7 +38,7 @@ const handleApiError = (error: unknown, defaultMessage: string): never => {
 /**
  * Sends the selected project description to the backend to generate the project directory.
  * @param folderRequst The user's description of the project.
- * @returns A promise that resolves to the ScaffoldResult containing the zip file.
+ * @returns A promise that resolves to the generated directory structure.
  */
 export async function generateProjectDirectory(folderRequst: FolderdRequest): Promise<FolderResponse> {
   try {
@@ -59,3 +59,20 @@ export async function generateProjectDirectory(folderRequst: FolderdRequest): Pr
   }
 };
 
+/**
+ * Downloads a directory structure as a ZIP archive of empty folders.
+ * @param structure The directory structure returned by a generation.
+ * @param placeholder The file to add to each empty folder.
+ * @returns A promise that resolves to the zip file.
+ */
+export async function downloadScaffold(structure: DirectoryStructure, placeholder: ScaffoldPlaceholder = 'NONE'): Promise<Blob> {
+  try {
+    const response = await apiClient.post('/folders/scaffold', structure, {
+      params: { placeholder },
+      responseType: 'blob',
+    });
+    return response.data;
+  } catch (error: unknown) {
+    return handleApiError(error, "Failed to download the project scaffold.");
+  }
+};
@@ -3,6 +3,7 @@ export interface FolderdRequest {
     prompt: string;
     conversationId: string;
     chatOptions?: FolderModelOptions;
+    skipCache?: boolean;
 }
 
 export interface FolderModelOptions {
@@ -12,23 +13,42 @@ export interface FolderModelOptions {
 
 export interface FolderResponse {
     directoryStructure: DirectoryStructure 
+    directoryTree?: DirectoryNode;
     conversationId: string;
     metaData: MetaData;
+    edits?: TreeEdit[];
 }
 export interface DirectoryStructure {
     projectName: string;
     tree: string;
 }
 
+export type ScaffoldPlaceholder = 'NONE' | 'GITKEEP' | 'README';
+
+export interface DirectoryNode {
+    name: string;
+    directory: boolean;
+    children?: DirectoryNode[];
+}
+
+export interface TreeEdit {
+    op: 'ADD' | 'REMOVE' | 'RENAME' | 'MOVE';
+    path: string;
+    target?: string | null;
+}
+
 export interface Usage {
     prompt_tokens: number;
     generation_tokens: number;
     total_tokens: number;
+    saved_prompt_tokens?: number;
 }
 
 export interface MetaData {
     model: string;
     usage: Usage;
+    tier?: number | null;
+    attempts?: number | null;
 }
 
 